@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.buffers;
+
+/**
+ * Allocator of {@link io.helidon.common.buffers.BufferData}.
+ * <p>
+ * Buffers obtained from a pooled allocator should be {@link BufferData#release() released} when no longer needed
+ * (such as by the socket writer once written), so their memory can be reused. A buffer that is never released is
+ * simply garbage collected.
+ */
+public interface BufferAllocator {
+    /**
+     * Allocator that always creates new buffers, same as {@link io.helidon.common.buffers.BufferData#create(int)} and
+     * {@link io.helidon.common.buffers.BufferData#growing(int)}.
+     *
+     * @return allocator without pooling
+     */
+    static BufferAllocator unpooled() {
+        return UnpooledBufferAllocator.INSTANCE;
+    }
+
+    /**
+     * Shared pooled allocator.
+     *
+     * @return pooled allocator shared by all users in this JVM
+     * @see io.helidon.common.buffers.PooledBufferAllocator
+     */
+    static BufferAllocator pooled() {
+        return PooledBufferAllocator.SHARED;
+    }
+
+    /**
+     * Allocate an empty fixed size buffer.
+     *
+     * @param length length of the buffer
+     * @return new buffer
+     */
+    BufferData allocate(int length);
+
+    /**
+     * Allocate an empty growing buffer.
+     *
+     * @param initialLength initial buffer length
+     * @return new buffer
+     */
+    BufferData growing(int initialLength);
+}
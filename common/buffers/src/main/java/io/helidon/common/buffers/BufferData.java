@@ -76,6 +76,17 @@ public interface BufferData {
         return new ReadOnlyArrayData(bytes, offset, length);
     }
 
+    /**
+     * Read only buffer data over the remaining bytes of a byte buffer, such as a memory mapped file.
+     * The content is not copied, and position and limit of the byte buffer are not modified.
+     *
+     * @param buffer byte buffer
+     * @return new buffer data that are read only
+     */
+    static BufferData createReadOnly(ByteBuffer buffer) {
+        return new ReadOnlyByteBufferData(buffer);
+    }
+
     /**
      * Growing buffer data.
      * The buffer will grow when necessary to accommodate more bytes.
@@ -654,4 +665,23 @@ public interface BufferData {
         read(bytes);
         return bytes;
     }
+
+    /**
+     * Retain this buffer, so it is not returned to its pool until {@link #release()} is called once more.
+     * Buffers not obtained from a pooled {@link io.helidon.common.buffers.BufferAllocator} ignore this call.
+     *
+     * @return this instance
+     */
+    default BufferData retain() {
+        return this;
+    }
+
+    /**
+     * Release this buffer.
+     * Once a buffer obtained from a pooled {@link io.helidon.common.buffers.BufferAllocator} is released as many times
+     * as it was retained (plus once for its allocation), its memory is returned to the pool and the buffer must not be
+     * used anymore. Other buffers ignore this call.
+     */
+    default void release() {
+    }
 }
@@ -256,6 +256,21 @@ class CompositeArrayBufferData extends ReadOnlyBufferData {
         throw new ArrayIndexOutOfBoundsException("Invalid index to get: " + index);
     }
 
+    @Override
+    public BufferData retain() {
+        for (BufferData datum : data) {
+            datum.retain();
+        }
+        return this;
+    }
+
+    @Override
+    public void release() {
+        for (BufferData datum : data) {
+            datum.release();
+        }
+    }
+
     @Override
     public String toString() {
         return "comp-array: a=" + available();
@@ -262,6 +262,21 @@ class CompositeListBufferData extends ReadOnlyBufferData implements CompositeBuf
         throw new ArrayIndexOutOfBoundsException("Invalid index to get: " + index);
     }
 
+    @Override
+    public BufferData retain() {
+        for (BufferData datum : data) {
+            datum.retain();
+        }
+        return this;
+    }
+
+    @Override
+    public void release() {
+        for (BufferData datum : data) {
+            datum.release();
+        }
+    }
+
     @Override
     public String toString() {
         return "comp-list: a=" + available();
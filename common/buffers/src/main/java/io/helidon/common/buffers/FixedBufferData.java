@@ -34,6 +34,12 @@ class FixedBufferData implements BufferData {
         this.length = length;
     }
 
+    // empty buffer backed by an existing array, that may be longer than the buffer
+    FixedBufferData(int length, byte[] bytes) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
     FixedBufferData(byte[] bytes) {
         this.bytes = bytes;
         this.length = bytes.length;
@@ -146,18 +152,12 @@ class FixedBufferData implements BufferData {
 
     @Override
     public void write(BufferData toWrite) {
-        byte[] buffer = new byte[length - writePosition];
-        int read = toWrite.read(buffer);
-        System.arraycopy(buffer, 0, this.bytes, writePosition, read);
-        writePosition += read;
+        writePosition += toWrite.read(this.bytes, writePosition, length - writePosition);
     }
 
     @Override
     public void write(BufferData toWrite, int length) {
-        byte[] buffer = new byte[length];
-        int read = toWrite.read(buffer);
-        System.arraycopy(buffer, 0, this.bytes, writePosition, read);
-        writePosition += read;
+        writePosition += toWrite.read(this.bytes, writePosition, length);
     }
 
     @Override
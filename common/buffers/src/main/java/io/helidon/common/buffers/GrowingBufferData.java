@@ -36,6 +36,11 @@ class GrowingBufferData implements BufferData {
         this.length = 0;
     }
 
+    GrowingBufferData(byte[] initial) {
+        this.bytes = initial;
+        this.length = 0;
+    }
+
     public boolean ready() {
         return writePosition > readPosition;
     }
@@ -139,20 +144,17 @@ class GrowingBufferData implements BufferData {
 
     @Override
     public void write(BufferData toWrite) {
-        ensureSize(toWrite.available());
-        byte[] buffer = new byte[toWrite.available()];
-        int read = toWrite.read(buffer);
-        System.arraycopy(buffer, 0, this.bytes, writePosition, read);
-        writePosition += read;
+        int available = toWrite.available();
+        ensureSize(available);
+        writePosition += toWrite.read(this.bytes, writePosition, available);
+        this.length = Math.max(this.length, writePosition);
     }
 
     @Override
     public void write(BufferData toWrite, int length) {
         ensureSize(length);
-        byte[] buffer = new byte[length];
-        int read = toWrite.read(buffer);
-        System.arraycopy(buffer, 0, this.bytes, writePosition, read);
-        writePosition += read;
+        writePosition += toWrite.read(this.bytes, writePosition, length);
+        this.length = Math.max(this.length, writePosition);
     }
 
     @Override
@@ -225,6 +227,20 @@ class GrowingBufferData implements BufferData {
         return Arrays.copyOfRange(bytes, 0, length);
     }
 
+    // current backing array
+    byte[] array() {
+        return bytes;
+    }
+
+    // new backing array when growing
+    byte[] allocate(int length) {
+        return new byte[length];
+    }
+
+    // backing array replaced when growing
+    void discard(byte[] array) {
+    }
+
     private void ensureSize(int i) {
         if (this.bytes.length > writePosition + i) {
             return;
@@ -238,7 +254,8 @@ class GrowingBufferData implements BufferData {
             // int overflow
             throw new IllegalStateException("Growing buffer too big, cannot increase size");
         }
-        this.bytes = new byte[newLength];
+        this.bytes = allocate(newLength);
         System.arraycopy(current, 0, this.bytes, 0, length);
+        discard(current);
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.buffers;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocator that reuses byte arrays of released buffers.
+ * <p>
+ * Arrays are pooled in power of two size classes from 256 bytes to 64 KB; larger buffers are not pooled. Each size class
+ * is split into stripes selected by the current thread, so threads seldom compete for the same stripe; a stripe that
+ * is in use by another thread is skipped rather than waited for. Each stripe keeps at most 256 KB of arrays per size
+ * class.
+ * <p>
+ * Buffers are reference counted, starting with one reference on allocation. {@link BufferData#retain()} adds a
+ * reference, {@link BufferData#release()} removes one, and the last release returns the array to the pool.
+ * Releasing a buffer more times than it was retained fails with an {@link java.lang.IllegalStateException}.
+ * {@link #statistics()} reports buffers that were not released yet, which can be used to detect leaks in tests.
+ */
+public final class PooledBufferAllocator implements BufferAllocator {
+    static final PooledBufferAllocator SHARED = create();
+
+    private static final int MIN_SHIFT = 8;
+    private static final int MAX_SHIFT = 16;
+    private static final int SIZE_CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+    private static final int MAX_STRIPE_BYTES = 256 * 1024;
+    private static final int MAX_STRIPES = 64;
+
+    // [size class][stripe]
+    private final Stripe[][] stripes;
+    private final int stripeMask;
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder released = new LongAdder();
+
+    private PooledBufferAllocator(int stripeCount) {
+        this.stripes = new Stripe[SIZE_CLASSES][stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+            int capacity = Math.min(256, MAX_STRIPE_BYTES >>> (MIN_SHIFT + sizeClass));
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[sizeClass][i] = new Stripe(capacity);
+            }
+        }
+    }
+
+    /**
+     * Create a new pool, with number of stripes based on the number of available processors.
+     * Most users should use the shared {@link io.helidon.common.buffers.BufferAllocator#pooled()} instead.
+     *
+     * @return a new pooled allocator
+     */
+    public static PooledBufferAllocator create() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, processors - 1)) << 1);
+        return new PooledBufferAllocator(stripeCount);
+    }
+
+    @Override
+    public BufferData allocate(int length) {
+        allocated.increment();
+        return new PooledFixedBufferData(this, length, take(length));
+    }
+
+    @Override
+    public BufferData growing(int initialLength) {
+        allocated.increment();
+        return new PooledGrowingBufferData(this, take(Math.max(initialLength, 1 << MIN_SHIFT)));
+    }
+
+    /**
+     * Current statistics of this allocator.
+     *
+     * @return statistics
+     */
+    public Statistics statistics() {
+        long allocatedCount = allocated.sum();
+        return new Statistics(allocatedCount, reused.sum(), allocatedCount - released.sum());
+    }
+
+    byte[] take(int length) {
+        if (length > 1 << MAX_SHIFT) {
+            return new byte[length];
+        }
+        int sizeClass = sizeClass(length);
+        byte[] array = stripe(sizeClass).poll();
+        if (array == null) {
+            return new byte[1 << (MIN_SHIFT + sizeClass)];
+        }
+        reused.increment();
+        return array;
+    }
+
+    void give(byte[] array) {
+        int length = array.length;
+        if (length > 1 << MAX_SHIFT || length < 1 << MIN_SHIFT || Integer.bitCount(length) != 1) {
+            // not from the pool
+            return;
+        }
+        stripe(sizeClass(length)).offer(array);
+    }
+
+    void released() {
+        released.increment();
+    }
+
+    private Stripe stripe(int sizeClass) {
+        long id = Thread.currentThread().threadId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return stripes[sizeClass][(hash >>> 16) & stripeMask];
+    }
+
+    private static int sizeClass(int length) {
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(length, 1) - 1);
+        return Math.max(0, shift - MIN_SHIFT);
+    }
+
+    /**
+     * Statistics of a pooled allocator.
+     *
+     * @param allocated   number of buffers allocated
+     * @param reused      number of buffers that reused an array from the pool
+     * @param outstanding number of buffers not released yet
+     */
+    public record Statistics(long allocated, long reused, long outstanding) {
+    }
+
+    // bounded stack of arrays, never blocks
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final byte[][] arrays;
+        private int size;
+
+        private Stripe(int capacity) {
+            this.arrays = new byte[capacity][];
+        }
+
+        byte[] poll() {
+            if (!lock.tryLock()) {
+                return null;
+            }
+            try {
+                if (size == 0) {
+                    return null;
+                }
+                byte[] array = arrays[--size];
+                arrays[size] = null;
+                return array;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void offer(byte[] array) {
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (size < arrays.length) {
+                    arrays[size++] = array;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class PooledFixedBufferData extends FixedBufferData {
+        private static final AtomicIntegerFieldUpdater<PooledFixedBufferData> REFERENCES =
+                AtomicIntegerFieldUpdater.newUpdater(PooledFixedBufferData.class, "references");
+
+        private final PooledBufferAllocator pool;
+        private final byte[] array;
+        private volatile int references = 1;
+
+        private PooledFixedBufferData(PooledBufferAllocator pool, int length, byte[] array) {
+            super(length, array);
+            this.pool = pool;
+            this.array = array;
+        }
+
+        @Override
+        public BufferData retain() {
+            addReference(REFERENCES, this);
+            return this;
+        }
+
+        @Override
+        public void release() {
+            if (removeReference(REFERENCES, this)) {
+                pool.released();
+                pool.give(array);
+            }
+        }
+    }
+
+    private static final class PooledGrowingBufferData extends GrowingBufferData {
+        private static final AtomicIntegerFieldUpdater<PooledGrowingBufferData> REFERENCES =
+                AtomicIntegerFieldUpdater.newUpdater(PooledGrowingBufferData.class, "references");
+
+        private final PooledBufferAllocator pool;
+        private volatile int references = 1;
+
+        private PooledGrowingBufferData(PooledBufferAllocator pool, byte[] initial) {
+            super(initial);
+            this.pool = pool;
+        }
+
+        @Override
+        public BufferData retain() {
+            addReference(REFERENCES, this);
+            return this;
+        }
+
+        @Override
+        public void release() {
+            if (removeReference(REFERENCES, this)) {
+                pool.released();
+                pool.give(array());
+            }
+        }
+
+        @Override
+        byte[] allocate(int length) {
+            return pool.take(length);
+        }
+
+        @Override
+        void discard(byte[] array) {
+            pool.give(array);
+        }
+    }
+
+    private static <T> void addReference(AtomicIntegerFieldUpdater<T> references, T buffer) {
+        int current;
+        do {
+            current = references.get(buffer);
+            if (current <= 0) {
+                throw new IllegalStateException("Cannot retain a released buffer");
+            }
+        } while (!references.compareAndSet(buffer, current, current + 1));
+    }
+
+    // whether this was the last reference
+    private static <T> boolean removeReference(AtomicIntegerFieldUpdater<T> references, T buffer) {
+        int remaining = references.decrementAndGet(buffer);
+        if (remaining < 0) {
+            references.incrementAndGet(buffer);
+            throw new IllegalStateException("Buffer was released more times than retained");
+        }
+        return remaining == 0;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.buffers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Read only buffer data backed by a {@link java.nio.ByteBuffer}, such as a memory mapped file.
+ * The content is not copied, and the position and limit of the wrapped buffer are not modified.
+ */
+class ReadOnlyByteBufferData extends ReadOnlyBufferData {
+    // maximal size of an array used to write a direct buffer to an output stream
+    private static final int MAX_COPY_SIZE = 16 * 1024;
+
+    private final ByteBuffer buffer;
+    private final int length;
+    private int position;
+
+    ReadOnlyByteBufferData(ByteBuffer buffer) {
+        this.buffer = buffer.slice();
+        this.length = this.buffer.remaining();
+        this.position = 0;
+    }
+
+    @Override
+    public BufferData rewind() {
+        position = 0;
+        return this;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) {
+        try {
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + position, length - position);
+                position = length;
+                return;
+            }
+            // output streams only accept arrays, copy through a single array
+            byte[] chunk = new byte[Math.min(MAX_COPY_SIZE, length - position)];
+            while (position < length) {
+                int toWrite = Math.min(chunk.length, length - position);
+                buffer.get(position, chunk, 0, toWrite);
+                out.write(chunk, 0, toWrite);
+                position += toWrite;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int readFrom(InputStream in) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int read() {
+        if (position >= length) {
+            throw new ArrayIndexOutOfBoundsException("This buffer has " + length + " bytes, requested to read at " + position);
+        }
+        return buffer.get(position++) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int position, int length) {
+        int toRead = Math.min(length, this.length - this.position);
+        buffer.get(this.position, bytes, position, toRead);
+        this.position += toRead;
+        return toRead;
+    }
+
+    @Override
+    public String readString(int length, Charset charset) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        position += length;
+        return new String(bytes, charset);
+    }
+
+    @Override
+    public boolean consumed() {
+        return position == length;
+    }
+
+    @Override
+    public int writeTo(ByteBuffer writeBuffer, int length) {
+        int toWrite = Math.min(writeBuffer.remaining(), this.length - this.position);
+        toWrite = Math.min(toWrite, length);
+        if (toWrite == 0) {
+            return 0;
+        }
+        writeBuffer.put(writeBuffer.position(), buffer, position, toWrite);
+        writeBuffer.position(writeBuffer.position() + toWrite);
+        position += toWrite;
+        return toWrite;
+    }
+
+    @Override
+    public String debugDataBinary() {
+        return BufferUtil.debugDataBinary(unread(), 0, length - position);
+    }
+
+    @Override
+    public String debugDataHex(boolean fullBuffer) {
+        if (fullBuffer) {
+            byte[] bytes = new byte[length];
+            buffer.get(0, bytes);
+            return BufferUtil.debugDataHex(bytes, 0, length);
+        }
+        return BufferUtil.debugDataHex(unread(), 0, length - position);
+    }
+
+    @Override
+    public int available() {
+        return length - position;
+    }
+
+    @Override
+    public void skip(int length) {
+        position = Math.min(this.length, position + length);
+    }
+
+    @Override
+    public int indexOf(byte aByte) {
+        for (int i = position; i < length; i++) {
+            if (aByte == buffer.get(i)) {
+                return i - position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(byte aByte, int length) {
+        for (int i = Math.min(this.length, position + length) - 1; i >= position; i--) {
+            if (aByte == buffer.get(i)) {
+                return i - position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public BufferData trim(int x) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int get(int index) {
+        return buffer.get(position + index) & 0xFF;
+    }
+
+    private byte[] unread() {
+        byte[] bytes = new byte[length - position];
+        buffer.get(position, bytes);
+        return bytes;
+    }
+}
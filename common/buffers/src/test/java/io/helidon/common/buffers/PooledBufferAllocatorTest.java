@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.buffers;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PooledBufferAllocatorTest {
+    private static final byte[] DATA = "Hello World!".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void testReuse() {
+        PooledBufferAllocator allocator = PooledBufferAllocator.create();
+
+        BufferData first = allocator.allocate(100);
+        first.write(DATA);
+        assertThat(first.readBytes(), is(DATA));
+        first.release();
+
+        BufferData second = allocator.allocate(200);
+        assertThat(second.available(), is(0));
+        assertThat(second.capacity(), is(200));
+        second.write(DATA);
+        assertThat(second.readBytes(), is(DATA));
+        second.release();
+
+        PooledBufferAllocator.Statistics statistics = allocator.statistics();
+        assertThat(statistics.allocated(), is(2L));
+        assertThat(statistics.reused(), is(1L));
+        assertThat(statistics.outstanding(), is(0L));
+    }
+
+    @Test
+    void testGrowing() {
+        PooledBufferAllocator allocator = PooledBufferAllocator.create();
+
+        BufferData buffer = allocator.growing(256);
+        for (int i = 0; i < 100; i++) {
+            buffer.write(DATA);
+        }
+        assertThat(buffer.available(), is(100 * DATA.length));
+        byte[] expected = new byte[100 * DATA.length];
+        for (int i = 0; i < 100; i++) {
+            System.arraycopy(DATA, 0, expected, i * DATA.length, DATA.length);
+        }
+        assertThat(buffer.readBytes(), is(expected));
+        buffer.release();
+
+        // arrays replaced while growing, as well as the last one, are back in the pool
+        BufferData reused = allocator.growing(256);
+        reused.release();
+        assertThat(allocator.statistics().reused(), is(1L));
+        assertThat(allocator.statistics().outstanding(), is(0L));
+    }
+
+    @Test
+    void testReferenceCounting() {
+        PooledBufferAllocator allocator = PooledBufferAllocator.create();
+
+        BufferData buffer = allocator.allocate(100);
+        buffer.retain();
+        buffer.release();
+        assertThat(allocator.statistics().outstanding(), is(1L));
+
+        buffer.release();
+        assertThat(allocator.statistics().outstanding(), is(0L));
+
+        assertThrows(IllegalStateException.class, buffer::release);
+        assertThrows(IllegalStateException.class, buffer::retain);
+    }
+
+    @Test
+    void testComposite() {
+        PooledBufferAllocator allocator = PooledBufferAllocator.create();
+
+        BufferData first = allocator.allocate(DATA.length);
+        first.write(DATA);
+        BufferData second = allocator.growing(DATA.length);
+        second.write(DATA);
+
+        BufferData composite = BufferData.create(first, second);
+        assertThat(composite.available(), is(2 * DATA.length));
+        assertThat(allocator.statistics().outstanding(), is(2L));
+
+        composite.release();
+        assertThat(allocator.statistics().outstanding(), is(0L));
+    }
+
+    @Test
+    void testLargeNotPooled() {
+        PooledBufferAllocator allocator = PooledBufferAllocator.create();
+
+        BufferData buffer = allocator.allocate(1024 * 1024);
+        buffer.release();
+        allocator.allocate(1024 * 1024).release();
+
+        assertThat(allocator.statistics().reused(), is(0L));
+        assertThat(allocator.statistics().outstanding(), is(0L));
+    }
+
+    @Test
+    void testUnpooled() {
+        BufferData buffer = BufferAllocator.unpooled().allocate(DATA.length);
+        buffer.write(DATA);
+        // release is ignored
+        buffer.release();
+        buffer.release();
+        assertThat(buffer.readBytes(), is(DATA));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.buffers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ReadOnlyByteBufferDataTest {
+    private static final byte[] HELLO = "Hello World!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testWriteDirectBuffer() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(HELLO.length);
+        direct.put(HELLO);
+        direct.position(6);
+
+        BufferData data = BufferData.createReadOnly(direct);
+        assertThat(data.available(), is(6));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        data.writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8), is("World!"));
+        assertThat(data.consumed(), is(true));
+        // the wrapped buffer is not modified
+        assertThat(direct.position(), is(6));
+        assertThat(direct.limit(), is(HELLO.length));
+    }
+
+    @Test
+    void testWriteHeapBufferSlice() {
+        ByteBuffer slice = ByteBuffer.wrap(HELLO).slice(6, 5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BufferData.createReadOnly(slice).writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8), is("World"));
+    }
+
+    @Test
+    void testReadIntoGrowingBuffer() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(HELLO.length);
+        direct.put(HELLO);
+        direct.flip();
+
+        BufferData growing = BufferData.growing(4);
+        growing.write(BufferData.createReadOnly(direct));
+        assertThat(growing.readString(growing.available(), StandardCharsets.UTF_8), is("Hello World!"));
+    }
+
+    @Test
+    void testRead() {
+        BufferData data = BufferData.createReadOnly(ByteBuffer.wrap(HELLO));
+        assertThat(data.read(), is((int) 'H'));
+        assertThat(data.indexOf((byte) ' '), is(4));
+        data.skip(5);
+        assertThat(data.readString(6, StandardCharsets.UTF_8), is("World!"));
+        assertThat(data.consumed(), is(true));
+    }
+}
@@ -15,21 +15,32 @@
  */
 package io.helidon.common.configurable;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
 
 import io.helidon.builder.api.RuntimeType;
 
 /**
  * Least recently used cache.
- * This cache has a capacity. When the capacity is reached, the oldest record is removed from the cache when a new one
- * is added.
+ * This cache has a capacity. When the capacity is reached, the least recently used record is removed from the cache when
+ * a new one is added.
+ * <p>
+ * Reads do not take any lock. Each read is recorded into one of striped read buffers, and the order of records is
+ * updated from these buffers in batches by the thread that holds the eviction lock (writes, or a read that filled
+ * a buffer). When a read buffer is full and the lock is held by another thread, the read is not recorded, so the order
+ * of records is an approximation of the least recently used order under contention.
+ * <p>
+ * The cache can optionally use frequency based admission, use weights of records instead of their count, and expire
+ * records after write and/or after access, see {@link io.helidon.common.configurable.LruCacheConfig}.
  *
  * @param <K> type of the keys of the map
  * @param <V> type of the values of the map
@@ -41,17 +52,60 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      */
     public static final int DEFAULT_CAPACITY = 10000;
 
-    private final LinkedHashMap<K, V> backingMap = new LinkedHashMap<>();
-    private final ReadWriteLock rwLock = new ReentrantReadWriteLock(true);
-    private final Lock readLock = rwLock.readLock();
-    private final Lock writeLock = rwLock.writeLock();
+    private static final int READ_BUFFER_STRIPES = Math.min(64,
+                                                            Integer.highestOneBit(Runtime.getRuntime()
+                                                                                          .availableProcessors() * 2 - 1)
+                                                                    << 1);
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    @SuppressWarnings("unchecked")
+    private final ReadBuffer<K, V>[] readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
 
     private final int capacity;
     private final LruCacheConfig<K, V> config;
+    private final ToIntBiFunction<K, V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+    // only used with frequency admission
+    private final FrequencySketch sketch;
+    private final long maxWindow;
+    private final long maxProtected;
+
+    // guarded by eviction lock
+    private long totalWeight;
+    private long windowWeight;
+    private long protectedWeight;
 
-    private LruCache(LruCacheConfig<K, V> config) {
+    private LruCache(LruCacheConfig<K, V> config, LongSupplier ticker) {
         this.capacity = config.capacity();
         this.config = config;
+        this.weigher = config.weigher().orElse(null);
+        this.expireAfterWriteNanos = config.expireAfterWrite().map(Duration::toNanos).orElse(0L);
+        this.expireAfterAccessNanos = config.expireAfterAccess().map(Duration::toNanos).orElse(0L);
+        this.ticker = ticker;
+
+        if (config.frequencyAdmission()) {
+            this.sketch = new FrequencySketch(capacity);
+            this.maxWindow = Math.max(1, capacity / 100);
+            this.maxProtected = (capacity - maxWindow) * 8 / 10;
+        } else {
+            // the window is the whole cache
+            this.sketch = null;
+            this.maxWindow = capacity;
+            this.maxProtected = 0;
+        }
+
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
     }
 
     /**
@@ -86,7 +140,7 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * @param <V> value type
      */
     public static <K, V> LruCache<K, V> create(LruCacheConfig<K, V> config) {
-        return new LruCache<>(config);
+        return new LruCache<>(config, System::nanoTime);
     }
 
     /**
@@ -115,37 +169,26 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * @return value if present or empty
      */
     public Optional<V> get(K key) {
-        readLock.lock();
-
-        V value;
-        try {
-            value = backingMap.get(key);
-        } finally {
-            readLock.unlock();
-        }
-
-        if (null == value) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            missCount.increment();
             return Optional.empty();
         }
 
-        writeLock.lock();
-        try {
-            // make sure the value is the last in the map (I do ignore a race here, as it is not significant)
-            // if some other thread moved another record to the front, we just move ours before it
-
-            // TODO this hurts - we just need to move the key to the last position
-            // maybe this should be replaced with a list and a map?
-            value = backingMap.get(key);
-            if (null == value) {
+        V value = node.value;
+        if (expires()) {
+            long now = ticker.getAsLong();
+            if (isExpired(node, now)) {
+                missCount.increment();
+                expire(node);
                 return Optional.empty();
             }
-            backingMap.remove(key);
-            backingMap.put(key, value);
-
-            return Optional.of(value);
-        } finally {
-            writeLock.unlock();
+            node.accessTime = now;
         }
+
+        hitCount.increment();
+        afterRead(node);
+        return Optional.of(value);
     }
 
     /**
@@ -155,12 +198,19 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * @return the value that was mapped to the key, or empty if none was
      */
     public Optional<V> remove(K key) {
-
-        writeLock.lock();
+        evictionLock.lock();
         try {
-            return Optional.ofNullable(backingMap.remove(key));
+            Node<K, V> node = data.remove(key);
+            if (node == null) {
+                return Optional.empty();
+            }
+            unlink(node);
+            if (expires() && isExpired(node, ticker.getAsLong())) {
+                return Optional.empty();
+            }
+            return Optional.of(node.value);
         } finally {
-            writeLock.unlock();
+            evictionLock.unlock();
         }
     }
 
@@ -172,22 +222,35 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * @return value that was already mapped or empty if the value was not mapped
      */
     public Optional<V> put(K key, V value) {
-        writeLock.lock();
+        int weight = weigh(key, value);
+        long now = expires() ? ticker.getAsLong() : 0;
+
+        evictionLock.lock();
         try {
-            V currentValue = backingMap.remove(key);
-            if (null == currentValue) {
-                // need to free space - we did not make the map smaller
-                if (backingMap.size() >= capacity) {
-                    Iterator<V> iterator = backingMap.values().iterator();
-                    iterator.next();
-                    iterator.remove();
-                }
+            // apply pending reads first, so we evict based on the current order
+            drainReadBuffers();
+
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                node = new Node<>(key, value, weight, now);
+                data.put(key, node);
+                onAdd(node);
+                evict(now);
+                return Optional.empty();
             }
 
-            backingMap.put(key, value);
-            return Optional.ofNullable(currentValue);
+            V currentValue = node.value;
+            boolean wasExpired = expires() && isExpired(node, now);
+            node.value = value;
+            node.writeTime = now;
+            node.accessTime = now;
+            updateWeight(node, weight);
+            onAccess(node);
+            evict(now);
+
+            return wasExpired ? Optional.empty() : Optional.of(currentValue);
         } finally {
-            writeLock.unlock();
+            evictionLock.unlock();
         }
     }
 
@@ -203,13 +266,13 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * @return current value from the cache, or computed value from the supplier
      */
     public Optional<V> computeValue(K key, Supplier<Optional<V>> valueSupplier) {
-        // get is properly synchronized
+        // get is thread safe
         Optional<V> currentValue = get(key);
         if (currentValue.isPresent()) {
             return currentValue;
         }
         Optional<V> newValue = valueSupplier.get();
-        // put is also properly synchronized - nevertheless we may replace the value more then once
+        // put is also thread safe - nevertheless we may replace the value more then once
         // if called from parallel threads
         newValue.ifPresent(theValue -> put(key, theValue));
 
@@ -222,12 +285,7 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * @return number of records currently cached
      */
     public int size() {
-        readLock.lock();
-        try {
-            return backingMap.size();
-        } finally {
-            readLock.unlock();
-        }
+        return data.size();
     }
 
     /**
@@ -243,16 +301,387 @@ public final class LruCache<K, V> implements RuntimeType.Api<LruCacheConfig<K, V
      * Clear all records in the cache.
      */
     public void clear() {
-        writeLock.lock();
+        evictionLock.lock();
         try {
-            backingMap.clear();
+            for (ReadBuffer<K, V> readBuffer : readBuffers) {
+                readBuffer.drain(node -> { });
+            }
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedDeque.clear();
+            totalWeight = 0;
+            windowWeight = 0;
+            protectedWeight = 0;
         } finally {
-            writeLock.unlock();
+            evictionLock.unlock();
         }
     }
 
+    /**
+     * Statistics of this cache.
+     *
+     * @return current statistics
+     */
+    public Statistics statistics() {
+        return new Statistics(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    // for unit testing
+    static <K, V> LruCache<K, V> create(LruCacheConfig<K, V> config, LongSupplier ticker) {
+        return new LruCache<>(config, ticker);
+    }
+
     // for unit testing
     V directGet(K key) {
-        return backingMap.get(key);
+        Node<K, V> node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    private boolean expires() {
+        return expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0;
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    private int weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight of a cache record must not be negative, but was " + weight
+                                                       + " for key " + key);
+        }
+        return weight;
+    }
+
+    private void afterRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().threadId() & (readBuffers.length - 1)];
+        if (buffer.offer(node) && evictionLock.tryLock()) {
+            // buffer is full, drain it, unless somebody else is already doing it
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                unlink(node);
+                evictionCount.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // all methods below must be called while holding the eviction lock
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> readBuffer : readBuffers) {
+            readBuffer.drain(this::onAccess);
+        }
+    }
+
+    private void onAdd(Node<K, V> node) {
+        if (sketch != null) {
+            sketch.increment(node.key);
+        }
+        totalWeight += node.weight;
+        windowWeight += node.weight;
+        node.queue = Node.WINDOW;
+        window.addLast(node);
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (sketch != null) {
+            sketch.increment(node.key);
+        }
+        switch (node.queue) {
+        case Node.WINDOW -> window.moveToBack(node);
+        case Node.PROBATION -> {
+            // used again while on probation, promote to protected records
+            probation.remove(node);
+            node.queue = Node.PROTECTED;
+            protectedDeque.addLast(node);
+            protectedWeight += node.weight;
+            while (protectedWeight > maxProtected && protectedDeque.first() != null) {
+                Node<K, V> demoted = protectedDeque.pollFirst();
+                protectedWeight -= demoted.weight;
+                demoted.queue = Node.PROBATION;
+                probation.addLast(demoted);
+            }
+        }
+        case Node.PROTECTED -> protectedDeque.moveToBack(node);
+        default -> {
+            // already removed from the cache, the read was recorded before it was processed
+        }
+        }
+    }
+
+    private void updateWeight(Node<K, V> node, int weight) {
+        int delta = weight - node.weight;
+        node.weight = weight;
+        totalWeight += delta;
+        if (node.queue == Node.WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == Node.PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    private void evict(long now) {
+        if (expireAfterAccessNanos > 0) {
+            // records are ordered by access, so expired records are at the beginning
+            expireFirst(window, now);
+            expireFirst(probation, now);
+            expireFirst(protectedDeque, now);
+        }
+
+        if (sketch != null) {
+            evictWithAdmission();
+        }
+
+        while (totalWeight > capacity) {
+            Node<K, V> victim = probation.first();
+            if (victim == null) {
+                victim = protectedDeque.first();
+            }
+            if (victim == null) {
+                victim = window.first();
+            }
+            if (victim == null) {
+                break;
+            }
+            evictNode(victim);
+        }
+    }
+
+    // W-TinyLFU: records that leave the window compete with the least recently used record on probation,
+    // the one that is used less frequently is removed
+    private void evictWithAdmission() {
+        long maxMain = capacity - maxWindow;
+
+        while (windowWeight > maxWindow) {
+            Node<K, V> candidate = window.pollFirst();
+            windowWeight -= candidate.weight;
+            candidate.queue = Node.PROBATION;
+            probation.addLast(candidate);
+
+            while (totalWeight - windowWeight > maxMain) {
+                Node<K, V> victim = probation.first();
+                if (victim == candidate) {
+                    victim = protectedDeque.first();
+                }
+                if (victim == null) {
+                    evictNode(candidate);
+                    break;
+                }
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evictNode(victim);
+                } else {
+                    evictNode(candidate);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void expireFirst(AccessOrderDeque<K, V> deque, long now) {
+        Node<K, V> node = deque.first();
+        while (node != null && isExpired(node, now)) {
+            evictNode(node);
+            node = deque.first();
+        }
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictionCount.increment();
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+        case Node.WINDOW -> {
+            window.remove(node);
+            windowWeight -= node.weight;
+        }
+        case Node.PROBATION -> probation.remove(node);
+        case Node.PROTECTED -> {
+            protectedDeque.remove(node);
+            protectedWeight -= node.weight;
+        }
+        default -> {
+            return;
+        }
+        }
+        totalWeight -= node.weight;
+        node.queue = Node.REMOVED;
+    }
+
+    /**
+     * Statistics of a cache.
+     *
+     * @param hitCount      number of reads that found a value
+     * @param missCount     number of reads that did not find a value
+     * @param evictionCount number of records removed from the cache because of capacity or expiration
+     */
+    public record Statistics(long hitCount, long missCount, long evictionCount) {
+        /**
+         * Ratio of reads that found a value, {@code 1.0} if there were no reads.
+         *
+         * @return hit ratio
+         */
+        public double hitRatio() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+
+    private static final class Node<K, V> {
+        private static final int REMOVED = 0;
+        private static final int WINDOW = 1;
+        private static final int PROBATION = 2;
+        private static final int PROTECTED = 3;
+
+        private final K key;
+        private volatile V value;
+        private volatile long writeTime;
+        private volatile long accessTime;
+
+        // guarded by eviction lock
+        private int weight;
+        private int queue;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    // doubly linked list of nodes, first node is the least recently used one; not thread safe
+    private static final class AccessOrderDeque<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        Node<K, V> first() {
+            return first;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void clear() {
+            Node<K, V> node = first;
+            while (node != null) {
+                Node<K, V> next = node.next;
+                node.previous = null;
+                node.next = null;
+                node.queue = Node.REMOVED;
+                node = next;
+            }
+            first = null;
+            last = null;
+        }
+    }
+
+    // lossy bounded buffer of reads, multiple producers, drained under the eviction lock
+    private static final class ReadBuffer<K, V> {
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        /**
+         * Record a read.
+         *
+         * @param node node that was read
+         * @return whether the buffer should be drained
+         */
+        boolean offer(Node<K, V> node) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long size = tail - head;
+            if (size >= SIZE) {
+                // full, the read is lost
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), node);
+                return size + 1 >= SIZE;
+            }
+            // contended, the read is lost
+            return false;
+        }
+
+        void drain(Consumer<Node<K, V>> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                Node<K, V> node = buffer.get(index);
+                if (node == null) {
+                    // the write is not yet visible
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(node);
+            }
+            readCounter = head;
+        }
     }
 }
@@ -16,6 +16,10 @@
 
 package io.helidon.common.configurable;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.ToIntBiFunction;
+
 import io.helidon.builder.api.Option;
 import io.helidon.builder.api.Prototype;
 
@@ -36,4 +40,40 @@ interface LruCacheConfigBlueprint<K, V> extends Prototype.Factory<LruCache<K, V>
     @Option.DefaultInt(LruCache.DEFAULT_CAPACITY)
     @Option.Configured
     int capacity();
+
+    /**
+     * Weigher of cached records. When configured, {@link #capacity()} is the maximal total weight of records
+     * in the cache, rather than the maximal number of records. Weight of each record must not be negative.
+     *
+     * @return weigher of records, if not configured, each record has a weight of {@code 1}
+     */
+    Optional<ToIntBiFunction<K, V>> weigher();
+
+    /**
+     * Records are removed from the cache once this duration elapses after they were added or their value was replaced.
+     *
+     * @return duration after write to expire records, if not configured, records do not expire after write
+     */
+    @Option.Configured
+    Optional<Duration> expireAfterWrite();
+
+    /**
+     * Records are removed from the cache once this duration elapses after they were last read or written.
+     *
+     * @return duration after access to expire records, if not configured, records do not expire after access
+     */
+    @Option.Configured
+    Optional<Duration> expireAfterAccess();
+
+    /**
+     * Whether to use frequency based admission (W-TinyLFU) when the cache is full.
+     * When enabled, a new record is only kept in the cache if it is used more frequently than the record that
+     * would be removed to make space for it. This protects frequently used records from being removed by a burst of
+     * records used only once. When disabled (default), the least recently used record is always removed.
+     *
+     * @return whether to use frequency based admission
+     */
+    @Option.Configured
+    @Option.DefaultBoolean(false)
+    boolean frequencyAdmission();
 }
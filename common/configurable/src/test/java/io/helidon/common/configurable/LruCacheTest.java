@@ -16,12 +16,18 @@
 
 package io.helidon.common.configurable;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 /**
  * Unit test for {@link LruCache}.
@@ -109,4 +115,122 @@ class LruCacheTest {
         assertThat(value, is(Optional.empty()));
 
     }
+
+    @Test
+    void testStatistics() {
+        LruCache<Integer, Integer> theCache = LruCache.<Integer, Integer>builder().capacity(2).build();
+        theCache.put(1, 1);
+        theCache.put(2, 2);
+        theCache.get(1);
+        theCache.get(3);
+        theCache.put(3, 3);
+
+        LruCache.Statistics statistics = theCache.statistics();
+        assertThat(statistics.hitCount(), is(1L));
+        assertThat(statistics.missCount(), is(1L));
+        assertThat(statistics.evictionCount(), is(1L));
+        assertThat(statistics.hitRatio(), is(0.5));
+    }
+
+    @Test
+    void testWeight() {
+        LruCache<String, String> theCache = LruCache.<String, String>builder()
+                .capacity(10)
+                .weigher((key, value) -> value.length())
+                .build();
+
+        theCache.put("first", "12345");
+        theCache.put("second", "1234");
+        assertThat(theCache.size(), is(2));
+
+        // weight is now 5 + 4 + 3, oldest record must be removed
+        theCache.put("third", "123");
+        assertThat(theCache.size(), is(2));
+        assertThat(theCache.get("first"), is(Optional.empty()));
+        assertThat(theCache.get("second"), is(Optional.of("1234")));
+        assertThat(theCache.get("third"), is(Optional.of("123")));
+    }
+
+    @Test
+    void testExpireAfterWrite() {
+        AtomicLong ticker = new AtomicLong();
+        LruCache<String, String> theCache = LruCache.create(LruCache.<String, String>builder()
+                                                                    .expireAfterWrite(Duration.ofSeconds(10))
+                                                                    .buildPrototype(),
+                                                            ticker::get);
+        theCache.put("key", "value");
+        ticker.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(theCache.get("key"), is(Optional.of("value")));
+        ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(theCache.get("key"), is(Optional.empty()));
+        assertThat(theCache.size(), is(0));
+        assertThat(theCache.statistics().evictionCount(), is(1L));
+    }
+
+    @Test
+    void testExpireAfterAccess() {
+        AtomicLong ticker = new AtomicLong();
+        LruCache<String, String> theCache = LruCache.create(LruCache.<String, String>builder()
+                                                                    .expireAfterAccess(Duration.ofSeconds(10))
+                                                                    .buildPrototype(),
+                                                            ticker::get);
+        theCache.put("key", "value");
+        theCache.put("other", "value");
+        for (int i = 0; i < 5; i++) {
+            ticker.addAndGet(Duration.ofSeconds(5).toNanos());
+            assertThat(theCache.get("key"), is(Optional.of("value")));
+        }
+        assertThat(theCache.get("other"), is(Optional.empty()));
+        assertThat(theCache.get("key"), is(Optional.of("value")));
+    }
+
+    @Test
+    void testFrequencyAdmission() {
+        LruCache<Integer, Integer> theCache = LruCache.<Integer, Integer>builder()
+                .capacity(100)
+                .frequencyAdmission(true)
+                .build();
+        for (int i = 0; i < 100; i++) {
+            theCache.put(i, i);
+        }
+        // make the first half of records popular
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertThat(theCache.get(i), is(Optional.of(i)));
+            }
+        }
+        // a scan of records used only once must not remove the popular records
+        for (int i = 1000; i < 2000; i++) {
+            theCache.put(i, i);
+        }
+        assertThat(theCache.size(), is(100));
+        for (int i = 0; i < 50; i++) {
+            assertThat(theCache.directGet(i), is(i));
+        }
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        LruCache<Integer, Integer> theCache = LruCache.<Integer, Integer>builder().capacity(100).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int thread = 0; thread < futures.length; thread++) {
+                int offset = thread;
+                futures[thread] = executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        int key = (i * 31 + offset) % 500;
+                        theCache.computeValue(key, () -> Optional.of(key))
+                                .ifPresent(value -> assertThat(value, is(key)));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(theCache.size(), lessThanOrEqualTo(100));
+    }
 }
@@ -17,6 +17,7 @@
 package io.helidon.common.socket;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.helidon.common.buffers.BufferData;
 import io.helidon.common.buffers.DataWriter;
@@ -24,9 +25,15 @@ import io.helidon.common.buffers.DataWriter;
 /**
  * Socket writer (possibly) used from multiple threads, takes care of writing to a single
  * socket.
+ * <p>
+ * Buffers written to this writer are {@link io.helidon.common.buffers.BufferData#release() released} once written to
+ * the socket, so buffers from a pooled {@link io.helidon.common.buffers.BufferAllocator} can be reused.
  */
 public abstract class SocketWriter implements DataWriter {
     private final HelidonSocket socket;
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder buffers = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
 
     /**
      * A new socket writer.
@@ -74,7 +81,23 @@ public abstract class SocketWriter implements DataWriter {
 
     @Override
     public void writeNow(BufferData buffer) {
-        socket.write(buffer);
+        int available = buffer.available();
+        try {
+            socket.write(buffer);
+        } finally {
+            // the buffer is owned by this writer once written
+            buffer.release();
+        }
+        recordFlush(1, available);
+    }
+
+    /**
+     * Statistics of writes to the socket done by this writer.
+     *
+     * @return current statistics
+     */
+    public Statistics statistics() {
+        return new Statistics(flushes.sum(), buffers.sum(), bytes.sum());
     }
 
     /**
@@ -92,4 +115,43 @@ public abstract class SocketWriter implements DataWriter {
     protected HelidonSocket socket() {
         return socket;
     }
+
+    /**
+     * Record a single write to the socket.
+     *
+     * @param bufferCount number of buffers written at once
+     * @param byteCount   number of bytes written
+     */
+    protected void recordFlush(int bufferCount, long byteCount) {
+        flushes.increment();
+        buffers.add(bufferCount);
+        bytes.add(byteCount);
+    }
+
+    /**
+     * Statistics of a socket writer.
+     *
+     * @param flushes number of writes to the socket
+     * @param buffers number of buffers written
+     * @param bytes   number of bytes written
+     */
+    public record Statistics(long flushes, long buffers, long bytes) {
+        /**
+         * Average number of buffers written to the socket at once.
+         *
+         * @return buffers per flush
+         */
+        public double buffersPerFlush() {
+            return flushes == 0 ? 0 : (double) buffers / flushes;
+        }
+
+        /**
+         * Average number of bytes written to the socket at once.
+         *
+         * @return bytes per flush
+         */
+        public double bytesPerFlush() {
+            return flushes == 0 ? 0 : (double) bytes / flushes;
+        }
+    }
 }
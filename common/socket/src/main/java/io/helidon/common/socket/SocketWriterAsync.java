@@ -16,30 +16,43 @@
 
 package io.helidon.common.socket;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 import io.helidon.common.buffers.BufferData;
-import io.helidon.common.buffers.CompositeBufferData;
 import io.helidon.common.buffers.DataWriter;
 
 /**
  * Socket writer (possibly) used from multiple threads, takes care of writing to a single
  * socket.
+ * <p>
+ * Buffers are enqueued into a lock-free queue (bounded by a permit for each queued buffer), and a single writer thread
+ * drains the queue. Queued buffers are coalesced into a reusable flush buffer, so all buffers available at the time
+ * are written to the socket using a single write operation.
+ * Each buffer is released once copied to the flush buffer or written to the socket.
  */
 class SocketWriterAsync extends SocketWriter implements DataWriter {
     private static final System.Logger LOGGER = System.getLogger(SocketWriterAsync.class.getName());
-    private static final BufferData CLOSING_TOKEN = BufferData.empty();
+    // maximal number of buffers written at once
+    private static final int MAX_BATCH = 1000;
+    private static final int FLUSH_BUFFER_SIZE = 16 * 1024;
+
     private final ExecutorService executor;
-    private final ArrayBlockingQueue<BufferData> writeQueue;
+    private final ConcurrentLinkedQueue<BufferData> writeQueue = new ConcurrentLinkedQueue<>();
+    private final Semaphore queuePermits;
     private final CountDownLatch cdl = new CountDownLatch(1);
     private final AtomicBoolean started = new AtomicBoolean(false);
     private volatile Throwable caught;
     private volatile boolean run = true;
-    private Thread thread;
+    private volatile boolean parked;
+    private volatile Thread thread;
+    // only used from the writer thread
+    private byte[] flushBuffer;
 
     /**
      * A new socket writer.
@@ -52,7 +65,7 @@ class SocketWriterAsync extends SocketWriter implements DataWriter {
     SocketWriterAsync(ExecutorService executor, HelidonSocket socket, int writeQueueLength) {
         super(socket);
         this.executor = executor;
-        this.writeQueue = new ArrayBlockingQueue<>(writeQueueLength);
+        this.queuePermits = new Semaphore(writeQueueLength);
     }
 
     @Override
@@ -66,13 +79,17 @@ class SocketWriterAsync extends SocketWriter implements DataWriter {
     public void write(BufferData buffer) {
         checkRunning();
         try {
-            if (!writeQueue.offer(buffer, 10, TimeUnit.SECONDS)) {
+            if (!queuePermits.tryAcquire(10, TimeUnit.SECONDS)) {
                 checkRunning();
                 throw new IllegalStateException("Failed to write data to queue, timed out");
             }
         } catch (InterruptedException e) {
             throw new IllegalStateException("Interrupted while trying to write to a queue", e);
         }
+        writeQueue.offer(buffer);
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
     }
 
     /**
@@ -85,11 +102,13 @@ class SocketWriterAsync extends SocketWriter implements DataWriter {
             return;
         }
         try {
-            writeQueue.put(CLOSING_TOKEN); // wake up blocked take() operation
+            // wake up the writer thread if waiting for data
+            LockSupport.unpark(thread);
             if (cdl.await(1000, TimeUnit.MILLISECONDS)) {
                 // reads finished because we set run to false
                 BufferData available;
                 while ((available = writeQueue.poll()) != null) {
+                    queuePermits.release();
                     try {
                         writeNow(available);
                     } catch (Exception e) {
@@ -99,31 +118,46 @@ class SocketWriterAsync extends SocketWriter implements DataWriter {
                     }
                 }
             }
-            if (thread != null) {
+            Thread writerThread = thread;
+            if (writerThread != null) {
                 // fail blocked writers
-                thread.interrupt();
+                writerThread.interrupt();
             }
         } catch (InterruptedException e) {            // failed to get
         }
-
+        if (LOGGER.isLoggable(System.Logger.Level.TRACE)) {
+            Statistics statistics = statistics();
+            socket().log(LOGGER,
+                         System.Logger.Level.TRACE,
+                         "socket writer flushes: %d, buffers per flush: %.2f, bytes per flush: %.2f",
+                         statistics.flushes(),
+                         statistics.buffersPerFlush(),
+                         statistics.bytesPerFlush());
+        }
     }
 
     private void run() {
         this.thread = Thread.currentThread();
         this.thread.setName("[" + socket().socketId() + " " + socket().childSocketId() + "]");
+        this.flushBuffer = new byte[FLUSH_BUFFER_SIZE];
         try {
             while (run) {
-                CompositeBufferData toWrite = BufferData.createComposite(writeQueue.take());  // wait if the queue is empty
-                // we only want to read a certain amount of data, if somebody writes huge amounts
-                // we could spin here forever and run out of memory
-                for (int i = 0; i < 1000; i++) {
-                    BufferData newBuf = writeQueue.poll(); // drain ~all elements from the queue, don't wait.
-                    if (newBuf == null) {
-                        break;
+                BufferData first = writeQueue.poll();
+                if (first == null) {
+                    // wait if the queue is empty, re-check after announcing we are parked, to not miss a wake-up
+                    parked = true;
+                    first = writeQueue.poll();
+                    if (first == null) {
+                        if (run) {
+                            LockSupport.park(this);
+                        }
+                        parked = false;
+                        continue;
                     }
-                    toWrite.add(newBuf);
+                    parked = false;
                 }
-                writeNow(toWrite);
+                queuePermits.release();
+                writeBatch(first);
             }
             cdl.countDown();
         } catch (Throwable e) {
@@ -132,6 +166,55 @@ class SocketWriterAsync extends SocketWriter implements DataWriter {
         }
     }
 
+    // drain ~all elements from the queue, don't wait; we only want to write a certain amount of data at once,
+    // if somebody writes huge amounts we could spin here forever
+    private void writeBatch(BufferData first) {
+        int position = 0;
+        int bufferCount = 0;
+        BufferData next = first;
+
+        for (int i = 0; i < MAX_BATCH && next != null; i++) {
+            int available = next.available();
+            if (available > flushBuffer.length - position) {
+                // does not fit, write what we have
+                if (position > 0) {
+                    flush(position, bufferCount);
+                    position = 0;
+                    bufferCount = 0;
+                }
+                if (available > flushBuffer.length) {
+                    // too big to be coalesced, write it as is (also releases it)
+                    writeNow(next);
+                    available = -1;
+                }
+            }
+            if (available > 0) {
+                position += next.read(flushBuffer, position, available);
+                bufferCount++;
+            }
+            if (available >= 0) {
+                // copied to flush buffer, can be reused
+                next.release();
+            }
+
+            if (i + 1 < MAX_BATCH) {
+                next = writeQueue.poll();
+                if (next != null) {
+                    queuePermits.release();
+                }
+            }
+        }
+
+        if (position > 0) {
+            flush(position, bufferCount);
+        }
+    }
+
+    private void flush(int length, int bufferCount) {
+        socket().write(BufferData.create(flushBuffer, 0, length));
+        recordFlush(bufferCount, length);
+    }
+
     private void checkRunning() {
         if (started.compareAndSet(false, true)) {
             // start writer on first asynchronous write
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.socket;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.buffers.BufferData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SocketWriterAsyncTest {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testOrderingConcurrentWriters() throws Exception {
+        int writers = 8;
+        int writesPerWriter = 500;
+        RecordingSocket socket = new RecordingSocket();
+        SocketWriterAsync writer = new SocketWriterAsync(executor, socket, 32);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            int writerId = i;
+            futures.add(executor.submit(() -> {
+                for (int sequence = 0; sequence < writesPerWriter; sequence++) {
+                    BufferData buffer = BufferData.create(8);
+                    buffer.writeInt32(writerId);
+                    buffer.writeInt32(sequence);
+                    writer.write(buffer);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        writer.close();
+
+        // each writer's buffers must be written in the order they were enqueued, and none may be lost
+        ByteBuffer written = ByteBuffer.wrap(socket.written());
+        assertThat(written.remaining(), is(writers * writesPerWriter * 8));
+        int[] expected = new int[writers];
+        while (written.hasRemaining()) {
+            int writerId = written.getInt();
+            int sequence = written.getInt();
+            assertThat("Sequence of writer " + writerId, sequence, is(expected[writerId]));
+            expected[writerId]++;
+        }
+        for (int count : expected) {
+            assertThat(count, is(writesPerWriter));
+        }
+        assertThat(writer.statistics().buffers(), is((long) writers * writesPerWriter));
+    }
+
+    @Test
+    void testBufferLargerThanFlushBuffer() {
+        byte[] large = new byte[100 * 1024];
+        new Random(42).nextBytes(large);
+        RecordingSocket socket = new RecordingSocket();
+        SocketWriterAsync writer = new SocketWriterAsync(executor, socket, 32);
+
+        writer.write(BufferData.create("before"));
+        writer.write(BufferData.create(large));
+        writer.write(BufferData.create("after"));
+        writer.close();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.writeBytes("before".getBytes());
+        expected.writeBytes(large);
+        expected.writeBytes("after".getBytes());
+        assertThat(socket.written(), is(expected.toByteArray()));
+        assertThat(writer.statistics().bytes(), is((long) expected.size()));
+    }
+
+    @Test
+    void testCloseWithPendingWrites() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingSocket socket = new RecordingSocket(blocked);
+        SocketWriterAsync writer = new SocketWriterAsync(executor, socket, 32);
+
+        // the first write blocks the writer thread in the socket, the rest stays in the queue
+        for (int i = 0; i < 20; i++) {
+            writer.write(BufferData.create(i + ","));
+        }
+        executor.submit(() -> {
+            TimeUnit.MILLISECONDS.sleep(100);
+            blocked.countDown();
+            return null;
+        });
+        writer.close();
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            expected.append(i).append(',');
+        }
+        assertThat(new String(socket.written()), is(expected.toString()));
+        assertThrows(SocketWriterException.class, () -> writer.write(BufferData.create("late")));
+    }
+
+    private static final class RecordingSocket implements HelidonSocket {
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private final CountDownLatch writeLatch;
+
+        private RecordingSocket() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingSocket(CountDownLatch writeLatch) {
+            this.writeLatch = writeLatch;
+        }
+
+        @Override
+        public void write(BufferData buffer) {
+            try {
+                writeLatch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            byte[] bytes = new byte[buffer.available()];
+            buffer.read(bytes);
+            synchronized (written) {
+                written.writeBytes(bytes);
+            }
+        }
+
+        byte[] written() {
+            synchronized (written) {
+                return written.toByteArray();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void idle() {
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public int read(BufferData buffer) {
+            return 0;
+        }
+
+        @Override
+        public PeerInfo remotePeer() {
+            return null;
+        }
+
+        @Override
+        public PeerInfo localPeer() {
+            return null;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public String socketId() {
+            return "test";
+        }
+
+        @Override
+        public String childSocketId() {
+            return "test";
+        }
+
+        @Override
+        public byte[] get() {
+            return new byte[0];
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.helidon.dbclient;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 import io.helidon.common.context.Context;
@@ -87,6 +88,27 @@ public interface DbClientServiceContext {
      */
     CompletionStage<Long> resultFuture();
 
+    /**
+     * Whether the parsed statement was found in the statement cache of the database client.
+     * Set by the client while the statement is prepared, so it is known once the {@link #statementFuture()} completes.
+     *
+     * @return whether the statement cache was hit, empty if the client did not use a statement cache for this statement
+     *         (default)
+     */
+    default Optional<Boolean> statementCacheHit() {
+        return Optional.empty();
+    }
+
+    /**
+     * Set whether the parsed statement was found in the statement cache of the database client.
+     *
+     * @param hit whether the statement cache was hit
+     * @return updated interceptor context
+     */
+    default DbClientServiceContext statementCacheHit(boolean hit) {
+        return this;
+    }
+
     /**
      * Set a new statement with indexed parameters to be used.
      *
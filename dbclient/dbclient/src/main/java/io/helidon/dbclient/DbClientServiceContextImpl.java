@@ -17,6 +17,7 @@ package io.helidon.dbclient;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 import io.helidon.common.context.Context;
@@ -40,6 +41,7 @@ public class DbClientServiceContextImpl implements DbClientServiceContext {
     private Context context;
     private String stmt;
     private String stmtName;
+    private Boolean stmtCacheHit;
 
     /**
      * Create a new instance.
@@ -105,6 +107,17 @@ public class DbClientServiceContextImpl implements DbClientServiceContext {
         return queryFuture;
     }
 
+    @Override
+    public Optional<Boolean> statementCacheHit() {
+        return Optional.ofNullable(stmtCacheHit);
+    }
+
+    @Override
+    public DbClientServiceContextImpl statementCacheHit(boolean hit) {
+        this.stmtCacheHit = hit;
+        return this;
+    }
+
     @Override
     public DbClientServiceContextImpl statement(String stmt, List<Object> parameters) {
         if (stmtParams == UNDEFINED) {
@@ -73,6 +73,13 @@ public abstract class DbStatementBase<S extends DbStatement<S>> implements DbSta
         return parameters != null ? parameters : UNDEFINED;
     }
 
+    /**
+     * Clear the statement parameters, so a new set of parameters can be configured.
+     */
+    protected void resetParameters() {
+        parameters = null;
+    }
+
     /**
      * Get the statement type.
      *
@@ -27,4 +27,23 @@ public interface DbStatementDml extends DbStatement<DbStatementDml> {
      * @return The result of this statement.
      */
     long execute();
+
+    /**
+     * Add the parameters configured with {@code params} and {@code addParams} methods to the batch of this statement,
+     * and clear them, so the next set of parameters can be configured.
+     * The database client may send a part of the batch to the database before {@link #executeBatch()} is called,
+     * so errors of the batch may be reported by this method.
+     *
+     * @return updated db statement
+     */
+    DbStatementDml addBatch();
+
+    /**
+     * Execute this statement once for each set of parameters added with {@link #addBatch()}.
+     * Parameters configured after the last {@link #addBatch()} are not part of the batch.
+     * Executions not yet sent to the database by {@link #addBatch()} are sent by this method.
+     *
+     * @return total number of modified records of the whole batch, as reported by the database
+     */
+    long executeBatch();
 }
@@ -40,6 +40,8 @@ class JdbcClient extends DbClientBase implements DbClient {
                 .clientServices(builder.clientServices())
                 .dbType(builder.connectionPool().dbType())
                 .parametersSetter(builder.parametersConfig())
+                .statementCacheSize(builder.statementCacheSize())
+                .batchSize(builder.batchSize())
                 .build());
         connectionPool = builder.connectionPool();
     }
@@ -28,8 +28,19 @@ public final class JdbcClientBuilder
         extends DbClientBuilderBase<JdbcClientBuilder>
         implements DbClientBuilder<JdbcClientBuilder> {
 
+    /**
+     * Default size of the parsed statement cache.
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 256;
+    /**
+     * Default maximal size of a JDBC batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     private JdbcConnectionPool connectionPool;
     private JdbcParametersConfigBlueprint parametersConfig;
+    private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     JdbcClientBuilder() {
         super();
@@ -58,6 +69,42 @@ public final class JdbcClientBuilder
         if (parameters.exists()) {
             this.parametersConfig = JdbcParametersConfig.create(parameters);
         }
+        config.get("statement-cache-size").asInt().ifPresent(this::statementCacheSize);
+        config.get("batch-size").asInt().ifPresent(this::batchSize);
+        return this;
+    }
+
+    /**
+     * Configure size of the cache of statements with named parameters parsed to indexed notation, so the statement
+     * text is not parsed on each execution.
+     * Default value is {@value #DEFAULT_STATEMENT_CACHE_SIZE}.
+     *
+     * @param statementCacheSize maximal number of cached statements, {@code 0} to disable the cache
+     * @return updated builder instance
+     */
+    public JdbcClientBuilder statementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size must not be negative: " + statementCacheSize);
+        }
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Configure maximal number of statement executions sent to the database in a single JDBC batch.
+     * {@link io.helidon.dbclient.DbStatementDml#addBatch()} sends the pending executions to the database each time
+     * this number is reached, so at most this number of executions is kept until
+     * {@link io.helidon.dbclient.DbStatementDml#executeBatch()}.
+     * Default value is {@value #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize maximal size of a JDBC batch
+     * @return updated builder instance
+     */
+    public JdbcClientBuilder batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
         return this;
     }
 
@@ -92,6 +139,24 @@ public final class JdbcClientBuilder
         return connectionPool;
     }
 
+    /**
+     * Get the size of the parsed statement cache.
+     *
+     * @return statement cache size
+     */
+    int statementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Get the maximal size of a JDBC batch.
+     *
+     * @return batch size
+     */
+    int batchSize() {
+        return batchSize;
+    }
+
     /**
      * Get the parameters setter configuration.
      *
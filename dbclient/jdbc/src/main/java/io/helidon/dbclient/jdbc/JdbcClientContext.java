@@ -15,6 +15,9 @@
  */
 package io.helidon.dbclient.jdbc;
 
+import java.util.Optional;
+
+import io.helidon.common.configurable.LruCache;
 import io.helidon.dbclient.DbClientContext;
 
 /**
@@ -25,17 +28,40 @@ import io.helidon.dbclient.DbClientContext;
 class JdbcClientContext extends DbClientContext {
 
     private final JdbcParametersConfigBlueprint parametersConfig;
-
+    private final LruCache<String, NamedStatementParser.Parsed> statementCache;
+    private final int batchSize;
 
     JdbcClientContext(Builder builder) {
         super(builder);
         this.parametersConfig = builder.parametersConfig;
+        this.statementCache = builder.statementCacheSize > 0
+                ? LruCache.<String, NamedStatementParser.Parsed>builder().capacity(builder.statementCacheSize).build()
+                : null;
+        this.batchSize = builder.batchSize;
     }
 
     JdbcParametersConfigBlueprint parametersConfig() {
         return parametersConfig;
     }
 
+    /**
+     * Cache of statements with named parameters parsed to indexed notation.
+     *
+     * @return statement cache, empty if disabled
+     */
+    Optional<LruCache<String, NamedStatementParser.Parsed>> statementCache() {
+        return Optional.ofNullable(statementCache);
+    }
+
+    /**
+     * Maximal number of statement executions sent to the database in a single JDBC batch.
+     *
+     * @return batch size
+     */
+    int batchSize() {
+        return batchSize;
+    }
+
     /**
      * Create Helidon JDBC database client context builder.
      *
@@ -51,12 +77,36 @@ class JdbcClientContext extends DbClientContext {
     static final class Builder extends DbClientContext.BuilderBase<Builder, JdbcClientContext> {
 
         private JdbcParametersConfigBlueprint parametersConfig;
+        private int statementCacheSize = JdbcClientBuilder.DEFAULT_STATEMENT_CACHE_SIZE;
+        private int batchSize = JdbcClientBuilder.DEFAULT_BATCH_SIZE;
 
         private Builder() {
             super();
             this.parametersConfig = JdbcParametersConfig.create();
         }
 
+        /**
+         * Configure size of the parsed statement cache.
+         *
+         * @param statementCacheSize maximal number of cached statements, {@code 0} to disable the cache
+         * @return updated builder instance
+         */
+        Builder statementCacheSize(int statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * Configure maximal size of a JDBC batch.
+         *
+         * @param batchSize maximal number of statement executions in a single batch
+         * @return updated builder instance
+         */
+        Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         /**
          * Configure parameters setter.
          *
@@ -15,6 +15,9 @@
  */
 package io.helidon.dbclient.jdbc;
 
+import java.util.Optional;
+
+import io.helidon.common.configurable.LruCache;
 import io.helidon.dbclient.DbExecuteContext;
 
 /**
@@ -30,6 +33,14 @@ class JdbcExecuteContext extends DbExecuteContext {
         return clientContext(JdbcClientContext.class).parametersConfig();
     }
 
+    Optional<LruCache<String, NamedStatementParser.Parsed>> statementCache() {
+        return clientContext(JdbcClientContext.class).statementCache();
+    }
+
+    int batchSize() {
+        return clientContext(JdbcClientContext.class).batchSize();
+    }
+
     /**
      * Create a new execution context.
      *
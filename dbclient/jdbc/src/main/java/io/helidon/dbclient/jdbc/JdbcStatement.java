@@ -29,14 +29,18 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import io.helidon.common.configurable.LruCache;
 import io.helidon.dbclient.DbClientException;
 import io.helidon.dbclient.DbClientServiceContext;
 import io.helidon.dbclient.DbIndexedStatementParameters;
 import io.helidon.dbclient.DbNamedStatementParameters;
 import io.helidon.dbclient.DbStatement;
 import io.helidon.dbclient.DbStatementBase;
+import io.helidon.dbclient.DbStatementException;
 import io.helidon.dbclient.DbStatementParameters;
 
 /**
@@ -50,6 +54,7 @@ public abstract class JdbcStatement<S extends DbStatement<S>> extends DbStatemen
 
     private final JdbcConnectionPool connectionPool;
     private Connection connection;
+    private Batch batch;
 
     /**
      * Create a new instance.
@@ -95,7 +100,7 @@ public abstract class JdbcStatement<S extends DbStatement<S>> extends DbStatemen
             return prepareIndexedStatement(stmtName, stmt, params);
         } else if (stmtParams instanceof DbNamedStatementParameters named) {
             Map<String, Object> params = named.parameters();
-            return prepareNamedStatement(stmtName, stmt, params);
+            return prepareNamedStatement(serviceContext, stmtName, stmt, params);
         }
         return prepareStatement(stmtName, stmt);
     }
@@ -134,27 +139,17 @@ public abstract class JdbcStatement<S extends DbStatement<S>> extends DbStatemen
         }
     }
 
-    private PreparedStatement prepareNamedStatement(String stmtName, String stmt, Map<String, Object> parameters) {
+    private PreparedStatement prepareNamedStatement(DbClientServiceContext serviceContext,
+                                                    String stmtName,
+                                                    String stmt,
+                                                    Map<String, Object> parameters) {
         PreparedStatement preparedStatement = null;
         try {
             // Parameters names must be replaced with ? and names occurrence order must be stored.
-            NamedStatementParser parser = new NamedStatementParser(stmt);
-            String convertedStmt = parser.convert();
-            LOGGER.log(Level.TRACE, () -> String.format("Converted statement: %s", convertedStmt));
-            preparedStatement = prepareStatement(stmtName, convertedStmt);
-            List<String> namesOrder = parser.namesOrder();
-            // Set parameters into prepared statement
-            int i = 1; // JDBC set position parameter starts from 1.
-            for (String name : namesOrder) {
-                if (parameters.containsKey(name)) {
-                    Object value = parameters.get(name);
-                    LOGGER.log(Level.TRACE, String.format("Mapped parameter %d: %s -> %s", i, name, value));
-                    setParameter(preparedStatement, i, value);
-                    i++;
-                } else {
-                    throw new DbClientException(namedStatementErrorMessage(namesOrder, parameters));
-                }
-            }
+            NamedStatementParser.Parsed parsed = parse(serviceContext, stmt);
+            LOGGER.log(Level.TRACE, () -> String.format("Converted statement: %s", parsed.statement()));
+            preparedStatement = prepareStatement(stmtName, parsed.statement());
+            setNamedParameters(preparedStatement, parsed.namesOrder(), parameters);
             return preparedStatement;
         } catch (SQLException e) {
             closePreparedStatement(preparedStatement);
@@ -166,12 +161,7 @@ public abstract class JdbcStatement<S extends DbStatement<S>> extends DbStatemen
         PreparedStatement preparedStatement = null;
         try {
             preparedStatement = prepareStatement(stmtName, stmt);
-            int i = 1; // JDBC set position parameter starts from 1.
-            for (Object value : parameters) {
-                LOGGER.log(Level.TRACE, String.format("Indexed parameter %d: %s", i, value));
-                setParameter(preparedStatement, i, value);
-                i++;
-            }
+            setIndexedParameters(preparedStatement, parameters);
             return preparedStatement;
         } catch (SQLException e) {
             closePreparedStatement(preparedStatement);
@@ -179,6 +169,108 @@ public abstract class JdbcStatement<S extends DbStatement<S>> extends DbStatemen
         }
     }
 
+    /**
+     * Add a set of parameters to the batch of this statement.
+     * The first set of parameters starts the execution and prepares the JDBC statement. Each time the configured batch
+     * size is reached, the pending executions are sent to the database, so parameters of executions already sent
+     * are not kept in memory.
+     *
+     * @param parameters parameters of the next execution
+     */
+    protected void doAddBatch(DbStatementParameters parameters) {
+        if (batch == null) {
+            batch = doExecute((future, context) -> {
+                try {
+                    return new Batch(future, context, parameters);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                    throw e;
+                }
+            });
+        }
+        try {
+            batch.add(parameters);
+        } catch (RuntimeException e) {
+            batch.fail(e);
+            batch = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Send the executions still pending in the batch of this statement to the database, and close the JDBC statement.
+     * The batch is cleared once executed.
+     *
+     * @return total number of modified records of the whole batch, as reported by the driver
+     */
+    protected long doExecuteBatch() {
+        Batch current = batch;
+        batch = null;
+        if (current == null) {
+            return doExecute((future, context) -> {
+                future.complete(0L);
+                return 0L;
+            });
+        }
+        try {
+            return current.execute();
+        } catch (RuntimeException e) {
+            current.fail(e);
+            throw e;
+        }
+    }
+
+    private NamedStatementParser.Parsed parse(DbClientServiceContext serviceContext, String stmt) {
+        Optional<LruCache<String, NamedStatementParser.Parsed>> cache = jdbcContext().statementCache();
+        if (cache.isEmpty()) {
+            return NamedStatementParser.parse(stmt);
+        }
+        Optional<NamedStatementParser.Parsed> cached = cache.get().get(stmt);
+        serviceContext.statementCacheHit(cached.isPresent());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        NamedStatementParser.Parsed parsed = NamedStatementParser.parse(stmt);
+        cache.get().put(stmt, parsed);
+        return parsed;
+    }
+
+    private void setNamedParameters(PreparedStatement preparedStatement,
+                                    List<String> namesOrder,
+                                    Map<String, Object> parameters) throws SQLException {
+        int i = 1; // JDBC set position parameter starts from 1.
+        for (String name : namesOrder) {
+            if (parameters.containsKey(name)) {
+                Object value = parameters.get(name);
+                LOGGER.log(Level.TRACE, String.format("Mapped parameter %d: %s -> %s", i, name, value));
+                setParameter(preparedStatement, i, value);
+                i++;
+            } else {
+                throw new DbClientException(namedStatementErrorMessage(namesOrder, parameters));
+            }
+        }
+    }
+
+    private void setIndexedParameters(PreparedStatement preparedStatement, List<Object> parameters) throws SQLException {
+        int i = 1; // JDBC set position parameter starts from 1.
+        for (Object value : parameters) {
+            LOGGER.log(Level.TRACE, String.format("Indexed parameter %d: %s", i, value));
+            setParameter(preparedStatement, i, value);
+            i++;
+        }
+    }
+
+    // drivers may report Statement.SUCCESS_NO_INFO (or EXECUTE_FAILED) instead of a count, these are not counted
+    private static long updateCount(int[] counts) {
+        long result = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                result += count;
+            }
+        }
+        return result;
+    }
+
     private void closePreparedStatement(PreparedStatement preparedStatement) {
         if (preparedStatement != null) {
             try {
@@ -365,4 +457,77 @@ public abstract class JdbcStatement<S extends DbStatement<S>> extends DbStatemen
         return bytes;
     }
 
+    /**
+     * Batch in progress, executions are sent to the database in JDBC batches of at most the configured batch size.
+     */
+    private final class Batch {
+        private final CompletableFuture<Long> future;
+        private final String stmtName;
+        private final String stmt;
+        private final List<String> namesOrder;
+        private final int batchSize;
+        private final PreparedStatement preparedStatement;
+        private int pending;
+        private long result;
+
+        private Batch(CompletableFuture<Long> future, DbClientServiceContext serviceContext, DbStatementParameters first) {
+            this.future = future;
+            this.stmtName = serviceContext.statementName();
+            this.batchSize = jdbcContext().batchSize();
+            if (first instanceof DbNamedStatementParameters) {
+                NamedStatementParser.Parsed parsed = parse(serviceContext, serviceContext.statement());
+                this.stmt = parsed.statement();
+                this.namesOrder = parsed.namesOrder();
+            } else {
+                this.stmt = serviceContext.statement();
+                this.namesOrder = null;
+            }
+            this.preparedStatement = prepareStatement(stmtName, stmt);
+        }
+
+        private void add(DbStatementParameters parameters) {
+            try {
+                if (namesOrder == null) {
+                    if (parameters instanceof DbIndexedStatementParameters indexed) {
+                        setIndexedParameters(preparedStatement, indexed.parameters());
+                    } else if (parameters != DbStatementParameters.UNDEFINED) {
+                        throw new DbClientException("Batch mixes indexed and named parameters: " + stmtName);
+                    }
+                } else if (parameters instanceof DbNamedStatementParameters named) {
+                    setNamedParameters(preparedStatement, namesOrder, named.parameters());
+                } else {
+                    throw new DbClientException("Batch mixes named and indexed parameters: " + stmtName);
+                }
+                preparedStatement.addBatch();
+                if (++pending == batchSize) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new DbStatementException("Failed to execute batch", stmt, e);
+            }
+        }
+
+        private long execute() {
+            try {
+                if (pending > 0) {
+                    flush();
+                }
+                preparedStatement.close();
+            } catch (SQLException e) {
+                throw new DbStatementException("Failed to execute batch", stmt, e);
+            }
+            future.complete(result);
+            return result;
+        }
+
+        private void fail(RuntimeException e) {
+            closePreparedStatement(preparedStatement);
+            future.completeExceptionally(e);
+        }
+
+        private void flush() throws SQLException {
+            result += updateCount(preparedStatement.executeBatch());
+            pending = 0;
+        }
+    }
 }
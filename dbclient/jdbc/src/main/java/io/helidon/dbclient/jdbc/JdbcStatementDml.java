@@ -58,6 +58,28 @@ class JdbcStatementDml extends JdbcStatement<DbStatementDml> implements DbStatem
         });
     }
 
+    @Override
+    public DbStatementDml addBatch() {
+        try {
+            doAddBatch(parameters());
+        } catch (RuntimeException e) {
+            closeConnection();
+            throw e;
+        } finally {
+            resetParameters();
+        }
+        return this;
+    }
+
+    @Override
+    public long executeBatch() {
+        try {
+            return doExecuteBatch();
+        } finally {
+            closeConnection();
+        }
+    }
+
     /**
      * Execute the given statement.
      *
@@ -49,4 +49,19 @@ class JdbcTransactionStatementDml extends JdbcTransactionStatement<DbStatementDm
     public long execute() {
         return doExecute((future, context) -> JdbcStatementDml.doExecute(this, future, context));
     }
+
+    @Override
+    public DbStatementDml addBatch() {
+        try {
+            doAddBatch(parameters());
+        } finally {
+            resetParameters();
+        }
+        return this;
+    }
+
+    @Override
+    public long executeBatch() {
+        return doExecuteBatch();
+    }
 }
@@ -572,4 +572,20 @@ class NamedStatementParser {
         return names;
     }
 
+    // Parses the statement into an immutable result, that can be cached and shared between threads.
+    static Parsed parse(String statement) {
+        NamedStatementParser parser = new NamedStatementParser(statement);
+        String converted = parser.convert();
+        return new Parsed(converted, List.copyOf(parser.namesOrder()));
+    }
+
+    /**
+     * Statement with named parameters translated to indexed notation.
+     *
+     * @param statement  statement with named parameters replaced with '?' characters
+     * @param namesOrder names of parameters in the same order as listed in the statement
+     */
+    record Parsed(String statement, List<String> namesOrder) {
+    }
+
 }
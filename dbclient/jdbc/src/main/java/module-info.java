@@ -29,6 +29,7 @@ import io.helidon.common.features.api.HelidonFlavor;
 module io.helidon.dbclient.jdbc {
 
     requires java.sql;
+    requires io.helidon.common.configurable;
 
     requires static io.helidon.common.features.api;
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import io.helidon.dbclient.DbClient;
+import io.helidon.dbclient.DbClientException;
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.dbclient.DbStatementDml;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link JdbcStatementDml} batch execution and the parsed statement cache.
+ */
+class JdbcStatementDmlTest {
+
+    private static final String NAMED_INSERT = "INSERT INTO pokemons VALUES(:id, :name)";
+    private static final String INDEXED_INSERT = "INSERT INTO pokemons VALUES(?, ?)";
+
+    private final List<DbClientServiceContext> serviceContexts = new ArrayList<>();
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        serviceContexts.clear();
+        connection = Mockito.mock(Connection.class);
+        statement = Mockito.mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    void testBatchSplitBySize() throws SQLException {
+        when(statement.executeBatch()).thenReturn(new int[] {1, 1}, new int[] {1});
+        DbStatementDml dml = client(2, JdbcClientBuilder.DEFAULT_STATEMENT_CACHE_SIZE)
+                .execute()
+                .createInsert(NAMED_INSERT);
+        for (int i = 1; i <= 2; i++) {
+            dml.addParam("id", i).addParam("name", "pokemon" + i).addBatch();
+        }
+        // full batch is sent before executeBatch, statement is kept open
+        verify(statement, times(1)).executeBatch();
+        verify(statement, never()).close();
+        verify(connection, never()).close();
+
+        dml.addParam("id", 3).addParam("name", "pokemon3").addBatch();
+        assertThat(dml.executeBatch(), is(3L));
+        verify(connection, times(1)).prepareStatement(INDEXED_INSERT);
+        verify(statement, times(3)).addBatch();
+        verify(statement, times(2)).executeBatch();
+        verify(statement).setInt(1, 3);
+        verify(statement).setString(2, "pokemon3");
+        verify(statement).close();
+        verify(connection).close();
+
+        // batch is cleared once executed
+        assertThat(dml.executeBatch(), is(0L));
+        verify(statement, times(2)).executeBatch();
+    }
+
+    @Test
+    void testBatchIndexed() throws SQLException {
+        when(statement.executeBatch()).thenReturn(new int[] {1, PreparedStatement.SUCCESS_NO_INFO});
+        DbStatementDml dml = client(JdbcClientBuilder.DEFAULT_BATCH_SIZE, JdbcClientBuilder.DEFAULT_STATEMENT_CACHE_SIZE)
+                .execute()
+                .createInsert(INDEXED_INSERT);
+        dml.addParam(1).addParam("pikachu").addBatch();
+        dml.addParam(2).addParam("raichu").addBatch();
+
+        assertThat(dml.executeBatch(), is(1L));
+        verify(statement, times(1)).executeBatch();
+        verify(statement).setString(2, "raichu");
+    }
+
+    @Test
+    void testBatchMixedParameters() throws SQLException {
+        DbStatementDml dml = client(JdbcClientBuilder.DEFAULT_BATCH_SIZE, JdbcClientBuilder.DEFAULT_STATEMENT_CACHE_SIZE)
+                .execute()
+                .createInsert(NAMED_INSERT);
+        dml.addParam("id", 1).addParam("name", "pikachu").addBatch();
+        dml.addParam(2).addParam("raichu");
+
+        assertThrows(DbClientException.class, dml::addBatch);
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void testStatementCache() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(1);
+        DbClient dbClient = client(JdbcClientBuilder.DEFAULT_BATCH_SIZE, JdbcClientBuilder.DEFAULT_STATEMENT_CACHE_SIZE);
+        dbClient.execute().createInsert(NAMED_INSERT).addParam("id", 1).addParam("name", "pikachu").execute();
+        dbClient.execute().createInsert(NAMED_INSERT).addParam("id", 2).addParam("name", "raichu").execute();
+
+        assertThat(serviceContexts.size(), is(2));
+        assertThat(serviceContexts.get(0).statementCacheHit(), is(Optional.of(false)));
+        assertThat(serviceContexts.get(1).statementCacheHit(), is(Optional.of(true)));
+        verify(connection, times(2)).prepareStatement(INDEXED_INSERT);
+    }
+
+    @Test
+    void testStatementCacheDisabled() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(1);
+        DbClient dbClient = client(JdbcClientBuilder.DEFAULT_BATCH_SIZE, 0);
+        dbClient.execute().createInsert(NAMED_INSERT).addParam("id", 1).addParam("name", "pikachu").execute();
+        dbClient.execute().createInsert(NAMED_INSERT).addParam("id", 2).addParam("name", "raichu").execute();
+
+        assertThat(serviceContexts.size(), is(2));
+        assertThat(serviceContexts.get(1).statementCacheHit(), is(Optional.empty()));
+        verify(connection, times(2)).prepareStatement(INDEXED_INSERT);
+    }
+
+    private DbClient client(int batchSize, int statementCacheSize) {
+        return new JdbcClientBuilder()
+                .connectionPool(() -> connection)
+                .batchSize(batchSize)
+                .statementCacheSize(statementCacheSize)
+                .addService(context -> {
+                    serviceContexts.add(context);
+                    return context;
+                })
+                .build();
+    }
+}
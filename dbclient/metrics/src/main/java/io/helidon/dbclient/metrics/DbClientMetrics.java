@@ -55,4 +55,30 @@ public class DbClientMetrics {
         return MetricTimer.builder();
     }
 
+    /**
+     * Create a counter builder of statement executions that found the parsed statement in the statement cache
+     * of the database client, to be registered
+     * with {@link io.helidon.dbclient.DbClient.Builder#addService(java.util.function.Supplier)}.
+     *
+     * @return a new counter builder
+     * @see io.helidon.dbclient.DbClientServiceContext#statementCacheHit()
+     */
+    public static DbClientMetricBuilder<? extends DbClientMetricBuilder<?, ?>, ? extends DbClientServiceBase>
+    statementCacheHits() {
+        return MetricStatementCache.hits();
+    }
+
+    /**
+     * Create a counter builder of statement executions that had to parse the statement, because it was not found
+     * in the statement cache of the database client, to be registered
+     * with {@link io.helidon.dbclient.DbClient.Builder#addService(java.util.function.Supplier)}.
+     *
+     * @return a new counter builder
+     * @see io.helidon.dbclient.DbClientServiceContext#statementCacheHit()
+     */
+    public static DbClientMetricBuilder<? extends DbClientMetricBuilder<?, ?>, ? extends DbClientServiceBase>
+    statementCacheMisses() {
+        return MetricStatementCache.misses();
+    }
+
 }
@@ -55,6 +55,8 @@ public class DbClientMetricsProvider implements DbClientServiceProvider {
         return switch (type) {
             case "COUNTER" -> DbClientMetrics.counter().config(config).build();
             case "TIMER" -> DbClientMetrics.timer().config(config).build();
+            case "STATEMENT_CACHE_HIT" -> DbClientMetrics.statementCacheHits().config(config).build();
+            case "STATEMENT_CACHE_MISS" -> DbClientMetrics.statementCacheMisses().config(config).build();
             default -> throw new DbClientException("Metrics type " + type + " is not supported through service loader");
         };
     }
@@ -15,8 +15,7 @@
  */
 package io.helidon.dbclient.metrics;
 
-import java.util.concurrent.CompletionStage;
-
+import io.helidon.dbclient.DbClientServiceContext;
 import io.helidon.metrics.api.Counter;
 import io.helidon.metrics.api.MeterRegistry;
 
@@ -38,8 +37,8 @@ final class MetricCounter extends MetricService<Counter> {
     }
 
     @Override
-    protected void executeMetric(Counter metric, CompletionStage<Void> future) {
-        future.thenRun(() -> {
+    protected void executeMetric(Counter metric, DbClientServiceContext context) {
+        context.statementFuture().thenRun(() -> {
             if (measureSuccess()) {
                 metric.increment();
             }
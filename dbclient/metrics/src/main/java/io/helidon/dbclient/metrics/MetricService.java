@@ -15,7 +15,6 @@
  */
 package io.helidon.dbclient.metrics;
 
-import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
@@ -88,7 +87,7 @@ abstract class MetricService<T extends Meter> extends DbClientServiceBase {
             return metric(registry.get(), builder.build());
         });
 
-        executeMetric(metric, context.statementFuture());
+        executeMetric(metric, context);
 
         return context;
     }
@@ -112,12 +111,12 @@ abstract class MetricService<T extends Meter> extends DbClientServiceBase {
     }
 
     /**
-     * Execute the given metric.
+     * Execute the given metric for a statement.
      *
-     * @param metric metric to execute
-     * @param future future
+     * @param metric  metric to execute
+     * @param context client service context of the statement
      */
-    protected abstract void executeMetric(T metric, CompletionStage<Void> future);
+    protected abstract void executeMetric(T metric, DbClientServiceContext context);
 
     /**
      * Get the metric type.
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.dbclient.metrics;
+
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.metrics.api.Counter;
+import io.helidon.metrics.api.MeterRegistry;
+
+/**
+ * Counter of executions that found (or did not find) the parsed statement in the statement cache of the database client.
+ * Executions of statements the client did not look up in its cache are not counted.
+ */
+final class MetricStatementCache extends MetricService<Counter> {
+
+    private final boolean hit;
+
+    private MetricStatementCache(Builder builder) {
+        super(builder);
+        this.hit = builder.hit;
+    }
+
+    /**
+     * Create a new fluent API builder to create a new statement cache hit counter.
+     *
+     * @return a new builder instance
+     */
+    static Builder hits() {
+        return new Builder(true);
+    }
+
+    /**
+     * Create a new fluent API builder to create a new statement cache miss counter.
+     *
+     * @return a new builder instance
+     */
+    static Builder misses() {
+        return new Builder(false);
+    }
+
+    @Override
+    protected void executeMetric(Counter metric, DbClientServiceContext context) {
+        context.statementFuture().thenRun(() -> {
+            if (measureSuccess() && context.statementCacheHit().orElse(!hit) == hit) {
+                metric.increment();
+            }
+        }).exceptionally(throwable -> {
+            if (measureErrors() && context.statementCacheHit().orElse(!hit) == hit) {
+                metric.increment();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    protected Class<Counter> metricType() {
+        return Counter.class;
+    }
+
+    @Override
+    protected Counter metric(MeterRegistry registry, MeterMetadata meta) {
+        return registry.getOrCreate(meta.apply(Counter.builder(meta.name())));
+    }
+
+    @Override
+    protected String defaultNamePrefix() {
+        return hit ? "db.statement-cache.hit." : "db.statement-cache.miss.";
+    }
+
+    /**
+     * Fluent API builder for {@link MetricStatementCache}.
+     */
+    static class Builder extends DbClientMetricBuilder<Builder, MetricStatementCache> {
+
+        private final boolean hit;
+
+        private Builder(boolean hit) {
+            this.hit = hit;
+        }
+
+        @Override
+        public MetricStatementCache build() {
+            return new MetricStatementCache(this);
+        }
+    }
+}
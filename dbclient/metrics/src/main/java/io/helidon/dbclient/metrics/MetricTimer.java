@@ -16,8 +16,8 @@
 package io.helidon.dbclient.metrics;
 
 import java.time.Duration;
-import java.util.concurrent.CompletionStage;
 
+import io.helidon.dbclient.DbClientServiceContext;
 import io.helidon.metrics.api.MeterRegistry;
 import io.helidon.metrics.api.Timer;
 
@@ -39,10 +39,10 @@ final class MetricTimer extends MetricService<Timer> {
     }
 
     @Override
-    protected void executeMetric(Timer metric, CompletionStage<Void> future) {
+    protected void executeMetric(Timer metric, DbClientServiceContext context) {
         long started = System.nanoTime();
 
-        future
+        context.statementFuture()
                 .thenAccept(nothing -> {
                     if (measureSuccess()) {
                         update(metric, started);
@@ -103,8 +103,17 @@ abstract class MongoDbStatement<S extends DbStatement<S>> extends DbStatementBas
      * @return prepared statement string
      */
     String prepareStatement(DbClientServiceContext serviceContext) {
-        String statement = serviceContext.statement();
-        DbStatementParameters stmtParams = serviceContext.statementParameters();
+        return prepareStatement(serviceContext.statement(), serviceContext.statementParameters());
+    }
+
+    /**
+     * Prepare the statement string with the given parameters.
+     *
+     * @param statement  statement string
+     * @param stmtParams statement parameters
+     * @return prepared statement string
+     */
+    String prepareStatement(String statement, DbStatementParameters stmtParams) {
         if (stmtParams instanceof DbIndexedStatementParameters indexed) {
             List<Object> params = indexed.parameters();
             return StatementParsers.indexedParser(statement, params).convert();
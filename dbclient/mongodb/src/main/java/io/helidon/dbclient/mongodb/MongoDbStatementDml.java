@@ -15,12 +15,23 @@
  */
 package io.helidon.dbclient.mongodb;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.helidon.dbclient.DbClientServiceContext;
 import io.helidon.dbclient.DbExecuteContext;
 import io.helidon.dbclient.DbStatementDml;
+import io.helidon.dbclient.DbStatementParameters;
 import io.helidon.dbclient.DbStatementType;
 
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
@@ -32,7 +43,13 @@ public class MongoDbStatementDml extends MongoDbStatement<DbStatementDml> implem
 
     private static final System.Logger LOGGER = System.getLogger(MongoDbStatementDml.class.getName());
 
+    /**
+     * Maximal number of write operations sent to the database in a single bulk write.
+     */
+    static final int BATCH_SIZE = 1000;
+
     private final DbStatementType type;
+    private Batch batch;
 
     /**
      * Create a new instance.
@@ -80,6 +97,48 @@ public class MongoDbStatementDml extends MongoDbStatement<DbStatementDml> implem
         });
     }
 
+    @Override
+    public DbStatementDml addBatch() {
+        try {
+            if (batch == null) {
+                batch = doExecute(Batch::new);
+            }
+            try {
+                batch.add(parameters());
+            } catch (RuntimeException e) {
+                batch.fail(e);
+                batch = null;
+                throw e;
+            }
+        } finally {
+            resetParameters();
+        }
+        return this;
+    }
+
+    @Override
+    public long executeBatch() {
+        Batch current = batch;
+        batch = null;
+        if (current == null) {
+            return doExecute((future, context) -> {
+                future.complete(0L);
+                return 0L;
+            });
+        }
+        try {
+            long result = current.execute();
+            LOGGER.log(System.Logger.Level.DEBUG, () -> String.format(
+                    "%s DML %s batch execution succeeded",
+                    type.name(),
+                    context().statementName()));
+            return result;
+        } catch (RuntimeException e) {
+            current.fail(e);
+            throw e;
+        }
+    }
+
     private Long executeInsert(MongoStatement stmt) {
         MongoCollection<Document> mc = db().getCollection(stmt.getCollection());
         mc.insertOne(stmt.getValue());
@@ -99,4 +158,63 @@ public class MongoDbStatementDml extends MongoDbStatement<DbStatementDml> implem
         DeleteResult deleteResult = mc.deleteMany(query);
         return deleteResult.getDeletedCount();
     }
+
+    /**
+     * Batch in progress, write operations are sent to the database in bulk writes of at most {@link #BATCH_SIZE}
+     * operations on a single collection.
+     */
+    private final class Batch {
+        private final CompletableFuture<Long> future;
+        private final String statement;
+        private final List<WriteModel<Document>> models = new ArrayList<>();
+        private String collection;
+        private long result;
+
+        private Batch(CompletableFuture<Long> future, DbClientServiceContext serviceContext) {
+            this.future = future;
+            this.statement = serviceContext.statement();
+        }
+
+        private void add(DbStatementParameters parameters) {
+            MongoStatement stmt = new MongoStatement(type, prepareStatement(statement, parameters));
+            WriteModel<Document> model = switch (stmt.getOperation()) {
+                case INSERT -> new InsertOneModel<>(stmt.getValue());
+                case UPDATE -> new UpdateManyModel<>(stmt.getQuery(), stmt.getValue());
+                case DELETE -> new DeleteManyModel<>(stmt.getQuery());
+                default -> throw new UnsupportedOperationException(String.format(
+                        "Statement operation not yet supported: %s",
+                        stmt.getOperation().name()));
+            };
+            if (collection != null && !collection.equals(stmt.getCollection())) {
+                flush();
+            }
+            collection = stmt.getCollection();
+            models.add(model);
+            if (models.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private long execute() {
+            flush();
+            future.complete(result);
+            return result;
+        }
+
+        private void fail(RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        private void flush() {
+            if (models.isEmpty()) {
+                return;
+            }
+            MongoCollection<Document> mc = db().getCollection(collection);
+            BulkWriteResult bulkWriteResult = mc.bulkWrite(models);
+            result += bulkWriteResult.getInsertedCount()
+                    + bulkWriteResult.getModifiedCount()
+                    + bulkWriteResult.getDeletedCount();
+            models.clear();
+        }
+    }
 }
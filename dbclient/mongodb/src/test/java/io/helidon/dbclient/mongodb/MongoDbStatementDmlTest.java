@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.mongodb;
+
+import java.util.List;
+
+import io.helidon.dbclient.DbStatementDml;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link MongoDbStatementDml} batch execution.
+ */
+class MongoDbStatementDmlTest {
+
+    private static final String INSERT = "{\"collection\": \"pokemons\", \"value\": {\"id\": $id, \"name\": $name}}";
+
+    private MongoCollection<Document> collection;
+    private MongoDbClient dbClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoDatabase db = Mockito.mock(MongoDatabase.class);
+        collection = Mockito.mock(MongoCollection.class);
+        when(db.getCollection("pokemons")).thenReturn(collection);
+        dbClient = new MongoDbClient(new MongoDbClientBuilder(), Mockito.mock(MongoClient.class), db);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchSplitBySize() {
+        BulkWriteResult full = Mockito.mock(BulkWriteResult.class);
+        when(full.getInsertedCount()).thenReturn(MongoDbStatementDml.BATCH_SIZE);
+        BulkWriteResult rest = Mockito.mock(BulkWriteResult.class);
+        when(rest.getInsertedCount()).thenReturn(1);
+        when(collection.bulkWrite(anyList())).thenReturn(full, rest);
+
+        DbStatementDml dml = dbClient.execute().createInsert(INSERT);
+        for (int i = 1; i <= MongoDbStatementDml.BATCH_SIZE; i++) {
+            dml.addParam("id", i).addParam("name", "pokemon" + i).addBatch();
+        }
+        // full batch is sent before executeBatch
+        verify(collection, times(1)).bulkWrite(anyList());
+
+        dml.addParam("id", 0).addParam("name", "pikachu").addBatch();
+        assertThat(dml.executeBatch(), is(MongoDbStatementDml.BATCH_SIZE + 1L));
+        ArgumentCaptor<List<WriteModel<Document>>> models = ArgumentCaptor.forClass(List.class);
+        verify(collection, times(2)).bulkWrite(models.capture());
+        List<WriteModel<Document>> last = models.getAllValues().get(1);
+        assertThat(last.size(), is(1));
+        assertThat(last.get(0), instanceOf(InsertOneModel.class));
+        assertThat(((InsertOneModel<Document>) last.get(0)).getDocument().getString("name"), is("pikachu"));
+
+        // batch is cleared once executed
+        assertThat(dml.executeBatch(), is(0L));
+        verify(collection, times(2)).bulkWrite(anyList());
+    }
+
+    @Test
+    void testEmptyBatch() {
+        DbStatementDml dml = dbClient.execute().createInsert(INSERT);
+
+        assertThat(dml.executeBatch(), is(0L));
+        verify(collection, never()).bulkWrite(anyList());
+    }
+}
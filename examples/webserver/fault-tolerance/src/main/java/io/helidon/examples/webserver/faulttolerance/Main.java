@@ -16,6 +16,8 @@
 
 package io.helidon.examples.webserver.faulttolerance;
 
+import io.helidon.faulttolerance.AdaptiveLimit;
+import io.helidon.faulttolerance.AdaptiveLimitException;
 import io.helidon.faulttolerance.BulkheadException;
 import io.helidon.faulttolerance.CircuitBreakerOpenException;
 import io.helidon.faulttolerance.TimeoutException;
@@ -53,7 +55,19 @@ public final class Main {
     }
 
     static void routing(HttpRouting.Builder routing) {
-        routing.register("/ft", new FtService())
+        // sheds load of the whole server once latency of requests grows
+        AdaptiveLimit limit = AdaptiveLimit.builder()
+                .algorithm(AdaptiveLimit.Algorithm.GRADIENT)
+                .name("helidon-example-adaptive-limit")
+                .build();
+
+        routing.addFilter((chain, req, res) -> limit.invoke(() -> {
+                   chain.proceed();
+                   return null;
+               }))
+               .register("/ft", new FtService())
+               .error(AdaptiveLimitException.class,
+                       (req, res, ex) -> res.status(Status.SERVICE_UNAVAILABLE_503).send("adaptive limit"))
                .error(BulkheadException.class,
                        (req, res, ex) -> res.status(Status.SERVICE_UNAVAILABLE_503).send("bulkhead"))
                .error(CircuitBreakerOpenException.class,
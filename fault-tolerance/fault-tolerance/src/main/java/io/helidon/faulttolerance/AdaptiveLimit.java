@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.function.Consumer;
+
+import io.helidon.builder.api.RuntimeType;
+import io.helidon.inject.api.Contract;
+
+/**
+ * Adaptive limit protects a resource by limiting the number of parallel requests, similar to {@link Bulkhead}.
+ * Instead of a static limit, the limit is continuously adjusted based on the measured latency of the calls
+ * that go through it, using one of the {@link Algorithm algorithms}.
+ * <p>
+ * Calls over the limit are not queued, they immediately fail with {@link AdaptiveLimitException}, so load is shed
+ * before queues build up. An adaptive limit can be used as a web server filter, for example:
+ * <pre>
+ * routing.addFilter((chain, req, res) -&gt; limit.invoke(() -&gt; {
+ *     chain.proceed();
+ *     return null;
+ * }));
+ * </pre>
+ */
+@Contract
+@RuntimeType.PrototypedBy(AdaptiveLimitConfig.class)
+public interface AdaptiveLimit extends FtHandler, RuntimeType.Api<AdaptiveLimitConfig> {
+    /**
+     * Create {@link AdaptiveLimit} from its configuration.
+     *
+     * @param config configuration of an adaptive limit to create
+     * @return a new adaptive limit
+     */
+    static AdaptiveLimit create(AdaptiveLimitConfig config) {
+        return new AdaptiveLimitImpl(config);
+    }
+
+    /**
+     * Create {@link AdaptiveLimit} customizing its configuration.
+     *
+     * @param builderConsumer consumer to update configuration of adaptive limit
+     * @return a new adaptive limit
+     */
+    static AdaptiveLimit create(Consumer<AdaptiveLimitConfig.Builder> builderConsumer) {
+        AdaptiveLimitConfig.Builder builder = AdaptiveLimitConfig.builder();
+        builderConsumer.accept(builder);
+        return create(builder.buildPrototype());
+    }
+
+    /**
+     * Create a new adaptive limit fluent API builder.
+     *
+     * @return a new adaptive limit builder
+     */
+    static AdaptiveLimitConfig.Builder builder() {
+        return AdaptiveLimitConfig.builder();
+    }
+
+    /**
+     * Provides access to internal stats for this adaptive limit.
+     *
+     * @return internal stats
+     */
+    Stats stats();
+
+    /**
+     * Algorithm used to adjust the limit.
+     */
+    enum Algorithm {
+        /**
+         * Additive increase, multiplicative decrease. The limit grows by one for each successful call while
+         * the limit is utilized, and is multiplied by the backoff ratio when a call takes longer than the timeout.
+         */
+        AIMD,
+        /**
+         * Delay based algorithm inspired by TCP Vegas. The smallest latency seen is considered the latency without load,
+         * and the limit is adjusted by the estimated number of queued requests.
+         */
+        VEGAS,
+        /**
+         * The limit is adjusted by the ratio of a long term average latency to the current latency.
+         */
+        GRADIENT
+    }
+
+    /**
+     * Provides statistics during the lifetime of an adaptive limit.
+     */
+    interface Stats {
+        /**
+         * Current limit.
+         *
+         * @return maximal number of parallel calls at this time
+         */
+        int limit();
+
+        /**
+         * Number of calls in progress at this time.
+         *
+         * @return number of calls in progress
+         */
+        int inFlight();
+
+        /**
+         * Number of calls accepted by the adaptive limit.
+         *
+         * @return number of calls accepted
+         */
+        long callsAccepted();
+
+        /**
+         * Number of calls rejected because the limit was reached.
+         *
+         * @return number of calls rejected
+         */
+        long callsRejected();
+    }
+}
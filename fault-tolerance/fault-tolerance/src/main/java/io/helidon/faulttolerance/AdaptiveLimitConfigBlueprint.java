@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.helidon.builder.api.Prototype;
+import io.helidon.config.metadata.Configured;
+import io.helidon.config.metadata.ConfiguredOption;
+import io.helidon.inject.configdriven.api.ConfigBean;
+
+/**
+ * {@link AdaptiveLimit} configuration bean.
+ */
+@ConfigBean(repeatable = true)
+@Configured(root = true, prefix = "fault-tolerance.adaptive-limits")
+@Prototype.Blueprint(decorator = AdaptiveLimitConfigBlueprint.BuilderDecorator.class)
+interface AdaptiveLimitConfigBlueprint extends Prototype.Factory<AdaptiveLimit> {
+    /**
+     * Default initial limit.
+     *
+     * @see #initialLimit()
+     */
+    int DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * Default minimal limit.
+     *
+     * @see #minLimit()
+     */
+    int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * Default maximal limit.
+     *
+     * @see #maxLimit()
+     */
+    int DEFAULT_MAX_LIMIT = 200;
+
+    /**
+     * Algorithm used to adjust the limit.
+     *
+     * @return algorithm, defaults to {@link AdaptiveLimit.Algorithm#AIMD}
+     */
+    @ConfiguredOption("AIMD")
+    AdaptiveLimit.Algorithm algorithm();
+
+    /**
+     * Limit of parallel requests before any latency is measured.
+     *
+     * @return initial limit, defaults to {@value DEFAULT_INITIAL_LIMIT}
+     */
+    @ConfiguredOption("20")
+    int initialLimit();
+
+    /**
+     * The limit is never adjusted below this value.
+     *
+     * @return minimal limit, defaults to {@value DEFAULT_MIN_LIMIT}
+     */
+    @ConfiguredOption("1")
+    int minLimit();
+
+    /**
+     * The limit is never adjusted above this value.
+     *
+     * @return maximal limit, defaults to {@value DEFAULT_MAX_LIMIT}
+     */
+    @ConfiguredOption("200")
+    int maxLimit();
+
+    /**
+     * Ratio the limit is multiplied by when a call is considered dropped, used by
+     * {@link AdaptiveLimit.Algorithm#AIMD}. Must be between {@code 0.5} and {@code 1}.
+     *
+     * @return backoff ratio
+     */
+    @ConfiguredOption("0.9")
+    double backoffRatio();
+
+    /**
+     * Calls that take longer than this timeout (or fail with a timeout exception) are considered dropped,
+     * and all algorithms decrease the limit.
+     *
+     * @return call timeout
+     */
+    @ConfiguredOption("PT5S")
+    Duration timeout();
+
+    /**
+     * Name for debugging, error reporting, monitoring.
+     *
+     * @return name of this adaptive limit
+     */
+    Optional<String> name();
+
+    class BuilderDecorator implements Prototype.BuilderDecorator<AdaptiveLimitConfig.BuilderBase<?, ?>> {
+        @Override
+        public void decorate(AdaptiveLimitConfig.BuilderBase<?, ?> target) {
+            if (target.name().isEmpty()) {
+                target.config()
+                        .ifPresent(cfg -> target.name(cfg.name()));
+            }
+            if (target.minLimit() < 1) {
+                throw new IllegalArgumentException("Minimal limit must be at least 1, but is " + target.minLimit());
+            }
+            if (target.maxLimit() < target.minLimit()) {
+                throw new IllegalArgumentException("Maximal limit (" + target.maxLimit()
+                                                           + ") must not be lower than minimal limit ("
+                                                           + target.minLimit() + ")");
+            }
+            if (target.backoffRatio() < 0.5 || target.backoffRatio() > 1) {
+                throw new IllegalArgumentException("Backoff ratio must be between 0.5 and 1, but is "
+                                                           + target.backoffRatio());
+            }
+        }
+    }
+}
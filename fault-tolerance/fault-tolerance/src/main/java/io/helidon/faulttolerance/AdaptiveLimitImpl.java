@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.lang.System.Logger.Level;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import jakarta.inject.Inject;
+
+/**
+ * Adaptive limit that admits calls by a compare-and-set on the number of calls in progress, same as {@link BulkheadImpl},
+ * and adjusts the limit after each call that finishes.
+ * <p>
+ * A call is a latency sample unless it fails with an exception other than a timeout. Such calls often fail fast,
+ * and would make the resource look faster than it is. A dropped call that started before the limit was last decreased
+ * because of a drop is ignored as well, so a burst of timeouts of calls admitted under the old limit does not
+ * collapse the limit.
+ */
+class AdaptiveLimitImpl implements AdaptiveLimit {
+    private static final System.Logger LOGGER = System.getLogger(AdaptiveLimitImpl.class.getName());
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long timeoutNanos;
+    private final LimitAlgorithm algorithm;
+    private final AdaptiveLimitConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder callsAccepted = new LongAdder();
+    private final LongAdder callsRejected = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    // exact limit, only accessed under update lock
+    private double exactLimit;
+    // System.nanoTime() of the last decrease caused by a dropped call, only accessed under update lock
+    private long lastDropDecrease;
+    private volatile int limit;
+
+    @Inject
+    AdaptiveLimitImpl(AdaptiveLimitConfig config) {
+        this.name = config.name().orElseGet(() -> "adaptive-limit-" + System.identityHashCode(config));
+        this.minLimit = config.minLimit();
+        this.maxLimit = config.maxLimit();
+        this.timeoutNanos = config.timeout().toNanos();
+        this.algorithm = LimitAlgorithm.create(config);
+        this.config = config;
+        this.exactLimit = Math.max(minLimit, Math.min(maxLimit, config.initialLimit()));
+        this.limit = (int) exactLimit;
+        this.lastDropDecrease = System.nanoTime();
+    }
+
+    @Override
+    public AdaptiveLimitConfig prototype() {
+        return config;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> T invoke(Supplier<? extends T> supplier) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                callsRejected.increment();
+                throw new AdaptiveLimitException("Adaptive limit \"" + name + "\" reached, limit is " + limit);
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        callsAccepted.increment();
+        long start = System.nanoTime();
+        boolean sample = true;
+        boolean dropped = false;
+        try {
+            return supplier.get();
+        } catch (Throwable t) {
+            Throwable throwable = SupplierHelper.unwrapThrowable(t);
+            dropped = isTimeout(throwable);
+            sample = dropped;
+            LOGGER.log(Level.DEBUG, name + " finished execution: " + supplier + " (failure)", throwable);
+            throw SupplierHelper.toRuntimeException(throwable);
+        } finally {
+            inFlight.decrementAndGet();
+            if (sample) {
+                long rtt = System.nanoTime() - start;
+                update(start, rtt, current + 1, dropped || rtt > timeoutNanos);
+            }
+        }
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats() {
+            @Override
+            public int limit() {
+                return limit;
+            }
+
+            @Override
+            public int inFlight() {
+                return inFlight.get();
+            }
+
+            @Override
+            public long callsAccepted() {
+                return callsAccepted.sum();
+            }
+
+            @Override
+            public long callsRejected() {
+                return callsRejected.sum();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveLimit " + name + " (" + config.algorithm() + ", limit " + limit + ")";
+    }
+
+    void update(long startNanos, long rttNanos, int inFlight, boolean dropped) {
+        updateLock.lock();
+        try {
+            if (dropped && startNanos - lastDropDecrease < 0) {
+                return;
+            }
+            double newLimit = algorithm.update(exactLimit, Math.max(1, rttNanos), inFlight, dropped);
+            newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+            if (dropped && newLimit < exactLimit) {
+                lastDropDecrease = startNanos + rttNanos;
+            }
+            exactLimit = newLimit;
+            int oldLimit = limit;
+            limit = (int) exactLimit;
+            if (oldLimit != limit && LOGGER.isLoggable(Level.TRACE)) {
+                LOGGER.log(Level.TRACE, name + " limit changed from " + oldLimit + " to " + limit);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private static boolean isTimeout(Throwable throwable) {
+        return throwable instanceof TimeoutException
+                || throwable instanceof java.util.concurrent.TimeoutException;
+    }
+}
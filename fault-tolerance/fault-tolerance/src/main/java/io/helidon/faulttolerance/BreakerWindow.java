@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+/**
+ * Window of call results used by {@link CircuitBreaker} to decide whether to open.
+ */
+interface BreakerWindow {
+    /**
+     * Record a result of a call.
+     *
+     * @param result result of the call
+     * @param slow   whether the call took longer than the slow call duration
+     */
+    void update(ResultWindow.Result result, boolean slow);
+
+    /**
+     * Open if we have seen enough results and we are at or over the failure or slow call threshold.
+     *
+     * @return outcome of test
+     */
+    boolean shouldOpen();
+
+    /**
+     * Forget all results.
+     */
+    void reset();
+}
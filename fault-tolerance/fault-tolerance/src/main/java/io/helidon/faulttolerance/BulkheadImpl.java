@@ -14,49 +14,49 @@
  * limitations under the License.
  */
 
+
 package io.helidon.faulttolerance;
 
 import java.lang.System.Logger.Level;
-import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 import jakarta.inject.Inject;
 
+/**
+ * Bulkhead that admits calls without locking.
+ * <p>
+ * The number of calls in progress is an atomic counter, and a call is admitted by a compare-and-set on it as long
+ * as it is below the limit and nobody is waiting. Calls over the limit wait in a lock-free queue bounded by
+ * a second counter. A finishing call hands its permit over to the first waiting call, so waiting calls are served
+ * in order of arrival.
+ */
 class BulkheadImpl implements Bulkhead {
     private static final System.Logger LOGGER = System.getLogger(BulkheadImpl.class.getName());
 
-    private final Lock inProgressLock;
-    private final Semaphore inProgress;
+    private final int limit;
+    private final int queueLength;
     private final String name;
-    private final BarrierQueue queue;
-    private final AtomicLong concurrentExecutions = new AtomicLong(0L);
-    private final AtomicLong callsAccepted = new AtomicLong(0L);
-    private final AtomicLong callsRejected = new AtomicLong(0L);
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final Queue<Waiter> queue = new ConcurrentLinkedQueue<>();
+    private final LongAdder concurrentExecutions = new LongAdder();
+    private final LongAdder callsAccepted = new LongAdder();
+    private final LongAdder callsRejected = new LongAdder();
     private final List<QueueListener> listeners;
-    private final Set<Supplier<?>> cancelledSuppliers = new CopyOnWriteArraySet<>();
     private final BulkheadConfig config;
 
     @Inject
     BulkheadImpl(BulkheadConfig config) {
-        this.inProgress = new Semaphore(config.limit(), true);
+        this.limit = config.limit();
+        this.queueLength = config.queueLength();
         this.name = config.name().orElseGet(() -> "bulkhead-" + System.identityHashCode(config));
         this.listeners = config.queueListeners();
-        this.queue = config.queueLength() > 0
-                ? new BlockingQueue(config.queueLength())
-                : new ZeroCapacityQueue();
-        this.inProgressLock = new ReentrantLock(true);
         this.config = config;
     }
 
@@ -72,73 +72,43 @@ class BulkheadImpl implements Bulkhead {
 
     @Override
     public <T> T invoke(Supplier<? extends T> supplier) {
-        // we need to hold the lock until we decide what to do with this request
-        // cannot release it in between attempts, as that would give window for another thread to change the state
-        inProgressLock.lock();
-
-        // execute immediately if semaphore can be acquired
-        boolean acquired;
-        try {
-            acquired = inProgress.tryAcquire();
-        } catch (Throwable t) {
-            inProgressLock.unlock();
-            throw t;
-        }
-        if (acquired) {
-            inProgressLock.unlock(); // we managed to get a semaphore permit, in progress lock can be released for now
+        // execute immediately if there is a free permit, and nobody is waiting for it
+        if (queueSize.get() == 0 && tryAcquire()) {
             if (LOGGER.isLoggable(Level.DEBUG)) {
                 LOGGER.log(Level.DEBUG, name + " invoke immediate " + supplier);
             }
             return execute(supplier);
         }
 
-        boolean full;
-        try {
-            full = queue.isFull();
-        } catch (Throwable t) {
-            inProgressLock.unlock();
-            throw t;
-        }
-        if (full) {
-            inProgressLock.unlock(); // this request will fail, release lock
-            callsRejected.incrementAndGet();
+        if (!reserveQueueSlot()) {
+            callsRejected.increment();
             throw new BulkheadException("Bulkhead queue \"" + name + "\" is full");
         }
 
-        try {
-            // block current thread until barrier is retracted
-            Barrier barrier;
-            try {
-                listeners.forEach(l -> l.enqueueing(supplier));
-                barrier = queue.enqueue(supplier);
-            } finally {
-                inProgressLock.unlock(); // we have enqueued, now we can wait
-            }
+        listeners.forEach(l -> l.enqueueing(supplier));
+        Waiter waiter = new Waiter(supplier);
+        queue.offer(waiter);
+        // a permit may have been released before we were enqueued
+        drain();
 
-            if (barrier == null) {
-                throw new BulkheadException("Bulkhead queue \"" + name + "\" is full");
+        if (!waiter.await()) {
+            if (queue.remove(waiter)) {
+                queueSize.decrementAndGet();
             }
-            barrier.waitOn();
-
-            // unblocked so we can proceed with execution
-            listeners.forEach(l -> l.dequeued(supplier));
-
-            // do not run if cancelled while queued
-            if (cancelledSuppliers.remove(supplier)) {
-                return null;
+            if (waiter.interrupted) {
+                callsRejected.increment();
+                throw new BulkheadException("Bulkhead \"" + name + "\" interrupted while acquiring");
             }
+            // cancelled while queued, do not run
+            return null;
+        }
 
-            // invoke supplier now
-            if (LOGGER.isLoggable(Level.DEBUG)) {
-                LOGGER.log(Level.DEBUG, name + " invoking " + supplier);
-            }
-            return execute(supplier);
-        } catch (InterruptedException e) {
-            callsRejected.incrementAndGet();
-            throw new BulkheadException("Bulkhead \"" + name + "\" interrupted while acquiring");
-        } catch (ExecutionException e) {
-            throw new BulkheadException(e.getMessage());
+        // we hold a permit handed over by a finished call
+        listeners.forEach(l -> l.dequeued(supplier));
+        if (LOGGER.isLoggable(Level.DEBUG)) {
+            LOGGER.log(Level.DEBUG, name + " invoking " + supplier);
         }
+        return execute(supplier);
     }
 
     @Override
@@ -146,30 +116,44 @@ class BulkheadImpl implements Bulkhead {
         return new Stats() {
             @Override
             public long concurrentExecutions() {
-                return concurrentExecutions.get();
+                return concurrentExecutions.sum();
             }
 
             @Override
             public long callsAccepted() {
-                return callsAccepted.get();
+                return callsAccepted.sum();
             }
 
             @Override
             public long callsRejected() {
-                return callsRejected.get();
+                return callsRejected.sum();
             }
 
             @Override
             public long waitingQueueSize() {
-                return queue.size();
+                return queueSize.get();
             }
         };
     }
 
+    @Override
+    public boolean cancelSupplier(Supplier<?> supplier) {
+        for (Waiter waiter : queue) {
+            if (waiter.supplier == supplier && waiter.cancel()) {
+                // the waiting thread removes the waiter, doing it here frees the queue slot sooner
+                if (queue.remove(waiter)) {
+                    queueSize.decrementAndGet();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     // this method must be called while holding a permit
     private <T> T execute(Supplier<? extends T> supplier) {
-        callsAccepted.incrementAndGet();
-        concurrentExecutions.incrementAndGet();
+        callsAccepted.increment();
+        concurrentExecutions.increment();
         try {
             T result = supplier.get();
             if (LOGGER.isLoggable(Level.DEBUG)) {
@@ -183,198 +167,122 @@ class BulkheadImpl implements Bulkhead {
                     + " (failure)", throwable);
             throw SupplierHelper.toRuntimeException(throwable);
         } finally {
-            concurrentExecutions.decrementAndGet();
-            inProgressLock.lock();
-            try {
-                boolean dequeued = queue.dequeueAndRetract();
-                if (!dequeued) {
-                    inProgress.release();       // nothing dequeued, one more permit
-                }
-            } finally {
-                inProgressLock.unlock();
-            }
+            concurrentExecutions.decrement();
+            release();
         }
     }
 
-    @Override
-    public boolean cancelSupplier(Supplier<?> supplier) {
-        boolean cancelled = queue.remove(supplier);
-        if (cancelled) {
-            cancelledSuppliers.add(supplier);
-        }
-        return cancelled;
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inProgress.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inProgress.compareAndSet(current, current + 1));
+        return true;
     }
 
-    /**
-     * A queue for suppliers that block on barriers.
-     */
-    private interface BarrierQueue {
-
-        /**
-         * Number of suppliers in queue.
-         *
-         * @return current number of suppliers
-         */
-        int size();
-
-        /**
-         * Check if queue is full.
-         *
-         * @return outcome of test
-         */
-        boolean isFull();
-
-        /**
-         * Enqueue supplier and block thread on barrier.
-         *
-         * @param supplier the supplier
-         * @return barrier if supplier was enqueued or null otherwise
-         */
-        Barrier enqueue(Supplier<?> supplier);
-
-        /**
-         * Dequeue supplier and retract its barrier.
-         *
-         * @return {@code true} if a supplier was dequeued or {@code false} otherwise
-         */
-        boolean dequeueAndRetract();
-
-        /**
-         * Remove supplier from queue, if present.
-         *
-         * @param supplier the supplier
-         * @return {@code true} if supplier was removed or {@code false} otherwise
-         */
-        boolean remove(Supplier<?> supplier);
+    private boolean reserveQueueSlot() {
+        int current;
+        do {
+            current = queueSize.get();
+            if (current >= queueLength) {
+                return false;
+            }
+        } while (!queueSize.compareAndSet(current, current + 1));
+        return true;
     }
 
-    /**
-     * A queue with capacity 0.
-     */
-    private static class ZeroCapacityQueue implements BarrierQueue {
-
-        @Override
-        public int size() {
-            return 0;
-        }
-
-        @Override
-        public boolean isFull() {
-            return true;
-        }
-
-        @Override
-        public Barrier enqueue(Supplier<?> supplier) {
-            // never enqueue, should always fail execution if permits are not available
-            return null;
+    private void release() {
+        // hand the permit over to the first waiting call
+        if (grantNext()) {
+            return;
         }
+        inProgress.decrementAndGet();
+        // a call may have been enqueued after we checked the queue
+        drain();
+    }
 
-        @Override
-        public boolean dequeueAndRetract() {
-            return false;
+    // grant permits to waiting calls while there are free permits
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            if (!grantNext()) {
+                // queue emptied by another thread in the meantime, return the permit and check again
+                inProgress.decrementAndGet();
+            }
         }
+    }
 
-        @Override
-        public boolean remove(Supplier<?> supplier) {
-            return false;
+    // grant the permit we hold to the first waiting call, returns false if nobody was waiting
+    private boolean grantNext() {
+        Waiter waiter;
+        while ((waiter = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            if (waiter.grant()) {
+                return true;
+            }
+            // cancelled or interrupted, try the next one
         }
+        return false;
     }
 
     /**
-     * A queue that holds all those suppliers that don't have permits to execute at a
-     * certain time. The thread running the supplier will be forced to wait on a barrier
-     * until a new permit becomes available.
+     * A call waiting in the queue for a permit.
      */
-    private static class BlockingQueue implements BarrierQueue {
-
-        private final int capacity;
-        private final ReentrantLock lock;
-        private final Queue<Supplier<?>> queue;
-        private final Map<Supplier<?>, Barrier> map;
-
-        BlockingQueue(int capacity) {
-            if (capacity <= 0) {
-                throw new IllegalArgumentException("Queue capacity must be greater than 0");
-            }
-            this.capacity = capacity;
-            this.queue = new LinkedBlockingQueue<>(capacity);
-            this.map = new IdentityHashMap<>();     // just use references
-            this.lock = new ReentrantLock();
-        }
-
-        @Override
-        public int size() {
-            return queue.size();
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Supplier<?> supplier;
+        private final Thread thread = Thread.currentThread();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private boolean interrupted;
+
+        private Waiter(Supplier<?> supplier) {
+            this.supplier = supplier;
         }
 
-        @Override
-        public boolean isFull() {
-            lock.lock();
-            try {
-                return queue.size() == capacity;
-            } finally {
-                lock.unlock();
+        boolean grant() {
+            if (state.compareAndSet(WAITING, GRANTED)) {
+                LockSupport.unpark(thread);
+                return true;
             }
+            return false;
         }
 
-        @Override
-        public Barrier enqueue(Supplier<?> supplier) {
-            lock.lock();
-            try {
-                return doEnqueue(supplier);
-            } finally {
-                lock.unlock();
+        boolean cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                LockSupport.unpark(thread);
+                return true;
             }
+            return false;
         }
 
-        @Override
-        public boolean dequeueAndRetract() {
-            lock.lock();
-            try {
-                Barrier barrier = dequeue();
-                if (barrier != null) {
-                    barrier.retract();
-                    return true;
+        /**
+         * Block until a permit is granted, or the call is cancelled or interrupted.
+         *
+         * @return {@code true} if a permit was granted
+         */
+        boolean await() {
+            boolean interruptedAfterGrant = false;
+            while (state.get() == WAITING) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    if (state.compareAndSet(WAITING, CANCELLED)) {
+                        interrupted = true;
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                    // permit was granted concurrently, the call proceeds and keeps the interrupt status
+                    interruptedAfterGrant = true;
                 }
-                return false;
-            } finally {
-                lock.unlock();
             }
-        }
-
-        @Override
-        public boolean remove(Supplier<?> supplier) {
-            lock.lock();
-            try {
-                return queue.remove(supplier);
-            } finally {
-                lock.unlock();
+            if (interruptedAfterGrant) {
+                Thread.currentThread().interrupt();
             }
-        }
-
-        private Barrier dequeue() {
-            Supplier<?> supplier = queue.poll();
-            return supplier == null ? null : map.remove(supplier);
-        }
-
-        private Barrier doEnqueue(Supplier<?> supplier) {
-            boolean added = queue.offer(supplier);
-            return added ? map.computeIfAbsent(supplier, s -> new Barrier()) : null;
-        }
-    }
-
-    /**
-     * A barrier is used to force a thread to wait (block) until it is retracted.
-     */
-    private static class Barrier {
-        private final CompletableFuture<Void> future = new CompletableFuture<>();
-
-        void waitOn() throws ExecutionException, InterruptedException {
-            future.get();
-        }
-
-        void retract() {
-            future.complete(null);
+            return state.get() == GRANTED;
         }
     }
 }
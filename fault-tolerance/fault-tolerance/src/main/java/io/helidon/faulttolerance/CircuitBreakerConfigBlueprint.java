@@ -34,6 +34,7 @@ interface CircuitBreakerConfigBlueprint extends Prototype.Factory<CircuitBreaker
     int DEFAULT_ERROR_RATIO = 60;
     int DEFAULT_SUCCESS_THRESHOLD = 1;
     int DEFAULT_VOLUME = 10;
+    int DEFAULT_SLOW_CALL_RATIO = 100;
 
     Optional<String> name();
 
@@ -60,6 +61,9 @@ interface CircuitBreakerConfigBlueprint extends Prototype.Factory<CircuitBreaker
     /**
      * Rolling window size used to calculate ratio of failed requests.
      * Default is {@value #DEFAULT_VOLUME}.
+     * <p>
+     * When a time based {@link #window()} is configured, this is the minimal number of calls within the window
+     * before the circuit may open.
      *
      * @return how big a window is used to calculate error errorRatio
      * @see #errorRatio()
@@ -67,6 +71,37 @@ interface CircuitBreakerConfigBlueprint extends Prototype.Factory<CircuitBreaker
     @ConfiguredOption("10")
     int volume();
 
+    /**
+     * Length of a time based sliding window used to calculate ratio of failed and slow requests.
+     * When not configured, the window contains the last {@link #volume()} requests.
+     * <p>
+     * A time based window reacts in the same time regardless of traffic, and scales better under heavy parallel load.
+     *
+     * @return length of the time based window
+     */
+    @ConfiguredOption
+    Optional<Duration> window();
+
+    /**
+     * Calls that take at least this long are considered slow. When configured, the circuit also opens
+     * when the ratio of slow calls reaches {@link #slowCallRatio()}, so it reacts to latency degradation,
+     * not only to failures.
+     *
+     * @return slow call duration, if slow calls should be tracked
+     */
+    @ConfiguredOption
+    Optional<Duration> slowCallDuration();
+
+    /**
+     * How many slow calls out of 100 will trigger the circuit to open.
+     * Only used when {@link #slowCallDuration()} is configured.
+     * Default is {@value #DEFAULT_SLOW_CALL_RATIO}.
+     *
+     * @return percent of slow calls that trigger the circuit to open
+     */
+    @ConfiguredOption("100")
+    int slowCallRatio();
+
     /**
      * How many successful calls will close a half-open circuit.
      * Nevertheless, the first failed call will open the circuit again.
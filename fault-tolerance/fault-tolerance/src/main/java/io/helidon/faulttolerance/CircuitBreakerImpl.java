@@ -16,6 +16,7 @@
 
 package io.helidon.faulttolerance;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -37,13 +38,15 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private final long delayMillis;
     // how many successful calls will close a half-open breaker
     private final int successThreshold;
+    // calls that take at least this long are slow, 0 if slow calls are not tracked
+    private final long slowCallNanos;
 
     /*
     Runtime
      */
     private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
-    // rolling window for counting errors to (maybe) open the breaker
-    private final ResultWindow results;
+    // rolling window for counting errors and slow calls to (maybe) open the breaker
+    private final BreakerWindow results;
     // to close from half-open
     private final AtomicInteger successCounter = new AtomicInteger();
     private final AtomicBoolean halfOpenInProgress = new AtomicBoolean();
@@ -56,7 +59,13 @@ class CircuitBreakerImpl implements CircuitBreaker {
     CircuitBreakerImpl(CircuitBreakerConfig config) {
         this.delayMillis = config.delay().toMillis();
         this.successThreshold = config.successThreshold();
-        this.results = new ResultWindow(config.volume(), config.errorRatio());
+        this.slowCallNanos = config.slowCallDuration().map(Duration::toNanos).orElse(0L);
+        this.results = config.window()
+                .<BreakerWindow>map(it -> new TimeWindow(it,
+                                                         config.volume(),
+                                                         config.errorRatio(),
+                                                         config.slowCallRatio()))
+                .orElseGet(() -> new ResultWindow(config.volume(), config.errorRatio(), config.slowCallRatio()));
         this.executor = config.executor().orElseGet(FaultTolerance.executor());
         this.errorChecker = ErrorChecker.create(config.skipOn(), config.applyOn());
         this.name = config.name().orElseGet(() -> "circuit-breaker-" + System.identityHashCode(config));
@@ -120,16 +129,17 @@ class CircuitBreakerImpl implements CircuitBreaker {
     }
 
     private <U> U executeTask(Supplier<? extends U> supplier) {
+        long start = slowCallNanos == 0 ? 0 : System.nanoTime();
         try {
             U result = supplier.get();
-            results.update(ResultWindow.Result.SUCCESS);
+            results.update(ResultWindow.Result.SUCCESS, slow(start));
             return result;
         } catch (Throwable t) {
             Throwable throwable = SupplierHelper.unwrapThrowable(t);
             if (errorChecker.shouldSkip(throwable)) {
-                results.update(ResultWindow.Result.SUCCESS);
+                results.update(ResultWindow.Result.SUCCESS, slow(start));
             } else {
-                results.update(ResultWindow.Result.FAILURE);
+                results.update(ResultWindow.Result.FAILURE, slow(start));
             }
             throw SupplierHelper.toRuntimeException(throwable);
         } finally {
@@ -144,8 +154,16 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private <U> U halfOpenTask(Supplier<? extends U> supplier) {
         // half-open
         if (halfOpenInProgress.compareAndSet(false, true)) {
+            long start = slowCallNanos == 0 ? 0 : System.nanoTime();
             try {
                 U result = supplier.get();
+                if (slow(start)) {
+                    // latency is still degraded, open again
+                    successCounter.set(0);
+                    state.set(State.OPEN);
+                    scheduleHalf();
+                    return result;
+                }
                 // success
                 int successes = successCounter.incrementAndGet();
                 if (successes >= successThreshold) {
@@ -180,6 +198,10 @@ class CircuitBreakerImpl implements CircuitBreaker {
         }
     }
 
+    private boolean slow(long start) {
+        return slowCallNanos != 0 && System.nanoTime() - start >= slowCallNanos;
+    }
+
     private void scheduleHalf() {
         schedule.set(executor.submit(
                 FaultTolerance.toDelayedCallable(() -> {
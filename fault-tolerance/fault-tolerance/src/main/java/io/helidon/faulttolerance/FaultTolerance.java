@@ -160,6 +160,17 @@ public final class FaultTolerance {
             return me();
         }
 
+        /**
+         * Add an adaptive limit to the list.
+         *
+         * @param limit adaptive limit handler
+         * @return updated builder instance
+         */
+        public B addAdaptiveLimit(io.helidon.faulttolerance.AdaptiveLimit limit) {
+            add(limit);
+            return me();
+        }
+
         /**
          * Add a circuit breaker to the list.
          *
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+/**
+ * Algorithm adjusting the limit of {@link AdaptiveLimit} based on a latency sample.
+ * <p>
+ * Implementations may be stateful, and are always invoked under a lock of the adaptive limit.
+ */
+interface LimitAlgorithm {
+    /**
+     * Compute a new limit.
+     *
+     * @param limit    current limit
+     * @param rttNanos latency of the call in nanoseconds
+     * @param inFlight number of calls in progress when the call started, including the call
+     * @param dropped  whether the call is considered dropped (timed out)
+     * @return new limit, not yet limited by the configured minimum and maximum
+     */
+    double update(double limit, long rttNanos, int inFlight, boolean dropped);
+
+    static LimitAlgorithm create(AdaptiveLimitConfig config) {
+        return switch (config.algorithm()) {
+        case AIMD -> new Aimd(config.backoffRatio());
+        case VEGAS -> new Vegas();
+        case GRADIENT -> new Gradient();
+        };
+    }
+
+    // the limit is only increased when at least half of it is used, so an idle service does not grow it forever
+    private static boolean utilized(double limit, int inFlight) {
+        return inFlight * 2 >= limit;
+    }
+
+    /**
+     * Additive increase, multiplicative decrease.
+     */
+    final class Aimd implements LimitAlgorithm {
+        private final double backoffRatio;
+
+        Aimd(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        @Override
+        public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+            if (dropped) {
+                return limit * backoffRatio;
+            }
+            if (utilized(limit, inFlight)) {
+                return limit + 1;
+            }
+            return limit;
+        }
+    }
+
+    /**
+     * Estimates the number of queued requests as {@code limit * (1 - noLoadRtt / rtt)} and keeps it
+     * between {@code 3 * log10(limit)} and {@code 6 * log10(limit)}.
+     * The latency without load is re-measured periodically, so a permanent change of latency does not
+     * shrink the limit forever.
+     */
+    final class Vegas implements LimitAlgorithm {
+        // number of samples (times the limit) before the latency without load is measured again
+        private static final int PROBE_MULTIPLIER = 30;
+
+        private long noLoadRtt;
+        private long samplesToProbe;
+
+        @Override
+        public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+            if (--samplesToProbe <= 0) {
+                samplesToProbe = (long) (PROBE_MULTIPLIER * limit);
+                noLoadRtt = rttNanos;
+                return limit;
+            }
+            if (rttNanos < noLoadRtt) {
+                noLoadRtt = rttNanos;
+                return limit;
+            }
+
+            double log = Math.max(1, Math.log10(limit));
+            if (dropped) {
+                return limit - log;
+            }
+            if (!utilized(limit, inFlight)) {
+                return limit;
+            }
+
+            double queueSize = Math.ceil(limit * (1 - (double) noLoadRtt / rttNanos));
+            if (queueSize <= log) {
+                return limit + 6 * log;
+            } else if (queueSize < 3 * log) {
+                return limit + log;
+            } else if (queueSize > 6 * log) {
+                return limit - log;
+            }
+            return limit;
+        }
+    }
+
+    /**
+     * Compares the current latency with an exponential moving average of latencies. The limit shrinks by
+     * the ratio of the two when the current latency is higher than the tolerated increase,
+     * and grows by square root of the limit otherwise. The result is smoothed, to avoid oscillation.
+     */
+    final class Gradient implements LimitAlgorithm {
+        private static final int LONG_WINDOW = 600;
+        private static final double LONG_WEIGHT = 2.0 / (LONG_WINDOW + 1);
+        private static final double TOLERANCE = 1.5;
+        private static final double SMOOTHING = 0.2;
+
+        private double longRtt;
+
+        @Override
+        public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+            if (longRtt == 0) {
+                longRtt = rttNanos;
+            } else {
+                longRtt += (rttNanos - longRtt) * LONG_WEIGHT;
+            }
+            // the average is far above current latency after a load spike, let it recover faster
+            if (longRtt / rttNanos > 2) {
+                longRtt *= 0.95;
+            }
+
+            double gradient;
+            if (dropped) {
+                gradient = 0.5;
+            } else if (utilized(limit, inFlight)) {
+                gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rttNanos));
+            } else {
+                return limit;
+            }
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            return limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        }
+    }
+}
@@ -24,15 +24,26 @@ import java.util.concurrent.atomic.AtomicInteger;
  * from the actual results due to parallel execution).
  * This should not be a significant issue, as the calculations work on a state (that may change anyway when checking
  * whether to open the circuit).
+ * <p>
+ * Each slot holds a bit for failure and a bit for slow call.
  */
-final class ResultWindow {
+final class ResultWindow implements BreakerWindow {
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+
     private final AtomicInteger currentSum = new AtomicInteger();
+    private final AtomicInteger slowSum = new AtomicInteger();
     private final AtomicCycle index;
     private final AtomicInteger[] results;
     private final AtomicInteger totalResults = new AtomicInteger();
     private final int thresholdSum;
+    private final int slowThresholdSum;
 
     ResultWindow(int size, int ratio) {
+        this(size, ratio, 100);
+    }
+
+    ResultWindow(int size, int ratio, int slowRatio) {
         results = new AtomicInteger[size];
         for (int i = 0; i < size; i++) {
             results[i] = new AtomicInteger();
@@ -41,15 +52,21 @@ final class ResultWindow {
         // calculate the sum needed to open the breaker
         int threshold = (size * ratio) / 100;
         thresholdSum = threshold == 0 ? 1 : threshold;
-
+        int slowThreshold = (size * slowRatio) / 100;
+        slowThresholdSum = slowThreshold == 0 ? 1 : slowThreshold;
     }
 
     void update(Result resultEnum) {
+        update(resultEnum, false);
+    }
+
+    @Override
+    public void update(Result resultEnum, boolean slow) {
         // update total number of results
         totalResults.incrementAndGet();
 
-        // success is zero, failure is 1
-        int result = resultEnum.ordinal();
+        // success is zero, failure is 1, slow call adds 2
+        int result = resultEnum.ordinal() | (slow ? SLOW : 0);
 
         AtomicInteger mine = results[index.incrementAndGet()];
         int origValue = mine.getAndSet(result);
@@ -57,27 +74,29 @@ final class ResultWindow {
             // no change
             return;
         }
-        if (origValue == 1) {
-            currentSum.decrementAndGet();
-        } else {
-            currentSum.incrementAndGet();
+        int failureChange = (result & FAILURE) - (origValue & FAILURE);
+        if (failureChange != 0) {
+            currentSum.addAndGet(failureChange);
+        }
+        int slowChange = ((result & SLOW) - (origValue & SLOW)) / SLOW;
+        if (slowChange != 0) {
+            slowSum.addAndGet(slowChange);
         }
     }
 
-    /**
-     * Open if we have seen enough results and we are at or over the threshold.
-     *
-     * @return outcome of test.
-     */
-    boolean shouldOpen() {
-        return totalResults.get() >= results.length && currentSum.get() >= thresholdSum;
+    @Override
+    public boolean shouldOpen() {
+        return totalResults.get() >= results.length
+                && (currentSum.get() >= thresholdSum || slowSum.get() >= slowThresholdSum);
     }
 
-    void reset() {
+    @Override
+    public void reset() {
         for (int i = 0; i < results.length; i++) {
             results[i].set(Result.SUCCESS.ordinal());
         }
         currentSum.set(0);
+        slowSum.set(0);
         index.set(results.length - 1);
         totalResults.set(0);
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding window of results over a period of time.
+ * The window is split into buckets, each covering a tenth of the period. Counters of a bucket are {@link LongAdder}s,
+ * so parallel calls do not contend on a single counter, and a bucket is cleared when the time moves to the next period.
+ * As {@link ResultWindow}, the status is eventually consistent - a result recorded in parallel with clearing of its
+ * bucket may be lost.
+ */
+final class TimeWindow implements BreakerWindow {
+    private static final int BUCKETS = 10;
+
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+    private final long origin = System.nanoTime();
+    private final long bucketNanos;
+    private final int minCalls;
+    private final int errorRatio;
+    private final int slowRatio;
+
+    /**
+     * Create a new window.
+     *
+     * @param window     length of the window
+     * @param minCalls   minimal number of calls in the window before it may open
+     * @param errorRatio percent of failed calls that opens the window
+     * @param slowRatio  percent of slow calls that opens the window
+     */
+    TimeWindow(Duration window, int minCalls, int errorRatio, int slowRatio) {
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+        this.minCalls = Math.max(1, minCalls);
+        this.errorRatio = errorRatio;
+        this.slowRatio = slowRatio;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    @Override
+    public void update(ResultWindow.Result result, boolean slow) {
+        long epoch = epoch();
+        Bucket bucket = buckets[(int) (epoch % BUCKETS)];
+        long bucketEpoch = bucket.epoch.get();
+        if (bucketEpoch < epoch && bucket.epoch.compareAndSet(bucketEpoch, epoch)) {
+            bucket.clear();
+        }
+        bucket.calls.increment();
+        if (result == ResultWindow.Result.FAILURE) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slow.increment();
+        }
+    }
+
+    @Override
+    public boolean shouldOpen() {
+        long epoch = epoch();
+        long calls = 0;
+        long failures = 0;
+        long slow = 0;
+        for (Bucket bucket : buckets) {
+            long bucketEpoch = bucket.epoch.get();
+            if (bucketEpoch >= 0 && epoch - bucketEpoch < BUCKETS) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slow += bucket.slow.sum();
+            }
+        }
+        if (calls < minCalls) {
+            return false;
+        }
+        return (failures > 0 && failures * 100 >= calls * errorRatio)
+                || (slow > 0 && slow * 100 >= calls * slowRatio);
+    }
+
+    @Override
+    public void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.epoch.set(-1);
+            bucket.clear();
+        }
+    }
+
+    private long epoch() {
+        return (System.nanoTime() - origin) / bucketNanos;
+    }
+
+    private static final class Bucket {
+        private final AtomicLong epoch = new AtomicLong(-1);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+
+        private void clear() {
+            calls.reset();
+            failures.reset();
+            slow.reset();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveLimitTest {
+    private static final long WAIT_TIMEOUT_MILLIS = 5000;
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testRejectOverLimit() throws Exception {
+        AdaptiveLimit limit = AdaptiveLimit.builder()
+                .initialLimit(1)
+                .maxLimit(1)
+                .name("unit:testRejectOverLimit")
+                .build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CompletableFuture<String> inProgress = Async.invokeStatic(() -> limit.invoke(() -> {
+            started.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return "done";
+        }));
+        assertThat(started.await(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(limit.stats().inFlight(), is(1));
+
+        AdaptiveLimitException e = assertThrows(AdaptiveLimitException.class, () -> limit.invoke(() -> "rejected"));
+        assertThat(e.getMessage(), is("Adaptive limit \"unit:testRejectOverLimit\" reached, limit is 1"));
+
+        blocked.countDown();
+        assertThat(inProgress.get(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is("done"));
+        assertThat(limit.invoke(() -> "accepted"), is("accepted"));
+
+        AdaptiveLimit.Stats stats = limit.stats();
+        assertThat(stats.inFlight(), is(0));
+        assertThat(stats.callsAccepted(), is(2L));
+        assertThat(stats.callsRejected(), is(1L));
+    }
+
+    @Test
+    void testFailurePropagated() {
+        AdaptiveLimit limit = AdaptiveLimit.create(builder -> builder.initialLimit(5));
+
+        assertThrows(IllegalStateException.class, () -> limit.invoke(() -> {
+            throw new IllegalStateException();
+        }));
+        // failures other than timeouts are not latency samples
+        assertThat(limit.stats().limit(), is(5));
+        assertThat(limit.stats().inFlight(), is(0));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.builder().minLimit(0).build());
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.builder().minLimit(10).maxLimit(5).build());
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.builder().backoffRatio(0.1).build());
+    }
+
+    @Test
+    void testAimd() {
+        LimitAlgorithm algorithm = new LimitAlgorithm.Aimd(0.5);
+
+        assertThat(algorithm.update(10, MILLI, 5, false), is(11.0));
+        // not utilized, must not grow
+        assertThat(algorithm.update(10, MILLI, 4, false), is(10.0));
+        assertThat(algorithm.update(10, MILLI, 10, true), is(5.0));
+    }
+
+    @Test
+    void testVegas() {
+        LimitAlgorithm algorithm = new LimitAlgorithm.Vegas();
+
+        // first sample measures latency without load
+        double limit = algorithm.update(20, 10 * MILLI, 20, false);
+        assertThat(limit, is(20.0));
+        limit = algorithm.update(limit, 10 * MILLI, 20, false);
+        assertThat(limit, greaterThan(20.0));
+
+        // latency doubled, half of the requests are queued
+        double grown = limit;
+        limit = algorithm.update(limit, 20 * MILLI, (int) limit, false);
+        assertThat(limit, lessThan(grown));
+    }
+
+    @Test
+    void testGradient() {
+        LimitAlgorithm algorithm = new LimitAlgorithm.Gradient();
+
+        double limit = 20;
+        for (int i = 0; i < 100; i++) {
+            limit = algorithm.update(limit, 10 * MILLI, (int) limit, false);
+        }
+        assertThat(limit, greaterThan(20.0));
+
+        double grown = limit;
+        for (int i = 0; i < 10; i++) {
+            limit = algorithm.update(limit, 50 * MILLI, (int) limit, false);
+        }
+        assertThat(limit, lessThan(grown));
+    }
+
+    @Test
+    void testDropBurstIgnored() {
+        AdaptiveLimitImpl limit = (AdaptiveLimitImpl) AdaptiveLimit.builder()
+                .initialLimit(100)
+                .backoffRatio(0.5)
+                .timeout(Duration.ofMillis(10))
+                .build();
+
+        long start = System.nanoTime();
+        limit.update(start, 20 * MILLI, 100, true);
+        assertThat(limit.stats().limit(), is(50));
+        // calls admitted before the decrease time out as well, limit is not decreased again
+        limit.update(start + MILLI, 20 * MILLI, 100, true);
+        limit.update(start + 2 * MILLI, 20 * MILLI, 100, true);
+        assertThat(limit.stats().limit(), is(50));
+        // call admitted after the decrease
+        limit.update(start + 21 * MILLI, 20 * MILLI, 50, true);
+        assertThat(limit.stats().limit(), is(25));
+    }
+}
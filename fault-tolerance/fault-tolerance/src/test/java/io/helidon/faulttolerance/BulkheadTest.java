@@ -170,6 +170,34 @@ class BulkheadTest {
         }
     }
 
+    @Test
+    void testBulkheadCancelQueued() throws InterruptedException, ExecutionException, java.util.concurrent.TimeoutException {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .limit(1)
+                .queueLength(1)
+                .build();
+
+        Task inProgress = new Task(0);
+        CompletableFuture<?> inProgressFuture = Async.invokeStatic(() -> bulkhead.invoke(inProgress::run));
+        if (!inProgress.waitUntilStarted(WAIT_TIMEOUT_MILLIS)) {
+            fail("Task inProgress never started");
+        }
+
+        // cancelled supplier must wake up its caller, which returns null
+        Task enqueued = new Task(1);
+        Supplier<Integer> supplier = enqueued::run;
+        CompletableFuture<?> enqueuedFuture = Async.invokeStatic(() -> bulkhead.invoke(supplier));
+        assertEventually(() -> bulkhead.stats().waitingQueueSize() == 1, WAIT_TIMEOUT_MILLIS);
+        assertThat(bulkhead.cancelSupplier(supplier), is(true));
+        assertThat(enqueuedFuture.get(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is((Object) null));
+        assertThat(enqueued.isStarted(), is(false));
+        assertThat(bulkhead.stats().waitingQueueSize(), is(0L));
+
+        inProgress.unblock();
+        inProgressFuture.get(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertThat(bulkhead.stats().concurrentExecutions(), is(0L));
+    }
+
     @RepeatedTest(100)
     void testBulkheadWithError() throws InterruptedException, ExecutionException, java.util.concurrent.TimeoutException {
         // Create bulkhead of 1 with a queue of 1
@@ -98,6 +98,42 @@ class CircuitBreakerTest {
         assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
     }
 
+    @Test
+    void testOpenOnSlowCalls() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .volume(4)
+                .slowCallDuration(Duration.ofMillis(50))
+                .slowCallRatio(50)
+                .build();
+
+        good(breaker);
+        good(breaker);
+        slow(breaker);
+        assertThat(breaker.state(), is(CircuitBreaker.State.CLOSED));
+        slow(breaker);
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+        breakerOpen(breaker);
+    }
+
+    @Test
+    void testTimeWindow() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .window(Duration.ofMinutes(1))
+                .volume(4)
+                .errorRatio(50)
+                .build();
+
+        good(breaker);
+        bad(breaker);
+        good(breaker);
+        assertThat(breaker.state(), is(CircuitBreaker.State.CLOSED));
+        bad(breaker);
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+        breakerOpen(breaker);
+    }
+
     private void breakerOpen(CircuitBreaker breaker) {
         Request good = new Request();
         assertThrows(CircuitBreakerOpenException.class, () -> breaker.invoke(good::invoke));
@@ -113,6 +149,17 @@ class CircuitBreakerTest {
         breaker.invoke(good::invoke);
     }
 
+    private void slow(CircuitBreaker breaker) {
+        breaker.invoke(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return 1;
+        });
+    }
+
     private static class Failing {
         private final RuntimeException exception;
 
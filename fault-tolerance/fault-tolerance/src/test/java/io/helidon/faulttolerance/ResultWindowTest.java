@@ -95,4 +95,20 @@ class ResultWindowTest {
         window.reset();
         assertThat("Empty should not open", window.shouldOpen(), is(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOpenOnSlowCalls() {
+        ResultWindow window = new ResultWindow(4, 100, 50);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should not open with 25% slow calls", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.SUCCESS, true);
+        assertThat("Should open with 50% slow calls", window.shouldOpen(), is(true));
+        // slow calls are replaced by fast calls in the window
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should not open after slow calls leave the window", window.shouldOpen(), is(false));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class TimeWindowTest {
+
+    @Test
+    void testNotOpenBeforeMinimalCalls() {
+        TimeWindow window = new TimeWindow(Duration.ofMinutes(1), 5, 20, 100);
+        assertThat("Empty should not open", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Should not open before minimal number of calls", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Should open after minimal number of calls", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testErrorRatio() {
+        TimeWindow window = new TimeWindow(Duration.ofMinutes(1), 4, 50, 100);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should not open with 25% failures", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Should open with 50% failures", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testSlowCallRatio() {
+        TimeWindow window = new TimeWindow(Duration.ofMinutes(1), 4, 100, 75);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should not open with 50% slow calls", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.FAILURE, true);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        assertThat("Should open with 75% slow calls", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testResultsExpire() throws InterruptedException {
+        TimeWindow window = new TimeWindow(Duration.ofMillis(100), 2, 50, 100);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Should open with all calls failed", window.shouldOpen(), is(true));
+        Thread.sleep(150);
+        assertThat("Should not open once the results leave the window", window.shouldOpen(), is(false));
+    }
+
+    @Test
+    void testReset() {
+        TimeWindow window = new TimeWindow(Duration.ofMinutes(1), 1, 50, 100);
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Should open with all calls failed", window.shouldOpen(), is(true));
+        window.reset();
+        assertThat("Empty should not open", window.shouldOpen(), is(false));
+    }
+}
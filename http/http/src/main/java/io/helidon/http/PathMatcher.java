@@ -40,4 +40,16 @@ public interface PathMatcher {
      * @return match result
      */
     PathMatchers.PrefixMatchResult prefixMatch(UriPath uriPath);
+
+    /**
+     * Literal path that any path accepted by this matcher (either by {@link #match(UriPath)}, or by
+     * {@link #prefixMatch(UriPath)}) starts with. The literal is composed of full segments, so an accepted path is either
+     * equal to it, or continues with a {@code /}.
+     * This is used by routing to build an index of routes; an empty string means that the matcher may accept any path.
+     *
+     * @return literal prefix of accepted paths (decoded), or an empty string if not known
+     */
+    default String literalPrefix() {
+        return "";
+    }
 }
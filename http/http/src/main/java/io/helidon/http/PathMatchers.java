@@ -133,7 +133,7 @@ public final class PathMatchers {
                                                     + ", index: " + (iter.index() - 1));
         }
 
-        return new PatternPathMatcher(regexp.toString(), paramToGroupName);
+        return new PatternPathMatcher(regexp.toString(), paramToGroupName, patternLiteralPrefix(pattern));
     }
 
     /**
@@ -261,6 +261,29 @@ public final class PathMatchers {
         builder.append(')');
     }
 
+    private static String patternLiteralPrefix(String pattern) {
+        if (pattern.isEmpty() || pattern.charAt(0) != '/') {
+            return "";
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\\' || ch == '[' || ch == '{' || ch == '*') {
+                // only full segments before the first special character are literal
+                return pattern.substring(0, pattern.lastIndexOf('/', i - 1));
+            }
+        }
+        return segmentLiteral(pattern);
+    }
+
+    // removes trailing slashes, so the literal always ends with a full segment
+    private static String segmentLiteral(String path) {
+        int end = path.length();
+        while (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(0, end);
+    }
+
     private static String fixPrefix(String pathToMatch) {
         if (pathToMatch.isEmpty()) {
             return "/";
@@ -274,10 +297,13 @@ public final class PathMatchers {
     static final class ExactPathMatcher implements PathMatcher {
         private final String path;
         private final String pathWithTrailingSlash;
+        private final String literalPrefix;
 
         ExactPathMatcher(String path) {
             this.path = path;
             this.pathWithTrailingSlash = path + "/";
+            // raw path is matched as well, so we cannot use encoded paths as a literal
+            this.literalPrefix = path.indexOf('%') == -1 ? segmentLiteral(path) : "";
         }
 
         @Override
@@ -321,6 +347,11 @@ public final class PathMatchers {
             return PrefixMatchResult.notAccepted();
         }
 
+        @Override
+        public String literalPrefix() {
+            return literalPrefix;
+        }
+
         @Override
         public String toString() {
             return "exact: " + path;
@@ -330,6 +361,7 @@ public final class PathMatchers {
     static final class PrefixPathMatcher implements PathMatcher {
         private final String prefix;
         private final String exactMatch;
+        private final String literalPrefix;
 
         PrefixPathMatcher(String prefix) {
             this.prefix = prefix;
@@ -338,6 +370,8 @@ public final class PathMatchers {
             } else {
                 exactMatch = prefix;
             }
+            // the last segment may be matched partially (prefix /te matches /test), unless it ends with a slash
+            this.literalPrefix = prefix.substring(0, prefix.lastIndexOf('/'));
         }
 
         @Override
@@ -391,6 +425,11 @@ public final class PathMatchers {
             return PrefixMatchResult.notAccepted();
         }
 
+        @Override
+        public String literalPrefix() {
+            return literalPrefix;
+        }
+
         @Override
         public String toString() {
             return "prefix: " + prefix;
@@ -404,9 +443,11 @@ public final class PathMatchers {
         private final Pattern pattern;
         private final Pattern leftPattern;
         private final String patternString;
+        private final String literalPrefix;
 
-        PatternPathMatcher(String pattern, Map<String, String> paramToGroupName) {
+        PatternPathMatcher(String pattern, Map<String, String> paramToGroupName, String literalPrefix) {
             this.patternString = pattern;
+            this.literalPrefix = literalPrefix;
             this.pattern = Pattern.compile(pattern);
             this.leftPattern = Pattern.compile(pattern + "(?<" + RIGHT_PART_PARAM_NAME + ">/.+)?");
             this.paramToGroupName = paramToGroupName;
@@ -445,6 +486,11 @@ public final class PathMatchers {
             return PrefixMatchResult.notAccepted();
         }
 
+        @Override
+        public String literalPrefix() {
+            return literalPrefix;
+        }
+
         @Override
         public String toString() {
             return "pattern: " + patternString;
@@ -16,7 +16,11 @@
 
 package io.helidon.http.http2;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -26,17 +30,21 @@ import io.helidon.common.socket.SocketContext;
 
 /**
  * HTTP/2 connection writer.
+ * <p>
+ * Frames of all streams are written through a scheduler that writes control frames and headers first,
+ * and data frames by the {@link Http2StreamPriority} of their stream, so a large response does not starve
+ * smaller responses on the same connection. Frames queued at the same time are written to the socket at once.
  */
 public class Http2ConnectionWriter implements Http2StreamWriter {
     private final DataWriter writer;
-
-    // todo replace with prioritized lock (stream priority + connection writes have highest prio)
-    private final Lock streamLock = new ReentrantLock(true);
+    private final Http2WriteScheduler scheduler;
+    // guards the outbound dynamic table, encoded header blocks must be queued in the order they were encoded
+    private final Lock headerLock = new ReentrantLock();
+    private final Map<Integer, Http2StreamPriority> priorities = new ConcurrentHashMap<>();
     private final SocketContext ctx;
     private final Http2FrameListener listener;
     private final Http2Headers.DynamicTable outboundDynamicTable;
     private final Http2HuffmanEncoder responseHuffman;
-    private final BufferData headerBuffer = BufferData.growing(512);
 
     /**
      * A new writer.
@@ -49,6 +57,7 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
         this.ctx = ctx;
         this.listener = Http2FrameListener.create(sendFrameListeners);
         this.writer = writer;
+        this.scheduler = new Http2WriteScheduler(this::writeFrames);
 
         // initial size is based on our settings, then updated with client settings
         this.outboundDynamicTable = Http2Headers.DynamicTable.create(Http2Setting.HEADER_TABLE_SIZE.defaultValue());
@@ -57,7 +66,7 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
 
     @Override
     public void write(Http2FrameData frame) {
-           lockedWrite(frame);
+        scheduler.write(List.of(frame), frame.header().streamId(), null);
     }
 
     @Override
@@ -70,16 +79,17 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
     @Override
     public int writeHeaders(Http2Headers headers, int streamId, Http2Flag.HeaderFlags flags, FlowControl.Outbound flowControl) {
         // this is executing in the thread of the stream
-        // we must enforce parallelism of exactly 1, to make sure the dynamic table is updated
-        // and then immediately written
+        // we must enforce parallelism of exactly 1 when encoding, to make sure the dynamic table is updated
+        // and the header block is queued in the same order
 
         int maxFrameSize = flowControl.maxFrameSize();
+        List<Http2FrameData> frames = new ArrayList<>(1);
+        Http2WriteScheduler.Entry entry;
 
-        lock();
+        // each header block is encoded into its own buffer, the frames own it and it is not copied again
+        BufferData headerBuffer = BufferData.growing(512);
+        lockHeaders();
         try {
-
-            int written = 0;
-            headerBuffer.clear();
             headers.write(outboundDynamicTable, responseHuffman, headerBuffer);
 
             // Fast path when headers fits within the SETTINGS_MAX_FRAME_SIZE
@@ -88,53 +98,55 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
                         Http2FrameTypes.HEADERS,
                         flags,
                         streamId);
-                written += frameHeader.length();
-                written += Http2FrameHeader.LENGTH;
-
-                noLockWrite(new Http2FrameData(frameHeader, headerBuffer));
-                return written;
-            }
-
-            // Split header frame to smaller continuation frames RFC 9113 §6.10
-            BufferData[] fragments = Http2Headers.split(headerBuffer, maxFrameSize);
-
-            // First header fragment
-            BufferData fragment = fragments[0];
-            Http2FrameHeader frameHeader;
-            frameHeader = Http2FrameHeader.create(fragment.available(),
-                    Http2FrameTypes.HEADERS,
-                    Http2Flag.HeaderFlags.create(0),
-                    streamId);
-            written += frameHeader.length();
-            written += Http2FrameHeader.LENGTH;
-            noLockWrite(new Http2FrameData(frameHeader, fragment));
-
-            // Header continuation fragments in the middle
-            for (int i = 1; i < fragments.length; i++) {
-                fragment = fragments[i];
+                frames.add(new Http2FrameData(frameHeader, headerBuffer));
+            } else {
+                // Split header frame to smaller continuation frames RFC 9113 §6.10
+                BufferData[] fragments = Http2Headers.split(headerBuffer, maxFrameSize);
+
+                // First header fragment
+                BufferData fragment = fragments[0];
+                Http2FrameHeader frameHeader;
+                frameHeader = Http2FrameHeader.create(fragment.available(),
+                        Http2FrameTypes.HEADERS,
+                        Http2Flag.HeaderFlags.create(0),
+                        streamId);
+                frames.add(new Http2FrameData(frameHeader, fragment));
+
+                // Header continuation fragments in the middle
+                for (int i = 1; i < fragments.length; i++) {
+                    fragment = fragments[i];
+                    frameHeader = Http2FrameHeader.create(fragment.available(),
+                            Http2FrameTypes.CONTINUATION,
+                            Http2Flag.ContinuationFlags.create(0),
+                            streamId);
+                    frames.add(new Http2FrameData(frameHeader, fragment));
+                }
+
+                // Last header continuation fragment
+                fragment = fragments[fragments.length - 1];
                 frameHeader = Http2FrameHeader.create(fragment.available(),
                         Http2FrameTypes.CONTINUATION,
-                        Http2Flag.ContinuationFlags.create(0),
+                        // Last fragment needs to indicate the end of headers
+                        Http2Flag.ContinuationFlags.create(flags.value() | Http2Flag.END_OF_HEADERS),
                         streamId);
-                written += frameHeader.length();
-                written += Http2FrameHeader.LENGTH;
-                noLockWrite(new Http2FrameData(frameHeader, fragment));
+                frames.add(new Http2FrameData(frameHeader, fragment));
             }
+            // header block and its continuations are a single entry, so no other frame can be written in between
+            entry = scheduler.enqueue(frames, streamId, null);
+        } finally {
+            headerLock.unlock();
+        }
+        scheduler.await(entry);
+        if ((flags.value() & Http2Flag.END_OF_STREAM) != 0) {
+            priorities.remove(streamId);
+        }
 
-            // Last header continuation fragment
-            fragment = fragments[fragments.length - 1];
-            frameHeader = Http2FrameHeader.create(fragment.available(),
-                    Http2FrameTypes.CONTINUATION,
-                    // Last fragment needs to indicate the end of headers
-                    Http2Flag.ContinuationFlags.create(flags.value() | Http2Flag.END_OF_HEADERS),
-                    streamId);
-            written += frameHeader.length();
+        int written = 0;
+        for (Http2FrameData frame : frames) {
+            written += frame.header().length();
             written += Http2FrameHeader.LENGTH;
-            noLockWrite(new Http2FrameData(frameHeader, fragment));
-            return written;
-        } finally {
-            streamLock.unlock();
         }
+        return written;
     }
 
     @Override
@@ -143,26 +155,37 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
                             Http2Flag.HeaderFlags flags,
                             Http2FrameData dataFrame,
                             FlowControl.Outbound flowControl) {
-        // this is executing in the thread of the stream
-        // we must enforce parallelism of exactly 1, to make sure the dynamic table is updated
-        // and then immediately written
+        int bytesWritten = 0;
 
-        lock();
-        try {
-            int bytesWritten = 0;
+        bytesWritten += writeHeaders(headers, streamId, flags, flowControl);
 
-            bytesWritten += writeHeaders(headers, streamId, flags, flowControl);
+        writeData(dataFrame, flowControl);
+        bytesWritten += Http2FrameHeader.LENGTH;
+        bytesWritten += dataFrame.header().length();
 
-            writeData(dataFrame, flowControl);
-            bytesWritten += Http2FrameHeader.LENGTH;
-            bytesWritten += dataFrame.header().length();
+        return bytesWritten;
+    }
 
-            return bytesWritten;
-        } finally {
-            streamLock.unlock();
+    @Override
+    public void priority(int streamId, Http2StreamPriority priority) {
+        if (priority.equals(Http2StreamPriority.DEFAULT)) {
+            priorities.remove(streamId);
+        } else {
+            priorities.put(streamId, priority);
         }
     }
 
+    /**
+     * Forget state of a closed stream, such as its priority.
+     * Must be called on every termination of a stream not observed by this writer, such as
+     * {@code RST_STREAM} received from the peer.
+     *
+     * @param streamId stream ID
+     */
+    public void streamClosed(int streamId) {
+        priorities.remove(streamId);
+    }
+
     /**
      * Update header table size.
      *
@@ -170,45 +193,71 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
      * @throws InterruptedException in case we fail to lock on the stream
      */
     public void updateHeaderTableSize(long newSize) throws InterruptedException {
-        lock();
+        lockHeaders();
         try {
             outboundDynamicTable.protocolMaxTableSize(newSize);
         } finally {
-            streamLock.unlock();
+            headerLock.unlock();
         }
     }
 
-    private void lockedWrite(Http2FrameData frame) {
-        lock();
-        try {
-            noLockWrite(frame);
-        } finally {
-            streamLock.unlock();
-        }
+    /**
+     * Current statistics of frames written by this writer.
+     *
+     * @return statistics
+     */
+    public Statistics statistics() {
+        return scheduler.statistics();
+    }
+
+    // number of streams with a priority, used in tests
+    int prioritizedStreams() {
+        return priorities.size();
     }
 
-    private void lock() {
+    private void lockHeaders() {
         try {
-            streamLock.lockInterruptibly();
+            headerLock.lockInterruptibly();
         } catch (InterruptedException e) {
             throw new IllegalStateException("Interrupted", e);
         }
     }
 
-    private void noLockWrite(Http2FrameData frame) {
-        Http2FrameHeader frameHeader = frame.header();
-        int streamId = frameHeader.streamId();
-        listener.frameHeader(ctx, streamId, frameHeader);
-
-        BufferData headerData = frameHeader.write();
-        listener.frameHeader(ctx, streamId, headerData);
+    private void scheduleData(Http2FrameData frame) {
+        int streamId = frame.header().streamId();
+        scheduler.write(List.of(frame), streamId, priorities.getOrDefault(streamId, Http2StreamPriority.DEFAULT));
+        if ((frame.header().flags() & Http2Flag.END_OF_STREAM) != 0) {
+            priorities.remove(streamId);
+        }
+    }
 
-        if (frameHeader.length() == 0) {
-            writer.write(headerData);
+    // called by the scheduler, frames are written to the socket at once
+    private void writeFrames(List<Http2FrameData> frames) {
+        BufferData[] buffers = new BufferData[frames.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            Http2FrameData frame = frames.get(i);
+            Http2FrameHeader frameHeader = frame.header();
+            int streamId = frameHeader.streamId();
+            listener.frameHeader(ctx, streamId, frameHeader);
+
+            BufferData headerData = frameHeader.write();
+            listener.frameHeader(ctx, streamId, headerData);
+
+            if (frameHeader.length() == 0) {
+                buffers[i] = headerData;
+            } else {
+                BufferData data = frame.data().copy();
+                listener.frame(ctx, streamId, data);
+                buffers[i] = BufferData.create(headerData, data);
+            }
+            if (frameHeader.type() == Http2FrameType.RST_STREAM) {
+                priorities.remove(streamId);
+            }
+        }
+        if (buffers.length == 1) {
+            writer.write(buffers[0]);
         } else {
-            BufferData data = frame.data().copy();
-            listener.frame(ctx, streamId, data);
-            writer.write(BufferData.create(headerData, data));
+            writer.write(buffers);
         }
     }
 
@@ -218,7 +267,7 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
             Http2FrameData[] splitFrames = flowControl.cut(currFrame);
             if (splitFrames.length == 1) {
                 // windows are wide enough
-                lockedWrite(currFrame);
+                scheduleData(currFrame);
                 flowControl.decrementWindowSize(currFrame.header().length());
                 break;
             } else if (splitFrames.length == 0) {
@@ -226,7 +275,7 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
                 flowControl.blockTillUpdate();
             } else if (splitFrames.length == 2) {
                 // write send-able part and block until window update with the rest
-                lockedWrite(splitFrames[0]);
+                scheduleData(splitFrames[0]);
                 flowControl.decrementWindowSize(currFrame.header().length());
                 flowControl.blockTillUpdate();
                 currFrame = splitFrames[1];
@@ -234,25 +283,21 @@ public class Http2ConnectionWriter implements Http2StreamWriter {
         }
     }
 
-    // TODO use for fastpath
-    //    private void noLockWrite(Http2FrameData... frames) {
-    //        List<BufferData> toWrite = new LinkedList<>();
-    //
-    //        for (Http2FrameData frame : frames) {
-    //            BufferData headerData = frame.header().write();
-    //
-    //            listener.frameHeader(ctx, frame.header());
-    //            listener.frameHeader(ctx, headerData);
-    //
-    //            toWrite.add(headerData);
-    //
-    //            BufferData data = frame.data();
-    //
-    //            if (data.available() != 0) {
-    //                toWrite.add(data);
-    //            }
-    //        }
-    //
-    //        writer.write(toWrite.toArray(new BufferData[0]));
-    //    }
+    /**
+     * Statistics of an HTTP/2 connection writer.
+     *
+     * @param queueDepth               number of frame groups currently waiting to be written
+     * @param maxQueueDepth            maximal number of frame groups that were waiting at once
+     * @param frames                   number of frames written
+     * @param writes                   number of writes to the underlying data writer, several frames may be written at once
+     * @param averageSchedulingLatency average time a frame group waited in the queue before being written
+     * @param maxSchedulingLatency     maximal time a frame group waited in the queue before being written
+     */
+    public record Statistics(int queueDepth,
+                             int maxQueueDepth,
+                             long frames,
+                             long writes,
+                             Duration averageSchedulingLatency,
+                             Duration maxSchedulingLatency) {
+    }
 }
@@ -17,7 +17,6 @@
 package io.helidon.http.http2;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -74,7 +73,7 @@ public class Http2Headers {
      * Header name of the status pseudo header.
      */
     public static final HeaderName STATUS_NAME = HeaderNames.create(STATUS);
-    static final DynamicHeader EMPTY_HEADER_RECORD = new DynamicHeader(null, null, 0);
+    static final HeaderRecord EMPTY_HEADER_RECORD = new DynamicHeader(null, null, 0, 0, 0, 0);
     private static final System.Logger LOGGER = System.getLogger(Http2Headers.class.getName());
     private static final String TRAILERS = "trailers";
     private static final String HTTP = "http";
@@ -698,49 +697,30 @@ public class Http2Headers {
                              String value,
                              boolean shouldIndex,
                              boolean neverIndex) {
-        IndexedHeaderRecord record = table.find(name, value);
-        HeaderApproach approach;
+        int index = table.find(name, value);
 
-        if (record == null) {
+        if (index > 0) {
+            // this is the exact same name and value
+            HeaderApproach.write(huffman, buffer, name, value, false, neverIndex, false, false, index);
+            return;
+        }
+        // values marked as changing are still worth indexing if they repeat on this connection
+        boolean addToIndex = shouldIndex || (!neverIndex && table.repeated(name, value));
+        if (addToIndex) {
+            table.add(name, value);
+        }
+        if (index == 0) {
             // neither name nor value exists in an index
-            if (shouldIndex) {
-                table.add(name, value);
-            }
-            approach = new HeaderApproach(shouldIndex,
-                                          neverIndex,
-                                          true,
-                                          true,
-                                          0);
+            HeaderApproach.write(huffman, buffer, name, value, addToIndex, neverIndex, true, true, 0);
         } else {
-            // at least name is available in index, maybe even value
-            if (value.equals(record.value())) {
-                // this is the exact same name and value
-                approach = new HeaderApproach(false,
-                                              neverIndex,
-                                              false,
-                                              false,
-                                              record.index());
-            } else {
-                // same name
-                if (shouldIndex) {
-                    table.add(name, value);
-                }
-                // in both cases, we use index to record name
-                approach = new HeaderApproach(shouldIndex,
-                                              neverIndex,
-                                              false,
-                                              true,
-                                              record.index());
-            }
+            // same name, we use index to record name
+            HeaderApproach.write(huffman, buffer, name, value, addToIndex, neverIndex, false, true, -index);
         }
-
-        approach.write(huffman, buffer, name, value);
     }
 
     private void writeHeader(BufferData buffer,
                              StaticHeader header) {
-        new HeaderApproach(false, false, false, false, header.index)
-                .write(buffer);
+        buffer.writeHpackInt(header.index, 0b10000000, 7);
     }
 
     enum StaticHeader implements IndexedHeaderRecord {
@@ -811,22 +791,31 @@ public class Http2Headers {
          */
         public static final int MAX_INDEX;
 
-        private static final Map<Integer, StaticHeader> BY_INDEX = new HashMap<>();
-        private static final Map<String, StaticHeader> BY_NAME_NO_VALUE = new HashMap<>();
-        private static final Map<String, Map<String, StaticHeader>> BY_NAME_VALUE = new HashMap<>();
+        // static table is indexed by HPACK index, and by index of known header names (HeaderName.index())
+        private static final StaticHeader[] VALUES = values();
+        private static final StaticHeader[] BY_INDEX;
+        private static final StaticHeader[] BY_NAME_INDEX;
+        // by lower case name, for pseudo headers and names created without a known index
+        private static final Map<String, StaticHeader> BY_NAME = new HashMap<>();
 
         static {
             int maxIndex = 0;
-
-            for (StaticHeader predefinedHeader : StaticHeader.values()) {
-                BY_INDEX.put(predefinedHeader.index(), predefinedHeader);
+            int maxNameIndex = 0;
+            for (StaticHeader predefinedHeader : VALUES) {
                 maxIndex = Math.max(maxIndex, predefinedHeader.index);
-                // Indexed headers may be referenced either with or without value, so we need to store them in both tables
-                if (predefinedHeader.hasValue()) {
-                    BY_NAME_VALUE.computeIfAbsent(predefinedHeader.headerName().lowerCase(), it -> new HashMap<>())
-                            .put(predefinedHeader.value(), predefinedHeader);
+                maxNameIndex = Math.max(maxNameIndex, predefinedHeader.name.index());
+            }
+
+            BY_INDEX = new StaticHeader[maxIndex + 1];
+            BY_NAME_INDEX = new StaticHeader[maxNameIndex + 1];
+            for (StaticHeader predefinedHeader : VALUES) {
+                BY_INDEX[predefinedHeader.index] = predefinedHeader;
+                // entries with the same name are next to each other, the first one is used for name only lookup
+                BY_NAME.putIfAbsent(predefinedHeader.name.lowerCase(), predefinedHeader);
+                int nameIndex = predefinedHeader.name.index();
+                if (nameIndex >= 0 && BY_NAME_INDEX[nameIndex] == null) {
+                    BY_NAME_INDEX[nameIndex] = predefinedHeader;
                 }
-                BY_NAME_NO_VALUE.putIfAbsent(predefinedHeader.headerName().lowerCase(), predefinedHeader);
             }
 
             MAX_INDEX = maxIndex;
@@ -867,19 +856,28 @@ public class Http2Headers {
                 throw new IllegalArgumentException("Max index for predefined headers is " + MAX_INDEX
                                                            + ", but requested " + index);
             }
-            return BY_INDEX.get(index);
+            return BY_INDEX[index];
         }
 
         static StaticHeader find(HeaderName headerName, String headerValue) {
-            Map<String, StaticHeader> map = BY_NAME_VALUE.get(headerName.lowerCase());
-            if (map == null) {
-                return BY_NAME_NO_VALUE.get(headerName.lowerCase());
+            int nameIndex = headerName.index();
+            StaticHeader first;
+            if (nameIndex < 0) {
+                // such as a well known name created using HeaderNames.create(String)
+                first = BY_NAME.get(headerName.lowerCase());
+            } else {
+                first = nameIndex < BY_NAME_INDEX.length ? BY_NAME_INDEX[nameIndex] : null;
             }
-            StaticHeader staticHeader = map.get(headerValue);
-            if (staticHeader == null) {
-                return BY_NAME_NO_VALUE.get(headerName.lowerCase());
+            if (first == null || !first.hasValue) {
+                return first;
+            }
+            // at most a few entries with values share a name (such as :status), and they follow each other
+            for (int i = first.ordinal(); i < VALUES.length && VALUES[i].name.equals(first.name); i++) {
+                if (VALUES[i].hasValue && VALUES[i].value.equals(headerValue)) {
+                    return VALUES[i];
+                }
             }
-            return staticHeader;
+            return first;
         }
 
         @Override
@@ -1024,7 +1022,16 @@ public class Http2Headers {
             return !hasName;
         }
 
-        public void write(Http2HuffmanEncoder huffman, BufferData buffer, HeaderName headerName, String value) {
+        // static, so encoding does not need an approach instance for each header
+        static void write(Http2HuffmanEncoder huffman,
+                          BufferData buffer,
+                          HeaderName headerName,
+                          String value,
+                          boolean addToIndex,
+                          boolean neverIndex,
+                          boolean hasName,
+                          boolean literalValue,
+                          int number) {
             /*
              0   1   2   3   4   5   6   7
            +---+---+---+---+---+---+---+---+
@@ -1036,10 +1043,10 @@ public class Http2Headers {
            +-------------------------------+
              */
             // write flags + index beginning
-            boolean hasValue = hasValue();
+            boolean hasValue = literalValue;
 
-            if (neverIndex()) {
-                if (hasName()) {
+            if (neverIndex) {
+                if (hasName) {
                     // never indexed, custom name and value
                     buffer.writeInt8(0b00010000);
                 } else {
@@ -1054,7 +1061,7 @@ public class Http2Headers {
                     }
                     buffer.writeHpackInt(number, 0b00010000, 4);
                 }
-            } else if (addToIndex()) {
+            } else if (addToIndex) {
                 if (hasName) {
                     // index, custom name and value
                     buffer.writeInt8(0b01000000);
@@ -1123,23 +1130,34 @@ public class Http2Headers {
         public boolean addToIndex() {
             return addToIndex;
         }
-
-        // write fully indexed value
-        void write(BufferData buffer) {
-            buffer.writeHpackInt(number, 0b10000000, 7);
-        }
     }
 
     /**
      * There is one dynamic table for inbound headers and one for outbound headers for each connection.
      * This is to minimize size of headers on the transport.
      * The table caches header names and values and then uses indexes only when transferring headers over network.
+     * <p>
+     * Entries are stored in a ring buffer (newest entry has the lowest index, oldest entry is evicted first), with a hash
+     * index on name and on name and value, so neither adding, evicting, nor finding an entry needs to shift or scan the table.
      */
     public static class DynamicTable {
-        private final List<DynamicHeader> headers = new ArrayList<>();
+        private static final int INITIAL_CAPACITY = 16;
+        private static final int RECENT_SIZE = 256;
+
         private volatile long protocolMaxTableSize;
         private long maxTableSize;
         private int currentTableSize;
+        // ring buffer, entry with sequence number n is at index (n & mask)
+        private DynamicHeader[] entries = new DynamicHeader[INITIAL_CAPACITY];
+        // hash buckets, chained from the newest entry, same size as entries
+        private DynamicHeader[] byNameValue = new DynamicHeader[INITIAL_CAPACITY];
+        private DynamicHeader[] byName = new DynamicHeader[INITIAL_CAPACITY];
+        private int mask = INITIAL_CAPACITY - 1;
+        // number of entries ever added, sequence number of the next entry
+        private long inserted;
+        private int count;
+        // hashes of recently written headers that were not indexed, only used when encoding
+        private int[] recent;
 
         private DynamicTable(long protocolMaxTableSize) {
             this.protocolMaxTableSize = protocolMaxTableSize;
@@ -1182,9 +1200,6 @@ public class Http2Headers {
                 throw new Http2Exception(Http2ErrorCode.COMPRESSION, "Attempt to set larger size than protocol max");
             }
             this.maxTableSize = number;
-            if (maxTableSize == 0) {
-                headers.clear();
-            }
             while (maxTableSize < currentTableSize) {
                 evict();
             }
@@ -1192,7 +1207,8 @@ public class Http2Headers {
 
         int add(HeaderName headerName, String headerValue) {
             String name = headerName.lowerCase();
-            int size = name.length() + headerValue.getBytes(StandardCharsets.US_ASCII).length + 32;
+            // header values are written one byte per character, see Http2HuffmanEncoder
+            int size = name.length() + headerValue.length() + 32;
 
             if (currentTableSize + size <= maxTableSize) {
                 return add(headerName, headerValue, size);
@@ -1222,73 +1238,207 @@ public class Http2Headers {
             return currentTableSize;
         }
 
-        private IndexedHeaderRecord find(HeaderName headerName, String headerValue) {
+        /**
+         * Find the header in static and dynamic table.
+         *
+         * @param headerName  header name
+         * @param headerValue header value
+         * @return index of the entry with the same name and value, negated index of an entry with the same name, or
+         *         {@code 0} if not found
+         */
+        int find(HeaderName headerName, String headerValue) {
             StaticHeader staticHeader = StaticHeader.find(headerName, headerValue);
-            IndexedHeaderRecord candidate = null;
+            int candidate = 0;
 
             if (staticHeader != null) {
-                if (staticHeader.name.equals(headerName)
-                        && staticHeader.hasValue
-                        && staticHeader.value().equals(headerValue)) {
-                    return staticHeader;
+                if (staticHeader.hasValue && staticHeader.value().equals(headerValue)) {
+                    return staticHeader.index;
                 }
-                candidate = staticHeader;
+                candidate = -staticHeader.index;
             }
-            for (int i = 0; i < headers.size(); i++) {
-                DynamicHeader header = headers.get(i);
-                if (header.headerName.equals(headerName)) {
-                    if (header.value().equals(headerValue)) {
-                        return new IndexedHeader(header, StaticHeader.MAX_INDEX + i + 1);
-                    }
-                    if (candidate == null) {
-                        candidate = new IndexedHeader(header, StaticHeader.MAX_INDEX + i + 1);
+            if (count == 0) {
+                return candidate;
+            }
+            int nameHash = headerName.lowerCase().hashCode();
+            int hash = hash(nameHash, headerValue);
+            for (DynamicHeader header = byNameValue[hash & mask]; header != null; header = header.nextByNameValue) {
+                if (header.hash == hash && header.headerName.equals(headerName) && header.value.equals(headerValue)) {
+                    return index(header);
+                }
+            }
+            if (candidate == 0) {
+                for (DynamicHeader header = byName[nameHash & mask]; header != null; header = header.nextByName) {
+                    if (header.nameHash == nameHash && header.headerName.equals(headerName)) {
+                        return -index(header);
                     }
                 }
             }
-
             return candidate;
         }
 
+        /**
+         * Whether the header was recently written without being indexed, and is small enough to be worth indexing.
+         * Remembers the header otherwise.
+         *
+         * @param headerName  header name
+         * @param headerValue header value
+         * @return whether the same header was seen before
+         */
+        boolean repeated(HeaderName headerName, String headerValue) {
+            String name = headerName.lowerCase();
+            // large entries would evict many others
+            if ((name.length() + headerValue.length() + 32) * 8L > maxTableSize) {
+                return false;
+            }
+            if (recent == null) {
+                recent = new int[RECENT_SIZE];
+            }
+            int hash = hash(name.hashCode(), headerValue);
+            // zero marks an empty slot
+            hash = hash == 0 ? 1 : hash;
+            int slot = hash & (RECENT_SIZE - 1);
+            if (recent[slot] == hash) {
+                return true;
+            }
+            recent[slot] = hash;
+            return false;
+        }
+
+        private int index(DynamicHeader header) {
+            return StaticHeader.MAX_INDEX + (int) (inserted - header.sequence);
+        }
+
         private void evict() {
-            if (headers.isEmpty()) {
+            if (count == 0) {
                 return;
             }
-            DynamicHeader removed = headers.remove(headers.size() - 1);
+            int position = (int) ((inserted - count) & mask);
+            DynamicHeader removed = entries[position];
+            entries[position] = null;
+            count--;
+            currentTableSize -= removed.size();
 
-            if (removed != null) {
-                currentTableSize -= removed.size();
-            }
+            // the oldest entry is always the last one in its chains
+            unlink(byNameValue, removed.hash & mask, removed, true);
+            unlink(byName, removed.nameHash & mask, removed, false);
         }
 
         private int add(HeaderName name, String value, int size) {
-            headers.add(0, new DynamicHeader(name, value, size));
+            if (count == entries.length) {
+                grow();
+            }
+            int nameHash = name.lowerCase().hashCode();
+            DynamicHeader header = new DynamicHeader(name, value, size, nameHash, hash(nameHash, value), inserted);
+            entries[(int) (inserted & mask)] = header;
+            inserted++;
+            count++;
             currentTableSize += size;
+            link(header);
             return 0;
         }
 
         private HeaderRecord doGet(int index) {
-            try {
-                // table is 1 based, list is 0 based
-                return headers.get(index - 1);
-            } catch (IndexOutOfBoundsException e) {
+            // table is 1 based, newest entry has index 1
+            if (index < 1 || index > count) {
                 throw new Http2Exception(Http2ErrorCode.PROTOCOL,
                                          "Dynamic table does not contain required header at index " + index);
             }
+            return entries[(int) ((inserted - index) & mask)];
+        }
+
+        private void grow() {
+            DynamicHeader[] oldEntries = entries;
+            int oldMask = mask;
+            int capacity = oldEntries.length * 2;
+
+            entries = new DynamicHeader[capacity];
+            byNameValue = new DynamicHeader[capacity];
+            byName = new DynamicHeader[capacity];
+            mask = capacity - 1;
+            // re-link from the oldest, so the newest entries are first in the chains again
+            for (long sequence = inserted - count; sequence < inserted; sequence++) {
+                DynamicHeader header = oldEntries[(int) (sequence & oldMask)];
+                header.nextByNameValue = null;
+                header.nextByName = null;
+                entries[(int) (sequence & mask)] = header;
+                link(header);
+            }
         }
-    }
 
-    private static record DynamicHeader(HeaderName headerName, String value, int size) implements HeaderRecord {
+        private void link(DynamicHeader header) {
+            int nameValueBucket = header.hash & mask;
+            header.nextByNameValue = byNameValue[nameValueBucket];
+            byNameValue[nameValueBucket] = header;
+
+            int nameBucket = header.nameHash & mask;
+            header.nextByName = byName[nameBucket];
+            byName[nameBucket] = header;
+        }
+
+        private static void unlink(DynamicHeader[] buckets, int bucket, DynamicHeader header, boolean nameValue) {
+            DynamicHeader previous = null;
+            DynamicHeader current = buckets[bucket];
+            while (current != null && current != header) {
+                previous = current;
+                current = nameValue ? current.nextByNameValue : current.nextByName;
+            }
+            if (current == null) {
+                return;
+            }
+            DynamicHeader next = nameValue ? current.nextByNameValue : current.nextByName;
+            if (previous == null) {
+                buckets[bucket] = next;
+            } else if (nameValue) {
+                previous.nextByNameValue = next;
+            } else {
+                previous.nextByName = next;
+            }
+        }
+
+        private static int hash(int nameHash, String value) {
+            int hash = 31 * nameHash + value.hashCode();
+            // spread higher bits, as only the lower bits select a bucket
+            return hash ^ (hash >>> 16);
+        }
     }
 
-    private static record IndexedHeader(HeaderRecord delegate, int index) implements IndexedHeaderRecord {
+    private static final class DynamicHeader implements HeaderRecord {
+        private final HeaderName headerName;
+        private final String value;
+        private final int size;
+        private final int nameHash;
+        private final int hash;
+        private final long sequence;
+
+        private DynamicHeader nextByNameValue;
+        private DynamicHeader nextByName;
+
+        private DynamicHeader(HeaderName headerName, String value, int size, int nameHash, int hash, long sequence) {
+            this.headerName = headerName;
+            this.value = value;
+            this.size = size;
+            this.nameHash = nameHash;
+            this.hash = hash;
+            this.sequence = sequence;
+        }
+
         @Override
         public HeaderName headerName() {
-            return delegate().headerName();
+            return headerName;
         }
 
         @Override
         public String value() {
-            return delegate.value();
+            return value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return headerName + ": " + value;
         }
     }
 
@@ -58,11 +58,15 @@ public class Http2HuffmanEncoder {
     }
 
     void encode(BufferData buffer, String string) {
-        int index = 0;
+        // first pass computes the encoded length, so we can write directly to the buffer without an intermediate array
+        long bits = 0;
+        for (int i = 0; i < string.length(); i++) {
+            bits += Http2HuffmanConstants.HUFFMAN_CODE_LENGTHS[string.charAt(i) & 0xFF];
+        }
+        buffer.writeHpackInt((int) ((bits + 7) >>> 3), HUFFMAN_ENCODED, 7);
 
         long current = 0;
         int n = 0;
-        byte[] bytes = new byte[string.length()];
 
         for (int i = 0; i < string.length(); i++) {
             int b = string.charAt(i) & 0xFF;
@@ -75,20 +79,14 @@ public class Http2HuffmanEncoder {
 
             while (n >= 8) {
                 n -= 8;
-                bytes[index] = ((byte) (current >> n));
-                index++;
+                buffer.writeInt8((int) (current >> n));
             }
         }
 
         if (n > 0) {
             current <<= 8 - n;
             current |= 0xFF >>> n; // this should be EOS symbol
-            bytes[index] = ((byte) current);
-            index++;
+            buffer.writeInt8((int) current);
         }
-
-        buffer.writeHpackInt(index, HUFFMAN_ENCODED, 7);
-        buffer.write(bytes, 0, index);
-
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.http.http2;
+
+/**
+ * Extensible priority of a stream as defined by RFC 9218, used by {@link Http2ConnectionWriter} to decide
+ * which stream's data frames are written first.
+ *
+ * @param urgency     urgency from {@code 0} (highest) to {@code 7} (lowest)
+ * @param incremental whether the receiver can process data of the stream incrementally, so the data may be interleaved
+ *                    with data of other incremental streams of the same urgency
+ */
+public record Http2StreamPriority(int urgency, boolean incremental) {
+    /**
+     * Highest urgency.
+     */
+    public static final int MIN_URGENCY = 0;
+    /**
+     * Lowest urgency.
+     */
+    public static final int MAX_URGENCY = 7;
+    /**
+     * Priority of streams that did not signal any, {@code u=3}, non incremental.
+     */
+    public static final Http2StreamPriority DEFAULT = new Http2StreamPriority(3, false);
+
+    /**
+     * Create a new priority.
+     *
+     * @param urgency     urgency from {@code 0} (highest) to {@code 7} (lowest)
+     * @param incremental whether the stream is incremental
+     * @throws IllegalArgumentException in case the urgency is out of range
+     */
+    public Http2StreamPriority {
+        if (urgency < MIN_URGENCY || urgency > MAX_URGENCY) {
+            throw new IllegalArgumentException("Urgency must be between " + MIN_URGENCY + " and " + MAX_URGENCY
+                                                       + ", but is " + urgency);
+        }
+    }
+
+    /**
+     * Parse the value of the {@code Priority} header (RFC 9218, section 5), such as {@code u=5, i}.
+     * Unknown parameters and invalid values are ignored, as required by the specification, so parsing never fails.
+     *
+     * @param value header value
+     * @return parsed priority, parameters not present in the value use the defaults
+     */
+    public static Http2StreamPriority parse(String value) {
+        int urgency = DEFAULT.urgency();
+        boolean incremental = DEFAULT.incremental();
+        for (String member : value.split(",")) {
+            String trimmed = member.trim();
+            int paramIndex = trimmed.indexOf(';');
+            if (paramIndex != -1) {
+                // parameters of dictionary members are not used by this specification
+                trimmed = trimmed.substring(0, paramIndex);
+            }
+            int eq = trimmed.indexOf('=');
+            String key = eq == -1 ? trimmed : trimmed.substring(0, eq).trim();
+            String memberValue = eq == -1 ? null : trimmed.substring(eq + 1).trim();
+            if (key.equals("u")) {
+                if (memberValue != null
+                        && memberValue.length() == 1
+                        && memberValue.charAt(0) >= '0' + MIN_URGENCY
+                        && memberValue.charAt(0) <= '0' + MAX_URGENCY) {
+                    urgency = memberValue.charAt(0) - '0';
+                }
+            } else if (key.equals("i")) {
+                // boolean structured field value, bare key means true
+                if (memberValue == null || memberValue.equals("?1")) {
+                    incremental = true;
+                } else if (memberValue.equals("?0")) {
+                    incremental = false;
+                }
+            }
+        }
+        if (urgency == DEFAULT.urgency() && incremental == DEFAULT.incremental()) {
+            return DEFAULT;
+        }
+        return new Http2StreamPriority(urgency, incremental);
+    }
+}
@@ -61,4 +61,14 @@ public interface Http2StreamWriter {
                      Http2Flag.HeaderFlags flags,
                      Http2FrameData dataFrame,
                      FlowControl.Outbound flowControl);
+
+    /**
+     * Set priority of a stream, used to order data frames of streams sharing the connection.
+     * Priority is forgotten once the stream ends. Writers that do not prioritize streams ignore this method.
+     *
+     * @param streamId stream ID
+     * @param priority priority of the stream
+     */
+    default void priority(int streamId, Http2StreamPriority priority) {
+    }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.http.http2;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Schedules frames of all streams of a single connection to the socket.
+ * <p>
+ * Threads of streams enqueue their frames and wait until the frames are written. The first waiting thread that finds
+ * no write in progress becomes the writer and writes frames of all threads (including its own) in order of priority,
+ * coalescing several queued frames into a single socket write. Once its own frames are written, it hands the writer
+ * role to the thread of the next queued entry.
+ * <p>
+ * Order of frames:
+ * <ul>
+ *     <li>Control frames, {@code HEADERS} and {@code CONTINUATION} are written first, in the order they were queued
+ *     (header blocks must be written in the order they were encoded, as HPACK state depends on it)</li>
+ *     <li>{@code DATA} frames by urgency of their stream, as defined by RFC 9218; for the same urgency, non-incremental
+ *     streams are written one at a time by stream id, incremental streams are interleaved</li>
+ * </ul>
+ */
+final class Http2WriteScheduler {
+    // limits of a single coalesced socket write, at least one entry is always written
+    private static final int MAX_BATCH_FRAMES = 16;
+    private static final int MAX_BATCH_BYTES = 64 * 1024;
+    private static final Comparator<Entry> DATA_ORDER = Comparator.<Entry>comparingInt(it -> it.priority.urgency())
+            .thenComparing(it -> it.priority.incremental())
+            .thenComparingLong(it -> it.priority.incremental() ? 0 : it.streamId)
+            .thenComparingLong(it -> it.sequence);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Entry> control = new ArrayDeque<>();
+    private final PriorityQueue<Entry> data = new PriorityQueue<>(DATA_ORDER);
+    private final Consumer<List<Http2FrameData>> frameWriter;
+
+    private boolean writing;
+    private long sequence;
+    // statistics, guarded by lock
+    private int maxQueueDepth;
+    private long frames;
+    private long writes;
+    private long scheduled;
+    private long latencyNanos;
+    private long maxLatencyNanos;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param frameWriter writes the frames to the socket in a single write, called without holding the scheduler lock
+     */
+    Http2WriteScheduler(Consumer<List<Http2FrameData>> frameWriter) {
+        this.frameWriter = frameWriter;
+    }
+
+    /**
+     * Enqueue frames and wait until they are written.
+     *
+     * @param frames   frames to write one after another
+     * @param streamId stream id of the frames
+     * @param priority priority of the stream, or {@code null} for control frames
+     */
+    void write(List<Http2FrameData> frames, int streamId, Http2StreamPriority priority) {
+        await(enqueue(frames, streamId, priority));
+    }
+
+    /**
+     * Enqueue frames to be written. Frames enqueued with {@code null} priority are written in the order of this method
+     * being called.
+     *
+     * @param frames   frames to write one after another
+     * @param streamId stream id of the frames
+     * @param priority priority of the stream, or {@code null} for control frames
+     * @return entry to {@link #await(Entry)}
+     */
+    Entry enqueue(List<Http2FrameData> frames, int streamId, Http2StreamPriority priority) {
+        lock.lock();
+        try {
+            Entry entry = new Entry(frames, streamId, priority, sequence++, System.nanoTime(), lock.newCondition());
+            if (priority == null) {
+                if (streamId != 0 && frames.get(0).header().type() == Http2FrameType.RST_STREAM) {
+                    // data queued for a stream that is being reset would only be discarded by the peer
+                    discardData(streamId);
+                }
+                control.add(entry);
+            } else {
+                data.add(entry);
+            }
+            maxQueueDepth = Math.max(maxQueueDepth, control.size() + data.size());
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the entry is written, possibly writing queued entries of other threads.
+     *
+     * @param entry entry to wait for
+     * @throws IllegalStateException in case the thread is interrupted before the entry is written
+     */
+    void await(Entry entry) {
+        lock.lock();
+        try {
+            while (entry.state != State.DONE) {
+                if (!writing) {
+                    writing = true;
+                    try {
+                        writeUntilDone(entry);
+                    } finally {
+                        writing = false;
+                        handOff();
+                    }
+                } else if (entry.state == State.QUEUED) {
+                    try {
+                        entry.condition.await();
+                    } catch (InterruptedException e) {
+                        if (entry.state == State.QUEUED) {
+                            remove(entry);
+                            if (!writing) {
+                                handOff();
+                            }
+                            throw new IllegalStateException("Interrupted", e);
+                        }
+                        // already being written, cannot be taken back
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    entry.condition.awaitUninterruptibly();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (entry.failure != null) {
+            throw entry.failure;
+        }
+    }
+
+    /**
+     * Current statistics of this scheduler.
+     *
+     * @return statistics
+     */
+    Http2ConnectionWriter.Statistics statistics() {
+        lock.lock();
+        try {
+            return new Http2ConnectionWriter.Statistics(control.size() + data.size(),
+                                                        maxQueueDepth,
+                                                        frames,
+                                                        writes,
+                                                        Duration.ofNanos(scheduled == 0 ? 0 : latencyNanos / scheduled),
+                                                        Duration.ofNanos(maxLatencyNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // called with lock held and writing flag set
+    private void writeUntilDone(Entry own) {
+        while (own.state != State.DONE) {
+            List<Entry> batch = nextBatch();
+            List<Http2FrameData> toWrite = new ArrayList<>();
+            long now = System.nanoTime();
+            for (Entry entry : batch) {
+                entry.state = State.WRITING;
+                toWrite.addAll(entry.frames);
+                long latency = now - entry.enqueuedNanos;
+                latencyNanos += latency;
+                maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            }
+            scheduled += batch.size();
+            frames += toWrite.size();
+            writes++;
+
+            RuntimeException failure = null;
+            lock.unlock();
+            try {
+                frameWriter.accept(toWrite);
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                lock.lock();
+            }
+            for (Entry entry : batch) {
+                entry.failure = failure;
+                entry.state = State.DONE;
+                entry.condition.signal();
+            }
+        }
+    }
+
+    private List<Entry> nextBatch() {
+        List<Entry> batch = new ArrayList<>();
+        int frameCount = 0;
+        int bytes = 0;
+        while (true) {
+            Entry next = control.isEmpty() ? data.peek() : control.peek();
+            if (next == null) {
+                return batch;
+            }
+            if (!batch.isEmpty()
+                    && (frameCount + next.frames.size() > MAX_BATCH_FRAMES || bytes + next.bytes > MAX_BATCH_BYTES)) {
+                return batch;
+            }
+            if (next.priority == null) {
+                control.poll();
+            } else {
+                data.poll();
+            }
+            batch.add(next);
+            frameCount += next.frames.size();
+            bytes += next.bytes;
+        }
+    }
+
+    // wake up thread of the next entry to become the writer
+    private void handOff() {
+        Entry next = control.isEmpty() ? data.peek() : control.peek();
+        if (next != null) {
+            next.condition.signal();
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entry.priority == null) {
+            control.remove(entry);
+        } else {
+            data.remove(entry);
+        }
+    }
+
+    private void discardData(int streamId) {
+        Iterator<Entry> iterator = data.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.streamId == streamId) {
+                iterator.remove();
+                entry.state = State.DONE;
+                entry.condition.signal();
+            }
+        }
+    }
+
+    private enum State {
+        QUEUED,
+        WRITING,
+        DONE
+    }
+
+    static final class Entry {
+        private final List<Http2FrameData> frames;
+        private final int streamId;
+        private final Http2StreamPriority priority;
+        private final long sequence;
+        private final long enqueuedNanos;
+        private final Condition condition;
+        private final int bytes;
+
+        private State state = State.QUEUED;
+        private RuntimeException failure;
+
+        private Entry(List<Http2FrameData> frames,
+                      int streamId,
+                      Http2StreamPriority priority,
+                      long sequence,
+                      long enqueuedNanos,
+                      Condition condition) {
+            this.frames = frames;
+            this.streamId = streamId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+            this.condition = condition;
+            int bytes = 0;
+            for (Http2FrameData frame : frames) {
+                bytes += Http2FrameHeader.LENGTH + frame.header().length();
+            }
+            this.bytes = bytes;
+        }
+    }
+}
@@ -54,6 +54,52 @@ class DynamicTableTest {
         testRecord(table, Http2Headers.StaticHeader.MAX_INDEX + 2, "b", "c");
     }
 
+    @Test
+    void testFind() {
+        Http2Headers.DynamicTable table = Http2Headers.DynamicTable.create(4096);
+        int max = Http2Headers.StaticHeader.MAX_INDEX;
+
+        table.add(HeaderNames.create("x-custom"), "first");
+        table.add(HeaderNames.CONTENT_TYPE, "text/plain");
+        table.add(HeaderNames.create("x-custom"), "second");
+
+        // exact match is a positive index, name only match is a negative index
+        assertThat(table.find(Http2Headers.METHOD_NAME, "GET"), is(2));
+        assertThat(table.find(Http2Headers.METHOD_NAME, "PUT"), is(-2));
+        assertThat(table.find(HeaderNames.create("x-custom"), "second"), is(max + 1));
+        assertThat(table.find(HeaderNames.create("x-custom"), "first"), is(max + 3));
+        assertThat(table.find(HeaderNames.create("x-custom"), "third"), is(-(max + 1)));
+        assertThat(table.find(HeaderNames.CONTENT_TYPE, "text/plain"), is(max + 2));
+        // static table name is preferred over dynamic table name
+        assertThat(table.find(HeaderNames.CONTENT_TYPE, "text/html"), is(-31));
+        assertThat(table.find(HeaderNames.create("x-other"), "first"), is(0));
+    }
+
+    @Test
+    void testRingBuffer() {
+        Http2Headers.DynamicTable table = Http2Headers.DynamicTable.create(4096);
+        int max = Http2Headers.StaticHeader.MAX_INDEX;
+        int entrySize = 32 + "x-header".length() + "value-000".length();
+        int capacity = 4096 / entrySize;
+
+        for (int i = 0; i < 1000; i++) {
+            table.add(HeaderNames.create("x-header"), String.format("value-%03d", i));
+        }
+
+        assertThat(table.currentTableSize(), is(capacity * entrySize));
+        for (int i = 1; i <= capacity; i++) {
+            String value = String.format("value-%03d", 1000 - i);
+            testRecord(table, max + i, "x-header", value);
+            assertThat(table.find(HeaderNames.create("x-header"), value), is(max + i));
+        }
+        // evicted entries can no longer be found
+        assertThat(table.find(HeaderNames.create("x-header"), "value-000"), is(-(max + 1)));
+
+        table.maxTableSize(0);
+        assertThat(table.currentTableSize(), is(0));
+        assertThat(table.find(HeaderNames.create("x-header"), "value-999"), is(0));
+    }
+
     private void testRecord(Http2Headers.DynamicTable table,
                             int index,
                             String expectedName,
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.http.http2;
+
+import java.util.List;
+
+import io.helidon.common.buffers.BufferData;
+import io.helidon.common.buffers.DataWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class Http2ConnectionWriterTest {
+    private static final Http2StreamPriority URGENT = new Http2StreamPriority(0, false);
+
+    private final Http2ConnectionWriter writer = new Http2ConnectionWriter(null, new NoopDataWriter(), List.of());
+
+    @Test
+    void testPriorityRemovedOnEndOfStream() {
+        writer.priority(1, URGENT);
+        assertThat(writer.prioritizedStreams(), is(1));
+
+        writer.writeData(data(1, Http2Flag.END_OF_STREAM), FlowControl.Outbound.NOOP);
+        assertThat(writer.prioritizedStreams(), is(0));
+    }
+
+    @Test
+    void testPriorityRemovedOnSentReset() {
+        writer.priority(3, URGENT);
+
+        writer.write(new Http2RstStream(Http2ErrorCode.CANCEL).toFrameData(null, 3, Http2Flag.NoFlags.create()));
+        assertThat(writer.prioritizedStreams(), is(0));
+    }
+
+    @Test
+    void testPriorityRemovedOnStreamClosed() {
+        // for example RST_STREAM received from the peer, nothing is written for the stream
+        writer.priority(5, URGENT);
+        writer.priority(7, URGENT);
+
+        writer.streamClosed(5);
+        assertThat(writer.prioritizedStreams(), is(1));
+        writer.streamClosed(7);
+        assertThat(writer.prioritizedStreams(), is(0));
+    }
+
+    @Test
+    void testDefaultPriorityNotStored() {
+        writer.priority(9, URGENT);
+        writer.priority(9, Http2StreamPriority.DEFAULT);
+        assertThat(writer.prioritizedStreams(), is(0));
+    }
+
+    private static Http2FrameData data(int streamId, int flags) {
+        return new Http2FrameData(Http2FrameHeader.create(4, Http2FrameTypes.DATA, Http2Flag.DataFlags.create(flags), streamId),
+                                  BufferData.create(new byte[4]));
+    }
+
+    private static final class NoopDataWriter implements DataWriter {
+        @Override
+        public void write(BufferData... buffers) {
+        }
+
+        @Override
+        public void write(BufferData buffer) {
+        }
+
+        @Override
+        public void writeNow(BufferData... buffers) {
+        }
+
+        @Override
+        public void writeNow(BufferData buffer) {
+        }
+    }
+}
@@ -21,11 +21,14 @@ import java.util.HexFormat;
 import io.helidon.common.buffers.BufferData;
 import io.helidon.http.HeaderName;
 import io.helidon.http.HeaderNames;
+import io.helidon.http.HeaderValues;
 import io.helidon.http.Headers;
 import io.helidon.http.Method;
+import io.helidon.http.Status;
 import io.helidon.http.WritableHeaders;
 import io.helidon.http.http2.Http2Headers.DynamicTable;
 import io.helidon.http.http2.Http2Headers.HeaderRecord;
+import io.helidon.http.http2.Http2Headers.StaticHeader;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -251,6 +254,94 @@ class Http2HeadersTest {
         assertThat(headerRecord.value(), is("www.example.com"));
     }
 
+    @Test
+    void testRoundTrip() {
+        // encoder and decoder tables must stay in sync while entries are added and evicted
+        DynamicTable encoderTable = DynamicTable.create(Http2Settings.create());
+        DynamicTable decoderTable = DynamicTable.create(Http2Settings.create());
+        Http2HuffmanEncoder huffman = Http2HuffmanEncoder.create();
+        Http2Stream stream = Mockito.mock(Http2Stream.class);
+
+        for (int i = 0; i < 500; i++) {
+            WritableHeaders<?> headers = WritableHeaders.create();
+            headers.set(HeaderNames.ACCEPT, "application/json");
+            headers.set(CUSTOM_HEADER_NAME, "value-" + (i % 150));
+            Http2Headers http2Headers = Http2Headers.create(headers);
+            http2Headers.method(Method.PUT);
+            http2Headers.scheme("https");
+            http2Headers.path("/greet/" + (i % 40));
+            http2Headers.authority("www.example.com");
+
+            BufferData buffer = BufferData.growing(128);
+            http2Headers.write(encoderTable, huffman, buffer);
+            Http2FrameHeader header = Http2FrameHeader.create(buffer.available(),
+                                                              Http2FrameTypes.HEADERS,
+                                                              Http2Flag.HeaderFlags.create(Http2Flag.END_OF_HEADERS),
+                                                              1);
+            Http2Headers decoded = Http2Headers.create(stream,
+                                                       decoderTable,
+                                                       Http2HuffmanDecoder.create(),
+                                                       new Http2FrameData(header, buffer));
+
+            assertThat(decoded.method(), is(Method.PUT));
+            assertThat(decoded.path(), is("/greet/" + (i % 40)));
+            assertThat(decoded.authority(), is("www.example.com"));
+            assertThat(decoded.httpHeaders().get(HeaderNames.ACCEPT).value(), is("application/json"));
+            assertThat(decoded.httpHeaders().get(CUSTOM_HEADER_NAME).value(), is("value-" + (i % 150)));
+            assertThat(decoderTable.currentTableSize(), is(encoderTable.currentTableSize()));
+        }
+    }
+
+    @Test
+    void testRepeatedHeadersIndexed() {
+        DynamicTable dynamicTable = DynamicTable.create(Http2Settings.create());
+        Http2HuffmanEncoder huffman = Http2HuffmanEncoder.create();
+        WritableHeaders<?> headers = WritableHeaders.create();
+        // set(name, value) marks the header as changing
+        headers.set(HeaderNames.CONTENT_TYPE, "application/json");
+        headers.set(HeaderValues.create(HeaderNames.AUTHORIZATION, true, true, "secret"));
+        Http2Headers http2Headers = Http2Headers.create(headers);
+        http2Headers.status(Status.OK_200);
+
+        int[] sizes = new int[3];
+        for (int i = 0; i < sizes.length; i++) {
+            BufferData buffer = BufferData.growing(32);
+            http2Headers.write(dynamicTable, huffman, buffer);
+            sizes[i] = buffer.available();
+        }
+
+        // second occurrence adds the header to the dynamic table, third uses the index; sensitive header is never indexed
+        assertThat(dynamicTable.find(HeaderNames.CONTENT_TYPE, "application/json"), is(StaticHeader.MAX_INDEX + 1));
+        assertThat(dynamicTable.find(HeaderNames.AUTHORIZATION, "secret"), is(-23));
+        assertThat(sizes[2] < sizes[1], is(true));
+    }
+
+    @Test
+    void testStaticTableLookupByName() {
+        DynamicTable dynamicTable = DynamicTable.create(Http2Settings.create());
+        Http2HuffmanEncoder huffman = Http2HuffmanEncoder.create();
+        HeaderName created = HeaderNames.create("content-type");
+
+        // names without a known index (such as pseudo headers) are found by their lower case name
+        assertThat(dynamicTable.find(Http2Headers.STATUS_NAME, "200"), is(StaticHeader.STATUS_200.index()));
+        assertThat(dynamicTable.find(created, "application/json"), is(-StaticHeader.CONTENT_TYPE.index()));
+
+        // a created well known name is encoded the same way as the constant, using the static table name index
+        assertThat(encode(created, "application/json", dynamicTable, huffman),
+                   is(encode(HeaderNames.CONTENT_TYPE,
+                             "application/json",
+                             DynamicTable.create(Http2Settings.create()),
+                             huffman)));
+    }
+
+    private static String encode(HeaderName name, String value, DynamicTable dynamicTable, Http2HuffmanEncoder huffman) {
+        WritableHeaders<?> headers = WritableHeaders.create();
+        headers.set(name, value);
+        BufferData buffer = BufferData.growing(32);
+        Http2Headers.create(headers).write(dynamicTable, huffman, buffer);
+        return buffer.debugDataHex();
+    }
+
     private Http2Headers headers(String hexEncoded, DynamicTable dynamicTable) {
         BufferData data = data(hexEncoded);
         Http2FrameHeader header = Http2FrameHeader.create(data.available(),
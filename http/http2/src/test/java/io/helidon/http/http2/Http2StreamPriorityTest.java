@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.http.http2;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Http2StreamPriorityTest {
+    @Test
+    void testParse() {
+        assertThat(Http2StreamPriority.parse("u=5, i"), is(new Http2StreamPriority(5, true)));
+        assertThat(Http2StreamPriority.parse("i=?1"), is(new Http2StreamPriority(3, true)));
+        assertThat(Http2StreamPriority.parse("u=0;foo=bar, i=?0"), is(new Http2StreamPriority(0, false)));
+        assertThat(Http2StreamPriority.parse("u=1,x=7"), is(new Http2StreamPriority(1, false)));
+    }
+
+    @Test
+    void testParseInvalid() {
+        assertThat(Http2StreamPriority.parse(""), sameInstance(Http2StreamPriority.DEFAULT));
+        assertThat(Http2StreamPriority.parse("u=8"), sameInstance(Http2StreamPriority.DEFAULT));
+        assertThat(Http2StreamPriority.parse("u=high, i=yes"), sameInstance(Http2StreamPriority.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> new Http2StreamPriority(-1, false));
+    }
+}
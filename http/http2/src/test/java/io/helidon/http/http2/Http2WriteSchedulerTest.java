@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.http.http2;
+
+import java.io.UncheckedIOException;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.common.buffers.BufferData;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Http2WriteSchedulerTest {
+    private final List<List<Integer>> writes = new ArrayList<>();
+    private final Http2WriteScheduler scheduler = new Http2WriteScheduler(frames -> writes.add(frames.stream()
+                                                                                                     .map(it -> it.header()
+                                                                                                             .streamId())
+                                                                                                     .toList()));
+
+    @Test
+    void testPriorityOrder() {
+        scheduler.enqueue(List.of(data(1)), 1, new Http2StreamPriority(5, false));
+        scheduler.enqueue(List.of(data(9)), 9, new Http2StreamPriority(1, true));
+        scheduler.enqueue(List.of(data(7)), 7, new Http2StreamPriority(1, true));
+        scheduler.enqueue(List.of(data(5)), 5, new Http2StreamPriority(1, false));
+        scheduler.enqueue(List.of(data(3)), 3, new Http2StreamPriority(1, false));
+        Http2WriteScheduler.Entry last = scheduler.enqueue(List.of(ping()), 0, null);
+
+        scheduler.await(last);
+
+        // control first, then by urgency; non-incremental by stream id, incremental in order of arrival
+        assertThat(writes, contains(List.of(0, 3, 5, 9, 7, 1)));
+        Http2ConnectionWriter.Statistics statistics = scheduler.statistics();
+        assertThat(statistics.queueDepth(), is(0));
+        assertThat(statistics.maxQueueDepth(), is(6));
+        assertThat(statistics.frames(), is(6L));
+        assertThat(statistics.writes(), is(1L));
+    }
+
+    @Test
+    void testCoalescingLimit() {
+        Http2WriteScheduler.Entry last = null;
+        for (int i = 0; i < 20; i++) {
+            last = scheduler.enqueue(List.of(data(1)), 1, Http2StreamPriority.DEFAULT);
+        }
+
+        scheduler.await(last);
+
+        assertThat(writes.size(), is(2));
+        assertThat(writes.get(0).size(), is(16));
+        assertThat(writes.get(1).size(), is(4));
+    }
+
+    @Test
+    void testResetDiscardsData() {
+        Http2WriteScheduler.Entry data = scheduler.enqueue(List.of(data(3)), 3, Http2StreamPriority.DEFAULT);
+        scheduler.enqueue(List.of(data(5)), 5, Http2StreamPriority.DEFAULT);
+        Http2WriteScheduler.Entry rst = scheduler.enqueue(List.of(rst(3)), 3, null);
+
+        scheduler.await(data);
+        scheduler.await(rst);
+
+        assertThat(writes, contains(List.of(3, 5)));
+        assertThat(scheduler.statistics().frames(), is(2L));
+    }
+
+    @Test
+    void testFailure() {
+        UncheckedIOException failure = new UncheckedIOException(new SocketException("Connection reset"));
+        Http2WriteScheduler failing = new Http2WriteScheduler(frames -> {
+            throw failure;
+        });
+
+        UncheckedIOException thrown = assertThrows(UncheckedIOException.class,
+                                                   () -> failing.write(List.of(data(1)), 1, Http2StreamPriority.DEFAULT));
+        assertThat(thrown, sameInstance(failure));
+    }
+
+    private static Http2FrameData data(int streamId) {
+        return new Http2FrameData(Http2FrameHeader.create(4, Http2FrameTypes.DATA, Http2Flag.DataFlags.create(0), streamId),
+                                  BufferData.create(new byte[4]));
+    }
+
+    private static Http2FrameData ping() {
+        return new Http2FrameData(Http2FrameHeader.create(8, Http2FrameTypes.PING, Http2Flag.PingFlags.create(0), 0),
+                                  BufferData.create(new byte[8]));
+    }
+
+    private static Http2FrameData rst(int streamId) {
+        return new Http2FrameData(Http2FrameHeader.create(4, Http2FrameTypes.RST_STREAM, Http2Flag.NoFlags.create(), streamId),
+                                  BufferData.create(new byte[4]));
+    }
+}
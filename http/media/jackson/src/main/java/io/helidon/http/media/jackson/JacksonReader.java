@@ -24,6 +24,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.common.GenericType;
 import io.helidon.http.Headers;
@@ -32,10 +34,13 @@ import io.helidon.http.media.EntityReader;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 class JacksonReader<T> implements EntityReader<T> {
 
     private final ObjectMapper objectMapper;
+    // ObjectReader is immutable and thread safe, creating one for each entity is expensive
+    private final Map<GenericType<?>, ObjectReader> readers = new ConcurrentHashMap<>();
 
     JacksonReader(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -55,21 +60,24 @@ class JacksonReader<T> implements EntityReader<T> {
         return read(type, stream, contentTypeCharset(responseHeaders));
     }
 
-    @SuppressWarnings("unchecked")
     private T read(GenericType<T> type, InputStream in, Charset charset) {
         try (Reader r = new InputStreamReader(in, charset)) {
-            Type t = type.type();
-            if (t instanceof ParameterizedType) {
-                JavaType javaType = objectMapper.getTypeFactory().constructType(t);
-                return objectMapper.readValue(r, javaType);
-            } else {
-                return objectMapper.readValue(r, (Class<T>) type.rawType());
-            }
+            return readers.computeIfAbsent(type, this::createReader).readValue(r);
         } catch (IOException e) {
             throw new JacksonRuntimeException("Failed to deserialize JSON to " + type, e);
         }
     }
 
+    private ObjectReader createReader(GenericType<?> type) {
+        Type t = type.type();
+        if (t instanceof ParameterizedType) {
+            JavaType javaType = objectMapper.getTypeFactory().constructType(t);
+            return objectMapper.readerFor(javaType);
+        } else {
+            return objectMapper.readerFor(type.rawType());
+        }
+    }
+
     private Charset contentTypeCharset(Headers headers) {
         return headers.contentType()
                 .flatMap(HttpMediaType::charset)
@@ -23,7 +23,9 @@ import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.media.type.MediaTypes;
@@ -39,6 +41,8 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 
 class JacksonWriter<T> implements EntityWriter<T> {
     private final ObjectMapper objectMapper;
+    // ObjectWriter is immutable and thread safe, creating one for each entity is expensive
+    private final Map<GenericType<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     JacksonWriter(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -93,6 +97,10 @@ class JacksonWriter<T> implements EntityWriter<T> {
     }
 
     private ObjectWriter writer(GenericType<T> type) {
+        return writers.computeIfAbsent(type, this::createWriter);
+    }
+
+    private ObjectWriter createWriter(GenericType<?> type) {
         Type t = type.type();
         if (t instanceof ParameterizedType) {
             JavaType javaType = objectMapper.getTypeFactory().constructType(t);
@@ -56,4 +56,14 @@ interface MediaContextConfigBlueprint extends Prototype.Factory<MediaContext> {
      */
     @ConfiguredOption("true")
     boolean registerDefaults();
+
+    /**
+     * Maximal number of cached results of reader and writer negotiation.
+     * The result is cached for each combination of entity type, {@code Content-Type} and {@code Accept} headers, so
+     * media supports are not queried for each entity. Set to {@code 0} to disable the cache.
+     *
+     * @return maximal number of cached readers and writers
+     */
+    @ConfiguredOption("256")
+    int negotiationCacheSize();
 }
@@ -21,10 +21,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import io.helidon.common.GenericType;
+import io.helidon.http.HeaderNames;
 import io.helidon.http.Headers;
 import io.helidon.http.WritableHeaders;
 import io.helidon.http.media.MediaSupport.ReaderResponse;
@@ -42,16 +45,63 @@ class MediaContextImpl implements MediaContext {
     private final List<MediaSupport> supports;
     private final MediaContext fallback;
     private final MediaContextConfig prototype;
+    private final int negotiationCacheSize;
+    private final Map<Negotiation, Object> negotiations = new ConcurrentHashMap<>();
 
     MediaContextImpl(MediaContextConfig prototype) {
         this.supports = prototype.mediaSupports();
         this.supports.forEach(it -> it.init(this));
         this.fallback = prototype.fallback().orElse(null);
         this.prototype = prototype;
+        this.negotiationCacheSize = prototype.negotiationCacheSize();
     }
 
     @Override
     public <T> EntityReader<T> reader(GenericType<T> type, Headers headers) {
+        Negotiation key = negotiation(Negotiation.Kind.SERVER_READ, type, headers, null);
+        if (key == null) {
+            return serverReader(type, headers);
+        }
+        return (EntityReader<T>) cached(key, () -> serverReader(type, headers));
+    }
+
+    @Override
+    public <T> EntityWriter<T> writer(GenericType<T> type,
+                                      Headers requestHeaders,
+                                      WritableHeaders<?> responseHeaders) {
+        Negotiation key = negotiation(Negotiation.Kind.SERVER_WRITE, type, responseHeaders, requestHeaders);
+        if (key == null) {
+            return serverWriter(type, requestHeaders, responseHeaders);
+        }
+        return (EntityWriter<T>) cached(key, () -> serverWriter(type, requestHeaders, responseHeaders));
+    }
+
+    @Override
+    public <T> EntityReader<T> reader(GenericType<T> type,
+                                      Headers requestHeaders,
+                                      Headers responseHeaders) {
+        Negotiation key = negotiation(Negotiation.Kind.CLIENT_READ, type, responseHeaders, requestHeaders);
+        if (key == null) {
+            return clientReader(type, requestHeaders, responseHeaders);
+        }
+        return (EntityReader<T>) cached(key, () -> clientReader(type, requestHeaders, responseHeaders));
+    }
+
+    @Override
+    public <T> EntityWriter<T> writer(GenericType<T> type, WritableHeaders<?> requestHeaders) {
+        Negotiation key = negotiation(Negotiation.Kind.CLIENT_WRITE, type, requestHeaders, requestHeaders);
+        if (key == null) {
+            return clientWriter(type, requestHeaders);
+        }
+        return (EntityWriter<T>) cached(key, () -> clientWriter(type, requestHeaders));
+    }
+
+    @Override
+    public MediaContextConfig prototype() {
+        return prototype;
+    }
+
+    private <T> EntityReader<T> serverReader(GenericType<T> type, Headers headers) {
         ReaderResponse<T> compatible = null;
         for (MediaSupport support : supports) {
             ReaderResponse<T> response = support.reader(type, headers);
@@ -71,10 +121,9 @@ class MediaContextImpl implements MediaContext {
         return entityReader(compatible);
     }
 
-    @Override
-    public <T> EntityWriter<T> writer(GenericType<T> type,
-                                      Headers requestHeaders,
-                                      WritableHeaders<?> responseHeaders) {
+    private <T> EntityWriter<T> serverWriter(GenericType<T> type,
+                                             Headers requestHeaders,
+                                             WritableHeaders<?> responseHeaders) {
         WriterResponse<T> compatible = null;
         for (MediaSupport support : supports) {
             WriterResponse<T> response = support.writer(type, requestHeaders, responseHeaders);
@@ -96,10 +145,9 @@ class MediaContextImpl implements MediaContext {
         return entityWriter(compatible);
     }
 
-    @Override
-    public <T> EntityReader<T> reader(GenericType<T> type,
-                                      Headers requestHeaders,
-                                      Headers responseHeaders) {
+    private <T> EntityReader<T> clientReader(GenericType<T> type,
+                                             Headers requestHeaders,
+                                             Headers responseHeaders) {
 
         ReaderResponse<T> compatible = null;
         for (MediaSupport support : supports) {
@@ -121,8 +169,7 @@ class MediaContextImpl implements MediaContext {
         return entityReader(compatible);
     }
 
-    @Override
-    public <T> EntityWriter<T> writer(GenericType<T> type, WritableHeaders<?> requestHeaders) {
+    private <T> EntityWriter<T> clientWriter(GenericType<T> type, WritableHeaders<?> requestHeaders) {
         WriterResponse<T> compatible = null;
         for (MediaSupport support : supports) {
             WriterResponse<T> response = support.writer(type, requestHeaders);
@@ -144,9 +191,52 @@ class MediaContextImpl implements MediaContext {
         return entityWriter(compatible);
     }
 
-    @Override
-    public MediaContextConfig prototype() {
-        return prototype;
+    /**
+     * Key of a negotiation result, or {@code null} if the result must not be cached.
+     * Media supports decide based on the type, {@code Content-Type} and {@code Accept} headers. Content types with
+     * parameters other than charset (such as multipart boundary) are specific to a single message and are not cached.
+     */
+    private Negotiation negotiation(Negotiation.Kind kind,
+                                    GenericType<?> type,
+                                    Headers contentTypeHeaders,
+                                    Headers accept) {
+        if (negotiationCacheSize <= 0) {
+            return null;
+        }
+        String contentType = null;
+        if (contentTypeHeaders.contains(HeaderNames.CONTENT_TYPE)) {
+            contentType = contentTypeHeaders.get(HeaderNames.CONTENT_TYPE).values();
+            if (!cacheable(contentType)) {
+                return null;
+            }
+        }
+        String accepted = null;
+        if (accept != null && accept.contains(HeaderNames.ACCEPT)) {
+            accepted = accept.get(HeaderNames.ACCEPT).values();
+        }
+        return new Negotiation(kind, type, contentType, accepted);
+    }
+
+    private Object cached(Negotiation key, Supplier<Object> negotiate) {
+        Object result = negotiations.get(key);
+        if (result == null) {
+            result = negotiate.get();
+            if (negotiations.size() >= negotiationCacheSize) {
+                // too many distinct combinations, start over rather than tracking usage
+                negotiations.clear();
+            }
+            negotiations.put(key, result);
+        }
+        return result;
+    }
+
+    private static boolean cacheable(String contentType) {
+        int index = contentType.indexOf(';');
+        if (index == -1) {
+            return true;
+        }
+        String parameters = contentType.substring(index + 1).trim();
+        return parameters.indexOf(';') == -1 && parameters.regionMatches(true, 0, "charset=", 0, 8);
     }
 
     private <T> EntityWriter<T> entityWriter(WriterResponse<T> response) {
@@ -296,4 +386,13 @@ class MediaContextImpl implements MediaContext {
                            headers);
         }
     }
+
+    private record Negotiation(Kind kind, GenericType<?> type, String contentType, String accept) {
+        private enum Kind {
+            SERVER_READ,
+            SERVER_WRITE,
+            CLIENT_READ,
+            CLIENT_WRITE
+        }
+    }
 }
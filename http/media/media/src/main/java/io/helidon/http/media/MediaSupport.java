@@ -25,6 +25,11 @@ import io.helidon.http.WritableHeaders;
 
 /**
  * Media support to be registered with {@link MediaContext}.
+ * <p>
+ * The result of reader and writer methods must depend only on the entity type and on the {@code Content-Type} and
+ * {@code Accept} headers, as the media context caches the readers and writers obtained for each combination
+ * (see {@link io.helidon.http.media.MediaContextConfig#negotiationCacheSize()}).
+ * Readers and writers obtained from the same combination may be reused for many entities.
  */
 public interface MediaSupport extends NamedService {
     /**
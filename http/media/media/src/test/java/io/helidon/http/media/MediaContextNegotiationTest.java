@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.http.media;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.GenericType;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.Headers;
+import io.helidon.http.WritableHeaders;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class MediaContextNegotiationTest {
+    private static final GenericType<Greeting> TYPE = GenericType.create(Greeting.class);
+
+    @Test
+    void testWriterCached() {
+        CountingSupport support = new CountingSupport();
+        MediaContext context = MediaContext.builder()
+                .registerDefaults(false)
+                .addMediaSupport(support)
+                .build();
+
+        EntityWriter<Greeting> first = context.writer(TYPE, headers("application/json"), WritableHeaders.create());
+        EntityWriter<Greeting> second = context.writer(TYPE, headers("application/json"), WritableHeaders.create());
+        assertThat(second, sameInstance(first));
+        assertThat(support.writers.get(), is(1));
+
+        // different accept header is negotiated again
+        context.writer(TYPE, headers("text/plain"), WritableHeaders.create());
+        assertThat(support.writers.get(), is(2));
+
+        // client write is a different negotiation
+        context.writer(TYPE, headers("application/json"));
+        context.writer(TYPE, headers("application/json"));
+        assertThat(support.writers.get(), is(3));
+    }
+
+    @Test
+    void testReaderCached() {
+        CountingSupport support = new CountingSupport();
+        MediaContext context = MediaContext.builder()
+                .registerDefaults(false)
+                .addMediaSupport(support)
+                .build();
+
+        context.reader(TYPE, contentType("application/json; charset=UTF-8"));
+        context.reader(TYPE, contentType("application/json; charset=UTF-8"));
+        assertThat(support.readers.get(), is(1));
+
+        // parameters such as boundary are specific to a single entity
+        context.reader(TYPE, contentType("multipart/form-data; boundary=first"));
+        context.reader(TYPE, contentType("multipart/form-data; boundary=first"));
+        assertThat(support.readers.get(), is(3));
+    }
+
+    @Test
+    void testCacheDisabled() {
+        CountingSupport support = new CountingSupport();
+        MediaContext context = MediaContext.builder()
+                .registerDefaults(false)
+                .addMediaSupport(support)
+                .negotiationCacheSize(0)
+                .build();
+
+        context.writer(TYPE, headers("application/json"), WritableHeaders.create());
+        context.writer(TYPE, headers("application/json"), WritableHeaders.create());
+        assertThat(support.writers.get(), is(2));
+    }
+
+    private static WritableHeaders<?> headers(String accept) {
+        return WritableHeaders.create().set(HeaderNames.ACCEPT, accept);
+    }
+
+    private static Headers contentType(String contentType) {
+        return WritableHeaders.create().set(HeaderNames.CONTENT_TYPE, contentType);
+    }
+
+    private record Greeting(String message) {
+    }
+
+    private static final class CountingSupport implements MediaSupport {
+        private final AtomicInteger readers = new AtomicInteger();
+        private final AtomicInteger writers = new AtomicInteger();
+
+        @Override
+        public String name() {
+            return "counting";
+        }
+
+        @Override
+        public String type() {
+            return "counting";
+        }
+
+        @Override
+        public <T> ReaderResponse<T> reader(GenericType<T> type, Headers headers) {
+            readers.incrementAndGet();
+            return new ReaderResponse<>(SupportLevel.SUPPORTED, NoopReader::new);
+        }
+
+        @Override
+        public <T> WriterResponse<T> writer(GenericType<T> type,
+                                            Headers requestHeaders,
+                                            WritableHeaders<?> responseHeaders) {
+            writers.incrementAndGet();
+            return new WriterResponse<>(SupportLevel.SUPPORTED, NoopWriter::new);
+        }
+
+        @Override
+        public <T> WriterResponse<T> writer(GenericType<T> type, WritableHeaders<?> requestHeaders) {
+            writers.incrementAndGet();
+            return new WriterResponse<>(SupportLevel.SUPPORTED, NoopWriter::new);
+        }
+    }
+
+    private static final class NoopReader<T> implements EntityReader<T> {
+        @Override
+        public T read(GenericType<T> type, InputStream stream, Headers headers) {
+            return null;
+        }
+
+        @Override
+        public T read(GenericType<T> type, InputStream stream, Headers requestHeaders, Headers responseHeaders) {
+            return null;
+        }
+    }
+
+    private static final class NoopWriter<T> implements EntityWriter<T> {
+        @Override
+        public void write(GenericType<T> type,
+                          T object,
+                          OutputStream outputStream,
+                          Headers requestHeaders,
+                          WritableHeaders<?> responseHeaders) {
+        }
+
+        @Override
+        public void write(GenericType<T> type, T object, OutputStream outputStream, WritableHeaders<?> headers) {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.http.media.multipart;
+
+import java.util.Arrays;
+
+/**
+ * Boyer-Moore-Horspool search of a multipart delimiter ({@code CRLF--boundary}) in a chunk of bytes.
+ */
+final class BoundarySearch {
+    private final byte[] pattern;
+    private final int[] shift = new int[256];
+
+    BoundarySearch(byte[] pattern) {
+        this.pattern = pattern;
+        int last = pattern.length - 1;
+        Arrays.fill(shift, pattern.length);
+        for (int i = 0; i < last; i++) {
+            shift[pattern[i] & 0xFF] = last - i;
+        }
+    }
+
+    int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Index of the first occurrence of the pattern.
+     *
+     * @param data   bytes to search
+     * @param length number of bytes to search from the beginning of data
+     * @return index of the pattern, or {@code -1} if not found
+     */
+    int indexOf(byte[] data, int length) {
+        int last = pattern.length - 1;
+        int i = 0;
+        while (i <= length - pattern.length) {
+            int j = last;
+            while (data[i + j] == pattern[j]) {
+                if (j == 0) {
+                    return i;
+                }
+                j--;
+            }
+            i += shift[data[i + last] & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Length of the longest end of the data that is a beginning of the pattern, as the pattern may continue in data
+     * not yet read.
+     *
+     * @param data   bytes to check
+     * @param length number of bytes of data
+     * @return number of bytes at the end of data that may be a part of the pattern
+     */
+    int partialMatch(byte[] data, int length) {
+        for (int k = Math.min(pattern.length - 1, length); k > 0; k--) {
+            if (Arrays.equals(data, length - k, length, pattern, 0, k)) {
+                return k;
+            }
+        }
+        return 0;
+    }
+}
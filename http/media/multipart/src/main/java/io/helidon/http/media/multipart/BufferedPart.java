@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.http.media.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Content of a {@link ReadablePart} read as a whole, kept in memory if not larger than
+ * {@link MultiPartConfig#memoryThreshold()}, or in a temporary file otherwise.
+ * The content can be read any number of times, also after the next part of the multipart message was requested.
+ * <p>
+ * Buffered part must be closed when no longer needed, to delete its temporary file.
+ */
+public final class BufferedPart implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(BufferedPart.class.getName());
+    private static final int CHUNK_SIZE = 16384;
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+
+    private BufferedPart(byte[] bytes, Path file, long size) {
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+    }
+
+    static BufferedPart create(InputStream in, MultiPartConfig config) throws IOException {
+        int threshold = config.memoryThreshold();
+        ByteArrayOutputStream memory = new ByteArrayOutputStream(Math.min(threshold, CHUNK_SIZE));
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            if (memory.size() + read > threshold) {
+                return spill(in, config, memory, chunk, read);
+            }
+            memory.write(chunk, 0, read);
+        }
+        byte[] bytes = memory.toByteArray();
+        return new BufferedPart(bytes, null, bytes.length);
+    }
+
+    /**
+     * Size of the content in bytes.
+     *
+     * @return content size
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether the content is kept in memory.
+     *
+     * @return {@code true} if in memory, {@code false} if written to a temporary file
+     */
+    public boolean inMemory() {
+        return file == null;
+    }
+
+    /**
+     * Temporary file with the content, if the content was larger than the in-memory threshold.
+     * The file may be moved to its final location, instead of copying the content.
+     *
+     * @return temporary file, or empty if the content is kept in memory
+     */
+    public Optional<Path> file() {
+        return Optional.ofNullable(file);
+    }
+
+    /**
+     * A new input stream of the content.
+     *
+     * @return input stream reading the content from its beginning
+     */
+    public InputStream inputStream() {
+        if (file == null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read buffered part from " + file, e);
+        }
+    }
+
+    /**
+     * Delete the temporary file, if any and not moved away.
+     * A failure to delete the file is logged and does not fail this method.
+     */
+    @Override
+    public void close() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Failed to delete buffered part " + file, e);
+            }
+        }
+    }
+
+    private static BufferedPart spill(InputStream in,
+                                      MultiPartConfig config,
+                                      ByteArrayOutputStream memory,
+                                      byte[] chunk,
+                                      int read) throws IOException {
+        Path file = config.tempDirectory().isPresent()
+                ? Files.createTempFile(config.tempDirectory().get(), "helidon-multipart", ".part")
+                : Files.createTempFile("helidon-multipart", ".part");
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            size += write(channel, memory.toByteArray(), memory.size());
+            size += write(channel, chunk, read);
+            while ((read = in.read(chunk)) != -1) {
+                size += write(channel, chunk, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                e.addSuppressed(ex);
+            }
+            throw e;
+        }
+        return new BufferedPart(null, file, size);
+    }
+
+    private static int write(FileChannel channel, byte[] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.http.media.multipart;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import io.helidon.builder.api.Prototype;
+import io.helidon.config.metadata.Configured;
+import io.helidon.config.metadata.ConfiguredOption;
+
+/**
+ * Configuration of {@link io.helidon.http.media.multipart.MultiPartSupport}.
+ */
+@Prototype.Blueprint
+@Configured
+interface MultiPartConfigBlueprint {
+    /**
+     * Maximal number of bytes of a single part kept in memory by {@link ReadablePart#buffer()}.
+     * Larger parts are written to a temporary file.
+     *
+     * @return in-memory threshold of a buffered part in bytes
+     */
+    @ConfiguredOption("65536")
+    int memoryThreshold();
+
+    /**
+     * Directory to create temporary files of buffered parts in.
+     * If not configured, the default temporary directory of the JVM is used.
+     *
+     * @return directory for temporary files
+     */
+    @ConfiguredOption
+    Optional<Path> tempDirectory();
+
+    /**
+     * Maximal size of a single part in bytes. Reading a larger part fails with
+     * {@link io.helidon.http.Status#REQUEST_ENTITY_TOO_LARGE_413}.
+     * Set to {@code -1} for unlimited.
+     *
+     * @return maximal size of a part
+     */
+    @ConfiguredOption("-1")
+    long maxPartSize();
+
+    /**
+     * Maximal size of the whole multipart entity in bytes, including boundaries and headers of parts. Reading a larger
+     * entity fails with {@link io.helidon.http.Status#REQUEST_ENTITY_TOO_LARGE_413}.
+     * Set to {@code -1} for unlimited.
+     *
+     * @return maximal size of the multipart entity
+     */
+    @ConfiguredOption("-1")
+    long maxSize();
+}
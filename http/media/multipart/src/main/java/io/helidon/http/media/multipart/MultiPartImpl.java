@@ -25,10 +25,15 @@ import java.util.NoSuchElementException;
 import io.helidon.common.buffers.DataReader;
 import io.helidon.http.HeaderNames;
 import io.helidon.http.Http1HeadersParser;
+import io.helidon.http.HttpException;
+import io.helidon.http.Status;
 import io.helidon.http.WritableHeaders;
 import io.helidon.http.media.MediaContext;
 
 class MultiPartImpl extends MultiPart {
+    private static final int READ_BUFFER_SIZE = 16384;
+
+    private final MultiPartConfig config;
     private final String boundary;
     private final String endBoundary;
     private final int maxNewLine;
@@ -38,19 +43,26 @@ class MultiPartImpl extends MultiPart {
     private ReadablePartAbstract inProgress;
     private boolean finished;
     private int index;
+    private long size;
 
-    MultiPartImpl(MediaContext context, String boundary, InputStream stream) {
+    MultiPartImpl(MediaContext context, MultiPartConfig config, String boundary, InputStream stream) {
         this.context = context;
+        this.config = config;
         this.boundary = "--" + boundary;
         this.endBoundary = "--" + boundary + "--";
         this.maxNewLine = this.boundary.length() + 6;
-        byte[] readBuffer = new byte[1024];
+        long maxSize = config.maxSize();
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
         this.dataReader = new DataReader(() -> {
             try {
                 int r = stream.read(readBuffer);
                 if (r == -1) {
                     return null;
                 }
+                size += r;
+                if (maxSize >= 0 && size > maxSize) {
+                    throw tooLarge("Multipart entity is larger than " + maxSize + " bytes");
+                }
                 return Arrays.copyOf(readBuffer, r);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
@@ -88,10 +100,11 @@ class MultiPartImpl extends MultiPart {
                                               headers,
                                               dataReader,
                                               index++,
+                                              config,
                                               headers.get(HeaderNames.CONTENT_LENGTH).get(long.class));
                 return true;
             } else {
-                next = new ReadablePartNoLength(context, headers, dataReader, index++, boundary, endBoundary);
+                next = new ReadablePartNoLength(context, headers, dataReader, index++, config, boundary);
                 return true;
             }
         } else if (probablyBoundary.equals(endBoundary)) {
@@ -110,4 +123,8 @@ class MultiPartImpl extends MultiPart {
             throw new NoSuchElementException("No more parts");
         }
     }
+
+    static HttpException tooLarge(String message) {
+        return new HttpException(message, Status.REQUEST_ENTITY_TOO_LARGE_413);
+    }
 }
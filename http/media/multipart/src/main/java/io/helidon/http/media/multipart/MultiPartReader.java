@@ -25,16 +25,18 @@ import io.helidon.http.media.MediaContext;
 
 class MultiPartReader implements EntityReader<MultiPart> {
     private final MediaContext context;
+    private final MultiPartConfig config;
     private final String boundary;
 
-    MultiPartReader(MediaContext context, String boundary) {
+    MultiPartReader(MediaContext context, MultiPartConfig config, String boundary) {
         this.context = context;
+        this.config = config;
         this.boundary = boundary;
     }
 
     @Override
     public MultiPart read(GenericType<MultiPart> type, InputStream stream, Headers headers) {
-        return new MultiPartImpl(context, boundary, stream);
+        return new MultiPartImpl(context, config, boundary, stream);
     }
 
     @Override
@@ -42,6 +44,6 @@ class MultiPartReader implements EntityReader<MultiPart> {
                           InputStream stream,
                           Headers requestHeaders,
                           Headers responseHeaders) {
-        return new MultiPartImpl(context, boundary, stream);
+        return new MultiPartImpl(context, config, boundary, stream);
     }
 }
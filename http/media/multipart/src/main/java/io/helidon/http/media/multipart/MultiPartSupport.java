@@ -46,10 +46,12 @@ public class MultiPartSupport implements MediaSupport {
             .withParameter("boundary", DEFAULT_BOUNDARY);
 
     private final String name;
+    private final MultiPartConfig config;
     private MediaContext context;
 
-    private MultiPartSupport(String name) {
+    private MultiPartSupport(String name, MultiPartConfig config) {
         this.name = Objects.requireNonNull(name);
+        this.config = config;
     }
 
     /**
@@ -70,7 +72,17 @@ public class MultiPartSupport implements MediaSupport {
      * @return a new {@link MultiPartSupport}
      */
     public static MediaSupport create(Config config, String name) {
-        return new MultiPartSupport(name);
+        return new MultiPartSupport(name, MultiPartConfig.create(config));
+    }
+
+    /**
+     * Creates a new {@link MultiPartSupport} with explicit configuration.
+     *
+     * @param config multipart configuration
+     * @return a new {@link MultiPartSupport}
+     */
+    public static MediaSupport create(MultiPartConfig config) {
+        return new MultiPartSupport("multi-part", config);
     }
 
     @Override
@@ -118,6 +130,7 @@ public class MultiPartSupport implements MediaSupport {
             return ReaderResponse.unsupported();
         }
         return new ReaderResponse<>(SupportLevel.SUPPORTED, () -> (EntityReader<T>) new MultiPartReader(context,
+                                                                                                        config,
                                                                                                         boundary));
     }
 
@@ -188,6 +201,7 @@ public class MultiPartSupport implements MediaSupport {
             return ReaderResponse.unsupported();
         }
         return new ReaderResponse<>(SupportLevel.SUPPORTED, () -> (EntityReader<T>) new MultiPartReader(context,
+                                                                                                        config,
                                                                                                         boundary));
     }
 
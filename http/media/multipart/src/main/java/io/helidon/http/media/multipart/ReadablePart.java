@@ -16,6 +16,9 @@
 
 package io.helidon.http.media.multipart;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Optional;
 
 import io.helidon.http.Headers;
@@ -53,4 +56,23 @@ public interface ReadablePart extends ReadableEntity {
      * @return headers
      */
     Headers partHeaders();
+
+    /**
+     * Read the whole content of this part, so it can be processed after the next part is requested.
+     * Content up to {@link MultiPartConfig#memoryThreshold()} bytes is kept in memory, larger content is written
+     * to a temporary file.
+     * This part is consumed by this method.
+     * <p>
+     * The default implementation buffers the {@link #inputStream()} using the default {@link MultiPartConfig}.
+     * Parts read through {@link MultiPartSupport} use its configuration instead.
+     *
+     * @return buffered content of this part, must be closed to delete the temporary file
+     */
+    default BufferedPart buffer() {
+        try (InputStream in = inputStream()) {
+            return BufferedPart.create(in, MultiPartConfig.create());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to buffer part " + name(), e);
+        }
+    }
 }
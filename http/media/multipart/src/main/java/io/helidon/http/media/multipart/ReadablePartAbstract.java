@@ -16,6 +16,9 @@
 
 package io.helidon.http.media.multipart;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Optional;
 
 import io.helidon.http.ContentDisposition;
@@ -28,13 +31,15 @@ import io.helidon.http.media.ReadableEntity;
 abstract class ReadablePartAbstract implements ReadablePart {
     private final Headers headers;
     private final int index;
+    private final MultiPartConfig config;
 
     private HttpMediaType mediaType;
     private ContentDisposition contentDisposition;
 
-    protected ReadablePartAbstract(Headers headers, int index) {
+    protected ReadablePartAbstract(Headers headers, int index, MultiPartConfig config) {
         this.headers = headers;
         this.index = index;
+        this.config = config;
     }
 
     @Override
@@ -66,6 +71,15 @@ abstract class ReadablePartAbstract implements ReadablePart {
         return headers;
     }
 
+    @Override
+    public BufferedPart buffer() {
+        try (InputStream in = inputStream()) {
+            return BufferedPart.create(in, config);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to buffer part " + name(), e);
+        }
+    }
+
     @Override
     public ReadableEntity copy(Runnable entityProcessedRunnable) {
         throw new UnsupportedOperationException("Cannot copy a multi-part content.");
@@ -35,11 +35,15 @@ class ReadablePartLength extends ReadablePartAbstract {
                        WritableHeaders<?> headers,
                        DataReader dataReader,
                        int index,
+                       MultiPartConfig config,
                        long partLength) {
-        super(headers, index);
+        super(headers, index, config);
         this.context = context;
         this.dataReader = dataReader;
         this.partLength = partLength;
+        if (config.maxPartSize() >= 0 && partLength > config.maxPartSize()) {
+            throw MultiPartImpl.tooLarge("Multipart part is larger than " + config.maxPartSize() + " bytes");
+        }
     }
 
     @Override
@@ -98,7 +102,7 @@ class ReadablePartLength extends ReadablePartAbstract {
             if (partRemaining == 0) {
                 return -1;
             }
-            int toRead = Math.min(b.length, (int) partRemaining);
+            int toRead = (int) Math.min(b.length, partRemaining);
 
             BufferData buffer = dataReader.readBuffer(toRead);
             int read = buffer.read(b, 0, toRead);
@@ -111,10 +115,10 @@ class ReadablePartLength extends ReadablePartAbstract {
             if (partRemaining == 0) {
                 return -1;
             }
-            int toRead = Math.min(len, (int) partRemaining);
+            int toRead = (int) Math.min(len, partRemaining);
 
             BufferData buffer = dataReader.readBuffer(toRead);
-            int read = buffer.read(b, 0, toRead);
+            int read = buffer.read(b, off, toRead);
             partRemaining -= read;
             return read;
         }
@@ -20,7 +20,6 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import io.helidon.common.GenericType;
-import io.helidon.common.buffers.BufferData;
 import io.helidon.common.buffers.DataReader;
 import io.helidon.http.WritableHeaders;
 import io.helidon.http.media.MediaContext;
@@ -29,7 +28,7 @@ class ReadablePartNoLength extends ReadablePartAbstract {
     private final MediaContext context;
     private final DataReader dataReader;
     private final String boundary;
-    private final String endBoundary;
+    private final long maxPartSize;
 
     private PartInputStream inputStream;
 
@@ -37,19 +36,19 @@ class ReadablePartNoLength extends ReadablePartAbstract {
                          WritableHeaders<?> headers,
                          DataReader dataReader,
                          int index,
-                         String boundary,
-                         String endBoundary) {
-        super(headers, index);
+                         MultiPartConfig config,
+                         String boundary) {
+        super(headers, index, config);
         this.context = context;
         this.dataReader = dataReader;
         this.boundary = boundary;
-        this.endBoundary = endBoundary;
+        this.maxPartSize = config.maxPartSize();
     }
 
     @Override
     public PartInputStream inputStream() {
         if (inputStream == null) {
-            this.inputStream = new PartInputStream(dataReader, boundary, endBoundary);
+            this.inputStream = new PartInputStream(dataReader, boundary, maxPartSize);
             return inputStream;
         }
         throw new IllegalStateException("Cannot request input stream more than once");
@@ -77,65 +76,73 @@ class ReadablePartNoLength extends ReadablePartAbstract {
         inputStream.finish();
     }
 
+    /*
+     * Part content ends with CRLF followed by the boundary. The delimiter is searched for in chunks of the available data,
+     * bytes before the first possible occurrence are returned as content, and the delimiter itself is left in the
+     * data reader to be processed by the multipart iterator.
+     */
     private static class PartInputStream extends InputStream {
-        private static final byte[] EOL = "\r\n".getBytes(StandardCharsets.US_ASCII);
+        private static final int WINDOW_SIZE = 16384;
 
         private final DataReader dataReader;
-        private final String boundary;
-        private final String endBoundary;
-        private final int maxEol;
+        private final BoundarySearch delimiter;
+        private final long maxPartSize;
+        private final byte[] window;
 
         private boolean finished;
-        private BufferData nextBuffer;
-        private boolean trailingEol;
+        // bytes of content in window that are not read yet
+        private int position;
+        private int contentEnd;
+        private long partSize;
 
-        PartInputStream(DataReader dataReader, String boundary, String endBoundary) {
+        PartInputStream(DataReader dataReader, String boundary, long maxPartSize) {
             this.dataReader = dataReader;
-            this.boundary = boundary;
-            this.endBoundary = endBoundary;
-            this.maxEol = Math.max(endBoundary.length() + 3, 512);
+            this.delimiter = new BoundarySearch(("\r\n" + boundary).getBytes(StandardCharsets.US_ASCII));
+            this.maxPartSize = maxPartSize;
+            this.window = new byte[Math.max(WINDOW_SIZE, delimiter.length() * 2)];
         }
 
         @Override
         public int read() {
-            ensureBuffer();
-            if (finished) {
+            if (!ensureContent()) {
                 return -1;
             }
-
-            return nextBuffer.read();
+            consumed(1);
+            return window[position - 1] & 0xFF;
         }
 
         @Override
         public int read(byte[] b) {
-            ensureBuffer();
-            if (finished) {
-                return -1;
-            }
-            return nextBuffer.read(b);
+            return read(b, 0, b.length);
         }
 
         @Override
         public int read(byte[] b, int off, int len) {
-            ensureBuffer();
-            if (finished) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureContent()) {
                 return -1;
             }
-            return nextBuffer.read(b, off, len);
+            int toRead = Math.min(len, contentEnd - position);
+            System.arraycopy(window, position, b, off, toRead);
+            consumed(toRead);
+            return toRead;
         }
 
         @Override
         public long skip(long n) {
-            int toSkip = (int) Math.min(n, nextBuffer.available());
-
-            nextBuffer.skip(toSkip);
-
+            if (n <= 0 || !ensureContent()) {
+                return 0;
+            }
+            int toSkip = (int) Math.min(n, contentEnd - position);
+            consumed(toSkip);
             return toSkip;
         }
 
         @Override
         public int available() {
-            return dataReader.available();
+            return contentEnd - position;
         }
 
         @Override
@@ -143,61 +150,65 @@ class ReadablePartNoLength extends ReadablePartAbstract {
             finish();
         }
 
-        private void ensureBuffer() {
-            if (nextBuffer == null || nextBuffer.consumed()) {
-                this.nextBuffer = readBuffer();
-                if (trailingEol) {
-                    // skip it, as it will be part of next buffer
-                    dataReader.skip(2);
-                }
+        private boolean consumed() {
+            return finished;
+        }
+
+        private void finish() {
+            while (ensureContent()) {
+                consumed(contentEnd - position);
             }
         }
 
-        private BufferData readBuffer() {
-            int nextEol = dataReader.findNewLine(maxEol);
-            if (nextEol == maxEol) {
-                if (trailingEol) {
-                    trailingEol = false;
-                    return BufferData.create(BufferData.create(EOL), dataReader.readBuffer(maxEol));
-                } else {
-                    return dataReader.readBuffer(maxEol);
-                }
-            } else {
-                if (nextEol == boundary.length() || nextEol == endBoundary.length()) {
-                    BufferData untilEol = dataReader.getBuffer(nextEol);
-                    String theString = untilEol.readString(nextEol, StandardCharsets.US_ASCII);
-                    if (boundary.equals(theString) || endBoundary.equals(theString)) {
+        private void consumed(int length) {
+            position += length;
+            dataReader.skip(length);
+            partSize += length;
+            if (maxPartSize >= 0 && partSize > maxPartSize) {
+                throw MultiPartImpl.tooLarge("Multipart part is larger than " + maxPartSize + " bytes");
+            }
+        }
+
+        /*
+         * Whether there is content to read, false once the delimiter is reached.
+         */
+        private boolean ensureContent() {
+            if (finished) {
+                return false;
+            }
+            if (position < contentEnd) {
+                return true;
+            }
+            try {
+                while (true) {
+                    int available = dataReader.available();
+                    if (available < delimiter.length()) {
+                        dataReader.pullData();
+                        continue;
+                    }
+                    int length = Math.min(available, window.length);
+                    dataReader.getBuffer(length).read(window, 0, length);
+                    position = 0;
+                    int index = delimiter.indexOf(window, length);
+                    if (index == 0) {
+                        contentEnd = 0;
                         finished = true;
-                        return null;
+                        return false;
                     }
-                    if (trailingEol) {
-                        return BufferData.create(BufferData.create(EOL), dataReader.readBuffer(nextEol));
-                    } else {
-                        trailingEol = true;
-                        return dataReader.readBuffer(nextEol);
+                    if (index > 0) {
+                        contentEnd = index;
+                        return true;
                     }
-
-                } else {
-                    if (trailingEol) {
-                        return BufferData.create(BufferData.create(EOL), dataReader.readBuffer(nextEol));
-                    } else {
-                        trailingEol = true;
-                        return dataReader.readBuffer(nextEol);
+                    // the delimiter may start in the last bytes, and continue in data not yet read
+                    contentEnd = length - delimiter.partialMatch(window, length);
+                    if (contentEnd > 0) {
+                        return true;
                     }
+                    dataReader.pullData();
                 }
-            }
-        }
-
-        private boolean consumed() {
-            return finished;
-        }
-
-        private void finish() {
-            while (!finished) {
-                ensureBuffer();
-                nextBuffer.skip(nextBuffer.available());
+            } catch (DataReader.InsufficientDataAvailableException e) {
+                throw new IllegalStateException("Multipart part is not terminated by a boundary", e);
             }
         }
     }
-
 }
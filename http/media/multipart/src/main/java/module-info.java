@@ -31,7 +31,9 @@ module io.helidon.http.media.multipart {
     requires io.helidon.http.media;
     requires io.helidon.http;
 
+    requires static io.helidon.builder.api;
     requires static io.helidon.common.features.api;
+    requires static io.helidon.config.metadata;
 
     exports io.helidon.http.media.multipart;
 
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.http.media.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.http.HttpException;
+import io.helidon.http.Status;
+import io.helidon.http.media.MediaContext;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultiPartImplTest {
+    private static final String BOUNDARY = "boundary";
+    // content with sequences close to the delimiter
+    private static final String TRICKY_CONTENT = "\r\n--boundar\r\n-\r\r\n--boundarY\r\n";
+    private static final String LARGE_CONTENT = "0123456789abcdef".repeat(6250) + "\r\n--bound";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParts() throws IOException {
+        byte[] entity = entity("first", TRICKY_CONTENT, "second", LARGE_CONTENT, "third", "");
+        // delimiter split at every possible position between reads
+        for (int chunkSize : new int[] {1, 7, 100, 16384}) {
+            MultiPart multiPart = multiPart(MultiPartConfig.create(), entity, chunkSize);
+            List<String> contents = new ArrayList<>();
+            while (multiPart.hasNext()) {
+                ReadablePart part = multiPart.next();
+                try (InputStream in = part.inputStream()) {
+                    contents.add(part.name() + ":" + new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            assertThat(contents, is(List.of("first:" + TRICKY_CONTENT, "second:" + LARGE_CONTENT, "third:")));
+        }
+    }
+
+    @Test
+    void testSkippedParts() {
+        MultiPart multiPart = multiPart(MultiPartConfig.create(),
+                                        entity("first", LARGE_CONTENT, "second", TRICKY_CONTENT),
+                                        4096);
+        multiPart.next();
+        ReadablePart part = multiPart.next();
+        assertThat(part.name(), is("second"));
+        assertThat(string(part.buffer()), is(TRICKY_CONTENT));
+        assertThat(multiPart.hasNext(), is(false));
+    }
+
+    @Test
+    void testBuffer() throws IOException {
+        MultiPartConfig config = MultiPartConfig.builder()
+                .memoryThreshold(1024)
+                .tempDirectory(tempDir)
+                .build();
+        MultiPart multiPart = multiPart(config, entity("small", TRICKY_CONTENT, "large", LARGE_CONTENT), 16384);
+
+        try (BufferedPart small = multiPart.next().buffer();
+                BufferedPart large = multiPart.next().buffer()) {
+            assertThat(multiPart.hasNext(), is(false));
+
+            assertThat(small.inMemory(), is(true));
+            assertThat(small.size(), is((long) TRICKY_CONTENT.length()));
+            assertThat(string(small), is(TRICKY_CONTENT));
+
+            assertThat(large.inMemory(), is(false));
+            assertThat(large.size(), is((long) LARGE_CONTENT.length()));
+            Path file = large.file().orElseThrow();
+            assertThat(file.getParent(), is(tempDir));
+            // can be read repeatedly
+            assertThat(string(large), is(LARGE_CONTENT));
+            assertThat(string(large), is(LARGE_CONTENT));
+            large.close();
+            assertThat(Files.exists(file), is(false));
+        }
+    }
+
+    @Test
+    void testMaxPartSize() {
+        MultiPartConfig config = MultiPartConfig.builder()
+                .maxPartSize(1000)
+                .build();
+        MultiPart multiPart = multiPart(config, entity("small", TRICKY_CONTENT, "large", LARGE_CONTENT), 16384);
+
+        assertThat(string(multiPart.next().buffer()), is(TRICKY_CONTENT));
+        ReadablePart large = multiPart.next();
+        HttpException e = assertThrows(HttpException.class, large::buffer);
+        assertThat(e.status(), is(Status.REQUEST_ENTITY_TOO_LARGE_413));
+    }
+
+    @Test
+    void testMaxSize() {
+        MultiPartConfig config = MultiPartConfig.builder()
+                .maxSize(10000)
+                .build();
+        MultiPart multiPart = multiPart(config, entity("small", TRICKY_CONTENT, "large", LARGE_CONTENT), 1024);
+
+        HttpException e = assertThrows(HttpException.class, () -> {
+            while (multiPart.hasNext()) {
+                multiPart.next().buffer().close();
+            }
+        });
+        assertThat(e.status(), is(Status.REQUEST_ENTITY_TOO_LARGE_413));
+    }
+
+    @Test
+    void testMissingBoundary() {
+        byte[] entity = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"first\"\r\n\r\nno end")
+                .getBytes(StandardCharsets.UTF_8);
+        MultiPart multiPart = multiPart(MultiPartConfig.create(), entity, 16384);
+
+        assertThrows(IllegalStateException.class, () -> multiPart.next().buffer());
+    }
+
+    private static MultiPart multiPart(MultiPartConfig config, byte[] entity, int chunkSize) {
+        InputStream stream = new ByteArrayInputStream(entity) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, chunkSize));
+            }
+        };
+        return new MultiPartImpl(MediaContext.create(), config, BOUNDARY, stream);
+    }
+
+    private static byte[] entity(String... namesAndContents) {
+        StringBuilder entity = new StringBuilder();
+        for (int i = 0; i < namesAndContents.length; i += 2) {
+            entity.append("--").append(BOUNDARY).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"").append(namesAndContents[i]).append("\"\r\n")
+                    .append("\r\n")
+                    .append(namesAndContents[i + 1])
+                    .append("\r\n");
+        }
+        entity.append("--").append(BOUNDARY).append("--\r\n");
+        return entity.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(BufferedPart part) {
+        try (InputStream in = part.inputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.helidon.metrics.api;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -29,10 +32,39 @@ public interface MeterRegistryFormatter {
      */
     Optional<Object> format();
 
+    /**
+     * Prepares the meter registry's data to be written directly to an output stream.
+     * Meters are selected when this method is called, so an empty result means there is no matching data;
+     * the output itself is produced only when the returned {@link StreamingOutput} is written.
+     * <p>
+     * The default implementation writes the result of {@link #format()} as UTF-8 text. Formatters producing text output
+     * should override this method to write the output incrementally instead of creating it in memory.
+     *
+     * @return output to write, or empty if there is no matching data
+     */
+    default Optional<StreamingOutput> formatStreaming() {
+        return format().map(output -> outputStream -> outputStream.write(String.valueOf(output)
+                                                                                  .getBytes(StandardCharsets.UTF_8)));
+    }
+
     /**
      * Formats the meter registry's metadata.
      *
      * @return formatted metadata output
      */
     Optional<Object> formatMetadata();
+
+    /**
+     * Formatted output written to an output stream.
+     */
+    @FunctionalInterface
+    interface StreamingOutput {
+        /**
+         * Write the formatted output.
+         *
+         * @param outputStream stream to write to, the stream is not closed by this method
+         * @throws java.io.IOException in case writing to the stream failed
+         */
+        void write(OutputStream outputStream) throws IOException;
+    }
 }
@@ -15,12 +15,25 @@
  */
 package io.helidon.metrics.providers.micrometer;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import io.helidon.common.media.type.MediaType;
 import io.helidon.common.media.type.MediaTypes;
@@ -30,6 +43,8 @@ import io.helidon.metrics.api.MeterRegistryFormatter;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 
 /**
@@ -49,6 +64,12 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
     public static final Map<MediaType, String> MEDIA_TYPE_TO_FORMAT = Map.of(
             MediaTypes.TEXT_PLAIN, TextFormat.CONTENT_TYPE_004,
             MediaTypes.APPLICATION_OPENMETRICS_TEXT, TextFormat.CONTENT_TYPE_OPENMETRICS_100);
+    private static final Pattern SPECIAL_CHARACTERS = Pattern.compile("[-+.!?@#$%^&*`'\\s]+");
+    private static final Pattern LEADING_DIGIT_OR_UNDERSCORE = Pattern.compile("^[0-9_]+.*");
+    private static final Pattern NON_IDENTIFIER_CHARACTERS = Pattern.compile("[^A-Za-z0-9_]");
+    // text formats write many small strings, buffer them before they reach the response
+    private static final int WRITER_BUFFER_SIZE = 8192;
+
     private final String scopeTagName;
     private final Iterable<String> scopeSelection;
     private final Iterable<String> meterNameSelection;
@@ -84,15 +105,15 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
         String result = name;
 
         // Convert special characters to underscores.
-        result = result.replaceAll("[-+.!?@#$%^&*`'\\s]+", "_");
+        result = SPECIAL_CHARACTERS.matcher(result).replaceAll("_");
 
         // Prometheus simple client adds the prefix "m_" if a meter name starts with a digit or an underscore.
-        if (result.matches("^[0-9_]+.*")) {
+        if (LEADING_DIGIT_OR_UNDERSCORE.matcher(result).matches()) {
             result = "m_" + result;
         }
 
         // Replace non-identifier characters.
-        result = result.replaceAll("[^A-Za-z0-9_]", "_");
+        result = NON_IDENTIFIER_CHARACTERS.matcher(result).replaceAll("_");
 
         return result;
     }
@@ -119,26 +140,27 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
      */
     @Override
     public Optional<Object> format() {
+        return prometheusOutput()
+                .map(PrometheusOutput::scrape)
+                .filter(output -> !output.isBlank())
+                .map(Object.class::cast);
+    }
 
-        Optional<PrometheusMeterRegistry> prometheusMeterRegistry = prometheusMeterRegistry(meterRegistry);
-        if (prometheusMeterRegistry.isPresent()) {
-
-            // Scraping the Prometheus registry lets us limit the output to include only specified names.
-            Set<String> meterNamesOfInterest = meterNamesOfInterest(prometheusMeterRegistry.get(),
-                                                                    scopeSelection,
-                                                                    meterNameSelection);
-            if (meterNamesOfInterest.isEmpty()) {
-                return Optional.empty();
-            }
-
-            String prometheusOutput = prometheusMeterRegistry.get()
-                    .scrape(MicrometerPrometheusFormatter.MEDIA_TYPE_TO_FORMAT.get(
-                                    resultMediaType),
-                            meterNamesOfInterest);
-
-            return prometheusOutput.isBlank() ? Optional.empty() : Optional.of(prometheusOutput);
-        }
-        return Optional.empty();
+    /**
+     * Prepares the Prometheus output governed by the previously-specified media type, optionally filtered
+     * by the previously-specified scope and meter name selections, to be written directly to an output stream.
+     * <p>
+     * Meters are selected and the first metric family is collected when this method is called. The remaining metric
+     * families are collected one by one when the output is written, so the output is never created in memory as a whole.
+     * The returned output can be written only once.
+     * </p>
+     *
+     * @return filtered Prometheus output, empty if no meter matches the selections or the output would be blank
+     *         (same as {@link #format()})
+     */
+    @Override
+    public Optional<StreamingOutput> formatStreaming() {
+        return prometheusOutput().flatMap(PrometheusOutput::streaming);
     }
 
     @Override
@@ -188,9 +210,19 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
 
         Predicate<String> namePredicate = names.isEmpty() ? n -> true : names::contains;
 
+        // group meters by name in a single pass, instead of searching the registry for each matching meter
+        Map<String, List<Meter>> metersByName = new HashMap<>();
         for (Meter meter : prometheusMeterRegistry.getMeters()) {
             String meterName = meter.getId().getName();
-            if (!namePredicate.test(meterName) || !scopePredicate.test(meter)) {
+            if (namePredicate.test(meterName)) {
+                metersByName.computeIfAbsent(meterName, it -> new ArrayList<>()).add(meter);
+            }
+        }
+
+        for (Map.Entry<String, List<Meter>> entry : metersByName.entrySet()) {
+            String meterName = entry.getKey();
+            List<Meter> meters = entry.getValue();
+            if (meters.stream().noneMatch(scopePredicate)) {
                 continue;
             }
             Set<String> allUnitsForMeterName = new HashSet<>();
@@ -198,16 +230,14 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
             Set<String> allSuffixesForMeterName = new HashSet<>();
             allSuffixesForMeterName.add("");
 
-            prometheusMeterRegistry.find(meterName)
-                    .meters()
-                    .forEach(m -> {
-                        Meter.Id meterId = m.getId();
-                        String normalizedUnit = normalizeUnit(meterId.getBaseUnit());
-                        if (!normalizedUnit.isBlank()) {
-                            allUnitsForMeterName.add("_" + normalizedUnit);
-                        }
-                        allSuffixesForMeterName.addAll(meterNameSuffixes(meterId.getType()));
-                    });
+            meters.forEach(m -> {
+                Meter.Id meterId = m.getId();
+                String normalizedUnit = normalizeUnit(meterId.getBaseUnit());
+                if (!normalizedUnit.isBlank()) {
+                    allUnitsForMeterName.add("_" + normalizedUnit);
+                }
+                allSuffixesForMeterName.addAll(meterNameSuffixes(meterId.getType()));
+            });
 
             String normalizedMeterName = normalizeNameToPrometheus(meterName);
 
@@ -218,6 +248,33 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
         return result;
     }
 
+    private Optional<PrometheusOutput> prometheusOutput() {
+        Optional<PrometheusMeterRegistry> prometheusMeterRegistry = prometheusMeterRegistry(meterRegistry);
+        if (prometheusMeterRegistry.isEmpty()) {
+            return Optional.empty();
+        }
+        PrometheusMeterRegistry registry = prometheusMeterRegistry.get();
+
+        Set<String> meterNamesOfInterest;
+        if (selectsAll()) {
+            if (registry.getMeters().isEmpty()) {
+                return Optional.empty();
+            }
+            // no need to compute the names, the registry includes all meters when not given any
+            meterNamesOfInterest = null;
+        } else {
+            // Limiting the output to the specified names lets the registry collect only the matching metric families.
+            meterNamesOfInterest = meterNamesOfInterest(registry, scopeSelection, meterNameSelection);
+            if (meterNamesOfInterest.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(new PrometheusOutput(registry,
+                                                MEDIA_TYPE_TO_FORMAT.get(resultMediaType),
+                                                meterNamesOfInterest));
+    }
+
     private static Optional<PrometheusMeterRegistry> prometheusMeterRegistry(MeterRegistry meterRegistry) {
         io.micrometer.core.instrument.MeterRegistry mMeterRegistry =
                 meterRegistry.unwrap(io.micrometer.core.instrument.MeterRegistry.class);
@@ -230,21 +287,57 @@ public class MicrometerPrometheusFormatter implements MeterRegistryFormatter {
         return Optional.empty();
     }
 
-    private static String flushForMeterAndClear(StringBuilder helpAndType, StringBuilder metricData) {
-        StringBuilder result = new StringBuilder();
-        if (!metricData.isEmpty()) {
-            result.append(helpAndType.toString())
-                    .append(metricData);
-        }
-        helpAndType.setLength(0);
-        metricData.setLength(0);
-        return result.toString();
-    }
-
     private static String normalizeUnit(String unit) {
         return unit == null ? "" : unit;
     }
 
+    private boolean selectsAll() {
+        return !meterNameSelection.iterator().hasNext()
+                && (scopeTagName == null || scopeTagName.isBlank() || !scopeSelection.iterator().hasNext());
+    }
+
+    private record PrometheusOutput(PrometheusMeterRegistry registry,
+                                    String contentType,
+                                    Set<String> includedNames) {
+        Optional<StreamingOutput> streaming() {
+            // metric families are collected lazily, this collects only the first one
+            Enumeration<Collector.MetricFamilySamples> samples = samples();
+            if (!samples.hasMoreElements() && write(Collections.emptyEnumeration()).isBlank()) {
+                // nothing to write, format() returns empty for the same (blank) output
+                return Optional.empty();
+            }
+            return Optional.of(outputStream -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                                                   WRITER_BUFFER_SIZE);
+                TextFormat.writeFormat(contentType, writer, samples);
+                // flush, but do not close, the caller owns the stream
+                writer.flush();
+            });
+        }
+
+        String scrape() {
+            return write(samples());
+        }
+
+        private Enumeration<Collector.MetricFamilySamples> samples() {
+            CollectorRegistry collectorRegistry = registry.getPrometheusRegistry();
+            return includedNames == null
+                    ? collectorRegistry.metricFamilySamples()
+                    : collectorRegistry.filteredMetricFamilySamples(includedNames);
+        }
+
+        private String write(Enumeration<Collector.MetricFamilySamples> samples) {
+            StringWriter writer = new StringWriter();
+            try {
+                TextFormat.writeFormat(contentType, writer, samples);
+            } catch (IOException e) {
+                // cannot happen when writing to a string
+                throw new UncheckedIOException(e);
+            }
+            return writer.toString();
+        }
+    }
+
     /**
      * Builder for creating a tailored Prometheus formatter.
      */
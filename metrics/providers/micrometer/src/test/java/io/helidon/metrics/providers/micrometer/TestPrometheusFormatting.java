@@ -15,6 +15,9 @@
  */
 package io.helidon.metrics.providers.micrometer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -23,12 +26,15 @@ import io.helidon.common.media.type.MediaTypes;
 import io.helidon.common.testing.junit5.OptionalMatcher;
 import io.helidon.metrics.api.Counter;
 import io.helidon.metrics.api.MeterRegistry;
+import io.helidon.metrics.api.MeterRegistryFormatter;
 import io.helidon.metrics.api.MetricsConfig;
 import io.helidon.metrics.api.MetricsFactory;
 import io.helidon.metrics.api.ScopingConfig;
 import io.helidon.metrics.api.SystemTagsManager;
 import io.helidon.metrics.api.Timer;
 
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -202,6 +208,71 @@ class TestPrometheusFormatting {
                          endsWith(OPENMETRICS_EOF)));
     }
 
+    @Test
+    void testStreaming() throws IOException {
+        Counter c = meterRegistry.getOrCreate(Counter.builder("c4"));
+        c.increment();
+
+        Timer d = meterRegistry.getOrCreate(Timer.builder("t4")
+                                                    .scope("other-scope"));
+        d.record(5, TimeUnit.SECONDS);
+
+        MicrometerPrometheusFormatter formatter = MicrometerPrometheusFormatter.builder(meterRegistry)
+                .resultMediaType(MediaTypes.APPLICATION_OPENMETRICS_TEXT)
+                .scopeTagName(SCOPE_TAG_NAME)
+                .scopeSelection(Set.of("other-scope"))
+                .build();
+
+        Optional<MeterRegistryFormatter.StreamingOutput> outputOpt = formatter.formatStreaming();
+        assertThat("Streaming output", outputOpt, OptionalMatcher.optionalPresent());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        outputOpt.get().write(baos);
+        String output = baos.toString(StandardCharsets.UTF_8);
+
+        assertThat("Streamed output", output, is(checkAndCast(formatter.format())));
+        assertThat("Streamed output",
+                   output,
+                   allOf(containsString(scopeExpr("t4_seconds_count",
+                                                  "this_scope",
+                                                  "other-scope",
+                                                  "1.0")),
+                         not(containsString("c4_total")),
+                         endsWith(OPENMETRICS_EOF)));
+    }
+
+    @Test
+    void testStreamingNoMatch() {
+        MicrometerPrometheusFormatter formatter = MicrometerPrometheusFormatter.builder(meterRegistry)
+                .resultMediaType(MediaTypes.TEXT_PLAIN)
+                .scopeTagName(SCOPE_TAG_NAME)
+                .meterNameSelection(Set.of("does-not-exist"))
+                .build();
+
+        assertThat("Streaming output", formatter.formatStreaming(), OptionalMatcher.optionalEmpty());
+    }
+
+    @Test
+    void testStreamingBlankOutput() {
+        // meters are registered, but the Prometheus collectors produce no samples
+        MeterRegistry registry = MetricsFactory.getInstance().createMeterRegistry(metricsConfig);
+        registry.getOrCreate(Counter.builder("c5")).increment();
+        registry.unwrap(CompositeMeterRegistry.class)
+                .getRegistries()
+                .stream()
+                .filter(PrometheusMeterRegistry.class::isInstance)
+                .map(PrometheusMeterRegistry.class::cast)
+                .forEach(it -> it.getPrometheusRegistry().clear());
+
+        MicrometerPrometheusFormatter formatter = MicrometerPrometheusFormatter.builder(registry)
+                .resultMediaType(MediaTypes.TEXT_PLAIN)
+                .build();
+
+        // blank output is reported as no data (the endpoint responds with 404), both when formatted and streamed
+        assertThat("Formatted output", formatter.format(), OptionalMatcher.optionalEmpty());
+        assertThat("Streaming output", formatter.formatStreaming(), OptionalMatcher.optionalEmpty());
+    }
+
     private static String scopeExpr(String meterName, String key, String value, String suffix) {
         return meterName + "{" + key + "=\"" + value + "\"} " + suffix;
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import io.helidon.common.configurable.LruCache;
+
+/**
+ * Cache of tokens that were already parsed, verified and validated.
+ * Parsing, decoding and verifying the signature of the same bearer token on each request is expensive; a token
+ * found in this cache can be used without repeating these steps.
+ * <p>
+ * Tokens are keyed by their signature. As the signature alone does not prove the header and payload were not changed,
+ * the full token is compared on each lookup. A token is cached until its expiration time ({@code exp} claim), but at
+ * most for the configured maximal time to live, and a token is not cached before its not-before time ({@code nbf}
+ * claim). Unsigned tokens are never cached.
+ * <p>
+ * The caller is responsible to only {@link #put(SignedJwt, Jwt)} tokens that were successfully verified and
+ * validated, and to use a separate cache for each set of verification keys and validation rules.
+ */
+public final class VerifiedJwtCache {
+    private final LruCache<String, Entry> cache;
+    private final Duration maxTtl;
+    private final Clock clock;
+
+    VerifiedJwtCache(int capacity, Duration maxTtl, Clock clock) {
+        this.cache = LruCache.<String, Entry>builder()
+                .capacity(capacity)
+                .build();
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param capacity maximal number of cached tokens
+     * @param maxTtl   maximal time a token is cached, even if it expires later
+     * @return a new cache
+     */
+    public static VerifiedJwtCache create(int capacity, Duration maxTtl) {
+        return new VerifiedJwtCache(capacity, maxTtl, Clock.systemUTC());
+    }
+
+    /**
+     * Get a previously verified token.
+     *
+     * @param token the full token (header, payload, signature)
+     * @return verified token, or empty if not cached or no longer valid
+     */
+    public Optional<Verified> get(String token) {
+        String key = signature(token);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Entry> cached = cache.get(key);
+        if (cached.isEmpty()) {
+            return Optional.empty();
+        }
+        Entry entry = cached.get();
+        if (!entry.verified().signedJwt().tokenContent().equals(token)) {
+            // same signature with a different header or payload, must be verified
+            return Optional.empty();
+        }
+        if (!clock.instant().isBefore(entry.expiry())) {
+            cache.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.verified());
+    }
+
+    /**
+     * Cache a verified and validated token.
+     *
+     * @param signedJwt signed token that was verified
+     * @param jwt       the token's JWT that was validated
+     */
+    public void put(SignedJwt signedJwt, Jwt jwt) {
+        String key = signature(signedJwt.tokenContent());
+        if (key.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        if (jwt.notBefore().map(now::isBefore).orElse(false)) {
+            return;
+        }
+        Instant expiry = now.plus(maxTtl);
+        Optional<Instant> expirationTime = jwt.expirationTime();
+        if (expirationTime.isPresent() && expirationTime.get().isBefore(expiry)) {
+            expiry = expirationTime.get();
+        }
+        if (now.isBefore(expiry)) {
+            cache.put(key, new Entry(new Verified(signedJwt, jwt), expiry));
+        }
+    }
+
+    /**
+     * Number of cached tokens, including tokens that already expired and were not yet evicted.
+     *
+     * @return number of cached tokens
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private static String signature(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * A verified token.
+     *
+     * @param signedJwt the signed token
+     * @param jwt       JWT of the token
+     */
+    public record Verified(SignedJwt signedJwt, Jwt jwt) {
+    }
+
+    private record Entry(Verified verified, Instant expiry) {
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.jwt.jwk;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of initialized {@link java.security.Signature} or {@link javax.crypto.Mac} instances of a single key.
+ * Obtaining a provider instance and initializing it with a key is more expensive than the verification of a short
+ * token, so instances are reused. Both types reset to their initialized state once a signature is verified or a MAC
+ * computed. An instance is used by a single thread at a time; if the pool is empty, a new instance is created.
+ *
+ * @param <T> type of the pooled instance
+ */
+final class CryptoPool<T> {
+    private static final int MAX_POOLED = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final Queue<T> instances = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final Supplier<T> factory;
+
+    CryptoPool(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Obtain an initialized instance, either from the pool, or a new one.
+     *
+     * @return instance to use
+     */
+    T acquire() {
+        T instance = instances.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        pooled.decrementAndGet();
+        return instance;
+    }
+
+    /**
+     * Return an instance to the pool. Must only be called if the instance was used successfully, as an instance
+     * that failed may be in an undefined state.
+     *
+     * @param instance instance to return
+     */
+    void release(T instance) {
+        if (pooled.incrementAndGet() > MAX_POOLED) {
+            pooled.decrementAndGet();
+            return;
+        }
+        instances.offer(instance);
+    }
+}
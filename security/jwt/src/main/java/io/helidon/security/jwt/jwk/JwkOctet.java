@@ -72,11 +72,13 @@ public class JwkOctet extends Jwk {
     }
 
     private final byte[] keyBytes;
+    private final CryptoPool<Mac> macs;
 
     private JwkOctet(Builder builder) {
         super(builder, ALG_HS256);
 
         this.keyBytes = builder.key;
+        this.macs = new CryptoPool<>(this::newMac);
     }
 
     /**
@@ -129,6 +131,15 @@ public class JwkOctet extends Jwk {
             return EMPTY_BYTES;
         }
 
+        Mac mac = macs.acquire();
+        // doFinal resets the mac to the state after init, so it can be reused
+        byte[] result = mac.doFinal(bytesToSign);
+        macs.release(mac);
+        return result;
+    }
+
+    private Mac newMac() {
+        String alg = getSignatureAlgorithm();
         Mac mac = JwtUtil.getMac(alg);
         SecretKeySpec secretKey = new SecretKeySpec(keyBytes, alg);
         try {
@@ -136,8 +147,7 @@ public class JwkOctet extends Jwk {
         } catch (InvalidKeyException e) {
             throw new JwtException("Failed to init Mac for algorithm: " + alg, e);
         }
-
-        return mac.doFinal(bytesToSign);
+        return mac;
     }
 
     private String getSignatureAlgorithm() {
@@ -19,6 +19,7 @@ package io.helidon.security.jwt.jwk;
 import java.io.ByteArrayInputStream;
 import java.lang.System.Logger.Level;
 import java.net.URI;
+import java.security.InvalidKeyException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
@@ -70,6 +71,7 @@ abstract class JwkPki extends Jwk {
     private final Optional<List<X509Certificate>> certificateChain;
     private final Optional<byte[]> sha1Thumbprint;
     private final Optional<byte[]> sha256Thumbprint;
+    private final CryptoPool<Signature> verifiers;
 
     JwkPki(Builder<?> builder, PrivateKey privKey, PublicKey pubKey, String defaultAlgorithm) {
         super(builder, defaultAlgorithm);
@@ -79,6 +81,7 @@ abstract class JwkPki extends Jwk {
         this.certificateChain = Optional.ofNullable(builder.certificateChain).map(Collections::unmodifiableList);
         this.sha1Thumbprint = Optional.ofNullable(builder.sha1Thumbprint);
         this.sha256Thumbprint = Optional.ofNullable(builder.sha256Thumbprint);
+        this.verifiers = new CryptoPool<>(this::newVerifier);
     }
 
     public Optional<PrivateKey> privateKey() {
@@ -111,15 +114,17 @@ abstract class JwkPki extends Jwk {
             return verifyNoneAlg(signatureToVerify);
         }
 
-        Signature signature = JwtUtil.getSignature(alg);
-
+        Signature signature = verifiers.acquire();
+        boolean valid;
         try {
-            signature.initVerify(publicKey);
             signature.update(signedBytes);
-            return signature.verify(signatureToVerify);
+            valid = signature.verify(signatureToVerify);
         } catch (Exception e) {
             throw new JwtException("Failed to verify signature. It may still be valid, but an exception was thrown", e);
         }
+        // verify resets the signature to the state after initVerify, so it can be reused
+        verifiers.release(signature);
+        return valid;
     }
 
     @Override
@@ -142,6 +147,16 @@ abstract class JwkPki extends Jwk {
         }
     }
 
+    private Signature newVerifier() {
+        Signature signature = JwtUtil.getSignature(signatureAlgorithm());
+        try {
+            signature.initVerify(publicKey);
+        } catch (InvalidKeyException e) {
+            throw new JwtException("Failed to verify signature. It may still be valid, but an exception was thrown", e);
+        }
+        return signature;
+    }
+
     // this builder is not public, as a specific key type must be built
     static class Builder<T extends Builder<T>> extends Jwk.Builder<T> {
         private final T myInstance;
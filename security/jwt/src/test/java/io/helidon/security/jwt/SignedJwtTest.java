@@ -150,6 +150,25 @@ public class SignedJwtTest {
         errors.checkValid();
     }
 
+    @Test
+    public void testRepeatedVerification() {
+        // verifiers are reused, a failed verification must not affect the following ones
+        for (String kid : new String[] {"cc34c0a0-bd5a-4a3c-a50d-a2a7db7643df", "ES_384", "hmac-secret-001"}) {
+            SignedJwt signed = SignedJwt.sign(Jwt.builder().keyId(kid).issuer("unit-test").build(), customKeys);
+            SignedJwt other = SignedJwt.sign(Jwt.builder().keyId(kid).issuer("other").build(), customKeys);
+            String token = signed.tokenContent();
+            String otherToken = other.tokenContent();
+            SignedJwt tampered = SignedJwt.parseToken(token.substring(0, token.lastIndexOf('.'))
+                                                              + otherToken.substring(otherToken.lastIndexOf('.')));
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(kid, signed.verifySignature(customKeys).isValid(), is(true));
+                assertThat(kid, tampered.verifySignature(customKeys).isValid(), is(false));
+                assertThat(kid, other.verifySignature(customKeys).isValid(), is(true));
+            }
+        }
+    }
+
     @Test
     public void testSignatureNone() {
         Jwt jwt = Jwt.builder()
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import io.helidon.common.configurable.Resource;
+import io.helidon.security.jwt.jwk.Jwk;
+import io.helidon.security.jwt.jwk.JwkKeys;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class VerifiedJwtCacheTest {
+    private static final Duration MAX_TTL = Duration.ofMinutes(5);
+
+    private static JwkKeys keys;
+
+    private final TestClock clock = new TestClock();
+    private final VerifiedJwtCache cache = new VerifiedJwtCache(100, MAX_TTL, clock);
+
+    @BeforeAll
+    static void init() {
+        keys = JwkKeys.builder()
+                .resource(Resource.create("jwk_data.json"))
+                .build();
+    }
+
+    @Test
+    void testCachedUntilMaxTtl() {
+        SignedJwt signed = sign(Jwt.builder());
+        Jwt jwt = signed.getJwt();
+        cache.put(signed, jwt);
+
+        Optional<VerifiedJwtCache.Verified> verified = cache.get(signed.tokenContent());
+        assertThat(verified.isPresent(), is(true));
+        assertThat(verified.get().signedJwt(), sameInstance(signed));
+        assertThat(verified.get().jwt(), sameInstance(jwt));
+
+        clock.advance(MAX_TTL.minusSeconds(1));
+        assertThat(cache.get(signed.tokenContent()).isPresent(), is(true));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get(signed.tokenContent()).isPresent(), is(false));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void testCachedUntilExpiration() {
+        SignedJwt signed = sign(Jwt.builder().expirationTime(clock.instant().plusSeconds(10)));
+        cache.put(signed, signed.getJwt());
+
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(cache.get(signed.tokenContent()).isPresent(), is(true));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get(signed.tokenContent()).isPresent(), is(false));
+    }
+
+    @Test
+    void testNotCachedBeforeNotBefore() {
+        SignedJwt signed = sign(Jwt.builder().notBefore(clock.instant().plusSeconds(10)));
+        cache.put(signed, signed.getJwt());
+
+        assertThat(cache.get(signed.tokenContent()).isPresent(), is(false));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void testSameSignatureDifferentPayload() {
+        SignedJwt signed = sign(Jwt.builder().subject("user"));
+        SignedJwt other = sign(Jwt.builder().subject("admin"));
+        cache.put(signed, signed.getJwt());
+
+        String token = signed.tokenContent();
+        String otherToken = other.tokenContent();
+        String forged = otherToken.substring(0, otherToken.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+        assertThat(cache.get(forged).isPresent(), is(false));
+        assertThat(cache.get(token).isPresent(), is(true));
+    }
+
+    @Test
+    void testUnsignedNotCached() {
+        SignedJwt signed = SignedJwt.sign(Jwt.builder().issuer("unit-test").build(), Jwk.NONE_JWK);
+        cache.put(signed, signed.getJwt());
+
+        assertThat(cache.get(signed.tokenContent()).isPresent(), is(false));
+        assertThat(cache.size(), is(0));
+    }
+
+    private static SignedJwt sign(Jwt.Builder builder) {
+        return SignedJwt.sign(builder.keyId("hmac-secret-001")
+                                      .issuer("unit-test")
+                                      .build(), keys);
+    }
+
+    private static class TestClock extends Clock {
+        private Instant now = Instant.parse("2023-10-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.helidon.security.providers.jwt;
 
 import java.lang.System.Logger.Level;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
@@ -45,6 +46,7 @@ import io.helidon.security.jwt.Jwt;
 import io.helidon.security.jwt.JwtException;
 import io.helidon.security.jwt.JwtUtil;
 import io.helidon.security.jwt.SignedJwt;
+import io.helidon.security.jwt.VerifiedJwtCache;
 import io.helidon.security.jwt.jwk.Jwk;
 import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.providers.common.OutboundConfig;
@@ -82,6 +84,7 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
     private final Map<OutboundTarget, JwtOutboundTarget> targetToJwtConfig = new IdentityHashMap<>();
     private final Jwk defaultJwk;
     private final boolean useJwtGroups;
+    private final VerifiedJwtCache verifiedTokenCache;
 
     private JwtProvider(Builder builder) {
         this.optional = builder.optional;
@@ -97,6 +100,12 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
         this.expectedAudience = builder.expectedAudience;
         this.verifySignature = builder.verifySignature;
         this.useJwtGroups = builder.useJwtGroups;
+        if (verifySignature && builder.verifiedTokenCacheSize > 0) {
+            this.verifiedTokenCache = VerifiedJwtCache.create(builder.verifiedTokenCacheSize,
+                                                              builder.verifiedTokenCacheMaxTtl);
+        } else {
+            this.verifiedTokenCache = null;
+        }
 
         if (null == atnTokenHandler) {
             defaultTokenHandler = TokenHandler.builder()
@@ -155,6 +164,12 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
     }
 
     private AuthenticationResponse authenticateToken(String token) {
+        if (verifiedTokenCache != null) {
+            Optional<VerifiedJwtCache.Verified> verified = verifiedTokenCache.get(token);
+            if (verified.isPresent()) {
+                return AuthenticationResponse.success(buildSubject(verified.get().jwt(), verified.get().signedJwt()));
+            }
+        }
         SignedJwt signedJwt;
         try {
             signedJwt = SignedJwt.parseToken(token);
@@ -169,6 +184,9 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
                 // perform all validations, including expected audience verification
                 Errors validate = jwt.validate(null, expectedAudience);
                 if (validate.isValid()) {
+                    if (verifiedTokenCache != null) {
+                        verifiedTokenCache.put(signedJwt, jwt);
+                    }
                     return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
                 } else {
                     return failOrAbstain(validate.toString());
@@ -609,6 +627,8 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
         private String issuer;
         private String expectedAudience;
         private boolean useJwtGroups = true;
+        private int verifiedTokenCacheSize = 0;
+        private Duration verifiedTokenCacheMaxTtl = Duration.ofMinutes(5);
 
         private Builder() {
         }
@@ -695,6 +715,33 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
             return this;
         }
 
+        /**
+         * Maximal number of verified tokens to cache.
+         * A cached token is accepted without parsing and verifying its signature again, until it expires
+         * (or until {@link #verifiedTokenCacheMaxTtl(java.time.Duration)}).
+         * Caching is disabled by default, and is not used when signature verification is disabled.
+         *
+         * @param size number of cached tokens, {@code 0} to disable the cache
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "atn-token.verified-token-cache-size", value = "0")
+        public Builder verifiedTokenCacheSize(int size) {
+            this.verifiedTokenCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Maximal time a verified token is cached, even if it expires later.
+         *
+         * @param maxTtl maximal time to live of a cached token
+         * @return updated builder instance
+         */
+        @ConfiguredOption(key = "atn-token.verified-token-cache-max-ttl", value = "PT5M")
+        public Builder verifiedTokenCacheMaxTtl(Duration maxTtl) {
+            this.verifiedTokenCacheMaxTtl = maxTtl;
+            return this;
+        }
+
         /**
          * Principal type this provider extracts (and also propagates).
          *
@@ -810,6 +857,8 @@ public final class JwtProvider implements AuthenticationProvider, OutboundSecuri
                 verifyKeys(atnToken);
                 atnToken.get("jwt-audience").asString().ifPresent(this::expectedAudience);
                 atnToken.get("verify-signature").asBoolean().ifPresent(this::verifySignature);
+                atnToken.get("verified-token-cache-size").asInt().ifPresent(this::verifiedTokenCacheSize);
+                atnToken.get("verified-token-cache-max-ttl").as(Duration.class).ifPresent(this::verifiedTokenCacheMaxTtl);
             }
             Config signToken = config.get("sign-token");
             if (signToken.exists()) {
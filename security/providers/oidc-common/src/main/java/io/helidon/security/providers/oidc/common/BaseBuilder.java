@@ -44,6 +44,8 @@ abstract class BaseBuilder<B extends BaseBuilder<B, T>, T> implements Builder<B,
     static final String DEFAULT_REALM = "helidon";
     static final boolean DEFAULT_JWT_VALIDATE_JWK = true;
     static final int DEFAULT_TIMEOUT_SECONDS = 30;
+    static final int DEFAULT_INTROSPECTION_CACHE_SIZE = 0;
+    static final int DEFAULT_INTROSPECTION_CACHE_MAX_TTL_SECONDS = 60;
     private static final JsonReaderFactory JSON = Json.createReaderFactory(Collections.emptyMap());
 
     private JsonObject oidcMetadata;
@@ -63,6 +65,8 @@ abstract class BaseBuilder<B extends BaseBuilder<B, T>, T> implements Builder<B,
     private JwkKeys signJwk;
     private boolean validateJwtWithJwk = DEFAULT_JWT_VALIDATE_JWK;
     private URI introspectUri;
+    private int introspectionCacheSize = DEFAULT_INTROSPECTION_CACHE_SIZE;
+    private Duration introspectionCacheMaxTtl = Duration.ofSeconds(DEFAULT_INTROSPECTION_CACHE_MAX_TTL_SECONDS);
     private String scopeAudience;
     private boolean useWellKnown = true;
     // Whether audience claim is optional (turned off by default)
@@ -120,6 +124,8 @@ abstract class BaseBuilder<B extends BaseBuilder<B, T>, T> implements Builder<B,
 
         config.get("introspect-endpoint-uri").as(URI.class).ifPresent(this::introspectEndpointUri);
         config.get("validate-with-jwk").asBoolean().ifPresent(this::validateJwtWithJwk);
+        config.get("introspection-cache-size").asInt().ifPresent(this::introspectionCacheSize);
+        config.get("introspection-cache-max-ttl").as(Duration.class).ifPresent(this::introspectionCacheMaxTtl);
         config.get("issuer").asString().ifPresent(this::issuer);
         config.get("audience").asString().ifPresent(this::audience);
 
@@ -448,6 +454,36 @@ abstract class BaseBuilder<B extends BaseBuilder<B, T>, T> implements Builder<B,
         return identity();
     }
 
+    /**
+     * Maximal number of introspection results cached by this tenant.
+     * Results of the introspect endpoint are cached only when JWT is validated using the introspect endpoint
+     * (see {@link #validateJwtWithJwk(Boolean)}). The cache is disabled by default ({@code 0}), so the introspect endpoint
+     * is called for each request. When enabled, a token revoked on the identity server may still be accepted until its
+     * cached result expires (see {@link #introspectionCacheMaxTtl(java.time.Duration)}).
+     *
+     * @param size maximal number of cached results
+     * @return updated builder instance
+     */
+    @ConfiguredOption("0")
+    public B introspectionCacheSize(int size) {
+        this.introspectionCacheSize = size;
+        return identity();
+    }
+
+    /**
+     * Maximal time an introspection result is cached for.
+     * A result is never cached beyond the expiration time of the token. A token revoked on the identity server
+     * may still be accepted until its cached result expires.
+     *
+     * @param maxTtl maximal time to live of a cached result
+     * @return updated builder instance
+     */
+    @ConfiguredOption("PT1M")
+    public B introspectionCacheMaxTtl(Duration maxTtl) {
+        this.introspectionCacheMaxTtl = maxTtl;
+        return identity();
+    }
+
     private void clientTimeoutMillis(long millis) {
         this.clientTimeout(Duration.ofMillis(millis));
     }
@@ -528,6 +564,14 @@ abstract class BaseBuilder<B extends BaseBuilder<B, T>, T> implements Builder<B,
         return introspectUri;
     }
 
+    int introspectionCacheSize() {
+        return introspectionCacheSize;
+    }
+
+    Duration introspectionCacheMaxTtl() {
+        return introspectionCacheMaxTtl;
+    }
+
     String scopeAudience() {
         return scopeAudience;
     }
@@ -158,6 +158,20 @@ public interface TenantConfig {
      */
     Duration clientTimeout();
 
+    /**
+     * Maximal number of cached results of the introspect endpoint.
+     *
+     * @return introspection cache size, {@code 0} if the cache is disabled
+     */
+    int introspectionCacheSize();
+
+    /**
+     * Maximal time a result of the introspect endpoint is cached for.
+     *
+     * @return maximal time to live of a cached introspection result
+     */
+    Duration introspectionCacheMaxTtl();
+
     /**
      * Authorization endpoint.
      *
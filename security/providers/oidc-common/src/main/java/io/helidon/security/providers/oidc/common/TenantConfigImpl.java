@@ -47,6 +47,8 @@ class TenantConfigImpl implements TenantConfig {
     private final JwkKeys signJwk;
     private final String clientSecret;
     private final URI introspectUri;
+    private final int introspectionCacheSize;
+    private final Duration introspectionCacheMaxTtl;
     private final URI logoutEndpointUri;
     private final String scopeAudience;
     private final String serverType;
@@ -75,6 +77,8 @@ class TenantConfigImpl implements TenantConfig {
         this.signJwk = builder.signJwk();
         this.oidcMetadata = builder.oidcMetadata();
         this.useWellKnown = builder.useWellKnown();
+        this.introspectionCacheSize = builder.introspectionCacheSize();
+        this.introspectionCacheMaxTtl = builder.introspectionCacheMaxTtl();
 
         if (validateJwtWithJwk) {
             this.introspectUri = null;
@@ -176,6 +180,16 @@ class TenantConfigImpl implements TenantConfig {
         return clientTimeout;
     }
 
+    @Override
+    public int introspectionCacheSize() {
+        return introspectionCacheSize;
+    }
+
+    @Override
+    public Duration introspectionCacheMaxTtl() {
+        return introspectionCacheMaxTtl;
+    }
+
     @Override
     public Optional<URI> authorizationEndpoint() {
         return Optional.ofNullable(authorizationEndpointUri);
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.oidc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.helidon.common.configurable.LruCache;
+import io.helidon.metrics.api.Counter;
+import io.helidon.metrics.api.Meter;
+import io.helidon.metrics.api.Metrics;
+import io.helidon.metrics.api.Tag;
+
+/**
+ * Cache of token introspection results of a single tenant.
+ * Results are keyed by a hash of the token, and are cached until the token expires, at most for the configured
+ * maximal time to live. Concurrent introspection of the same token is coalesced into a single call.
+ * Cache hits (including requests that waited for a concurrent introspection) and misses are counted in the
+ * {@value #HITS_METER_NAME} and {@value #MISSES_METER_NAME} counters, tagged by tenant.
+ */
+final class IntrospectionCache {
+    static final String HITS_METER_NAME = "security.oidc.introspection.cache.hits";
+    static final String MISSES_METER_NAME = "security.oidc.introspection.cache.misses";
+
+    private final Map<String, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+    private final LruCache<String, CachedResult> cache;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final Counter hits;
+    private final Counter misses;
+
+    IntrospectionCache(String tenantId, int size, Duration maxTtl, Clock clock) {
+        this.cache = size > 0 && !maxTtl.isZero() && !maxTtl.isNegative()
+                ? LruCache.<String, CachedResult>create(builder -> builder.capacity(size))
+                : null;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        List<Tag> tags = List.of(Tag.create("tenant", tenantId));
+        this.hits = Metrics.globalRegistry()
+                .getOrCreate(Counter.builder(HITS_METER_NAME)
+                                     .scope(Meter.Scope.VENDOR)
+                                     .description("Token introspections served without calling the identity server")
+                                     .tags(tags));
+        this.misses = Metrics.globalRegistry()
+                .getOrCreate(Counter.builder(MISSES_METER_NAME)
+                                     .scope(Meter.Scope.VENDOR)
+                                     .description("Token introspections that called the identity server")
+                                     .tags(tags));
+    }
+
+    /**
+     * Introspect the token, using a cached result if available.
+     *
+     * @param token        token to introspect
+     * @param expiration   expiration time of the token, if known
+     * @param introspector calls the introspect endpoint of the identity server
+     * @return introspection result
+     */
+    Result introspect(String token, Optional<Instant> expiration, Supplier<Result> introspector) {
+        if (cache == null) {
+            miss();
+            return introspector.get();
+        }
+        String key = key(token);
+        Optional<CachedResult> cached = cache.get(key);
+        if (cached.isPresent()) {
+            if (clock.instant().isBefore(cached.get().expiresAt())) {
+                hit();
+                return cached.get().result();
+            }
+            cache.remove(key);
+        }
+
+        CompletableFuture<Result> introspection = new CompletableFuture<>();
+        CompletableFuture<Result> existing = inFlight.putIfAbsent(key, introspection);
+        if (existing != null) {
+            // the same token is introspected by another request, wait for its result
+            hit();
+            return existing.join();
+        }
+        miss();
+        try {
+            Result result = introspector.get();
+            if (result.cacheable()) {
+                Instant now = clock.instant();
+                Instant expiresAt = now.plus(maxTtl);
+                if (expiration.isPresent() && expiration.get().isBefore(expiresAt)) {
+                    expiresAt = expiration.get();
+                }
+                if (expiresAt.isAfter(now)) {
+                    cache.put(key, new CachedResult(result, expiresAt));
+                }
+            }
+            introspection.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            introspection.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, introspection);
+        }
+    }
+
+    long hitCount() {
+        return hitCount.sum();
+    }
+
+    long missCount() {
+        return missCount.sum();
+    }
+
+    private void hit() {
+        hitCount.increment();
+        hits.increment();
+    }
+
+    private void miss() {
+        missCount.increment();
+        misses.increment();
+    }
+
+    private static String key(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Result of an introspection.
+     *
+     * @param active    whether the token is valid and active
+     * @param source    source of the failure, if not active
+     * @param message   failure message, if not active
+     * @param cacheable whether the result may be cached, failed calls to the introspect endpoint are not cached
+     */
+    record Result(boolean active, Object source, String message, boolean cacheable) {
+        static Result valid() {
+            return new Result(true, null, null, true);
+        }
+
+        static Result inactive(Object source, String message) {
+            return new Result(false, source, message, true);
+        }
+
+        static Result failed(Object source, String message) {
+            return new Result(false, source, message, false);
+        }
+    }
+
+    private record CachedResult(Result result, Instant expiresAt) {
+    }
+}
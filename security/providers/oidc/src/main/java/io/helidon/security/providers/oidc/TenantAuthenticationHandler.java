@@ -18,6 +18,7 @@ package io.helidon.security.providers.oidc;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -82,6 +83,7 @@ class TenantAuthenticationHandler {
     private final BiFunction<SignedJwt, Errors.Collector, Errors.Collector> jwtValidator;
     private final BiConsumer<StringBuilder, String> scopeAppender;
     private final Pattern attemptPattern;
+    private final IntrospectionCache introspectionCache;
 
     TenantAuthenticationHandler(OidcConfig oidcConfig, Tenant tenant, boolean useJwtGroups, boolean optional) {
         this.oidcConfig = oidcConfig;
@@ -92,6 +94,7 @@ class TenantAuthenticationHandler {
 
         attemptPattern = Pattern.compile(".*?" + oidcConfig.redirectAttemptParam() + "=(\\d+).*");
         if (tenantConfig.validateJwtWithJwk()) {
+            this.introspectionCache = null;
             this.jwtValidator = (signedJwt, collector) -> {
                 JwkKeys jwk = tenant.signJwk();
                 Errors errors = signedJwt.verifySignature(jwk);
@@ -112,42 +115,16 @@ class TenantAuthenticationHandler {
                 return collector;
             };
         } else {
+            this.introspectionCache = new IntrospectionCache(tenantConfig.name(),
+                                                             tenantConfig.introspectionCacheSize(),
+                                                             tenantConfig.introspectionCacheMaxTtl(),
+                                                             Clock.systemUTC());
             this.jwtValidator = (signedJwt, collector) -> {
-                Parameters.Builder form = Parameters.builder("oidc-form-params")
-                        .add("token", signedJwt.tokenContent());
-
-                HttpClientRequest post = tenant.appWebClient()
-                        .post()
-                        .uri(tenant.introspectUri())
-                        .header(HeaderValues.ACCEPT_JSON)
-                        .headers(it -> it.add(HeaderNames.CACHE_CONTROL, "no-cache, no-store, must-revalidate"));
-
-                OidcUtil.updateRequest(OidcConfig.RequestType.INTROSPECT_JWT, tenantConfig, form);
-
-                try (HttpClientResponse response = post.submit(form.build())) {
-                    if (response.status().family() == Status.Family.SUCCESSFUL) {
-                        try {
-                            JsonObject jsonObject = response.as(JsonObject.class);
-                            if (!jsonObject.getBoolean("active")) {
-                                collector.fatal(jsonObject, "Token is not active");
-                            }
-                        } catch (Exception e) {
-                            collector.fatal(e, "Failed to validate token, request failed: "
-                                    + "Failed to read JSON from response");
-                        }
-                    } else {
-                        String message;
-                        try {
-                            message = response.as(String.class);
-                            collector.fatal(response.status(),
-                                            "Failed to validate token, response " + "status: " + response.status() + ", "
-                                                    + "entity: " + message);
-                        } catch (Exception e) {
-                            collector.fatal(e, "Failed to validate token, request failed: Failed to process error entity");
-                        }
-                    }
-                } catch (Exception e) {
-                    collector.fatal(e, "Failed to validate token, request failed: Failed to invoke request");
+                IntrospectionCache.Result result = introspectionCache.introspect(signedJwt.tokenContent(),
+                                                                                 signedJwt.getJwt().expirationTime(),
+                                                                                 () -> introspect(signedJwt));
+                if (!result.active()) {
+                    collector.fatal(result.source(), result.message());
                 }
                 return collector;
             };
@@ -238,6 +215,48 @@ class TenantAuthenticationHandler {
         }
     }
 
+    private IntrospectionCache.Result introspect(SignedJwt signedJwt) {
+        Parameters.Builder form = Parameters.builder("oidc-form-params")
+                .add("token", signedJwt.tokenContent());
+
+        HttpClientRequest post = tenant.appWebClient()
+                .post()
+                .uri(tenant.introspectUri())
+                .header(HeaderValues.ACCEPT_JSON)
+                .headers(it -> it.add(HeaderNames.CACHE_CONTROL, "no-cache, no-store, must-revalidate"));
+
+        OidcUtil.updateRequest(OidcConfig.RequestType.INTROSPECT_JWT, tenantConfig, form);
+
+        try (HttpClientResponse response = post.submit(form.build())) {
+            if (response.status().family() == Status.Family.SUCCESSFUL) {
+                try {
+                    JsonObject jsonObject = response.as(JsonObject.class);
+                    if (jsonObject.getBoolean("active")) {
+                        return IntrospectionCache.Result.valid();
+                    }
+                    return IntrospectionCache.Result.inactive(jsonObject, "Token is not active");
+                } catch (Exception e) {
+                    return IntrospectionCache.Result.failed(e, "Failed to validate token, request failed: "
+                            + "Failed to read JSON from response");
+                }
+            } else {
+                String message;
+                try {
+                    message = response.as(String.class);
+                    return IntrospectionCache.Result.failed(response.status(),
+                                                            "Failed to validate token, response " + "status: "
+                                                                    + response.status() + ", "
+                                                                    + "entity: " + message);
+                } catch (Exception e) {
+                    return IntrospectionCache.Result.failed(e, "Failed to validate token, request failed: "
+                            + "Failed to process error entity");
+                }
+            }
+        } catch (Exception e) {
+            return IntrospectionCache.Result.failed(e, "Failed to validate token, request failed: Failed to invoke request");
+        }
+    }
+
     private Set<String> expectedScopes(ProviderRequest request) {
 
         Set<String> result = new HashSet<>();
@@ -30,6 +30,7 @@ module io.helidon.security.providers.oidc {
     requires io.helidon.common.crypto;
     requires io.helidon.common;
     requires io.helidon.cors;
+    requires io.helidon.metrics.api;
     requires io.helidon.webclient;
     requires io.helidon.security.abac.scope;
     requires io.helidon.security.jwt;
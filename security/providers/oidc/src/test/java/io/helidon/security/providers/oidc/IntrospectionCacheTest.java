@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.oidc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class IntrospectionCacheTest {
+    private static final Duration MAX_TTL = Duration.ofMinutes(1);
+
+    private final TestClock clock = new TestClock();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void testCachedUntilMaxTtl() {
+        IntrospectionCache cache = new IntrospectionCache("tenant", 100, MAX_TTL, clock);
+
+        IntrospectionCache.Result first = cache.introspect("token", Optional.empty(), this::valid);
+        clock.advance(MAX_TTL.minusSeconds(1));
+        assertThat(cache.introspect("token", Optional.empty(), this::valid), sameInstance(first));
+        assertThat(calls.get(), is(1));
+
+        clock.advance(Duration.ofSeconds(1));
+        cache.introspect("token", Optional.empty(), this::valid);
+        assertThat(calls.get(), is(2));
+        assertThat(cache.hitCount(), is(1L));
+        assertThat(cache.missCount(), is(2L));
+    }
+
+    @Test
+    void testCachedUntilTokenExpires() {
+        IntrospectionCache cache = new IntrospectionCache("tenant", 100, MAX_TTL, clock);
+        Optional<Instant> expiration = Optional.of(clock.instant().plusSeconds(10));
+
+        cache.introspect("token", expiration, this::valid);
+        clock.advance(Duration.ofSeconds(9));
+        cache.introspect("token", expiration, this::valid);
+        assertThat(calls.get(), is(1));
+
+        clock.advance(Duration.ofSeconds(1));
+        cache.introspect("token", expiration, this::valid);
+        assertThat(calls.get(), is(2));
+
+        // other tokens are cached separately
+        cache.introspect("other-token", Optional.empty(), this::valid);
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    void testFailureNotCached() {
+        IntrospectionCache cache = new IntrospectionCache("tenant", 100, MAX_TTL, clock);
+
+        IntrospectionCache.Result result = cache.introspect("token", Optional.empty(), () -> {
+            calls.incrementAndGet();
+            return IntrospectionCache.Result.failed("source", "Failed to invoke request");
+        });
+        assertThat(result.active(), is(false));
+        cache.introspect("token", Optional.empty(), this::valid);
+        cache.introspect("token", Optional.empty(), this::valid);
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    void testDisabled() {
+        IntrospectionCache cache = new IntrospectionCache("tenant", 0, MAX_TTL, clock);
+
+        cache.introspect("token", Optional.empty(), this::valid);
+        cache.introspect("token", Optional.empty(), this::valid);
+        assertThat(calls.get(), is(2));
+        assertThat(cache.missCount(), is(2L));
+    }
+
+    @Test
+    void testConcurrentIntrospectionCoalesced() throws Exception {
+        IntrospectionCache cache = new IntrospectionCache("tenant", 100, MAX_TTL, clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch secondWaiting = new CountDownLatch(1);
+
+        CompletableFuture<IntrospectionCache.Result> first = CompletableFuture.supplyAsync(
+                () -> cache.introspect("token", Optional.empty(), () -> {
+                    started.countDown();
+                    // do not finish before the second request joined this introspection
+                    // nothing is cached until this introspector returns, so its hit can only come from joining it
+                    if (awaitHit(cache)) {
+                        secondWaiting.countDown();
+                    }
+                    return valid();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+        CompletableFuture<IntrospectionCache.Result> second = CompletableFuture.supplyAsync(
+                () -> cache.introspect("token", Optional.empty(), this::valid));
+
+        assertThat("Second request should wait for the in-flight introspection",
+                   secondWaiting.await(5, TimeUnit.SECONDS),
+                   is(true));
+        assertThat(second.get(5, TimeUnit.SECONDS), sameInstance(first.get(5, TimeUnit.SECONDS)));
+        assertThat(calls.get(), is(1));
+        assertThat(cache.missCount(), is(1L));
+        assertThat(cache.hitCount(), is(1L));
+    }
+
+    private static boolean awaitHit(IntrospectionCache cache) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.hitCount() == 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private IntrospectionCache.Result valid() {
+        calls.incrementAndGet();
+        return IntrospectionCache.Result.valid();
+    }
+
+    private static class TestClock extends Clock {
+        private Instant now = Instant.parse("2023-10-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
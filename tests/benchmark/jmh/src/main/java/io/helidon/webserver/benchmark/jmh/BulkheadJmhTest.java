@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import io.helidon.faulttolerance.Bulkhead;
+import io.helidon.faulttolerance.BulkheadConfig;
+import io.helidon.faulttolerance.BulkheadException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Contention of {@link io.helidon.faulttolerance.Bulkhead} with 1 to 64 threads.
+ * With a limit lower than the number of threads, callers are queued (or rejected once the queue is full),
+ * so the benchmark measures both the admission fast path and the queue handoff.
+ * The {@code lock-free} implementation is the one used by {@link io.helidon.faulttolerance.Bulkhead#create},
+ * {@code locking} is the previous implementation, so both can be compared in the same run.
+ * The {@code locking} implementation is a benchmark only copy, see {@link LockingBulkhead}.
+ * Note that thread count configured on the JMH runner (such as in {@code JunitJmhRunnerTest}) overrides
+ * the {@link org.openjdk.jmh.annotations.Threads} annotations.
+ */
+@State(Scope.Benchmark)
+public class BulkheadJmhTest {
+    // amount of work done by each call, in JMH tokens
+    private static final long WORK = 100;
+
+    @Param({"lock-free", "locking"})
+    private String implementation;
+
+    @Param({"4", "64"})
+    private int limit;
+
+    @Param({"0", "1000"})
+    private int queueLength;
+
+    private Bulkhead bulkhead;
+
+    @Setup
+    public void setup() {
+        BulkheadConfig config = BulkheadConfig.builder()
+                .limit(limit)
+                .queueLength(queueLength)
+                .buildPrototype();
+        bulkhead = switch (implementation) {
+            case "lock-free" -> Bulkhead.create(config);
+            case "locking" -> new LockingBulkhead(config);
+            default -> throw new IllegalArgumentException("Unknown bulkhead implementation: " + implementation);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void invoke1(Blackhole bh) {
+        invoke(bh);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void invoke8(Blackhole bh) {
+        invoke(bh);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void invoke64(Blackhole bh) {
+        invoke(bh);
+    }
+
+    private void invoke(Blackhole bh) {
+        try {
+            bh.consume(bulkhead.invoke(BulkheadJmhTest::work));
+        } catch (BulkheadException | LockingBulkhead.RejectedException e) {
+            bh.consume(e);
+        }
+    }
+
+    private static Long work() {
+        Blackhole.consumeCPU(WORK);
+        return WORK;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import io.helidon.logging.common.LogConfig;
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.staticcontent.StaticContentService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of sending files from 1 KB to 1 GB, comparing copying through the response output stream
+ * to {@link io.helidon.webserver.http.ServerResponse#send(java.nio.file.Path, long, long)}, and the static content service
+ * that uses it.
+ */
+@State(Scope.Benchmark)
+public class FileSendJmhTest {
+    @Param({"1024", "1048576", "104857600", "1073741824"})
+    private long fileSize;
+
+    private Path directory;
+    private Path file;
+    private WebServer server;
+    private HttpClient client;
+    private URI streamUri;
+    private URI sendUri;
+    private URI staticUri;
+
+    @Setup
+    public void setup() throws IOException {
+        LogConfig.configureRuntime();
+
+        directory = Files.createTempDirectory("helidon-jmh");
+        file = directory.resolve("file.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            // sparse file of the requested size
+            channel.write(ByteBuffer.wrap(new byte[] {42}), fileSize - 1);
+        }
+
+        server = WebServer.builder()
+                .host("127.0.0.1")
+                .routing(routing -> routing
+                        .get("/stream", (req, res) -> {
+                            res.contentLength(fileSize);
+                            try (InputStream in = Files.newInputStream(file); OutputStream out = res.outputStream()) {
+                                in.transferTo(out);
+                            }
+                        })
+                        .get("/send", (req, res) -> res.send(file, 0, fileSize))
+                        .register("/static", StaticContentService.create(directory)))
+                .build()
+                .start();
+
+        streamUri = URI.create("http://localhost:" + server.port() + "/stream");
+        sendUri = URI.create("http://localhost:" + server.port() + "/send");
+        staticUri = URI.create("http://localhost:" + server.port() + "/static/file.bin");
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public void outputStream(Blackhole bh) throws IOException, InterruptedException {
+        download(bh, streamUri);
+    }
+
+    @Benchmark
+    public void sendFile(Blackhole bh) throws IOException, InterruptedException {
+        download(bh, sendUri);
+    }
+
+    @Benchmark
+    public void staticContent(Blackhole bh) throws IOException, InterruptedException {
+        download(bh, staticUri);
+    }
+
+    private void download(Blackhole bh, URI uri) throws IOException, InterruptedException {
+        bh.consume(client.send(HttpRequest.newBuilder().GET().uri(uri).build(),
+                               HttpResponse.BodyHandlers.discarding()));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.benchmark.jmh;
+
+import io.helidon.common.buffers.BufferData;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.HeaderValues;
+import io.helidon.http.Status;
+import io.helidon.http.WritableHeaders;
+import io.helidon.http.http2.Http2Flag;
+import io.helidon.http.http2.Http2FrameData;
+import io.helidon.http.http2.Http2FrameHeader;
+import io.helidon.http.http2.Http2FrameTypes;
+import io.helidon.http.http2.Http2Headers;
+import io.helidon.http.http2.Http2HuffmanDecoder;
+import io.helidon.http.http2.Http2HuffmanEncoder;
+import io.helidon.http.http2.Http2Setting;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * HPACK encoding and decoding of typical response headers, with dynamic tables kept for the whole run,
+ * as they are for a connection.
+ */
+@State(Scope.Benchmark)
+public class HpackJmhTest {
+    private final BufferData buffer = BufferData.growing(512);
+    private final Http2HuffmanEncoder huffman = Http2HuffmanEncoder.create();
+    private final Http2HuffmanDecoder huffmanDecoder = Http2HuffmanDecoder.create();
+    private Http2Headers.DynamicTable encoderTable;
+    private Http2Headers.DynamicTable decoderTable;
+    private Http2Headers headers;
+
+    @Setup
+    public void setup() {
+        encoderTable = Http2Headers.DynamicTable.create(Http2Setting.HEADER_TABLE_SIZE.defaultValue());
+        decoderTable = Http2Headers.DynamicTable.create(Http2Setting.HEADER_TABLE_SIZE.defaultValue());
+
+        WritableHeaders<?> httpHeaders = WritableHeaders.create();
+        httpHeaders.set(HeaderNames.CONTENT_TYPE, "application/json");
+        httpHeaders.set(HeaderNames.CACHE_CONTROL, "no-cache, no-store, must-revalidate");
+        httpHeaders.set(HeaderNames.SERVER, "Helidon");
+        httpHeaders.set(HeaderNames.VARY, "Accept-Encoding");
+        httpHeaders.set(HeaderNames.DATE, "Tue, 3 Oct 2023 10:15:30 GMT");
+        // changing values are never added to the dynamic table
+        httpHeaders.set(HeaderValues.create(HeaderNames.CONTENT_LENGTH, true, false, "1024"));
+        httpHeaders.set(HeaderValues.create(HeaderNames.create("x-request-id"), true, false,
+                                            "9d8a1c2e-5f5b-4c1e-9a8e-2d5c7b1f3e4a"));
+        headers = Http2Headers.create(httpHeaders);
+        headers.status(Status.OK_200);
+    }
+
+    @Benchmark
+    public void encode(Blackhole bh) {
+        buffer.clear();
+        headers.write(encoderTable, huffman, buffer);
+        bh.consume(buffer);
+    }
+
+    @Benchmark
+    public void encodeDecode(Blackhole bh) {
+        buffer.clear();
+        headers.write(encoderTable, huffman, buffer);
+        Http2FrameHeader frameHeader = Http2FrameHeader.create(buffer.available(),
+                                                               Http2FrameTypes.HEADERS,
+                                                               Http2Flag.HeaderFlags.create(Http2Flag.END_OF_HEADERS),
+                                                               1);
+        // stream is only used for priority of the headers frame
+        bh.consume(Http2Headers.create(null, decoderTable, huffmanDecoder, new Http2FrameData(frameHeader, buffer)));
+    }
+}
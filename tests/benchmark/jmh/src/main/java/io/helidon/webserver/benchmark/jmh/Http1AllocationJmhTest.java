@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.helidon.common.buffers.BufferAllocator;
+import io.helidon.logging.common.LogConfig;
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.http1.Http1Config;
+import io.helidon.webserver.http1.Http1ConnectionSelector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * HTTP/1.1 request/response cycles with unpooled and pooled response buffers.
+ * The client writes prepared requests and reads responses into a reused buffer over a persistent connection, so
+ * nearly all allocations are done by the server. Run with the GC profiler ({@code -prof gc}) and compare
+ * {@code gc.alloc.rate.norm} (bytes allocated per request).
+ */
+@State(Scope.Benchmark)
+public class Http1AllocationJmhTest {
+    private static final byte[] SEND_REQUEST = request("/send");
+    private static final byte[] STREAM_REQUEST = request("/stream");
+    private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTENT_LENGTH = "content-length:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Param({"unpooled", "pooled"})
+    private String allocator;
+
+    @Param({"13", "16384"})
+    private int responseSize;
+
+    private WebServer server;
+
+    @Setup
+    public void setup() {
+        LogConfig.configureRuntime();
+
+        byte[] entity = new byte[responseSize];
+        Arrays.fill(entity, (byte) 'a');
+        int streamChunk = Math.max(1, responseSize / 4);
+
+        server = WebServer.builder()
+                .host("127.0.0.1")
+                .addConnectionSelector(Http1ConnectionSelector.builder()
+                                               .config(Http1Config.builder()
+                                                               .bufferAllocator(allocator.equals("pooled")
+                                                                                        ? BufferAllocator.pooled()
+                                                                                        : BufferAllocator.unpooled())
+                                                               .build())
+                                               .build())
+                .routing(routing -> routing
+                        .get("/send", (req, res) -> res.send(entity))
+                        .get("/stream", (req, res) -> {
+                            try (OutputStream out = res.outputStream()) {
+                                for (int i = 0; i < responseSize; i += streamChunk) {
+                                    out.write(entity, i, Math.min(streamChunk, responseSize - i));
+                                    out.flush();
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }))
+                .build()
+                .start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public int send(Connection connection) throws IOException {
+        return connection.exchange(SEND_REQUEST);
+    }
+
+    @Benchmark
+    public int stream(Connection connection) throws IOException {
+        return connection.exchange(STREAM_REQUEST);
+    }
+
+    private static byte[] request(String path) {
+        return ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Persistent connection of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Connection {
+        private final byte[] buffer = new byte[256 * 1024];
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+
+        /**
+         * Connect to the server of the benchmark.
+         *
+         * @param benchmark benchmark state
+         * @throws IOException in case the connection fails
+         */
+        @Setup
+        public void connect(Http1AllocationJmhTest benchmark) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress("127.0.0.1", benchmark.server.port()));
+            in = socket.getInputStream();
+            out = socket.getOutputStream();
+        }
+
+        /**
+         * Close the connection.
+         *
+         * @throws IOException in case the connection fails to close
+         */
+        @TearDown
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        int exchange(byte[] request) throws IOException {
+            out.write(request);
+            out.flush();
+
+            int length = 0;
+            int headerEnd = -1;
+            int contentLength = -1;
+            while (true) {
+                int read = in.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    throw new EOFException("Connection closed by server");
+                }
+                length += read;
+                if (headerEnd == -1) {
+                    int index = indexOf(buffer, 0, length, HEADER_END);
+                    if (index == -1) {
+                        continue;
+                    }
+                    headerEnd = index + HEADER_END.length;
+                    contentLength = contentLength(headerEnd);
+                }
+                if (contentLength >= 0) {
+                    if (length >= headerEnd + contentLength) {
+                        return length;
+                    }
+                } else if (length - headerEnd >= LAST_CHUNK.length
+                        && indexOf(buffer, length - LAST_CHUNK.length, length, LAST_CHUNK) != -1) {
+                    return length;
+                }
+            }
+        }
+
+        private int contentLength(int headerEnd) {
+            for (int i = 0; i < headerEnd - CONTENT_LENGTH.length; i++) {
+                if (matchesIgnoreCase(i)) {
+                    int value = 0;
+                    int position = i + CONTENT_LENGTH.length;
+                    while (buffer[position] == ' ') {
+                        position++;
+                    }
+                    while (buffer[position] >= '0' && buffer[position] <= '9') {
+                        value = value * 10 + (buffer[position++] - '0');
+                    }
+                    return value;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matchesIgnoreCase(int offset) {
+            for (int i = 0; i < CONTENT_LENGTH.length; i++) {
+                if (Character.toLowerCase(buffer[offset + i]) != CONTENT_LENGTH[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int indexOf(byte[] data, int from, int to, byte[] pattern) {
+            for (int i = from; i <= to - pattern.length; i++) {
+                if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import io.helidon.security.jwt.Jwt;
+import io.helidon.security.jwt.SignedJwt;
+import io.helidon.security.jwt.VerifiedJwtCache;
+import io.helidon.security.jwt.jwk.Jwk;
+import io.helidon.security.jwt.jwk.JwkEC;
+import io.helidon.security.jwt.jwk.JwkKeys;
+import io.helidon.security.jwt.jwk.JwkRSA;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Validation of a bearer token, as done by the JWT security provider for each request, with and without
+ * the verified token cache.
+ */
+@State(Scope.Benchmark)
+public class JwtValidationJmhTest {
+    private static final String KID = "benchmark";
+    private static final String AUDIENCE = "http://localhost:8080";
+
+    @Param({JwkRSA.ALG_RS256, JwkEC.ALG_ES256})
+    private String algorithm;
+
+    private JwkKeys keys;
+    private VerifiedJwtCache cache;
+    private String token;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        Jwk jwk;
+        if (algorithm.equals(JwkRSA.ALG_RS256)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            jwk = JwkRSA.builder()
+                    .keyId(KID)
+                    .algorithm(algorithm)
+                    .publicKey((RSAPublicKey) keyPair.getPublic())
+                    .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                    .build();
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(256);
+            KeyPair keyPair = generator.generateKeyPair();
+            jwk = JwkEC.builder()
+                    .keyId(KID)
+                    .algorithm(algorithm)
+                    .publicKey((ECPublicKey) keyPair.getPublic())
+                    .privateKey((ECPrivateKey) keyPair.getPrivate())
+                    .build();
+        }
+        keys = JwkKeys.builder()
+                .addKey(jwk)
+                .build();
+        cache = VerifiedJwtCache.create(1000, Duration.ofMinutes(5));
+
+        Jwt jwt = Jwt.builder()
+                .keyId(KID)
+                .algorithm(algorithm)
+                .issuer("benchmark")
+                .subject("user")
+                .addAudience(AUDIENCE)
+                .issueTime(Instant.now())
+                .expirationTime(Instant.now().plus(1, ChronoUnit.DAYS))
+                .build();
+        token = SignedJwt.sign(jwt, jwk).tokenContent();
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        bh.consume(verifyAndValidate(SignedJwt.parseToken(token)));
+    }
+
+    @Benchmark
+    public void validateCached(Blackhole bh) {
+        Optional<VerifiedJwtCache.Verified> verified = cache.get(token);
+        if (verified.isPresent()) {
+            bh.consume(verified.get().jwt());
+        } else {
+            SignedJwt signedJwt = SignedJwt.parseToken(token);
+            Jwt jwt = verifyAndValidate(signedJwt);
+            cache.put(signedJwt, jwt);
+            bh.consume(jwt);
+        }
+    }
+
+    private Jwt verifyAndValidate(SignedJwt signedJwt) {
+        signedJwt.verifySignature(keys).checkValid();
+        Jwt jwt = signedJwt.getJwt();
+        jwt.validate(null, AUDIENCE).checkValid();
+        return jwt;
+    }
+}
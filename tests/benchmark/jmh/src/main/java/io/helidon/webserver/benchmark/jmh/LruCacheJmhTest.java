@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.helidon.common.configurable.LruCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Contention of {@link io.helidon.common.configurable.LruCache} with 1 to 64 threads.
+ * Note that thread count configured on the JMH runner (such as in {@code JunitJmhRunnerTest}) overrides
+ * the {@link org.openjdk.jmh.annotations.Threads} annotations.
+ */
+@State(Scope.Benchmark)
+public class LruCacheJmhTest {
+    private static final int KEYS = 1024;
+
+    @Param({"false", "true"})
+    private boolean frequencyAdmission;
+
+    private LruCache<Integer, Integer> cache;
+
+    @Setup
+    public void setup() {
+        cache = LruCache.<Integer, Integer>builder()
+                .capacity(KEYS)
+                .frequencyAdmission(frequencyAdmission)
+                .build();
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void read1(Blackhole bh) {
+        read(bh);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void read8(Blackhole bh) {
+        read(bh);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void read64(Blackhole bh) {
+        read(bh);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void readWrite1(Blackhole bh) {
+        readWrite(bh);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void readWrite8(Blackhole bh) {
+        readWrite(bh);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void readWrite64(Blackhole bh) {
+        readWrite(bh);
+    }
+
+    private void read(Blackhole bh) {
+        bh.consume(cache.get(ThreadLocalRandom.current().nextInt(KEYS)));
+    }
+
+    // 90 % reads, 10 % writes, writes use twice as many keys as the cache can hold
+    private void readWrite(Blackhole bh) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            int key = random.nextInt(KEYS * 2);
+            bh.consume(cache.put(key, key));
+        } else {
+            bh.consume(cache.get(random.nextInt(KEYS)));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.helidon.http.HeaderNames;
+import io.helidon.http.WritableHeaders;
+import io.helidon.http.media.EntityReader;
+import io.helidon.http.media.MediaContext;
+import io.helidon.http.media.multipart.BufferedPart;
+import io.helidon.http.media.multipart.MultiPart;
+import io.helidon.http.media.multipart.MultiPartConfig;
+import io.helidon.http.media.multipart.MultiPartSupport;
+import io.helidon.http.media.multipart.ReadablePart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of reading a multipart upload with a single file part, streamed or buffered with a part of the content
+ * spilled to a temporary file.
+ */
+@State(Scope.Benchmark)
+public class MultiPartJmhTest {
+    private static final String BOUNDARY = "----HelidonBoundary7MA4YWxkTrZu0gW";
+
+    @Param({"16384", "4194304"})
+    private int partSize;
+
+    private final byte[] readBuffer = new byte[16384];
+    private byte[] entity;
+    private WritableHeaders<?> headers;
+    private EntityReader<MultiPart> reader;
+
+    @Setup
+    public void setup() {
+        byte[] content = new byte[partSize];
+        // binary content with frequent CR LF and dashes, as a worst case for the boundary search
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) "\r\n--abc".charAt(i % 7);
+        }
+        byte[] prefix = ("--" + BOUNDARY + "\r\n"
+                                 + "Content-Disposition: form-data; name=\"file\"; filename=\"upload.bin\"\r\n"
+                                 + "Content-Type: application/octet-stream\r\n"
+                                 + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] suffix = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        entity = Arrays.copyOf(prefix, prefix.length + content.length + suffix.length);
+        System.arraycopy(content, 0, entity, prefix.length, content.length);
+        System.arraycopy(suffix, 0, entity, prefix.length + content.length, suffix.length);
+
+        headers = WritableHeaders.create();
+        headers.set(HeaderNames.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY);
+
+        MediaContext context = MediaContext.builder()
+                .addMediaSupport(MultiPartSupport.create(MultiPartConfig.builder()
+                                                                 .memoryThreshold(65536)
+                                                                 .build()))
+                .build();
+        reader = context.reader(MultiPart.GENERIC_TYPE, headers);
+    }
+
+    @Benchmark
+    public void stream(Blackhole bh) throws IOException {
+        MultiPart multiPart = reader.read(MultiPart.GENERIC_TYPE, new ByteArrayInputStream(entity), headers);
+        ReadablePart part = multiPart.next();
+        try (InputStream in = part.inputStream()) {
+            int read;
+            while ((read = in.read(readBuffer)) != -1) {
+                bh.consume(read);
+            }
+        }
+        bh.consume(multiPart.hasNext());
+    }
+
+    @Benchmark
+    public void buffer(Blackhole bh) {
+        MultiPart multiPart = reader.read(MultiPart.GENERIC_TYPE, new ByteArrayInputStream(entity), headers);
+        try (BufferedPart part = multiPart.next().buffer()) {
+            bh.consume(part.size());
+        }
+        bh.consume(multiPart.hasNext());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+import io.helidon.common.media.type.MediaTypes;
+import io.helidon.metrics.api.Counter;
+import io.helidon.metrics.api.MeterRegistry;
+import io.helidon.metrics.api.MetricsConfig;
+import io.helidon.metrics.api.MetricsFactory;
+import io.helidon.metrics.api.Tag;
+import io.helidon.metrics.providers.micrometer.MicrometerPrometheusFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Scrape time of the Prometheus formatter against the number of time series in the registry,
+ * formatting the whole output into a string or streaming it.
+ * Run with {@code -prof gc} to compare the allocation rate of both approaches.
+ */
+@State(Scope.Benchmark)
+public class PrometheusFormatterJmhTest {
+    // number of tagged series of each counter
+    private static final int SERIES_PER_METER = 50;
+
+    @Param({"1000", "50000"})
+    private int series;
+
+    private MicrometerPrometheusFormatter all;
+    private MicrometerPrometheusFormatter byName;
+
+    @Setup
+    public void setup() {
+        MeterRegistry registry = MetricsFactory.getInstance().globalRegistry(MetricsConfig.create());
+        for (int i = 0; i < series; i++) {
+            registry.getOrCreate(Counter.builder("requests.count." + (i / SERIES_PER_METER))
+                                         .tags(Set.of(Tag.create("path", "/resource/" + (i % SERIES_PER_METER)))))
+                    .increment(i);
+        }
+
+        all = MicrometerPrometheusFormatter.builder(registry)
+                .resultMediaType(MediaTypes.TEXT_PLAIN)
+                .build();
+        byName = MicrometerPrometheusFormatter.builder(registry)
+                .resultMediaType(MediaTypes.TEXT_PLAIN)
+                .meterNameSelection(Set.of("requests.count.0"))
+                .build();
+    }
+
+    @Benchmark
+    public void formatString(Blackhole bh) {
+        bh.consume(all.format().orElseThrow());
+    }
+
+    @Benchmark
+    public void formatStreaming() throws IOException {
+        all.formatStreaming().orElseThrow().write(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void formatStreamingByName() throws IOException {
+        byName.formatStreaming().orElseThrow().write(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.benchmark.jmh;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import io.helidon.common.buffers.BufferData;
+import io.helidon.common.buffers.DataReader;
+import io.helidon.websocket.ClientWsFrame;
+import io.helidon.websocket.WsPerMessageDeflate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * WebSocket client frame masking (encode and decode) and permessage-deflate of a JSON chat message.
+ */
+@State(Scope.Benchmark)
+public class WsFrameJmhTest {
+    private static final String MESSAGE = "{\"user\":\"helidon\",\"room\":\"general\",\"text\":\"Hello World\"}";
+
+    @Param({"125", "16384"})
+    private int payloadSize;
+
+    private final BufferData buffer = BufferData.growing(32768);
+    private byte[] payload;
+    private byte[] encoded;
+    private WsPerMessageDeflate serverDeflate;
+    private WsPerMessageDeflate clientDeflate;
+
+    @Setup
+    public void setup() {
+        payload = MESSAGE.repeat(payloadSize / MESSAGE.length() + 1)
+                .substring(0, payloadSize)
+                .getBytes(StandardCharsets.UTF_8);
+
+        ClientWsFrame.data(BufferData.create(payload), true).writeTo(buffer);
+        encoded = new byte[buffer.available()];
+        buffer.read(encoded);
+
+        serverDeflate = WsPerMessageDeflate.server(List.of(WsPerMessageDeflate.offer(false, false)), false, false, 0)
+                .orElseThrow();
+        clientDeflate = WsPerMessageDeflate.client(List.of(serverDeflate.extensionHeader()), false, 0)
+                .orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serverDeflate.close();
+        clientDeflate.close();
+    }
+
+    @Benchmark
+    public void encode(Blackhole bh) {
+        buffer.clear();
+        ClientWsFrame.data(BufferData.create(payload), true).writeTo(buffer);
+        bh.consume(buffer);
+    }
+
+    @Benchmark
+    public void decode(Blackhole bh) {
+        boolean[] read = new boolean[1];
+        DataReader reader = new DataReader(() -> {
+            if (read[0]) {
+                return null;
+            }
+            read[0] = true;
+            return encoded;
+        });
+        bh.consume(ClientWsFrame.read(null, reader, Integer.MAX_VALUE).payloadData());
+    }
+
+    @Benchmark
+    public void deflate(Blackhole bh) {
+        // context is kept between messages, as it is for a connection
+        BufferData compressed = clientDeflate.compress(BufferData.create(payload), true);
+        bh.consume(serverDeflate.decompress(compressed, true, Integer.MAX_VALUE));
+    }
+}
@@ -64,6 +64,7 @@ public class TcpClientConnection implements ClientConnection {
     private HelidonSocket helidonSocket;
     private DataReader reader;
     private DataWriter writer;
+    private InetAddress resolvedAddress;
     private boolean closed;
 
     private TcpClientConnection(WebClient webClient,
@@ -106,7 +107,26 @@ public class TcpClientConnection implements ClientConnection {
     public TcpClientConnection connect() {
         Tls tls = connectionKey.tls();
         InetSocketAddress targetAddress = inetSocketAddress();
+        // only addresses resolved by a custom resolver are reported back to it
+        InetAddress reportedAddress = connectionKey.dnsResolver().useDefaultJavaResolver() ? null : targetAddress.getAddress();
 
+        try {
+            connect(tls, targetAddress);
+        } catch (RuntimeException e) {
+            if (reportedAddress != null) {
+                connectionKey.dnsResolver().connectionFailed(connectionKey.host(), reportedAddress, e);
+            }
+            throw e;
+        }
+        if (reportedAddress != null) {
+            this.resolvedAddress = reportedAddress;
+            connectionKey.dnsResolver().connectionOpened(connectionKey.host(), reportedAddress);
+        }
+
+        return this;
+    }
+
+    private void connect(Tls tls, InetSocketAddress targetAddress) {
         /*
         Obtain target socket through proxy (if enabled), or connect to target socket
          */
@@ -147,8 +167,6 @@ public class TcpClientConnection implements ClientConnection {
         }
         this.reader = new DataReader(helidonSocket);
         this.writer = new DirectDatatWriter(helidonSocket);
-
-        return this;
     }
 
     @Override
@@ -198,6 +216,9 @@ public class TcpClientConnection implements ClientConnection {
             LOGGER.log(TRACE, "Failed to close a client socket", e);
         }
         this.closed = true;
+        if (resolvedAddress != null) {
+            connectionKey.dnsResolver().connectionClosed(connectionKey.host(), resolvedAddress);
+        }
         closeConsumer.accept(this);
     }
 
@@ -45,4 +45,36 @@ public interface DnsResolver {
      */
     InetAddress resolveAddress(String hostname, DnsAddressLookup dnsAddressLookup);
 
+    /**
+     * A connection to an address returned by {@link #resolveAddress(String, io.helidon.webclient.api.DnsAddressLookup)}
+     * was established.
+     * For each resolved address used to connect, either {@link #connectionFailed(String, java.net.InetAddress, Throwable)},
+     * or this method followed by {@link #connectionClosed(String, java.net.InetAddress)} is invoked.
+     *
+     * @param hostname hostname that was resolved
+     * @param address  address the connection is connected to
+     */
+    default void connectionOpened(String hostname, InetAddress address) {
+    }
+
+    /**
+     * A connection to an address returned by {@link #resolveAddress(String, io.helidon.webclient.api.DnsAddressLookup)}
+     * could not be established.
+     *
+     * @param hostname hostname that was resolved
+     * @param address  address that failed
+     * @param cause    cause of the failure
+     */
+    default void connectionFailed(String hostname, InetAddress address, Throwable cause) {
+    }
+
+    /**
+     * A connection to an address returned by {@link #resolveAddress(String, io.helidon.webclient.api.DnsAddressLookup)}
+     * was closed.
+     *
+     * @param hostname hostname that was resolved
+     * @param address  address the connection was connected to
+     */
+    default void connectionClosed(String hostname, InetAddress address) {
+    }
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient.dns.resolver.balanced;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Security;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import io.helidon.webclient.api.DnsAddressLookup;
+import io.helidon.webclient.api.RuntimeUnknownHostException;
+import io.helidon.webclient.spi.DnsResolver;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+/**
+ * DNS resolver that balances connections across all addresses of a host.
+ * <ul>
+ *     <li>Addresses of a host are resolved again once the TTL expires, by default the DNS cache TTL of the JVM
+ *     (security property {@code networkaddress.cache.ttl}, 30 seconds if not set)</li>
+ *     <li>Each new connection picks two addresses at random and uses the one with fewer open connections
+ *     (power of two choices)</li>
+ *     <li>An address that failed to connect is not used for the ejection time, which doubles with each consecutive
+ *     failure up to 5 minutes; if all addresses are ejected, all of them are used</li>
+ * </ul>
+ * When {@link io.helidon.webclient.api.DnsAddressLookup#IPV4_PREFERRED} or
+ * {@link io.helidon.webclient.api.DnsAddressLookup#IPV6_PREFERRED} is used, only addresses of the preferred version are
+ * used, if there are any.
+ */
+public final class BalancedDnsResolver implements DnsResolver {
+    private static final System.Logger LOGGER = System.getLogger(BalancedDnsResolver.class.getName());
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_EJECTION_TIME = Duration.ofSeconds(10);
+    private static final long MAX_EJECTION_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private final Map<HostKey, Host> hosts = new ConcurrentHashMap<>();
+    private final Function<String, InetAddress[]> lookup;
+    private final LongSupplier clock;
+    private final long ttlNanos;
+    private final long ejectionNanos;
+
+    BalancedDnsResolver(Function<String, InetAddress[]> lookup, LongSupplier clock, Duration ttl, Duration ejectionTime) {
+        this.lookup = lookup;
+        this.clock = clock;
+        this.ttlNanos = ttl.toNanos();
+        this.ejectionNanos = ejectionTime.toNanos();
+    }
+
+    /**
+     * Create new instance with TTL of the JVM DNS cache and ejection time of 10 seconds.
+     *
+     * @return new instance
+     */
+    public static BalancedDnsResolver create() {
+        return create(jvmTtl(), DEFAULT_EJECTION_TIME);
+    }
+
+    /**
+     * Create new instance.
+     *
+     * @param ttl          how long to use resolved addresses before resolving them again
+     * @param ejectionTime how long to avoid an address after its first failure to connect
+     * @return new instance
+     */
+    public static BalancedDnsResolver create(Duration ttl, Duration ejectionTime) {
+        Objects.requireNonNull(ttl, "ttl");
+        Objects.requireNonNull(ejectionTime, "ejectionTime");
+        return new BalancedDnsResolver(BalancedDnsResolver::lookup, System::nanoTime, ttl, ejectionTime);
+    }
+
+    @Override
+    public InetAddress resolveAddress(String hostname, DnsAddressLookup dnsAddressLookup) {
+        Host host = hosts.computeIfAbsent(new HostKey(hostname, dnsAddressLookup), this::resolve);
+        long now = clock.getAsLong();
+        if (now - host.resolvedAt >= ttlNanos) {
+            host = refresh(host, now);
+        }
+        Endpoint endpoint = choose(host.endpoints, now);
+        endpoint.outstanding.incrementAndGet();
+        return endpoint.address;
+    }
+
+    @Override
+    public void connectionOpened(String hostname, InetAddress address) {
+        Endpoint endpoint = endpoint(hostname, address);
+        if (endpoint != null) {
+            endpoint.failures.set(0);
+            endpoint.ejectedUntil = 0;
+        }
+    }
+
+    @Override
+    public void connectionFailed(String hostname, InetAddress address, Throwable cause) {
+        Endpoint endpoint = endpoint(hostname, address);
+        if (endpoint != null) {
+            endpoint.outstanding.decrementAndGet();
+            int failures = endpoint.failures.incrementAndGet();
+            long ejection = ejectionNanos << Math.min(failures - 1, 30);
+            if (ejection <= 0 || ejection > MAX_EJECTION_NANOS) {
+                ejection = MAX_EJECTION_NANOS;
+            }
+            endpoint.ejectedUntil = clock.getAsLong() + ejection;
+            if (LOGGER.isLoggable(DEBUG)) {
+                LOGGER.log(DEBUG, "Ejecting " + address + " of " + hostname + " for " + Duration.ofNanos(ejection)
+                        + " after " + failures + " failure(s)", cause);
+            }
+        }
+    }
+
+    @Override
+    public void connectionClosed(String hostname, InetAddress address) {
+        Endpoint endpoint = endpoint(hostname, address);
+        if (endpoint != null) {
+            endpoint.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Number of open connections to the address, as tracked by this resolver.
+     *
+     * @param hostname hostname
+     * @param address  address of the host
+     * @return number of open connections, {@code 0} if the address is not known
+     */
+    public int openConnections(String hostname, InetAddress address) {
+        Endpoint endpoint = endpoint(hostname, address);
+        return endpoint == null ? 0 : Math.max(0, endpoint.outstanding.get());
+    }
+
+    private static Duration jvmTtl() {
+        String ttl = Security.getProperty("networkaddress.cache.ttl");
+        if (ttl != null) {
+            try {
+                long seconds = Long.parseLong(ttl.trim());
+                // negative means "forever" for the JVM, we still want to see new addresses
+                if (seconds > 0) {
+                    return Duration.ofSeconds(seconds);
+                }
+            } catch (NumberFormatException ignored) {
+                // use default
+            }
+        }
+        return DEFAULT_TTL;
+    }
+
+    private static InetAddress[] lookup(String hostname) {
+        try {
+            return InetAddress.getAllByName(hostname);
+        } catch (UnknownHostException e) {
+            throw new RuntimeUnknownHostException(e);
+        }
+    }
+
+    private Endpoint choose(List<Endpoint> endpoints, long now) {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        List<Endpoint> available = endpoints;
+        for (int i = 0; i < size; i++) {
+            if (endpoints.get(i).ejectedUntil - now > 0) {
+                // at least one endpoint is ejected, use only the healthy ones
+                available = new ArrayList<>(size);
+                for (Endpoint endpoint : endpoints) {
+                    if (endpoint.ejectedUntil - now <= 0) {
+                        available.add(endpoint);
+                    }
+                }
+                if (available.isEmpty()) {
+                    available = endpoints;
+                }
+                break;
+            }
+        }
+        size = available.size();
+        if (size == 1) {
+            return available.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = available.get(first);
+        Endpoint b = available.get(second);
+        return b.outstanding.get() < a.outstanding.get() ? b : a;
+    }
+
+    private Host resolve(HostKey key) {
+        return new Host(key, endpoints(key, Map.of()), clock.getAsLong());
+    }
+
+    // one thread resolves the host again, others keep using the current addresses
+    private Host refresh(Host host, long now) {
+        if (!host.refreshing.compareAndSet(false, true)) {
+            return host;
+        }
+        HostKey key = host.key;
+        Map<InetAddress, Endpoint> current = new HashMap<>();
+        for (Endpoint endpoint : host.endpoints) {
+            current.put(endpoint.address, endpoint);
+        }
+        try {
+            Host refreshed = new Host(key, endpoints(key, current), now);
+            hosts.put(key, refreshed);
+            return refreshed;
+        } catch (RuntimeUnknownHostException e) {
+            LOGGER.log(DEBUG, "Failed to resolve " + key.hostname() + " again, using previous addresses", e);
+            host.resolvedAt = now;
+            return host;
+        } finally {
+            // any failure (not only an unknown host) must allow another refresh
+            host.refreshing.set(false);
+        }
+    }
+
+    // existing endpoints keep their statistics
+    private List<Endpoint> endpoints(HostKey key, Map<InetAddress, Endpoint> current) {
+        InetAddress[] processed = key.lookup().filter(lookup.apply(key.hostname()));
+        if (processed.length == 0) {
+            throw new RuntimeUnknownHostException("No IP version " + key.lookup().name() + " found for host "
+                                                          + key.hostname());
+        }
+        // preferred lookups sort the preferred version first, balance only across the preferred version
+        Class<? extends InetAddress> version = processed[0].getClass();
+        List<Endpoint> endpoints = new ArrayList<>(processed.length);
+        for (InetAddress address : processed) {
+            if (address.getClass() == version) {
+                Endpoint existing = current.get(address);
+                endpoints.add(existing == null ? new Endpoint(address) : existing);
+            }
+        }
+        return List.copyOf(endpoints);
+    }
+
+    private Endpoint endpoint(String hostname, InetAddress address) {
+        for (DnsAddressLookup dnsAddressLookup : DnsAddressLookup.values()) {
+            Host host = hosts.get(new HostKey(hostname, dnsAddressLookup));
+            if (host != null) {
+                for (Endpoint endpoint : host.endpoints) {
+                    if (endpoint.address.equals(address)) {
+                        return endpoint;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private record HostKey(String hostname, DnsAddressLookup lookup) {
+    }
+
+    private static final class Host {
+        private final HostKey key;
+        private final List<Endpoint> endpoints;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long resolvedAt;
+
+        private Host(HostKey key, List<Endpoint> endpoints, long resolvedAt) {
+            this.key = key;
+            this.endpoints = endpoints;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    private static final class Endpoint {
+        private final InetAddress address;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long ejectedUntil;
+
+        private Endpoint(InetAddress address) {
+            this.address = address;
+        }
+    }
+}
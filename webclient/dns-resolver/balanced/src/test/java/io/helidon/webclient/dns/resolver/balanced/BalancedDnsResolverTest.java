@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient.dns.resolver.balanced;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.helidon.webclient.api.DnsAddressLookup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.both;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BalancedDnsResolverTest {
+    private static final String HOST = "service.example";
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration EJECTION = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private InetAddress[] addresses;
+    private RuntimeException failure;
+    private BalancedDnsResolver resolver;
+
+    @BeforeEach
+    void setUp() throws UnknownHostException {
+        addresses = new InetAddress[] {address(1), address(2), address(3)};
+        resolver = new BalancedDnsResolver(hostname -> {
+            lookups.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return addresses;
+        }, clock::get, TTL, EJECTION);
+    }
+
+    @Test
+    void testLeastOutstandingConnections() {
+        Map<InetAddress, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            counts.merge(resolver.resolveAddress(HOST, DnsAddressLookup.IPV4), 1, Integer::sum);
+        }
+        // power of two choices keeps the connections close to evenly spread
+        for (InetAddress address : addresses) {
+            assertThat(counts.get(address), is(both(greaterThan(90)).and(lessThan(110))));
+            assertThat(resolver.openConnections(HOST, address), is(counts.get(address)));
+        }
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    void testClosedConnectionsReleased() {
+        InetAddress address = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        resolver.connectionOpened(HOST, address);
+        assertThat(resolver.openConnections(HOST, address), is(1));
+
+        resolver.connectionClosed(HOST, address);
+        assertThat(resolver.openConnections(HOST, address), is(0));
+    }
+
+    @Test
+    void testEjection() {
+        InetAddress failed = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        resolver.connectionFailed(HOST, failed, new IllegalStateException("Connection refused"));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(resolver.resolveAddress(HOST, DnsAddressLookup.IPV4), not(failed));
+        }
+
+        // after the ejection time the address is used again
+        clock.addAndGet(EJECTION.toNanos());
+        boolean used = false;
+        for (int i = 0; i < 100 && !used; i++) {
+            used = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4).equals(failed);
+        }
+        assertThat(used, is(true));
+
+        // second consecutive failure doubles the ejection time
+        resolver.connectionFailed(HOST, failed, new IllegalStateException("Connection refused"));
+        clock.addAndGet(EJECTION.toNanos());
+        for (int i = 0; i < 20; i++) {
+            assertThat(resolver.resolveAddress(HOST, DnsAddressLookup.IPV4), not(failed));
+        }
+    }
+
+    @Test
+    void testAllEjected() {
+        for (InetAddress address : addresses) {
+            resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+            resolver.connectionFailed(HOST, address, new IllegalStateException("Connection refused"));
+        }
+        // better try an ejected address than fail
+        InetAddress address = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        assertThat(address.getAddress()[0], is((byte) 10));
+    }
+
+    @Test
+    void testReResolveAfterTtl() throws UnknownHostException {
+        InetAddress first = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        assertThat(lookups.get(), is(1));
+
+        clock.addAndGet(TTL.toNanos() - 1);
+        resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        assertThat(lookups.get(), is(1));
+
+        // the address still present keeps its open connections, removed addresses are forgotten
+        InetAddress[] previous = addresses;
+        addresses = new InetAddress[] {first, address(4)};
+        clock.addAndGet(1);
+        InetAddress resolved = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        assertThat(lookups.get(), is(2));
+        assertThat(resolved, is(address(4)));
+        assertThat(resolver.openConnections(HOST, first), is(1));
+        for (InetAddress address : previous) {
+            if (!address.equals(first)) {
+                assertThat(resolver.openConnections(HOST, address), is(0));
+            }
+        }
+    }
+
+    @Test
+    void testFailedReResolveKeepsAddresses() {
+        resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        addresses = new InetAddress[0];
+        clock.addAndGet(TTL.toNanos());
+
+        InetAddress resolved = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        assertThat(resolved.getAddress()[0], is((byte) 10));
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    void testUnexpectedFailureAllowsNextRefresh() {
+        resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        failure = new IllegalStateException("Lookup failed");
+        clock.addAndGet(TTL.toNanos());
+
+        assertThrows(IllegalStateException.class, () -> resolver.resolveAddress(HOST, DnsAddressLookup.IPV4));
+        assertThat(lookups.get(), is(2));
+
+        // the failed refresh must not block the following ones
+        failure = null;
+        InetAddress resolved = resolver.resolveAddress(HOST, DnsAddressLookup.IPV4);
+        assertThat(resolved.getAddress()[0], is((byte) 10));
+        assertThat(lookups.get(), is(3));
+    }
+
+    private static InetAddress address(int last) throws UnknownHostException {
+        return InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, (byte) last});
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.helidon.webclient.http1;
 
+import java.net.URI;
 import java.util.function.Consumer;
 
 import io.helidon.builder.api.RuntimeType;
@@ -88,4 +89,38 @@ public interface Http1Client extends HttpClient<Http1ClientRequest>, RuntimeType
     static Http1Client create(Config config) {
         return create(it -> it.config(config));
     }
+
+    /**
+     * Open keep-alive connections to the host of the URI in advance, so first requests do not wait for the connection
+     * to be established (including TLS handshake).
+     * Connections use the TLS and proxy configuration of this client and count towards the connection limits.
+     * Implementations that do not use network connections ignore this method.
+     *
+     * @param uri         URI of the host to connect to
+     * @param connections number of idle connections to have available
+     */
+    default void prewarm(URI uri, int connections) {
+    }
+
+    /**
+     * Statistics of the keep-alive connection pool used by this client.
+     * When the connection cache is shared (see {@link Http1ClientConfig#shareConnectionCache()}), the statistics
+     * cover all clients using the shared cache.
+     * Implementations that do not pool connections return statistics with all values set to zero.
+     *
+     * @return connection pool statistics
+     */
+    default ConnectionPoolStatistics connectionPoolStatistics() {
+        return new ConnectionPoolStatistics(0, 0, 0);
+    }
+
+    /**
+     * Statistics of the HTTP/1.1 connection pool.
+     *
+     * @param leased  number of connections currently in use by requests
+     * @param idle    number of idle connections available for reuse
+     * @param pending number of requests waiting for a connection because of connection limits
+     */
+    record ConnectionPoolStatistics(int leased, int idle, int pending) {
+    }
 }
@@ -16,6 +16,8 @@
 
 package io.helidon.webclient.http1;
 
+import java.net.URI;
+
 import io.helidon.http.Method;
 import io.helidon.webclient.api.ClientRequest;
 import io.helidon.webclient.api.ClientUri;
@@ -52,6 +54,16 @@ class Http1ClientImpl implements Http1Client, HttpClientSpi {
         return new Http1ClientRequestImpl(this, method, clientUri, clientConfig.properties());
     }
 
+    @Override
+    public void prewarm(URI uri, int connections) {
+        connectionCache.prewarm(this, clientConfig.tls(), clientConfig.proxy(), ClientUri.create(uri), connections);
+    }
+
+    @Override
+    public ConnectionPoolStatistics connectionPoolStatistics() {
+        return connectionCache.statistics();
+    }
+
     @Override
     public Http1ClientConfig prototype() {
         return clientConfig;
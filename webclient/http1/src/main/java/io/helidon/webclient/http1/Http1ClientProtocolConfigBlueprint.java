@@ -16,6 +16,9 @@
 
 package io.helidon.webclient.http1;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import io.helidon.builder.api.Prototype;
 import io.helidon.config.metadata.Configured;
 import io.helidon.config.metadata.ConfiguredOption;
@@ -82,4 +85,55 @@ interface Http1ClientProtocolConfigBlueprint extends ProtocolConfig {
      */
     @ConfiguredOption("true")
     boolean validateResponseHeaders();
+
+    /**
+     * Maximal number of keep-alive connections to a single host (scheme, host, port, TLS and proxy), both in use and
+     * idle. When reached, requests wait for a connection to be returned, up to {@link #connectionAcquireTimeout()}.
+     * The number of idle connections kept per host is limited by the connection cache size of the client.
+     * When the connection cache is shared, only clients with the same pool configuration share connections to a host,
+     * each such group is limited separately.
+     * Defaults to {@code -1}, which means not limited.
+     *
+     * @return maximal number of connections per host
+     */
+    @ConfiguredOption("-1")
+    int maxConnectionsPerHost();
+
+    /**
+     * Maximal number of keep-alive connections across all hosts, both in use and idle.
+     * When reached, an idle connection to another host is closed, or requests wait for a connection to be closed, up to
+     * {@link #connectionAcquireTimeout()}.
+     * When the connection cache is shared, connections of all clients using the shared cache are counted.
+     * Defaults to {@code -1}, which means not limited.
+     *
+     * @return maximal number of connections
+     */
+    @ConfiguredOption("-1")
+    int maxConnections();
+
+    /**
+     * How long to wait for a connection when {@link #maxConnectionsPerHost()} or {@link #maxConnections()} is reached.
+     *
+     * @return timeout to obtain a connection
+     */
+    @ConfiguredOption("PT10S")
+    Duration connectionAcquireTimeout();
+
+    /**
+     * How long a keep-alive connection may stay idle in the connection cache before it is closed.
+     *
+     * @return idle timeout of cached connections
+     */
+    @ConfiguredOption("PT60S")
+    Duration idleConnectionTimeout();
+
+    /**
+     * Maximal lifetime of a keep-alive connection. Older connections are closed once returned to the cache, or when
+     * idle. This allows clients to pick up DNS changes of the server.
+     * If not configured, connections are kept as long as they are used.
+     *
+     * @return maximal lifetime of a connection
+     */
+    @ConfiguredOption
+    Optional<Duration> maxConnectionLifetime();
 }
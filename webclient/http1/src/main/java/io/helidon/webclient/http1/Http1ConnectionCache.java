@@ -17,11 +17,23 @@
 package io.helidon.webclient.http1;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import io.helidon.common.tls.Tls;
 import io.helidon.http.ClientRequestHeaders;
@@ -38,22 +50,48 @@ import static java.lang.System.Logger.Level.DEBUG;
 
 /**
  * Cache of HTTP/1.1 connections for keep alive.
+ * Connections are pooled per {@link io.helidon.webclient.api.ConnectionKey}. The number of connections can be limited
+ * per host and in total, idle and too old connections are closed by a background task.
+ * When the cache is shared, clients with different pool limits (connection cache size, connections per host, idle
+ * timeout and lifetime) use separate pools for the same host, while the total limit counts connections of all clients.
+ * Pools without any connections or waiting requests are removed by the background task, so the cache does not grow
+ * with the number of hosts the clients ever connected to.
  */
 class Http1ConnectionCache {
     private static final System.Logger LOGGER = System.getLogger(Http1ConnectionCache.class.getName());
     private static final Tls NO_TLS = Tls.builder().enabled(false).build();
     private static final String HTTPS = "https";
-    private static final Http1ConnectionCache SHARED = create();
     private static final List<String> ALPN_ID = List.of(Http1Client.PROTOCOL_ID);
-    private static final Duration QUEUE_TIMEOUT = Duration.ofMillis(10);
-    private final Map<ConnectionKey, LinkedBlockingDeque<TcpClientConnection>> cache = new ConcurrentHashMap<>();
+    private static final long SWEEP_PERIOD_MILLIS = 1000;
+    // how long to wait before checking again whether a connection to another host was closed
+    private static final long GLOBAL_LIMIT_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // caches of clients that are no longer used can be garbage collected
+    private static final Set<Http1ConnectionCache> CACHES =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("helidon-http1-connection-sweeper").factory());
+    private static final Http1ConnectionCache SHARED = create();
+
+    static {
+        SWEEPER.scheduleWithFixedDelay(Http1ConnectionCache::sweepAll,
+                                       SWEEP_PERIOD_MILLIS,
+                                       SWEEP_PERIOD_MILLIS,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    // clients sharing this cache with different pool limits use separate pools for the same host
+    private final Map<PoolKey, HostPool> cache = new ConcurrentHashMap<>();
+    // all pooled connections (in use, idle, and being connected) across all hosts
+    private final AtomicInteger connections = new AtomicInteger();
 
     static Http1ConnectionCache shared() {
         return SHARED;
     }
 
     static Http1ConnectionCache create() {
-        return new Http1ConnectionCache();
+        Http1ConnectionCache cache = new Http1ConnectionCache();
+        CACHES.add(cache);
+        return cache;
     }
 
     ClientConnection connection(Http1ClientImpl http1Client,
@@ -86,10 +124,83 @@ class Http1ConnectionCache {
         return false;
     }
 
+    /**
+     * Open idle keep-alive connections in advance, up to the provided number of idle connections.
+     *
+     * @param http1Client client
+     * @param tls         TLS to use for HTTPS
+     * @param proxy       proxy to use
+     * @param uri         URI of the host
+     * @param count       number of idle connections to have available
+     * @return number of newly opened connections
+     */
+    int prewarm(Http1ClientImpl http1Client, Tls tls, Proxy proxy, ClientUri uri, int count) {
+        Tls effectiveTls = HTTPS.equals(uri.scheme()) ? tls : NO_TLS;
+        int opened;
+        do {
+            // a pool removed by the sweeper in the meantime refuses to open connections, use a new one
+            opened = hostPool(http1Client, effectiveTls, uri, proxy).prewarm(http1Client, count);
+        } while (opened < 0);
+        return opened;
+    }
+
+    Http1Client.ConnectionPoolStatistics statistics() {
+        int leased = 0;
+        int idle = 0;
+        int pending = 0;
+        for (HostPool pool : cache.values()) {
+            Http1Client.ConnectionPoolStatistics statistics = pool.statistics();
+            leased += statistics.leased();
+            idle += statistics.idle();
+            pending += statistics.pending();
+        }
+        return new Http1Client.ConnectionPoolStatistics(leased, idle, pending);
+    }
+
+    // number of host pools, empty pools are removed by the background task
+    int poolCount() {
+        return cache.size();
+    }
+
+    private static void sweepAll() {
+        List<Http1ConnectionCache> caches;
+        synchronized (CACHES) {
+            caches = new ArrayList<>(CACHES);
+        }
+        long now = System.nanoTime();
+        for (Http1ConnectionCache connectionCache : caches) {
+            for (Map.Entry<PoolKey, HostPool> entry : connectionCache.cache.entrySet()) {
+                HostPool pool = entry.getValue();
+                try {
+                    if (pool.sweep(now)) {
+                        // empty pool is retired, it can no longer be used
+                        connectionCache.cache.remove(entry.getKey(), pool);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.log(DEBUG, "Failed to close idle connections of " + pool.connectionKey.host(), e);
+                }
+            }
+        }
+    }
+
     private ClientConnection keepAliveConnection(Http1ClientImpl http1Client,
                                                  Tls tls,
                                                  ClientUri uri,
                                                  Proxy proxy) {
+        TcpClientConnection connection;
+        do {
+            // a pool removed by the sweeper in the meantime returns null, use a new one
+            connection = hostPool(http1Client, tls, uri, proxy).acquire(http1Client);
+        } while (connection == null);
+        if (LOGGER.isLoggable(DEBUG)) {
+            LOGGER.log(DEBUG, String.format("[%s] client connection obtained %s",
+                                            connection.channelId(),
+                                            Thread.currentThread().getName()));
+        }
+        return connection;
+    }
+
+    private HostPool hostPool(Http1ClientImpl http1Client, Tls tls, ClientUri uri, Proxy proxy) {
         Http1ClientConfig clientConfig = http1Client.clientConfig();
 
         ConnectionKey connectionKey = new ConnectionKey(uri.scheme(),
@@ -100,30 +211,37 @@ class Http1ConnectionCache {
                                                         clientConfig.dnsAddressLookup(),
                                                         proxy);
 
-        LinkedBlockingDeque<TcpClientConnection> connectionQueue =
-                cache.computeIfAbsent(connectionKey,
-                                      it -> new LinkedBlockingDeque<>(clientConfig.connectionCacheSize()));
+        PoolLimits limits = PoolLimits.create(clientConfig.connectionCacheSize(), http1Client.protocolConfig());
+        return cache.computeIfAbsent(new PoolKey(connectionKey, limits), it -> new HostPool(connectionKey, limits));
+    }
 
-        TcpClientConnection connection;
-        while ((connection = connectionQueue.poll()) != null && !connection.isConnected()) {
+    private boolean reserveConnection(int maxConnections) {
+        if (maxConnections < 0) {
+            connections.incrementAndGet();
+            return true;
         }
+        int current;
+        do {
+            current = connections.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+        } while (!connections.compareAndSet(current, current + 1));
+        return true;
+    }
 
-        if (connection == null) {
-            connection = TcpClientConnection.create(http1Client.webClient(),
-                                                    connectionKey,
-                                                    ALPN_ID,
-                                                    conn -> finishRequest(connectionQueue, conn),
-                                                    conn -> {
-                                                    })
-                    .connect();
-        } else {
-            if (LOGGER.isLoggable(DEBUG)) {
-                LOGGER.log(DEBUG, String.format("[%s] client connection obtained %s",
-                                                connection.channelId(),
-                                                Thread.currentThread().getName()));
+    private void releaseConnection() {
+        connections.decrementAndGet();
+    }
+
+    // close an idle connection to another host to make space for a new connection when the total limit is reached
+    private boolean evictIdleConnection(HostPool requester) {
+        for (HostPool pool : cache.values()) {
+            if (pool != requester && pool.evictIdle()) {
+                return true;
             }
         }
-        return connection;
+        return false;
     }
 
     private ClientConnection oneOffConnection(Http1ClientImpl http1Client,
@@ -150,34 +268,344 @@ class Http1ConnectionCache {
                 .connect();
     }
 
-    private boolean finishRequest(LinkedBlockingDeque<TcpClientConnection> connectionQueue, TcpClientConnection conn) {
-        if (conn.isConnected()) {
+    private record PoolKey(ConnectionKey connectionKey, PoolLimits limits) {
+    }
+
+    /**
+     * Limits of a single host pool, as configured on the client.
+     *
+     * @param maxIdle          maximal number of idle connections
+     * @param maxConnections   maximal number of connections, {@code -1} if not limited
+     * @param idleTimeoutNanos how long a connection may stay idle
+     * @param maxLifetimeNanos how long a connection may be used, {@link Long#MAX_VALUE} if not limited
+     */
+    private record PoolLimits(int maxIdle, int maxConnections, long idleTimeoutNanos, long maxLifetimeNanos) {
+        static PoolLimits create(int maxIdle, Http1ClientProtocolConfig protocolConfig) {
+            return new PoolLimits(maxIdle,
+                                  protocolConfig.maxConnectionsPerHost(),
+                                  protocolConfig.idleConnectionTimeout().toNanos(),
+                                  protocolConfig.maxConnectionLifetime()
+                                          .map(Duration::toNanos)
+                                          .orElse(Long.MAX_VALUE));
+        }
+    }
+
+    private static final class PooledConnection {
+        private final long created;
+        private long idleSince;
+        private boolean idle;
+
+        private PooledConnection(long created) {
+            this.created = created;
+        }
+    }
+
+    /**
+     * Connections to a single host.
+     */
+    private final class HostPool {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition available = lock.newCondition();
+        // idle connections, the connection returned first is reused first
+        private final Deque<TcpClientConnection> idle = new ArrayDeque<>();
+        // all connected connections of this pool (in use and idle)
+        private final Map<TcpClientConnection, PooledConnection> pooled = new IdentityHashMap<>();
+        private final ConnectionKey connectionKey;
+        private final int maxIdle;
+        private final int maxConnections;
+        private final long idleTimeoutNanos;
+        private final long maxLifetimeNanos;
+        private int leased;
+        private int connecting;
+        private int pending;
+        // removed from the cache, must not be used to open new connections
+        private boolean retired;
+
+        private HostPool(ConnectionKey connectionKey, PoolLimits limits) {
+            this.connectionKey = connectionKey;
+            this.maxIdle = limits.maxIdle();
+            this.maxConnections = limits.maxConnections();
+            this.idleTimeoutNanos = limits.idleTimeoutNanos();
+            this.maxLifetimeNanos = limits.maxLifetimeNanos();
+        }
+
+        // returns null if this pool was retired
+        TcpClientConnection acquire(Http1ClientImpl http1Client) {
+            Http1ClientProtocolConfig protocolConfig = http1Client.protocolConfig();
+            long deadline = System.nanoTime() + protocolConfig.connectionAcquireTimeout().toNanos();
+            List<TcpClientConnection> toClose = new ArrayList<>();
+            TcpClientConnection connection = null;
+
+            lock.lock();
             try {
-                if (connectionQueue.offer(conn, QUEUE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
-                    conn.helidonSocket().idle(); // mark it as idle to stay blocked at read for closed conn detection
-                    if (LOGGER.isLoggable(DEBUG)) {
-                        LOGGER.log(DEBUG, "[%s] client connection returned %s",
-                                   conn.channelId(),
-                                   Thread.currentThread().getName());
+                while (connection == null) {
+                    if (retired) {
+                        return null;
+                    }
+                    connection = pollIdle(toClose);
+                    if (connection != null) {
+                        leased++;
+                        break;
+                    }
+                    long waitNanos = deadline - System.nanoTime();
+                    if (maxConnections < 0 || pooled.size() + connecting < maxConnections) {
+                        if (reserveConnection(protocolConfig.maxConnections())) {
+                            connecting++;
+                            break;
+                        }
+                        // total limit reached, we must not hold our lock while closing a connection of another pool
+                        lock.unlock();
+                        boolean evicted;
+                        try {
+                            evicted = evictIdleConnection(this);
+                        } finally {
+                            lock.lock();
+                        }
+                        if (evicted) {
+                            continue;
+                        }
+                        waitNanos = Math.min(waitNanos, GLOBAL_LIMIT_WAIT_NANOS);
                     }
+                    if (deadline - System.nanoTime() <= 0) {
+                        throw new IllegalStateException("Timed out waiting for a connection to "
+                                                                + connectionKey.host() + ":" + connectionKey.port());
+                    }
+                    pending++;
+                    try {
+                        available.awaitNanos(waitNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for a connection to "
+                                                                + connectionKey.host() + ":" + connectionKey.port(), e);
+                    } finally {
+                        pending--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+                toClose.forEach(TcpClientConnection::closeResource);
+            }
+
+            if (connection == null) {
+                connection = connect(http1Client.webClient());
+                lock.lock();
+                try {
+                    leased++;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return connection;
+        }
+
+        // returns -1 if this pool was retired before any connection was opened
+        int prewarm(Http1ClientImpl http1Client, int count) {
+            int opened = 0;
+            while (true) {
+                lock.lock();
+                try {
+                    if (retired) {
+                        return opened == 0 ? -1 : opened;
+                    }
+                    if (idle.size() + connecting >= Math.min(count, maxIdle)
+                            || (maxConnections >= 0 && pooled.size() + connecting >= maxConnections)
+                            || !reserveConnection(http1Client.protocolConfig().maxConnections())) {
+                        return opened;
+                    }
+                    connecting++;
+                } finally {
+                    lock.unlock();
+                }
+                TcpClientConnection connection = connect(http1Client.webClient());
+                opened++;
+                lock.lock();
+                try {
+                    toIdle(connection, pooled.get(connection));
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        Http1Client.ConnectionPoolStatistics statistics() {
+            lock.lock();
+            try {
+                return new Http1Client.ConnectionPoolStatistics(leased, idle.size(), pending);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // returns true if the pool has no connections and no waiting requests, and was retired
+        boolean sweep(long now) {
+            List<TcpClientConnection> toClose = new ArrayList<>();
+            boolean retire;
+            lock.lock();
+            try {
+                Iterator<TcpClientConnection> iterator = idle.iterator();
+                while (iterator.hasNext()) {
+                    TcpClientConnection connection = iterator.next();
+                    PooledConnection pooledConnection = pooled.get(connection);
+                    if (!connection.isConnected()
+                            || now - pooledConnection.idleSince >= idleTimeoutNanos
+                            || expired(pooledConnection, now)) {
+                        iterator.remove();
+                        discard(connection);
+                        toClose.add(connection);
+                    }
+                }
+                if (!toClose.isEmpty()) {
+                    available.signalAll();
+                }
+                if (pooled.isEmpty() && leased == 0 && connecting == 0 && pending == 0) {
+                    retired = true;
+                }
+                retire = retired;
+            } finally {
+                lock.unlock();
+            }
+            toClose.forEach(TcpClientConnection::closeResource);
+            return retire;
+        }
+
+        boolean evictIdle() {
+            TcpClientConnection connection;
+            lock.lock();
+            try {
+                connection = idle.pollFirst();
+                if (connection == null) {
+                    return false;
+                }
+                discard(connection);
+            } finally {
+                lock.unlock();
+            }
+            connection.closeResource();
+            return true;
+        }
+
+        private TcpClientConnection connect(WebClient webClient) {
+            TcpClientConnection connection;
+            try {
+                connection = TcpClientConnection.create(webClient,
+                                                        connectionKey,
+                                                        ALPN_ID,
+                                                        this::release,
+                                                        this::closed)
+                        .connect();
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    connecting--;
+                    releaseConnection();
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+            lock.lock();
+            try {
+                connecting--;
+                pooled.put(connection, new PooledConnection(System.nanoTime()));
+            } finally {
+                lock.unlock();
+            }
+            return connection;
+        }
+
+        // release function of the connection, returns false if the connection should be closed
+        private boolean release(TcpClientConnection connection) {
+            lock.lock();
+            try {
+                PooledConnection pooledConnection = pooled.get(connection);
+                if (pooledConnection == null) {
+                    return false;
+                }
+                if (pooledConnection.idle) {
+                    // already returned
                     return true;
-                } else {
+                }
+                if (!connection.isConnected() || expired(pooledConnection, System.nanoTime())) {
+                    return false;
+                }
+                if (idle.size() >= maxIdle) {
                     if (LOGGER.isLoggable(DEBUG)) {
                         LOGGER.log(DEBUG, "[%s] Unable to return client connection because queue is full %s",
-                                   conn.channelId(),
+                                   connection.channelId(),
                                    Thread.currentThread().getName());
                     }
+                    return false;
                 }
-            } catch (InterruptedException e) {
-                if (LOGGER.isLoggable(DEBUG)) {
-                    LOGGER.log(DEBUG, "[%s] Unable to return client connection due to '%s' %s",
-                               conn.channelId(),
-                               e.getMessage(),
-                               Thread.currentThread().getName());
+                leased--;
+                toIdle(connection, pooledConnection);
+            } finally {
+                lock.unlock();
+            }
+            if (LOGGER.isLoggable(DEBUG)) {
+                LOGGER.log(DEBUG, "[%s] client connection returned %s",
+                           connection.channelId(),
+                           Thread.currentThread().getName());
+            }
+            return true;
+        }
+
+        // close consumer of the connection
+        private void closed(TcpClientConnection connection) {
+            lock.lock();
+            try {
+                PooledConnection pooledConnection = pooled.remove(connection);
+                if (pooledConnection == null) {
+                    // already discarded
+                    return;
+                }
+                if (pooledConnection.idle) {
+                    idle.remove(connection);
+                } else {
+                    leased--;
                 }
+                releaseConnection();
+                available.signal();
+            } finally {
+                lock.unlock();
             }
         }
 
-        return false;
+        // must be called while holding the lock
+        private TcpClientConnection pollIdle(List<TcpClientConnection> toClose) {
+            long now = System.nanoTime();
+            TcpClientConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                PooledConnection pooledConnection = pooled.get(connection);
+                pooledConnection.idle = false;
+                if (connection.isConnected() && !expired(pooledConnection, now)) {
+                    return connection;
+                }
+                discard(connection);
+                toClose.add(connection);
+            }
+            return null;
+        }
+
+        // must be called while holding the lock
+        private void toIdle(TcpClientConnection connection, PooledConnection pooledConnection) {
+            // mark it as idle to stay blocked at read for closed conn detection
+            connection.helidonSocket().idle();
+            pooledConnection.idle = true;
+            pooledConnection.idleSince = System.nanoTime();
+            idle.addLast(connection);
+            available.signal();
+        }
+
+        // must be called while holding the lock, the connection is removed from idle connections by the caller
+        private void discard(TcpClientConnection connection) {
+            if (pooled.remove(connection) != null) {
+                releaseConnection();
+            }
+        }
+
+        private boolean expired(PooledConnection pooledConnection, long now) {
+            return now - pooledConnection.created >= maxLifetimeNanos;
+        }
     }
 }
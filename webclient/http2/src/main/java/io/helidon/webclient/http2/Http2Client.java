@@ -82,4 +82,32 @@ public interface Http2Client extends HttpClient<Http2ClientRequest>, RuntimeType
     static Http2Client create(Config config) {
         return create(it -> it.config(config));
     }
+
+    /**
+     * Statistics of the connection pool used by this client.
+     * The client opens additional connections to the same endpoint when the server's {@code MAX_CONCURRENT_STREAMS}
+     * limit is reached on all existing connections.
+     * When the connection cache is shared (see {@link Http2ClientConfig#shareConnectionCache()}), the statistics
+     * cover all clients using the shared cache.
+     * Implementations that do not pool connections return statistics with all values set to zero.
+     *
+     * @return connection pool statistics
+     */
+    default ConnectionPoolStatistics connectionPoolStatistics() {
+        return new ConnectionPoolStatistics(0, 0, 0, 0);
+    }
+
+    /**
+     * Statistics of the HTTP/2 connection pool.
+     *
+     * @param connections       number of open connections
+     * @param activeStreams     number of streams currently in use across all connections
+     * @param openedConnections number of connections opened since the pool was created
+     * @param closedConnections number of connections closed since the pool was created
+     */
+    record ConnectionPoolStatistics(int connections,
+                                    int activeStreams,
+                                    long openedConnections,
+                                    long closedConnections) {
+    }
 }
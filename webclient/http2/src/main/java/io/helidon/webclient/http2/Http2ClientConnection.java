@@ -25,6 +25,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -63,6 +64,8 @@ import static java.lang.System.Logger.Level.WARNING;
 class Http2ClientConnection {
     private static final System.Logger LOGGER = System.getLogger(Http2ClientConnection.class.getName());
     private static final int FRAME_HEADER_LENGTH = 9;
+    // how long to wait for the server SETTINGS frame before opening a second stream on a new connection
+    private static final long SETTINGS_TIMEOUT_MILLIS = 1000;
     private final Http2FrameListener sendListener = new Http2LoggingFrameListener("cl-send");
     private final Http2FrameListener recvListener = new Http2LoggingFrameListener("cl-recv");
     private final LockingStreamIdSequence streamIdSeq = new LockingStreamIdSequence();
@@ -80,7 +83,13 @@ class Http2ClientConnection {
     private final DataWriter dataWriter;
     private final Semaphore pingPongSemaphore = new Semaphore(0);
     private final Http2ClientConfig clientConfig;
+    private final CountDownLatch settingsReceived = new CountDownLatch(1);
+    // streams reserved by tryStream/createStream, released when the stream is closed
+    private final AtomicInteger activeStreams = new AtomicInteger();
     private volatile int lastStreamId;
+    // server SETTINGS_MAX_CONCURRENT_STREAMS, not limited until the server tells us otherwise
+    private volatile long maxConcurrentStreams = Long.MAX_VALUE;
+    private volatile long idleSince = System.nanoTime();
 
     private Http2Settings serverSettings = Http2Settings.builder()
             .build();
@@ -136,7 +145,24 @@ class Http2ClientConnection {
 
     }
 
+    /**
+     * Create a new stream, even if this would exceed the maximal number of concurrent streams of the server.
+     * Used for the first stream of a new connection.
+     *
+     * @param config stream configuration
+     * @return a new stream
+     */
     Http2ClientStream createStream(Http2StreamConfig config) {
+        activeStreams.incrementAndGet();
+        try {
+            return newStream(config);
+        } catch (RuntimeException e) {
+            releaseStream();
+            throw e;
+        }
+    }
+
+    private Http2ClientStream newStream(Http2StreamConfig config) {
         //FIXME: priority
         Http2ClientStream stream = new Http2ClientStream(this,
                 serverSettings,
@@ -165,17 +191,95 @@ class Http2ClientConnection {
         } finally {
             lock.unlock();
         }
-
+        releaseStream();
     }
 
+    /**
+     * Create a new stream if the server allows another concurrent stream on this connection.
+     *
+     * This method never blocks waiting for the server SETTINGS, see {@link #settingsPending()}.
+     *
+     * @param config stream configuration
+     * @return a new stream, or {@code null} if this connection is closed, ran out of streams,
+     *         or the server SETTINGS are not known yet
+     */
     Http2ClientStream tryStream(Http2StreamConfig config) {
+        if (closed || settingsPending()) {
+            return null;
+        }
+        int current;
+        do {
+            current = activeStreams.get();
+            if (current >= maxConcurrentStreams) {
+                return null;
+            }
+        } while (!activeStreams.compareAndSet(current, current + 1));
+
         try {
-            return createStream(config);
+            return newStream(config);
         } catch (IllegalStateException | UncheckedIOException e) {
+            releaseStream();
             return null;
         }
     }
 
+    /**
+     * Whether a new stream must wait for the server SETTINGS.
+     * The first stream can always be opened, for others we need to know the server limit of concurrent streams.
+     *
+     * @return whether {@link #awaitSettings()} should be called before obtaining another stream
+     */
+    boolean settingsPending() {
+        return activeStreams.get() > 0 && settingsReceived.getCount() > 0;
+    }
+
+    /**
+     * Wait for the server SETTINGS frame. If not received within a timeout, the server is assumed not to limit
+     * the number of concurrent streams.
+     * Must not be called while holding a lock shared with other requests.
+     */
+    void awaitSettings() {
+        try {
+            if (!settingsReceived.await(SETTINGS_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                ctx.log(LOGGER, DEBUG, "Server SETTINGS not received within %d ms, assuming unlimited streams",
+                        SETTINGS_TIMEOUT_MILLIS);
+                settingsReceived.countDown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for server SETTINGS", e);
+        }
+    }
+
+    /**
+     * Number of streams currently in use on this connection.
+     *
+     * @return active streams
+     */
+    int activeStreams() {
+        return activeStreams.get();
+    }
+
+    /**
+     * Maximal number of concurrent streams as configured by the server.
+     *
+     * @return maximal concurrent streams, {@link Long#MAX_VALUE} if not limited
+     */
+    long maxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * Whether this connection has no active streams for at least the provided time.
+     *
+     * @param timeoutNanos idle timeout in nanoseconds
+     * @param now          current {@link System#nanoTime()}
+     * @return whether the connection is idle
+     */
+    boolean idle(long timeoutNanos, long now) {
+        return activeStreams.get() == 0 && now - idleSince >= timeoutNanos;
+    }
+
     boolean closed() {
         return closed || (protocolConfig.ping() && !ping());
     }
@@ -202,6 +306,23 @@ class Http2ClientConnection {
         this.lastStreamId = lastStreamId;
     }
 
+    /**
+     * Close this connection gracefully, informing the server with a GOAWAY frame with no error.
+     * Should only be called when there are no active streams.
+     * The last stream id of the GOAWAY frame refers to streams initiated by the server, the client
+     * disables server push, so it is always {@code 0}.
+     */
+    void closeGracefully() {
+        if (!closed) {
+            try {
+                goAway(0, Http2ErrorCode.NO_ERROR, "Idle connection");
+            } catch (UncheckedIOException e) {
+                ctx.log(LOGGER, TRACE, "Failed to send GOAWAY, connection already closed", e);
+            }
+        }
+        close();
+    }
+
     void close() {
         closed = true;
         try {
@@ -367,9 +488,13 @@ class Http2ClientConnection {
                 }
 
             }
+            // §5.1.2 Number of streams the server allows us to open
+            if (serverSettings.hasValue(Http2Setting.MAX_CONCURRENT_STREAMS)) {
+                maxConcurrentStreams = serverSettings.value(Http2Setting.MAX_CONCURRENT_STREAMS);
+            }
             // §6.5.3 Settings Synchronization
             ackSettings();
-            //FIXME: Max number of concurrent streams
+            settingsReceived.countDown();
             return true;
 
         case WINDOW_UPDATE:
@@ -447,6 +572,12 @@ class Http2ClientConnection {
         return true;
     }
 
+    private void releaseStream() {
+        if (activeStreams.decrementAndGet() == 0) {
+            idleSince = System.nanoTime();
+        }
+    }
+
     private void ackSettings() {
         Http2Flag.SettingsFlags flags = Http2Flag.SettingsFlags.create(Http2Flag.ACK);
         Http2Settings http2Settings = Http2Settings.create();
@@ -16,14 +16,16 @@
 
 package io.helidon.webclient.http2;
 
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
@@ -59,13 +61,15 @@ class Http2ClientConnectionHandler {
     private static final Header UPGRADE_HEADER = HeaderValues.createCached(HeaderNames.UPGRADE, "h2c");
     private static final HeaderName HTTP2_SETTINGS_HEADER = HeaderNames.create("HTTP2-Settings");
 
-    // todo requires handling of timeouts and removal from this queue
+    // connections remove themselves when closed, idle connections are closed when obtaining a new stream
     private final Map<ClientConnection, Http2ClientConnection> h2ConnByConn =
             Collections.synchronizedMap(new IdentityHashMap<>());
 
-    private final Map<Http2ClientConnection, Boolean> allConnections = Collections.synchronizedMap(new IdentityHashMap<>());
+    // all open connections to this endpoint, a new one is added when all existing ones ran out of streams
+    private final List<Http2ClientConnection> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong openedConnections = new AtomicLong();
+    private final AtomicLong closedConnections = new AtomicLong();
     private final ConnectionKey connectionKey;
-    private final AtomicReference<Http2ClientConnection> activeConnection = new AtomicReference<>();
     private final ReentrantLock lock = new ReentrantLock();
     private final AtomicReference<Result> result = new AtomicReference<>(Result.UNKNOWN);
 
@@ -74,11 +78,24 @@ class Http2ClientConnectionHandler {
     }
 
     void close() {
-        // this is to prevent concurrent modification (connections remove themselves from the map)
-        Set<Http2ClientConnection> toClose = new HashSet<>(allConnections.keySet());
-        toClose.forEach(Http2ClientConnection::close);
-        this.activeConnection.set(null);
-        this.allConnections.clear();
+        // connections remove themselves from the list when closed, copy on write list iterates over a snapshot
+        for (Http2ClientConnection connection : connections) {
+            removed(connection);
+            connection.closeGracefully();
+        }
+    }
+
+    Http2Client.ConnectionPoolStatistics statistics() {
+        int activeStreams = 0;
+        int count = 0;
+        for (Http2ClientConnection connection : connections) {
+            activeStreams += connection.activeStreams();
+            count++;
+        }
+        return new Http2Client.ConnectionPoolStatistics(count,
+                                                        activeStreams,
+                                                        openedConnections.get(),
+                                                        closedConnections.get());
     }
 
     Http2ConnectionAttemptResult newStream(Http2ClientImpl http2Client,
@@ -96,106 +113,171 @@ class Http2ClientConnectionHandler {
     Http2ConnectionAttemptResult http2(Http2ClientImpl http2Client,
                                        Http2ClientRequestImpl request,
                                        ClientUri initialUri) {
-        try {
-            lock.lockInterruptibly();
-        } catch (InterruptedException e) {
-            throw new IllegalStateException("Interrupted", e);
-        }
-        try {
-            // read/write lock to obtain a stream or create a new connection
-            Http2ClientConnection conn = activeConnection.updateAndGet(c -> c != null && c.closed() ? null : c);
-            Http2ClientStream stream;
-            if (conn == null) {
-                conn = createConnection(http2Client, request, initialUri);
-                // we must assume that a new connection can handle a new stream
-                stream = conn.createStream(request);
-            } else {
-                stream = conn.tryStream(request);
-                if (stream == null) {
-                    // either the connection is closed, or it ran out of streams
-                    conn = createConnection(http2Client, request, initialUri);
+        while (true) {
+            List<Http2ClientConnection> settingsPending = new ArrayList<>();
+            try {
+                lock.lockInterruptibly();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("Interrupted", e);
+            }
+            try {
+                // lock to obtain a stream or create a new connection
+                Http2ClientStream stream = leastLoadedStream(request, settingsPending);
+                if (stream == null && settingsPending.isEmpty()) {
+                    // either there is no connection, or all of them are closed or ran out of streams
+                    Http2ClientConnection conn = createConnection(http2Client, request, initialUri);
+                    // we must assume that a new connection can handle a new stream
                     stream = conn.createStream(request);
                 }
+                if (stream != null) {
+                    closeIdle(http2Client.protocolConfig().idleConnectionTimeout().toNanos());
+                    return new Http2ConnectionAttemptResult(Result.HTTP_2, stream, null);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // wait for the server SETTINGS outside of the lock, so other requests are not blocked, and try again
+            // (a connection that timed out waiting is no longer pending, so this loop always ends)
+            for (Http2ClientConnection connection : settingsPending) {
+                connection.awaitSettings();
+            }
+        }
+    }
+
+    // must be called while holding the lock, connections that wait for server SETTINGS are added to settingsPending
+    private Http2ClientStream leastLoadedStream(Http2ClientRequestImpl request,
+                                                List<Http2ClientConnection> settingsPending) {
+        List<Http2ClientConnection> candidates = new ArrayList<>(connections);
+        candidates.sort(Comparator.comparingInt(Http2ClientConnection::activeStreams));
+        for (Http2ClientConnection candidate : candidates) {
+            if (candidate.activeStreams() >= candidate.maxConcurrentStreams()) {
+                // no free stream, skip before the closed check, as that may ping the server
+                continue;
+            }
+            if (candidate.closed()) {
+                removed(candidate);
+                continue;
             }
+            if (candidate.settingsPending()) {
+                settingsPending.add(candidate);
+                continue;
+            }
+            Http2ClientStream stream = candidate.tryStream(request);
+            if (stream != null) {
+                return stream;
+            }
+        }
+        return null;
+    }
 
-            return new Http2ConnectionAttemptResult(Result.HTTP_2, stream, null);
-        } finally {
-            lock.unlock();
+    // must be called while holding the lock, always keeps at least one connection open
+    private void closeIdle(long timeoutNanos) {
+        if (connections.size() < 2) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Http2ClientConnection connection : connections) {
+            if (connections.size() > 1 && connection.idle(timeoutNanos, now)) {
+                removed(connection);
+                connection.closeGracefully();
+            }
         }
     }
 
+    private void added(ClientConnection clientConnection, Http2ClientConnection connection) {
+        connections.add(connection);
+        h2ConnByConn.put(clientConnection, connection);
+        openedConnections.incrementAndGet();
+    }
+
+    private void removed(Http2ClientConnection connection) {
+        if (connections.remove(connection)) {
+            closedConnections.incrementAndGet();
+        }
+        h2ConnByConn.values().remove(connection);
+    }
+
     private Http2ConnectionAttemptResult httpX(Http2ClientImpl http2Client,
                                                Http2ClientRequestImpl request,
                                                ClientUri initialUri,
                                                Function<Http1ClientRequest, Http1ClientResponse> http1EntityHandler) {
+        Http2ConnectionAttemptResult attemptResult;
         try {
             lock.lockInterruptibly();
         } catch (InterruptedException e) {
             throw new IllegalStateException("Interrupted", e);
         }
         try {
-            WebClient webClient = http2Client.webClient();
-            if (request.tls().enabled() && "https".equals(initialUri.scheme())) {
-                // use ALPN, not upgrade, if prior, only h2, otherwise both
-                List<String> alpn;
-                if (request.priorKnowledge()) {
-                    alpn = List.of(Http2Client.PROTOCOL_ID);
-                } else {
-                    alpn = List.of(Http2Client.PROTOCOL_ID, Http1Client.PROTOCOL_ID);
-                }
-                ClientConnection tcpClientConnection = connectClient(webClient, alpn);
-                if (tcpClientConnection.helidonSocket().protocolNegotiated()) {
-                    if (Http2Client.PROTOCOL_ID.equals(tcpClientConnection.helidonSocket().protocol())) {
-                        result.set(Result.HTTP_2);
-                        // this should always be true
-                        Http2ClientConnection connection = Http2ClientConnection.create(http2Client,
-                                                                                        tcpClientConnection,
-                                                                                        true);
-                        allConnections.put(connection, true);
-                        h2ConnByConn.put(tcpClientConnection, connection);
-                        this.activeConnection.set(connection);
-                        return http2(http2Client, request, initialUri);
-                    } else {
-                        result.set(Result.HTTP_1);
-                        request.connection(tcpClientConnection);
-                        return http1(http2Client, request, initialUri, http1EntityHandler);
-                    }
-                } else {
-                    // this should not really happen, as H2 is depending on ALPN, but let's support it anyway, and hope we can
-                    // do this later
-                    request.connection(tcpClientConnection);
-                }
-            }
+            attemptResult = connect(http2Client, request, initialUri, http1EntityHandler);
+        } finally {
+            lock.unlock();
+        }
+        // HTTP/2 streams are obtained after the lock is released, as obtaining a stream may wait for server SETTINGS
+        return attemptResult == null ? http2(http2Client, request, initialUri) : attemptResult;
+    }
 
-            if (result.get() != Result.UNKNOWN) {
-                return http2(http2Client, request, initialUri);
-            }
-            // we need to connect
+    // must be called while holding the lock, returns null if a stream should be obtained using http2(...)
+    private Http2ConnectionAttemptResult connect(Http2ClientImpl http2Client,
+                                                 Http2ClientRequestImpl request,
+                                                 ClientUri initialUri,
+                                                 Function<Http1ClientRequest, Http1ClientResponse> http1EntityHandler) {
+        WebClient webClient = http2Client.webClient();
+        if (request.tls().enabled() && "https".equals(initialUri.scheme())) {
+            // use ALPN, not upgrade, if prior, only h2, otherwise both
+            List<String> alpn;
             if (request.priorKnowledge()) {
-                // there is no fallback to HTTP/1 with prior knowledge - it must work or fail
-                return http2(http2Client, request, initialUri);
+                alpn = List.of(Http2Client.PROTOCOL_ID);
+            } else {
+                alpn = List.of(Http2Client.PROTOCOL_ID, Http1Client.PROTOCOL_ID);
             }
-            // attempt an upgrade to HTTP/2
-            UpgradeResponse upgradeResponse = http1Request(webClient, request, initialUri)
-                    .header(UPGRADE_HEADER)
-                    .header(CONNECTION_UPGRADE_HEADER)
-                    .header(HTTP2_SETTINGS_HEADER, settingsForUpgrade(http2Client.protocolConfig()))
-                    .upgrade("h2c");
-            if (upgradeResponse.isUpgraded()) {
-                result.set(Result.HTTP_2);
-                Http2ClientConnection conn = Http2ClientConnection.create(http2Client,
-                                                                          upgradeResponse.connection(),
-                                                                          false);
-                activeConnection.set(conn);
-                return http2(http2Client, request, initialUri);
+            ClientConnection tcpClientConnection = connectClient(webClient, alpn);
+            if (tcpClientConnection.helidonSocket().protocolNegotiated()) {
+                if (Http2Client.PROTOCOL_ID.equals(tcpClientConnection.helidonSocket().protocol())) {
+                    result.set(Result.HTTP_2);
+                    // this should always be true
+                    Http2ClientConnection connection = Http2ClientConnection.create(http2Client,
+                                                                                    tcpClientConnection,
+                                                                                    true);
+                    added(tcpClientConnection, connection);
+                    return null;
+                } else {
+                    result.set(Result.HTTP_1);
+                    request.connection(tcpClientConnection);
+                    return http1(http2Client, request, initialUri, http1EntityHandler);
+                }
             } else {
-                result.set(Result.HTTP_1);
-                return new Http2ConnectionAttemptResult(Result.HTTP_1,
-                                                        null,
-                                                        upgradeResponse.response());
+                // this should not really happen, as H2 is depending on ALPN, but let's support it anyway, and hope we can
+                // do this later
+                request.connection(tcpClientConnection);
             }
-        } finally {
-            lock.unlock();
+        }
+
+        if (result.get() != Result.UNKNOWN) {
+            return null;
+        }
+        // we need to connect
+        if (request.priorKnowledge()) {
+            // there is no fallback to HTTP/1 with prior knowledge - it must work or fail
+            return null;
+        }
+        // attempt an upgrade to HTTP/2
+        UpgradeResponse upgradeResponse = http1Request(webClient, request, initialUri)
+                .header(UPGRADE_HEADER)
+                .header(CONNECTION_UPGRADE_HEADER)
+                .header(HTTP2_SETTINGS_HEADER, settingsForUpgrade(http2Client.protocolConfig()))
+                .upgrade("h2c");
+        if (upgradeResponse.isUpgraded()) {
+            result.set(Result.HTTP_2);
+            Http2ClientConnection conn = Http2ClientConnection.create(http2Client,
+                                                                      upgradeResponse.connection(),
+                                                                      false);
+            added(upgradeResponse.connection(), conn);
+            return null;
+        } else {
+            result.set(Result.HTTP_1);
+            return new Http2ConnectionAttemptResult(Result.HTTP_1,
+                                                    null,
+                                                    upgradeResponse.response());
         }
     }
 
@@ -283,9 +365,7 @@ class Http2ClientConnectionHandler {
             }
 
             // only set these for requests that do not have an explicit connection defined
-            activeConnection.set(usedConnection);
-            allConnections.put(usedConnection, true);
-            h2ConnByConn.put(connection, usedConnection);
+            added(connection, usedConnection);
         }
 
         return usedConnection;
@@ -300,7 +380,7 @@ class Http2ClientConnectionHandler {
                                               Http2ClientConnection h2conn = h2ConnByConn.remove(
                                                       connection);
                                               if (h2conn != null) {
-                                                  allConnections.remove(h2conn);
+                                                  removed(h2conn);
                                               }
                                           })
                 .connect();
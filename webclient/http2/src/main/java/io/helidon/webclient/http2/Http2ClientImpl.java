@@ -54,6 +54,11 @@ class Http2ClientImpl implements Http2Client, HttpClientSpi {
         return new Http2ClientRequestImpl(this, method, clientUri, clientConfig.properties());
     }
 
+    @Override
+    public ConnectionPoolStatistics connectionPoolStatistics() {
+        return connectionCache.statistics();
+    }
+
     @Override
     public Http2ClientConfig prototype() {
         return clientConfig;
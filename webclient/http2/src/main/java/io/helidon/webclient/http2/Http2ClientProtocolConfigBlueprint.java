@@ -109,4 +109,16 @@ interface Http2ClientProtocolConfigBlueprint extends ProtocolConfig {
      */
     @ConfiguredOption("PT0.5S")
     Duration pingTimeout();
+
+    /**
+     * How long an additional connection to the same endpoint may stay without active streams before it is closed.
+     * The client opens additional connections to an endpoint when the server's {@code MAX_CONCURRENT_STREAMS}
+     * limit is reached on all existing connections; idle ones are closed gracefully with a {@code GOAWAY} frame,
+     * one connection per endpoint is always kept open.
+     * Defaults to {@code PT60S}.
+     *
+     * @return idle timeout of additional connections
+     */
+    @ConfiguredOption("PT60S")
+    Duration idleConnectionTimeout();
 }
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.helidon.common.buffers.BufferData;
 import io.helidon.common.socket.SocketContext;
@@ -68,6 +69,7 @@ class Http2ClientStream implements Http2Stream, ReleasableResource {
     private final Http2Settings settings = Http2Settings.create();
     private final List<Http2FrameData> continuationData = new ArrayList<>();
     private final CompletableFuture<Headers> trailers = new CompletableFuture<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     private Http2StreamState state = Http2StreamState.IDLE;
     private ReadState readState = ReadState.INIT;
@@ -206,7 +208,10 @@ class Http2ClientStream implements Http2Stream, ReleasableResource {
     }
 
     void close() {
-        connection.removeStream(streamId);
+        // close is invoked both by the response and the call chain, the stream must be released only once
+        if (closed.compareAndSet(false, true)) {
+            connection.removeStream(streamId);
+        }
     }
 
     /**
@@ -27,7 +27,6 @@ import io.helidon.webclient.http1.Http1ClientRequest;
 import io.helidon.webclient.http1.Http1ClientResponse;
 
 final class Http2ConnectionCache {
-    //todo Gracefully close connections in channel cache
     private static final Http2ConnectionCache SHARED = create();
     private final LruCache<ConnectionKey, Boolean> http2Supported = LruCache.<ConnectionKey, Boolean>builder()
             .capacity(1000)
@@ -54,6 +53,21 @@ final class Http2ConnectionCache {
         http2Supported.remove(connectionKey);
     }
 
+    Http2Client.ConnectionPoolStatistics statistics() {
+        int connections = 0;
+        int activeStreams = 0;
+        long opened = 0;
+        long closed = 0;
+        for (Http2ClientConnectionHandler handler : cache.values()) {
+            Http2Client.ConnectionPoolStatistics statistics = handler.statistics();
+            connections += statistics.connections();
+            activeStreams += statistics.activeStreams();
+            opened += statistics.openedConnections();
+            closed += statistics.closedConnections();
+        }
+        return new Http2Client.ConnectionPoolStatistics(connections, activeStreams, opened, closed);
+    }
+
     Http2ConnectionAttemptResult newStream(Http2ClientImpl http2Client,
                                            ConnectionKey connectionKey,
                                            Http2ClientRequestImpl request,
@@ -15,13 +15,21 @@
  */
 package io.helidon.webclient.metrics;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import io.helidon.common.config.Config;
+import io.helidon.metrics.api.Gauge;
+import io.helidon.metrics.api.MeterRegistry;
+import io.helidon.metrics.api.Metrics;
 import io.helidon.webclient.api.WebClientServiceRequest;
 import io.helidon.webclient.api.WebClientServiceResponse;
+import io.helidon.webclient.http1.Http1Client;
+import io.helidon.webclient.http2.Http2Client;
 import io.helidon.webclient.spi.WebClientService;
 
 /**
@@ -71,6 +79,60 @@ public class WebClientMetrics implements WebClientService {
         return WebClientMetric.builder(WebClientMetricType.GAUGE_IN_PROGRESS);
     }
 
+    /**
+     * Registers gauges of the HTTP/1.1 connection pool of the client in the global registry.
+     * Gauges {@code <prefix>.leased}, {@code <prefix>.idle} and {@code <prefix>.pending} report connections used by
+     * requests, idle connections, and requests waiting for a connection.
+     * The gauges do not prevent the client from being garbage collected, after which they report {@code 0}.
+     *
+     * @param client client to observe
+     * @param prefix name prefix of the gauges, such as {@code client.connections}
+     */
+    public static void registerConnectionPoolGauges(Http1Client client, String prefix) {
+        WeakReference<Http1Client> clientRef = new WeakReference<>(client);
+        MeterRegistry registry = Metrics.globalRegistry();
+        registry.getOrCreate(Gauge.builder(prefix + ".leased",
+                                           () -> poolStatistic(clientRef, Http1Client.ConnectionPoolStatistics::leased))
+                                     .description("Connections used by requests"));
+        registry.getOrCreate(Gauge.builder(prefix + ".idle",
+                                           () -> poolStatistic(clientRef, Http1Client.ConnectionPoolStatistics::idle))
+                                     .description("Idle connections available for reuse"));
+        registry.getOrCreate(Gauge.builder(prefix + ".pending",
+                                           () -> poolStatistic(clientRef, Http1Client.ConnectionPoolStatistics::pending))
+                                     .description("Requests waiting for a connection"));
+    }
+
+    /**
+     * Registers gauges of the HTTP/2 connection pool of the client in the global registry.
+     * Gauges {@code <prefix>.open} and {@code <prefix>.active-streams} report open connections and streams in use
+     * across them, gauges {@code <prefix>.opened} and {@code <prefix>.closed} report connections opened and closed
+     * since the pool was created.
+     * The gauges do not prevent the client from being garbage collected, after which they report {@code 0}.
+     *
+     * @param client client to observe
+     * @param prefix name prefix of the gauges, such as {@code client.http2.connections}
+     */
+    public static void registerConnectionPoolGauges(Http2Client client, String prefix) {
+        WeakReference<Http2Client> clientRef = new WeakReference<>(client);
+        MeterRegistry registry = Metrics.globalRegistry();
+        registry.getOrCreate(Gauge.builder(prefix + ".open",
+                                           () -> http2PoolStatistic(clientRef,
+                                                                    Http2Client.ConnectionPoolStatistics::connections))
+                                     .description("Open connections"));
+        registry.getOrCreate(Gauge.builder(prefix + ".active-streams",
+                                           () -> http2PoolStatistic(clientRef,
+                                                                    Http2Client.ConnectionPoolStatistics::activeStreams))
+                                     .description("Streams in use across all connections"));
+        registry.getOrCreate(Gauge.builder(prefix + ".opened",
+                                           () -> http2PoolStatistic(clientRef,
+                                                                    Http2Client.ConnectionPoolStatistics::openedConnections))
+                                     .description("Connections opened since the pool was created"));
+        registry.getOrCreate(Gauge.builder(prefix + ".closed",
+                                           () -> http2PoolStatistic(clientRef,
+                                                                    Http2Client.ConnectionPoolStatistics::closedConnections))
+                                     .description("Connections closed since the pool was created"));
+    }
+
     /**
      * Creates new client metrics based on config.
      *
@@ -98,6 +160,20 @@ public class WebClientMetrics implements WebClientService {
         };
     }
 
+    private static int poolStatistic(WeakReference<Http1Client> clientRef,
+                                     ToIntFunction<Http1Client.ConnectionPoolStatistics> statistic) {
+        Http1Client client = clientRef.get();
+        // a client that was garbage collected has no connections
+        return client == null ? 0 : statistic.applyAsInt(client.connectionPoolStatistics());
+    }
+
+    private static long http2PoolStatistic(WeakReference<Http2Client> clientRef,
+                                           ToLongFunction<Http2Client.ConnectionPoolStatistics> statistic) {
+        Http2Client client = clientRef.get();
+        // a client that was garbage collected has no connections
+        return client == null ? 0 : statistic.applyAsLong(client.connectionPoolStatistics());
+    }
+
     @Override
     public WebClientServiceResponse handle(Chain chain, WebClientServiceRequest request) {
         Chain last = chain;
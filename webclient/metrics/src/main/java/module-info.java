@@ -30,6 +30,7 @@ module io.helidon.webclient.metrics {
     requires io.helidon.common.features.api;
     requires io.helidon.metrics.api;
     requires io.helidon.webclient;
+    requires io.helidon.webclient.http2;
 
     requires transitive io.helidon.common.config;
 
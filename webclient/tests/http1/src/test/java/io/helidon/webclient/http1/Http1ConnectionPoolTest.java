@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient.http1;
+
+import java.net.URI;
+import java.time.Duration;
+
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ServerTest
+class Http1ConnectionPoolTest {
+    private final String baseUri;
+
+    Http1ConnectionPoolTest(WebServer webServer) {
+        this.baseUri = "http://localhost:" + webServer.port();
+    }
+
+    @SetUpRoute
+    static void routing(HttpRules rules) {
+        rules.get("/", (req, res) -> res.send("OK"));
+    }
+
+    @Test
+    void testMaxConnectionsPerHost() {
+        Http1Client client = Http1Client.create(it -> it.baseUri(baseUri)
+                .shareConnectionCache(false)
+                .protocolConfig(protocol -> protocol.maxConnectionsPerHost(1)
+                        .connectionAcquireTimeout(Duration.ofMillis(100))));
+
+        Http1ClientResponse first = client.get("/").request();
+        assertThat(client.connectionPoolStatistics(), is(new Http1Client.ConnectionPoolStatistics(1, 0, 0)));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> client.get("/").request());
+        assertThat(e.getMessage(), startsWith("Timed out waiting for a connection"));
+
+        assertThat(first.as(String.class), is("OK"));
+        first.close();
+        assertThat(client.connectionPoolStatistics(), is(new Http1Client.ConnectionPoolStatistics(0, 1, 0)));
+
+        // the connection is returned and reused
+        try (Http1ClientResponse second = client.get("/").request()) {
+            assertThat(second.as(String.class), is("OK"));
+        }
+        assertThat(client.connectionPoolStatistics(), is(new Http1Client.ConnectionPoolStatistics(0, 1, 0)));
+    }
+
+    @Test
+    void testSharedCacheLimitsPerClient() {
+        // both clients use the shared cache, each is limited by its own configuration
+        Http1Client limited = Http1Client.create(it -> it.baseUri(baseUri)
+                .shareConnectionCache(true)
+                .protocolConfig(protocol -> protocol.maxConnectionsPerHost(1)
+                        .connectionAcquireTimeout(Duration.ofMillis(100))));
+        Http1Client unlimited = Http1Client.create(it -> it.baseUri(baseUri)
+                .shareConnectionCache(true));
+
+        try (Http1ClientResponse first = limited.get("/").request()) {
+            assertThrows(IllegalStateException.class, () -> limited.get("/").request());
+
+            // the limit of the first client does not apply to the other client
+            try (Http1ClientResponse second = unlimited.get("/").request();
+                    Http1ClientResponse third = unlimited.get("/").request()) {
+                assertThat(second.as(String.class), is("OK"));
+                assertThat(third.as(String.class), is("OK"));
+            }
+            assertThat(first.as(String.class), is("OK"));
+        }
+    }
+
+    @Test
+    void testIdleTimeout() throws InterruptedException {
+        Http1Client client = Http1Client.create(it -> it.baseUri(baseUri)
+                .shareConnectionCache(false)
+                .protocolConfig(protocol -> protocol.idleConnectionTimeout(Duration.ofMillis(10))));
+
+        try (Http1ClientResponse response = client.get("/").request()) {
+            assertThat(response.as(String.class), is("OK"));
+        }
+        assertThat(client.connectionPoolStatistics().idle(), is(1));
+
+        // the background task closes idle connections once per second
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.connectionPoolStatistics().idle() != 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(client.connectionPoolStatistics().idle(), is(0));
+    }
+
+    @Test
+    void testEmptyPoolRemoved() throws InterruptedException {
+        Http1ClientImpl client = (Http1ClientImpl) Http1Client.create(it -> it.baseUri(baseUri)
+                .shareConnectionCache(false)
+                .protocolConfig(protocol -> protocol.idleConnectionTimeout(Duration.ofMillis(10))));
+
+        try (Http1ClientResponse response = client.get("/").request()) {
+            // a pool with a leased connection is never removed
+            assertThat(client.connectionCache().poolCount(), is(1));
+            assertThat(response.as(String.class), is("OK"));
+        }
+
+        // the background task closes the idle connection, and removes the empty pool
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.connectionCache().poolCount() != 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(client.connectionCache().poolCount(), is(0));
+
+        // a new pool is created for the host
+        try (Http1ClientResponse response = client.get("/").request()) {
+            assertThat(client.connectionCache().poolCount(), is(1));
+            assertThat(response.as(String.class), is("OK"));
+        }
+    }
+
+    @Test
+    void testPrewarm() {
+        Http1Client client = Http1Client.create(it -> it.baseUri(baseUri)
+                .shareConnectionCache(false));
+
+        client.prewarm(URI.create(baseUri), 3);
+        assertThat(client.connectionPoolStatistics(), is(new Http1Client.ConnectionPoolStatistics(0, 3, 0)));
+
+        try (Http1ClientResponse response = client.get("/").request()) {
+            assertThat(client.connectionPoolStatistics(), is(new Http1Client.ConnectionPoolStatistics(1, 2, 0)));
+            assertThat(response.as(String.class), is("OK"));
+        }
+        assertThat(client.connectionPoolStatistics(), is(new Http1Client.ConnectionPoolStatistics(0, 3, 0)));
+    }
+}
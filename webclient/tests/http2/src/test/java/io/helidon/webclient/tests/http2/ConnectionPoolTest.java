@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient.tests.http2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.http.Status;
+import io.helidon.webclient.http2.Http2Client;
+import io.helidon.webclient.http2.Http2ClientProtocolConfig;
+import io.helidon.webclient.http2.Http2ClientResponse;
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.WebServerConfig;
+import io.helidon.webserver.http.HttpRouting;
+import io.helidon.webserver.http2.Http2Config;
+import io.helidon.webserver.http2.Http2ConnectionSelector;
+import io.helidon.webserver.http2.Http2Route;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+import io.helidon.webserver.testing.junit5.SetUpServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.http.Method.GET;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ServerTest
+class ConnectionPoolTest {
+    private static final int MAX_CONCURRENT_STREAMS = 2;
+    private static final int REQUESTS = 5;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final CountDownLatch STARTED = new CountDownLatch(REQUESTS);
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    private final Http2Client client;
+
+    ConnectionPoolTest(WebServer server) {
+        this.client = Http2Client.builder()
+                .baseUri("http://localhost:" + server.port())
+                .shareConnectionCache(false)
+                .protocolConfig(Http2ClientProtocolConfig.builder()
+                                        .priorKnowledge(true)
+                                        .idleConnectionTimeout(Duration.ZERO)
+                                        .build())
+                .build();
+    }
+
+    @SetUpServer
+    static void setUpServer(WebServerConfig.Builder serverBuilder) {
+        // HTTP/2 prior knowledge only, with a low limit of concurrent streams per connection
+        serverBuilder.protocolsDiscoverServices(false)
+                .addConnectionSelector(Http2ConnectionSelector.builder()
+                                               .http2Config(Http2Config.builder()
+                                                                    .maxConcurrentStreams(MAX_CONCURRENT_STREAMS)
+                                                                    .build())
+                                               .build());
+    }
+
+    @SetUpRoute
+    static void router(HttpRouting.Builder router) {
+        router.route(Http2Route.route(GET, "/blocking", (req, res) -> {
+            STARTED.countDown();
+            if (!RELEASE.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                res.status(Status.REQUEST_TIMEOUT_408).send();
+                return;
+            }
+            res.send("OK");
+        }));
+        router.route(Http2Route.route(GET, "/", (req, res) -> res.send("OK")));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    void testPoolGrowsAndShrinks() throws Exception {
+        List<Future<Status>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(EXECUTOR.submit(() -> {
+                try (Http2ClientResponse response = client.get("/blocking").request()) {
+                    response.entity().consume();
+                    return response.status();
+                }
+            }));
+        }
+
+        // all requests are processed in parallel, even though a single connection allows only two streams
+        assertThat(STARTED.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), is(true));
+        Http2Client.ConnectionPoolStatistics statistics = client.connectionPoolStatistics();
+        assertThat(statistics.connections(), is(3));
+        assertThat(statistics.activeStreams(), is(REQUESTS));
+
+        RELEASE.countDown();
+        for (Future<Status> future : futures) {
+            assertThat(future.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), is(Status.OK_200));
+        }
+        assertThat(client.connectionPoolStatistics().activeStreams(), is(0));
+
+        // next request closes the idle connections, keeping the one it uses
+        try (Http2ClientResponse response = client.get("/").request()) {
+            assertThat(response.as(String.class), is("OK"));
+        }
+        statistics = client.connectionPoolStatistics();
+        assertThat(statistics.connections(), is(1));
+        assertThat(statistics.openedConnections(), is(3L));
+        assertThat(statistics.closedConnections(), is(2L));
+        assertThat(statistics.activeStreams(), is(0));
+    }
+}
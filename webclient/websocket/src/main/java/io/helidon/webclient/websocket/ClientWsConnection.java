@@ -18,6 +18,7 @@ package io.helidon.webclient.websocket;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 import io.helidon.common.buffers.BufferData;
 import io.helidon.common.buffers.DataReader;
@@ -29,6 +30,7 @@ import io.helidon.websocket.WsCloseCodes;
 import io.helidon.websocket.WsCloseException;
 import io.helidon.websocket.WsListener;
 import io.helidon.websocket.WsOpCode;
+import io.helidon.websocket.WsPerMessageDeflate;
 import io.helidon.websocket.WsSession;
 
 /**
@@ -43,19 +45,35 @@ public class ClientWsConnection implements WsSession, Runnable {
     private final BufferData sendBuffer = BufferData.growing(1024);
     private final ClientConnection connection;
     private final HelidonSocket helidonSocket;
+    private final WsPerMessageDeflate deflate;
+    private final int maxDecompressedFrameLength;
+    private final ReentrantLock sendLock = new ReentrantLock();
 
     private ContinuationType recvContinuation = ContinuationType.NONE;
     private boolean sendContinuation;
+    private boolean recvCompressed;
+    private boolean sendCompressed;
     private boolean closeSent;
+    private boolean deflateClosed;
     private boolean terminated;
 
     ClientWsConnection(ClientConnection connection,
                        WsListener listener,
-                       String subProtocol) {
+                       String subProtocol,
+                       WsPerMessageDeflate deflate,
+                       int maxDecompressedFrameLength) {
         this.connection = connection;
         this.listener = listener;
         this.subProtocol = subProtocol;
         this.helidonSocket = connection.helidonSocket();
+        this.deflate = deflate;
+        this.maxDecompressedFrameLength = maxDecompressedFrameLength;
+    }
+
+    ClientWsConnection(ClientConnection connection,
+                       WsListener listener,
+                       String subProtocol) {
+        this(connection, listener, subProtocol, null, Integer.MAX_VALUE);
     }
 
     ClientWsConnection(ClientConnection connection,
@@ -107,17 +125,27 @@ public class ClientWsConnection implements WsSession, Runnable {
             }
         } finally {
             connection.closeResource();
+            if (deflate != null) {
+                // a concurrent send must not use the compressor once it is released
+                sendLock.lock();
+                try {
+                    deflateClosed = true;
+                    deflate.close();
+                } finally {
+                    sendLock.unlock();
+                }
+            }
         }
     }
 
     @Override
     public WsSession send(String text, boolean last) {
-        return send(ClientWsFrame.data(text, last));
+        return sendData(ClientWsFrame.data(text, last));
     }
 
     @Override
     public WsSession send(BufferData bufferData, boolean last) {
-        return send(ClientWsFrame.data(bufferData, last));
+        return sendData(ClientWsFrame.data(bufferData, last));
     }
 
     @Override
@@ -132,13 +160,18 @@ public class ClientWsConnection implements WsSession, Runnable {
 
     @Override
     public WsSession close(int code, String reason) {
-        closeSent = true;
-
         byte[] reasonBytes = reason.getBytes(StandardCharsets.UTF_8);
         BufferData bufferData = BufferData.create(2 + reasonBytes.length);
         bufferData.writeInt16(code);
         bufferData.write(reasonBytes);
-        send(ClientWsFrame.control(WsOpCode.CLOSE, bufferData));
+
+        sendLock.lock();
+        try {
+            closeSent = true;
+            send(ClientWsFrame.control(WsOpCode.CLOSE, bufferData));
+        } finally {
+            sendLock.unlock();
+        }
 
         return this;
     }
@@ -170,27 +203,15 @@ public class ClientWsConnection implements WsSession, Runnable {
             helidonSocket.log(LOGGER, System.Logger.Level.TRACE, "ws client frame send %s", frame);
         }
 
-        sendBuffer.clear();
-        int opCodeFull = frame.fin() ? 0b10000000 : 0;
-        opCodeFull |= opCode.code();
-        sendBuffer.write(opCodeFull);
-
-        long payloadLength = frame.payloadLength();
-        if (frame.payloadLength() < 126) {
+        sendLock.lock();
+        try {
+            sendBuffer.clear();
             // this is a masked frame (all client frames MUST be masked)
-            payloadLength = payloadLength | 0b10000000;
-            sendBuffer.write((int) payloadLength);
-            // TODO finish other options (payload longer than 126 bytes)
+            frame.writeTo(sendBuffer);
+            connection.writer().writeNow(sendBuffer);
+        } finally {
+            sendLock.unlock();
         }
-
-        // write masking key
-        int[] maskingKey = frame.maskingKey();
-        sendBuffer.write(maskingKey[0]);
-        sendBuffer.write(maskingKey[1]);
-        sendBuffer.write(maskingKey[2]);
-        sendBuffer.write(maskingKey[3]);
-        sendBuffer.write(frame.maskedData());
-        connection.writer().writeNow(sendBuffer);
         return this;
     }
 
@@ -228,7 +249,7 @@ public class ClientWsConnection implements WsSession, Runnable {
     }
 
     private boolean processFrame(ServerWsFrame frame) {
-        BufferData payload = frame.payloadData();
+        BufferData payload = payload(frame);
         switch (frame.opCode()) {
         case CONTINUATION -> {
             boolean finalFrame = frame.fin();
@@ -271,6 +292,53 @@ public class ClientWsConnection implements WsSession, Runnable {
         return true;
     }
 
+    private BufferData payload(ServerWsFrame frame) {
+        if (frame.compressed() && (deflate == null || !frame.isPayload())) {
+            // RSV1 is only valid on the first frame of a message, and only with permessage-deflate
+            throw new WsCloseException("Unexpected RSV1 bit", WsCloseCodes.PROTOCOL_ERROR);
+        }
+        if (frame.isPayload()) {
+            recvCompressed = frame.compressed();
+        } else if (frame.opCode() != WsOpCode.CONTINUATION) {
+            // control frames are never compressed
+            return frame.payloadData();
+        }
+        if (recvCompressed) {
+            return deflate.decompress(frame.payloadData(), frame.fin(), maxDecompressedFrameLength);
+        }
+        return frame.payloadData();
+    }
+
+    private WsSession sendData(ClientWsFrame frame) {
+        sendLock.lock();
+        try {
+            if (deflateClosed) {
+                throw new IllegalStateException("WebSocket connection is closed");
+            }
+            return send(compress(frame));
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private ClientWsFrame compress(ClientWsFrame frame) {
+        if (deflate == null) {
+            return frame;
+        }
+        boolean first = !sendContinuation;
+        if (first) {
+            // decision is made for the whole message
+            sendCompressed = deflate.compress(frame.payloadLength());
+        }
+        if (!sendCompressed) {
+            return frame;
+        }
+        ClientWsFrame compressed = ClientWsFrame.data(deflate.compress(frame.payloadData(), frame.fin()), frame.fin());
+        compressed.opCode(frame.opCode());
+        compressed.compressed(first);
+        return compressed;
+    }
+
     private ServerWsFrame readFrame() {
         try {
             // TODO check may payload size, danger of oom
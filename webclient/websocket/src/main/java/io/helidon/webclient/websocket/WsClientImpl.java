@@ -42,6 +42,7 @@ import io.helidon.webclient.http1.Http1Client;
 import io.helidon.webclient.http1.Http1ClientRequest;
 import io.helidon.webclient.http1.UpgradeResponse;
 import io.helidon.websocket.WsListener;
+import io.helidon.websocket.WsPerMessageDeflate;
 
 class WsClientImpl implements WsClient {
     /**
@@ -50,6 +51,7 @@ class WsClientImpl implements WsClient {
     static final String SUPPORTED_VERSION = "13";
     static final Header HEADER_UPGRADE_WS = HeaderValues.createCached(HeaderNames.UPGRADE, "websocket");
     static final HeaderName HEADER_WS_PROTOCOL = HeaderNames.create("Sec-WebSocket-Protocol");
+    static final HeaderName HEADER_WS_EXTENSIONS = HeaderNames.create("Sec-WebSocket-Extensions");
     private static final Header HEADER_WS_VERSION = HeaderValues.createCached(HeaderNames.create(
             "Sec-WebSocket-Version"), SUPPORTED_VERSION);
 
@@ -81,6 +83,13 @@ class WsClientImpl implements WsClient {
         } else {
             headers.set(HEADER_WS_PROTOCOL, clientConfig.protocolConfig().subProtocols());
         }
+        WsClientProtocolConfig protocolConfig = clientConfig.protocolConfig();
+        if (protocolConfig.permessageDeflate()) {
+            headers.set(HEADER_WS_EXTENSIONS, WsPerMessageDeflate.offer(protocolConfig.serverNoContextTakeover(),
+                                                                        protocolConfig.clientNoContextTakeover()));
+        } else {
+            headers.remove(HEADER_WS_EXTENSIONS);
+        }
         this.headers = headers;
     }
 
@@ -144,11 +153,20 @@ class WsClientImpl implements WsClient {
                 throw new WsClientException("Failed to upgrade to WebSocket, expected valid secWsKey. Headers: "
                                                     + responseHeaders);
             }
+            WsPerMessageDeflate deflate = negotiateDeflate(responseHeaders);
             // we are upgraded, let's switch to web socket
             if (headers.contains(HEADER_WS_PROTOCOL)) {
-                session = new ClientWsConnection(connection, listener, headers.get(HEADER_WS_PROTOCOL).value());
+                session = new ClientWsConnection(connection,
+                                                 listener,
+                                                 headers.get(HEADER_WS_PROTOCOL).value(),
+                                                 deflate,
+                                                 protocolConfig.maxDecompressedFrameLength());
             } else {
-                session = new ClientWsConnection(connection, listener);
+                session = new ClientWsConnection(connection,
+                                                 listener,
+                                                 null,
+                                                 deflate,
+                                                 protocolConfig.maxDecompressedFrameLength());
             }
         }
 
@@ -165,6 +183,26 @@ class WsClientImpl implements WsClient {
         return clientConfig;
     }
 
+    private WsPerMessageDeflate negotiateDeflate(ClientResponseHeaders responseHeaders) {
+        if (!responseHeaders.contains(HEADER_WS_EXTENSIONS)) {
+            return null;
+        }
+        WsClientProtocolConfig protocolConfig = clientConfig.protocolConfig();
+        if (!protocolConfig.permessageDeflate()) {
+            throw new WsClientException("Failed to upgrade to WebSocket, server accepted extensions that were not offered."
+                                                + " Headers: " + responseHeaders);
+        }
+        try {
+            return WsPerMessageDeflate.client(responseHeaders.get(HEADER_WS_EXTENSIONS).allValues(),
+                                              protocolConfig.clientNoContextTakeover(),
+                                              protocolConfig.compressionThreshold())
+                    .orElse(null);
+        } catch (IllegalArgumentException e) {
+            throw new WsClientException("Failed to upgrade to WebSocket, " + e.getMessage() + ". Headers: " + responseHeaders,
+                                         e);
+        }
+    }
+
     protected String hash(SocketContext ctx, String wsKey) {
         byte[] wsKeyBytes = wsKey.getBytes(StandardCharsets.US_ASCII);
         int wsKeyBytesLength = wsKeyBytes.length;
@@ -42,4 +42,50 @@ interface WsClientProtocolConfigBlueprint extends ProtocolConfig {
     @ConfiguredOption
     @Option.Singular
     List<String> subProtocols();
+
+    /**
+     * Whether to offer the {@code permessage-deflate} extension (RFC 7692) to the server.
+     * Messages are compressed only if the server accepts the offer.
+     *
+     * @return whether permessage-deflate is enabled
+     */
+    @ConfiguredOption("false")
+    boolean permessageDeflate();
+
+    /**
+     * Whether to require the server to reset its compression context after each message
+     * ({@code server_no_context_takeover}).
+     *
+     * @return whether the server must compress each message separately
+     */
+    @ConfiguredOption("false")
+    boolean serverNoContextTakeover();
+
+    /**
+     * Whether the client resets its compression context after each message ({@code client_no_context_takeover}).
+     * Messages compress worse, as repetitions across messages are not used.
+     *
+     * @return whether the client compresses each message separately
+     */
+    @ConfiguredOption("false")
+    boolean clientNoContextTakeover();
+
+    /**
+     * Messages with first frame smaller than this number of bytes are sent uncompressed, as compressing them
+     * does not save enough to be worth it.
+     *
+     * @return minimal size of a message to compress
+     */
+    @ConfiguredOption("64")
+    int compressionThreshold();
+
+    /**
+     * Maximal length of a frame payload received from the server, after decompression.
+     * Only applies to compressed frames when {@code permessage-deflate} is used, uncompressed frames are not limited.
+     * The connection is closed with {@link io.helidon.websocket.WsCloseCodes#TOO_BIG} if a frame is longer.
+     *
+     * @return maximal length of a decompressed frame payload in bytes
+     */
+    @ConfiguredOption("1048576")
+    int maxDecompressedFrameLength();
 }
@@ -150,14 +150,7 @@ public abstract class AbstractLogEntry implements AccessLogEntry {
                         if (orig.length() >= length) {
                             return orig;
                         }
-                        StringBuilder builder = new StringBuilder(length);
-
-                        builder.append(orig);
-                        for (int i = 0; i < (length - orig.length()); i++) {
-                            builder.append(' ');
-                        }
-
-                        return builder.toString();
+                        return orig + " ".repeat(length - orig.length());
                     });
             return identity();
         }
@@ -176,15 +169,7 @@ public abstract class AbstractLogEntry implements AccessLogEntry {
                         if (orig.length() >= length) {
                             return orig;
                         }
-                        StringBuilder builder = new StringBuilder(length);
-
-                        for (int i = 0; i < (length - orig.length()); i++) {
-                            builder.append(' ');
-                        }
-
-                        builder.append(orig);
-
-                        return builder.toString();
+                        return " ".repeat(length - orig.length()) + orig;
                     });
             return identity();
         }
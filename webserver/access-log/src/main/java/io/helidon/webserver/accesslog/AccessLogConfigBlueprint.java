@@ -87,6 +87,16 @@ interface AccessLogConfigBlueprint extends Prototype.Factory<AccessLogFeature> {
     @Option.Default(AccessLogFeature.DEFAULT_LOGGER_NAME)
     String loggerName();
 
+    /**
+     * Write the access log directly to a file from a background thread, instead of logging through the
+     * {@link #loggerName()} logger. Request threads only add the entry to a queue, so a slow disk does not delay
+     * requests. When configured, the file is shared by all {@link #sockets()}.
+     *
+     * @return access log file configuration
+     */
+    @Option.Configured
+    Optional<AccessLogFileConfig> file();
+
     /**
      * Weight of the access log feature. We need to log access for anything happening on the server, so weight is high:
      * {@value io.helidon.webserver.accesslog.AccessLogFeature#WEIGHT}.
@@ -49,6 +49,7 @@ public final class AccessLogFeature implements ServerFeature, RuntimeType.Api<Ac
     private final double weight;
     private final AccessLogConfig config;
     private final String loggerName;
+    private final AccessLogFileWriter fileWriter;
 
     private AccessLogFeature(AccessLogConfig config) {
         this.config = config;
@@ -57,6 +58,7 @@ public final class AccessLogFeature implements ServerFeature, RuntimeType.Api<Ac
         this.clock = config.clock();
         this.loggerName = config.loggerName();
         this.weight = config.weight();
+        this.fileWriter = config.file().map(AccessLogFileWriter::new).orElse(null);
     }
 
     /**
@@ -144,7 +146,17 @@ public final class AccessLogFeature implements ServerFeature, RuntimeType.Api<Ac
         return ACCESS_LOG_ID;
     }
 
+    /**
+     * Number of entries dropped because the queue of the file writer was full,
+     * see {@link io.helidon.webserver.accesslog.AccessLogFileConfig#overflowPolicy()}.
+     *
+     * @return number of dropped entries, always {@code 0} if the access log is not written to a file
+     */
+    public long droppedEntries() {
+        return fileWriter == null ? 0 : fileWriter.dropped();
+    }
+
     AccessLogHttpFeature httpFeature(String socketName) {
-        return new AccessLogHttpFeature(weight, clock, logFormat, loggerName, socketName);
+        return new AccessLogHttpFeature(weight, clock, logFormat, loggerName, socketName, fileWriter);
     }
 }
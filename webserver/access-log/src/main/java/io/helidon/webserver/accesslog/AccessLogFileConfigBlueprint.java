@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.accesslog;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.helidon.builder.api.Option;
+import io.helidon.builder.api.Prototype;
+
+/**
+ * Configuration of access log written directly to a file by a background writer, instead of through a logger.
+ */
+@Prototype.Blueprint
+@Prototype.Configured
+interface AccessLogFileConfigBlueprint {
+    /**
+     * Path of the access log file. Rotated files have a numeric suffix, such as {@code access.log.1}.
+     *
+     * @return access log file
+     */
+    @Option.Configured
+    Path path();
+
+    /**
+     * Maximal number of entries waiting to be written.
+     *
+     * @return queue size
+     */
+    @Option.Configured
+    @Option.DefaultInt(8192)
+    int queueSize();
+
+    /**
+     * What to do with an entry when the queue is full.
+     *
+     * @return overflow policy
+     */
+    @Option.Configured
+    @Option.Default("DROP")
+    AccessLogOverflowPolicy overflowPolicy();
+
+    /**
+     * Size of the write buffer in bytes. Entries are written to the file when the buffer is full, or when
+     * the {@link #flushInterval()} elapses.
+     *
+     * @return write buffer size
+     */
+    @Option.Configured
+    @Option.DefaultInt(65536)
+    int bufferSize();
+
+    /**
+     * Maximal time an entry waits in the write buffer before it is written to the file.
+     *
+     * @return flush interval
+     */
+    @Option.Configured
+    @Option.Default("PT1S")
+    Duration flushInterval();
+
+    /**
+     * The file is rotated when it would become larger than this number of bytes.
+     * Set to {@code 0} to never rotate.
+     *
+     * @return maximal file size
+     */
+    @Option.Configured
+    @Option.DefaultLong(0)
+    long maxFileSize();
+
+    /**
+     * Number of rotated files to keep.
+     *
+     * @return number of rotated files
+     */
+    @Option.Configured
+    @Option.DefaultInt(10)
+    int maxFiles();
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.accesslog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
+
+/*
+ * Writes access log entries to a file from a single background thread. Request threads only encode the entry and
+ * add it to a lock-free queue, the writer collects entries into a buffer and writes it when full, or when the flush
+ * interval elapses.
+ */
+final class AccessLogFileWriter {
+    private static final System.Logger LOGGER = System.getLogger(AccessLogFileWriter.class.getName());
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AccessLogFileConfig config;
+    private final AccessLogRingBuffer queue;
+    private final long flushIntervalNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private volatile boolean waiting;
+    private volatile Thread writerThread;
+    private int users;
+
+    // only used by the writer thread once started
+    private FileChannel channel;
+    private long fileSize;
+    private int bufferedEntries;
+    private long reportedDropped;
+
+    AccessLogFileWriter(AccessLogFileConfig config) {
+        this.config = config;
+        this.queue = new AccessLogRingBuffer(config.queueSize());
+        this.flushIntervalNanos = config.flushInterval().toNanos();
+    }
+
+    /**
+     * Open the file and start the writer, if not already started. Each call must be paired with a call to
+     * {@link #stop()}.
+     */
+    void start() {
+        lifecycleLock.lock();
+        try {
+            if (users == 0) {
+                try {
+                    open();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to open access log file " + config.path(), e);
+                }
+                running = true;
+                writerThread = Thread.ofPlatform()
+                        .daemon()
+                        .name("helidon-access-log-writer")
+                        .start(this::run);
+            }
+            users++;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Stop the writer once all users stopped it, writing all queued entries.
+     * Entries queued after the writer finished are counted as dropped.
+     */
+    void stop() {
+        Thread thread;
+        lifecycleLock.lock();
+        try {
+            if (users == 0 || --users > 0) {
+                return;
+            }
+            running = false;
+            thread = writerThread;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(config.flushInterval().toMillis() + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainStopped();
+    }
+
+    void write(String entry) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+        byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+        if (!queue.offer(bytes)) {
+            if (config.overflowPolicy() == AccessLogOverflowPolicy.DROP) {
+                dropped.incrementAndGet();
+                return;
+            }
+            while (!queue.offer(bytes)) {
+                if (!running) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            }
+        }
+        if (!running) {
+            // stopped while we were queueing, the writer may have already finished
+            drainStopped();
+            return;
+        }
+        // wake up the writer only when the queue fills up, otherwise it wakes up on its own after the flush interval
+        if (waiting && queue.size() >= queue.capacity() / 2) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    // entries left in the queue after the writer thread finished are never written, count them as dropped
+    private void drainStopped() {
+        lifecycleLock.lock();
+        try {
+            Thread thread = writerThread;
+            if (running || (thread != null && thread.isAlive())) {
+                // the writer is still running and writes the queued entries
+                return;
+            }
+            // the queue has a single consumer, this is safe as the writer thread is no longer running
+            while (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    private void run() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(config.bufferSize());
+        long flushDeadline = 0;
+        try {
+            while (true) {
+                byte[] entry;
+                while ((entry = queue.poll()) != null) {
+                    if (bufferedEntries == 0) {
+                        flushDeadline = System.nanoTime() + flushIntervalNanos;
+                    }
+                    append(buffer, entry);
+                }
+                if (!running) {
+                    break;
+                }
+                long now = System.nanoTime();
+                if (bufferedEntries > 0 && now - flushDeadline >= 0) {
+                    flush(buffer);
+                }
+                waiting = true;
+                if (queue.size() == 0) {
+                    LockSupport.parkNanos(bufferedEntries > 0 ? flushDeadline - now : flushIntervalNanos);
+                }
+                waiting = false;
+            }
+            flush(buffer);
+        } catch (IOException e) {
+            LOGGER.log(ERROR, "Failed to write access log to " + config.path() + ", access log is disabled", e);
+            running = false;
+        } finally {
+            close();
+        }
+    }
+
+    private void append(ByteBuffer buffer, byte[] entry) throws IOException {
+        int length = entry.length + LINE_SEPARATOR.length;
+        if (length > buffer.remaining()) {
+            flush(buffer);
+            if (length > buffer.capacity()) {
+                // larger than the whole buffer, write directly
+                ByteBuffer large = ByteBuffer.allocate(length);
+                large.put(entry).put(LINE_SEPARATOR).flip();
+                writeToFile(large);
+                return;
+            }
+        }
+        buffer.put(entry).put(LINE_SEPARATOR);
+        bufferedEntries++;
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        if (bufferedEntries == 0) {
+            return;
+        }
+        buffer.flip();
+        writeToFile(buffer);
+        buffer.clear();
+
+        long droppedNow = dropped.get();
+        if (droppedNow != reportedDropped) {
+            LOGGER.log(WARNING, "Dropped " + (droppedNow - reportedDropped) + " access log entries, as the queue was full");
+            reportedDropped = droppedNow;
+        }
+    }
+
+    private void writeToFile(ByteBuffer buffer) throws IOException {
+        long maxFileSize = config.maxFileSize();
+        if (maxFileSize > 0 && fileSize > 0 && fileSize + buffer.remaining() > maxFileSize) {
+            rotate();
+        }
+        while (buffer.hasRemaining()) {
+            fileSize += channel.write(buffer);
+        }
+        bufferedEntries = 0;
+    }
+
+    private void open() throws IOException {
+        Path path = config.path();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        Path path = config.path();
+        int maxFiles = config.maxFiles();
+        if (maxFiles > 0) {
+            for (int i = maxFiles - 1; i > 0; i--) {
+                Path rotated = rotated(path, i);
+                if (Files.exists(rotated)) {
+                    Files.move(rotated, rotated(path, i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, rotated(path, 1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(path);
+        }
+        open();
+    }
+
+    private void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Failed to close access log file " + config.path(), e);
+        }
+    }
+
+    private static Path rotated(Path path, int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+}
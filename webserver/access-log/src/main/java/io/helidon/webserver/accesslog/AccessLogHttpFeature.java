@@ -28,16 +28,26 @@ import io.helidon.webserver.http.RoutingRequest;
 import io.helidon.webserver.http.RoutingResponse;
 
 class AccessLogHttpFeature implements HttpFeature, Weighted {
+    // enough for a typical record, so the builder does not need to grow
+    private static final int RECORD_SIZE = 256;
+
     private final System.Logger logger;
     private final double weight;
     private final Clock clock;
     private final List<AccessLogEntry> logFormat;
-
-    AccessLogHttpFeature(double weight, Clock clock, List<AccessLogEntry> logFormat, String baseLogger, String socketName) {
+    private final AccessLogFileWriter fileWriter;
+
+    AccessLogHttpFeature(double weight,
+                         Clock clock,
+                         List<AccessLogEntry> logFormat,
+                         String baseLogger,
+                         String socketName,
+                         AccessLogFileWriter fileWriter) {
         this.weight = weight;
         this.clock = clock;
         this.logFormat = logFormat;
         this.logger = System.getLogger(baseLogger + "." + socketName);
+        this.fileWriter = fileWriter;
     }
 
     @Override
@@ -45,6 +55,20 @@ class AccessLogHttpFeature implements HttpFeature, Weighted {
         routing.addFilter(this::filter);
     }
 
+    @Override
+    public void beforeStart() {
+        if (fileWriter != null) {
+            fileWriter.start();
+        }
+    }
+
+    @Override
+    public void afterStop() {
+        if (fileWriter != null) {
+            fileWriter.stop();
+        }
+    }
+
     @Override
     public double weight() {
         return weight;
@@ -64,7 +88,7 @@ class AccessLogHttpFeature implements HttpFeature, Weighted {
                                                req,
                                                res);
 
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(RECORD_SIZE);
 
         for (AccessLogEntry entry : logFormat) {
             sb.append(entry.apply(ctx));
@@ -90,8 +114,12 @@ class AccessLogHttpFeature implements HttpFeature, Weighted {
     }
 
     private void log(System.Logger logger, RoutingRequest req, RoutingResponse res, ZonedDateTime timeStart, long nanoStart) {
-        logger.log(System.Logger.Level.INFO,
-                   createLogRecord(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime()));
+        String record = createLogRecord(req, res, timeStart, nanoStart, ZonedDateTime.now(clock), System.nanoTime());
+        if (fileWriter == null) {
+            logger.log(System.Logger.Level.INFO, record);
+        } else {
+            fileWriter.write(record);
+        }
     }
 
     private record ContextImpl(long requestNanoTime,
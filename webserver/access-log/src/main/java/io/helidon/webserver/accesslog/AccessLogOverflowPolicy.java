@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.accesslog;
+
+/**
+ * What to do with an access log entry when the queue of entries waiting to be written to a file is full.
+ *
+ * @see AccessLogFileConfig#overflowPolicy()
+ */
+public enum AccessLogOverflowPolicy {
+    /**
+     * Drop the entry and count it in {@link AccessLogFeature#droppedEntries()}. Request processing is never delayed.
+     */
+    DROP,
+    /**
+     * Wait until there is space in the queue. No entry is lost, but requests are delayed when the disk cannot
+     * keep up.
+     */
+    BLOCK
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.accesslog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class AccessLogFileWriterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWrite() throws IOException {
+        Path file = tempDir.resolve("logs/access.log");
+        AccessLogFileWriter writer = new AccessLogFileWriter(AccessLogFileConfig.builder()
+                                                                     .path(file)
+                                                                     .flushInterval(Duration.ofMinutes(1))
+                                                                     .build());
+        writer.start();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String entry = "127.0.0.1 - \"GET /greet/" + i + " HTTP/1.1\" 200 " + i;
+            expected.add(entry);
+            writer.write(entry);
+        }
+        // all queued entries are written on stop, regardless of flush interval
+        writer.stop();
+
+        assertThat(Files.readAllLines(file), is(expected));
+        assertThat(writer.dropped(), is(0L));
+
+        writer.write("after stop");
+        assertThat(writer.dropped(), is(1L));
+    }
+
+    @Test
+    void testFlushInterval() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        AccessLogFileWriter writer = new AccessLogFileWriter(AccessLogFileConfig.builder()
+                                                                     .path(file)
+                                                                     .flushInterval(Duration.ofMillis(10))
+                                                                     .build());
+        writer.start();
+        try {
+            writer.write("entry");
+            long deadline = System.currentTimeMillis() + 5000;
+            while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(Files.readAllLines(file), is(List.of("entry")));
+        } finally {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void testRotation() throws IOException {
+        Path file = tempDir.resolve("access.log");
+        AccessLogFileWriter writer = new AccessLogFileWriter(AccessLogFileConfig.builder()
+                                                                     .path(file)
+                                                                     .bufferSize(100)
+                                                                     .maxFileSize(1000)
+                                                                     .maxFiles(2)
+                                                                     .build());
+        writer.start();
+        for (int i = 0; i < 1000; i++) {
+            writer.write("entry " + i);
+        }
+        writer.stop();
+
+        assertThat(Files.size(file), lessThanOrEqualTo(1000L));
+        assertThat(Files.size(tempDir.resolve("access.log.1")), lessThanOrEqualTo(1000L));
+        assertThat(Files.exists(tempDir.resolve("access.log.2")), is(true));
+        assertThat(Files.exists(tempDir.resolve("access.log.3")), is(false));
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.get(lines.size() - 1), is("entry 999"));
+    }
+
+    @Test
+    void testBlockPolicy() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        AccessLogFileWriter writer = new AccessLogFileWriter(AccessLogFileConfig.builder()
+                                                                     .path(file)
+                                                                     .queueSize(4)
+                                                                     .overflowPolicy(AccessLogOverflowPolicy.BLOCK)
+                                                                     .build());
+        writer.start();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    writer.write(thread + ":" + i);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.stop();
+
+        Set<String> lines = new HashSet<>(Files.readAllLines(file));
+        assertThat(lines.size(), is(8000));
+        assertThat(writer.dropped(), is(0L));
+    }
+
+    @Test
+    void testStopWhileWriting() throws Exception {
+        Path file = tempDir.resolve("access.log");
+        AccessLogFileWriter writer = new AccessLogFileWriter(AccessLogFileConfig.builder()
+                                                                     .path(file)
+                                                                     .build());
+        writer.start();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    writer.write(thread + ":" + i);
+                }
+            });
+        }
+        writer.stop();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // each entry is either written, or counted as dropped, none is left in the queue
+        assertThat(Files.readAllLines(file).size() + writer.dropped(), is(8000L));
+    }
+
+    @Test
+    void testRingBuffer() {
+        AccessLogRingBuffer queue = new AccessLogRingBuffer(3);
+        assertThat(queue.capacity(), is(4));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(queue.offer(new byte[] {(byte) i}), is(true));
+        }
+        // full, an entry would be dropped
+        assertThat(queue.offer(new byte[] {4}), is(false));
+        assertThat(queue.size(), is(4));
+
+        assertThat(queue.poll()[0], is((byte) 0));
+        assertThat(queue.offer(new byte[] {4}), is(true));
+        for (int i = 1; i <= 4; i++) {
+            assertThat(queue.poll()[0], is((byte) i));
+        }
+        assertThat(queue.poll(), is(nullValue()));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.grpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import io.helidon.http.HeaderName;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.Headers;
+
+import io.grpc.Codec;
+import io.grpc.Compressor;
+import io.grpc.CompressorRegistry;
+import io.grpc.Decompressor;
+import io.grpc.DecompressorRegistry;
+
+/**
+ * Message compression of gRPC calls.
+ * The server decompresses messages encoded with any of the supported encodings ({@code gzip}, {@code deflate},
+ * {@code identity}), and compresses responses only if the client lists the encoding in {@code grpc-accept-encoding}.
+ */
+final class GrpcCompression {
+    static final String IDENTITY = "identity";
+    static final HeaderName GRPC_ENCODING = HeaderNames.create("grpc-encoding");
+    static final HeaderName GRPC_ACCEPT_ENCODING = HeaderNames.create("grpc-accept-encoding");
+
+    private static final Codec DEFLATE = new Deflate();
+    private static final CompressorRegistry COMPRESSORS = CompressorRegistry.newEmptyInstance();
+    private static final DecompressorRegistry DECOMPRESSORS = DecompressorRegistry.emptyInstance()
+            .with(Codec.Identity.NONE, true)
+            .with(new Codec.Gzip(), true)
+            .with(DEFLATE, true);
+    private static final String ACCEPTED_ENCODINGS = String.join(",", DECOMPRESSORS.getKnownMessageEncodings());
+
+    static {
+        COMPRESSORS.register(Codec.Identity.NONE);
+        COMPRESSORS.register(new Codec.Gzip());
+        COMPRESSORS.register(DEFLATE);
+    }
+
+    private GrpcCompression() {
+    }
+
+    /**
+     * Comma separated encodings the server can decompress, value of {@code grpc-accept-encoding} response header.
+     *
+     * @return accepted encodings
+     */
+    static String acceptedEncodings() {
+        return ACCEPTED_ENCODINGS;
+    }
+
+    /**
+     * Decompressor of request messages.
+     *
+     * @param encoding value of {@code grpc-encoding} request header
+     * @return decompressor, or {@code null} if the encoding is not supported
+     */
+    static Decompressor decompressor(String encoding) {
+        return DECOMPRESSORS.lookupDecompressor(encoding);
+    }
+
+    /**
+     * Compressor of response messages.
+     *
+     * @param encoding       requested compression
+     * @param requestHeaders request headers with {@code grpc-accept-encoding}
+     * @return compressor, or {@code null} if the encoding is not supported by server or client, or is {@code identity}
+     */
+    static Compressor compressor(String encoding, Headers requestHeaders) {
+        if (IDENTITY.equals(encoding)) {
+            return null;
+        }
+        Compressor compressor = COMPRESSORS.lookupCompressor(encoding);
+        if (compressor == null || !requestHeaders.contains(GRPC_ACCEPT_ENCODING)) {
+            return null;
+        }
+        for (String accepted : requestHeaders.get(GRPC_ACCEPT_ENCODING).allValues(true)) {
+            if (accepted.trim().equals(encoding)) {
+                return compressor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validate a configured compression.
+     *
+     * @param encoding encoding name
+     * @throws IllegalArgumentException if the encoding is not supported
+     */
+    static void validate(String encoding) {
+        if (COMPRESSORS.lookupCompressor(encoding) == null) {
+            throw new IllegalArgumentException("Unsupported gRPC compression \"" + encoding + "\", supported: "
+                                                       + ACCEPTED_ENCODINGS);
+        }
+    }
+
+    private static final class Deflate implements Codec {
+        @Override
+        public String getMessageEncoding() {
+            return "deflate";
+        }
+
+        @Override
+        public OutputStream compress(OutputStream os) throws IOException {
+            return new DeflaterOutputStream(os);
+        }
+
+        @Override
+        public InputStream decompress(InputStream is) throws IOException {
+            return new InflaterInputStream(is);
+        }
+    }
+}
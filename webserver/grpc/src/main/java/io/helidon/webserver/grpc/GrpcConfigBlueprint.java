@@ -18,9 +18,10 @@ package io.helidon.webserver.grpc;
 
 import io.helidon.builder.api.Prototype;
 import io.helidon.config.metadata.Configured;
+import io.helidon.config.metadata.ConfiguredOption;
 import io.helidon.webserver.spi.ProtocolConfig;
 
-@Prototype.Blueprint
+@Prototype.Blueprint(decorator = GrpcConfigBlueprint.GrpcConfigDecorator.class)
 @Configured(provides = ProtocolConfig.class)
 interface GrpcConfigBlueprint extends ProtocolConfig {
     /**
@@ -31,4 +32,43 @@ interface GrpcConfigBlueprint extends ProtocolConfig {
     default String type() {
         return GrpcProtocolProvider.CONFIG_NAME;
     }
+
+    /**
+     * Compression of response messages. Messages are compressed only if the client lists the encoding in its
+     * {@code grpc-accept-encoding} header, otherwise they are sent uncompressed.
+     * A service may choose a different compression for a call using
+     * {@link io.grpc.stub.ServerCallStreamObserver#setCompression(String)}.
+     * Supported values are {@code identity} (no compression), {@code gzip} and {@code deflate}.
+     * Requests are decompressed using any of the supported encodings regardless of this option.
+     *
+     * @return compression of response messages
+     */
+    @ConfiguredOption("identity")
+    String compression();
+
+    /**
+     * Response messages smaller than this number of bytes are sent uncompressed even when compression is used,
+     * as compressing them costs more than it saves.
+     *
+     * @return minimal size of a message to compress
+     */
+    @ConfiguredOption("1024")
+    int compressionThreshold();
+
+    /**
+     * Maximal size of a request message in bytes. Applies both to the message as received and to a compressed
+     * message after decompression.
+     * The call is closed with {@link io.grpc.Status#RESOURCE_EXHAUSTED} if a message is larger.
+     *
+     * @return maximal size of a request message in bytes
+     */
+    @ConfiguredOption("4194304")
+    int maxInboundMessageSize();
+
+    class GrpcConfigDecorator implements Prototype.BuilderDecorator<GrpcConfig.BuilderBase<?, ?>> {
+        @Override
+        public void decorate(GrpcConfig.BuilderBase<?, ?> target) {
+            GrpcCompression.validate(target.compression());
+        }
+    }
 }
@@ -16,9 +16,9 @@
 
 package io.helidon.webserver.grpc;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 import io.helidon.common.buffers.BufferData;
 import io.helidon.http.Header;
@@ -39,18 +39,28 @@ import io.helidon.http.http2.Http2WindowUpdate;
 import io.helidon.http.http2.StreamFlowControl;
 import io.helidon.webserver.http2.spi.Http2SubProtocolSelector;
 
+import io.grpc.Codec;
+import io.grpc.Compressor;
+import io.grpc.Decompressor;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallHandler;
 import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 
+import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
 class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProtocolHandler {
     private static final System.Logger LOGGER = System.getLogger(GrpcProtocolHandler.class.getName());
     private static final Header GRPC_CONTENT_TYPE = HeaderValues.createCached(HeaderNames.CONTENT_TYPE, "application/grpc");
-    private static final Header GRPC_ENCODING_IDENTITY = HeaderValues.createCached("grpc-encoding", "identity");
+    private static final Header GRPC_ENCODING_IDENTITY = HeaderValues.createCached(GrpcCompression.GRPC_ENCODING,
+                                                                                   GrpcCompression.IDENTITY);
+    private static final Header GRPC_ACCEPT_ENCODING = HeaderValues.createCached(GrpcCompression.GRPC_ACCEPT_ENCODING,
+                                                                                 GrpcCompression.acceptedEncodings());
 
     private final HttpPrologue prologue;
     private final Http2Headers headers;
@@ -58,6 +68,7 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
     private final int streamId;
     private final Http2Settings serverSettings;
     private final Http2Settings clientSettings;
+    private final GrpcConfig config;
     private final Grpc<REQ, RES> route;
 
     private final StreamFlowControl flowControl;
@@ -68,6 +79,11 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
     private long length;
     private boolean isCompressed;
     private BufferData entityBytes = null;
+    private Decompressor decompressor;
+    private Compressor compressor;
+    private boolean messageCompression = true;
+    private volatile boolean headersSent;
+    private volatile boolean closed;
 
     GrpcProtocolHandler(HttpPrologue prologue,
                         Http2Headers headers,
@@ -77,6 +93,7 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
                         Http2Settings clientSettings,
                         StreamFlowControl flowControl,
                         Http2StreamState currentStreamState,
+                        GrpcConfig config,
                         Grpc<REQ, RES> route) {
 
         this.prologue = prologue;
@@ -87,12 +104,20 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
         this.clientSettings = clientSettings;
         this.flowControl = flowControl;
         this.currentStreamState = currentStreamState;
+        this.config = config;
         this.route = route;
     }
 
     @Override
     public void init() {
         try {
+            String encoding = headers.httpHeaders().first(GrpcCompression.GRPC_ENCODING).orElse(GrpcCompression.IDENTITY);
+            decompressor = GrpcCompression.decompressor(encoding);
+            if (decompressor == null) {
+                unsupportedEncoding(encoding);
+                return;
+            }
+            compressor = GrpcCompression.compressor(config.compression(), headers.httpHeaders());
             serverCall = createServerCall();
             ServerCallHandler<REQ, RES> callHandler = route.callHandler();
             listener = callHandler.startCall(serverCall, toMetadata(headers));
@@ -111,7 +136,9 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
 
     @Override
     public void rstStream(Http2RstStream rstStream) {
-        listener.onComplete();
+        if (listener != null) {
+            listener.onComplete();
+        }
     }
 
     @Override
@@ -121,13 +148,27 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
 
     @Override
     public void data(Http2FrameHeader header, BufferData data) {
+        if (listener == null) {
+            // call was rejected during init
+            return;
+        }
         try {
             while (data.available() > 0) {
                 // Start of the chunk
                 if (entityBytes == null) {
-                    // fixme compression support
                     isCompressed = (data.read() == 1);
                     length = data.readUnsignedInt32();
+                    if (length > config.maxInboundMessageSize()) {
+                        throw Status.RESOURCE_EXHAUSTED
+                                .withDescription("Request message of " + length + " bytes is larger than "
+                                                         + config.maxInboundMessageSize() + " bytes")
+                                .asRuntimeException();
+                    }
+                    if (data.available() >= length) {
+                        // whole message is in this frame, parse it directly from the frame data
+                        onMessage(new BufferDataInputStream(data, (int) length));
+                        continue;
+                    }
                     entityBytes = BufferData.create((int) length);
                 }
 
@@ -136,9 +177,7 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
 
                 // Whole chunk
                 if (entityBytes.capacity() == 0) {
-                    byte[] bytes = new byte[entityBytes.available()];
-                    entityBytes.read(bytes);
-                    listener.onMessage(route.method().parseRequest(new ByteArrayInputStream(bytes)));
+                    onMessage(new BufferDataInputStream(entityBytes, entityBytes.available()));
                     entityBytes = null;
                 }
             }
@@ -147,7 +186,109 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
                 currentStreamState = Http2StreamState.HALF_CLOSED_LOCAL;
             }
         } catch (Exception e) {
-            LOGGER.log(ERROR, "Failed to process grpc request: " + data.debugDataHex(true), e);
+            LOGGER.log(DEBUG, "Failed to process grpc request: " + data.debugDataHex(true), e);
+            failCall(e instanceof StatusRuntimeException sre
+                             ? sre.getStatus()
+                             : Status.INTERNAL.withDescription("Failed to process request message").withCause(e));
+        }
+    }
+
+    private void onMessage(BufferDataInputStream message) {
+        if (isCompressed && decompressor == Codec.Identity.NONE) {
+            throw Status.INTERNAL
+                    .withDescription("Compressed message received, but grpc-encoding is identity")
+                    .asRuntimeException();
+        }
+        REQ request;
+        LimitedInputStream decompressed = null;
+        try {
+            InputStream in;
+            if (isCompressed) {
+                decompressed = new LimitedInputStream(decompressor.decompress(message), config.maxInboundMessageSize());
+                in = decompressed;
+            } else {
+                in = message;
+            }
+            try (in) {
+                request = route.method().parseRequest(in);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (decompressed != null && decompressed.exceeded()) {
+                // the marshaller may wrap the failure of the stream, so check the stream itself
+                throw Status.RESOURCE_EXHAUSTED
+                        .withDescription("Decompressed request message is larger than "
+                                                 + config.maxInboundMessageSize() + " bytes")
+                        .asRuntimeException();
+            }
+            throw Status.INTERNAL
+                    .withDescription(isCompressed
+                                             ? "Failed to decompress request message"
+                                             : "Failed to parse request message")
+                    .withCause(e)
+                    .asRuntimeException();
+        }
+        listener.onMessage(request);
+    }
+
+    private void failCall(Status status) {
+        // close the call with error trailers, the rest of the request stream is ignored
+        ServerCall.Listener<REQ> failed = listener;
+        listener = null;
+        entityBytes = null;
+        serverCall.close(status, new Metadata());
+        failed.onCancel();
+    }
+
+    private void unsupportedEncoding(String encoding) {
+        WritableHeaders<?> writable = WritableHeaders.create();
+        writable.set(GRPC_CONTENT_TYPE);
+        writable.set(GRPC_ACCEPT_ENCODING);
+        writable.set(HeaderValues.create(GrpcStatus.STATUS_NAME, Status.Code.UNIMPLEMENTED.value()));
+        writable.set(HeaderValues.create(GrpcStatus.MESSAGE_NAME, "Unsupported grpc-encoding " + encoding));
+
+        Http2Headers http2Headers = Http2Headers.create(writable).status(io.helidon.http.Status.OK_200);
+        streamWriter.writeHeaders(http2Headers,
+                                  streamId,
+                                  Http2Flag.HeaderFlags.create(Http2Flag.END_OF_HEADERS | Http2Flag.END_OF_STREAM),
+                                  flowControl.outbound());
+        currentStreamState = Http2StreamState.HALF_CLOSED_LOCAL;
+    }
+
+    private BufferData frameData(InputStream message) throws IOException {
+        int size = message instanceof KnownLength ? message.available() : -1;
+        if (compressor != null && messageCompression && (size == -1 || size >= config.compressionThreshold())) {
+            BufferData compressed = BufferData.growing(size == -1 ? 512 : size / 2 + 16);
+            try (OutputStream out = compressor.compress(new BufferDataOutputStream(compressed))) {
+                drain(message, out);
+            }
+            return BufferData.create(prefix(true, compressed.available()), compressed);
+        }
+        if (size == -1) {
+            BufferData body = BufferData.growing(512);
+            drain(message, new BufferDataOutputStream(body));
+            return BufferData.create(prefix(false, body.available()), body);
+        }
+        // size is known, serialize directly after the prefix
+        BufferData bufferData = BufferData.create(5 + size);
+        bufferData.write(0);
+        bufferData.writeUnsignedInt32(size);
+        drain(message, new BufferDataOutputStream(bufferData));
+        return bufferData;
+    }
+
+    private static BufferData prefix(boolean compressed, int length) {
+        BufferData prefix = BufferData.create(5);
+        prefix.write(compressed ? 1 : 0);
+        prefix.writeUnsignedInt32(length);
+        return prefix;
+    }
+
+    private static void drain(InputStream message, OutputStream out) throws IOException {
+        if (message instanceof Drainable drainable) {
+            // protobuf messages serialize themselves to the stream without an intermediate byte array
+            drainable.drainTo(out);
+        } else {
+            message.transferTo(out);
         }
     }
 
@@ -160,10 +301,19 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
 
             @Override
             public void sendHeaders(Metadata headers) {
+                if (closed) {
+                    return;
+                }
+                headersSent = true;
                 // todo ignoring headers, just sending required response headers
                 WritableHeaders<?> writable = WritableHeaders.create();
                 writable.set(GRPC_CONTENT_TYPE);
-                writable.set(GRPC_ENCODING_IDENTITY);
+                writable.set(GRPC_ACCEPT_ENCODING);
+                if (compressor == null) {
+                    writable.set(GRPC_ENCODING_IDENTITY);
+                } else {
+                    writable.set(HeaderValues.create(GrpcCompression.GRPC_ENCODING, compressor.getMessageEncoding()));
+                }
 
                 Http2Headers http2Headers = Http2Headers.create(writable);
                 http2Headers.status(io.helidon.http.Status.OK_200);
@@ -175,12 +325,12 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
 
             @Override
             public void sendMessage(RES message) {
+                if (closed) {
+                    // call was already terminated, e.g. because of an invalid request message
+                    return;
+                }
                 try (InputStream inputStream = route.method().streamResponse(message)) {
-                    byte[] bytes = inputStream.readAllBytes();
-                    BufferData bufferData = BufferData.create(5 + bytes.length);
-                    bufferData.write(0);
-                    bufferData.writeUnsignedInt32(bytes.length);
-                    bufferData.write(bytes);
+                    BufferData bufferData = frameData(inputStream);
 
                     // todo flags based on method type
                     // end flag should be sent when last message is sent (or just rst stream if we cannot determine this)
@@ -196,9 +346,27 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
                 }
             }
 
+            @Override
+            public void setCompression(String compressorName) {
+                // the client must accept the encoding
+                if (headersSent) {
+                    throw new IllegalStateException("sendHeaders has been called");
+                }
+                compressor = GrpcCompression.compressor(compressorName, headers.httpHeaders());
+            }
+
+            @Override
+            public void setMessageCompression(boolean enabled) {
+                messageCompression = enabled;
+            }
+
             @Override
             public void close(Status status, Metadata trailers) {
                 // todo ignoring trailers
+                if (closed) {
+                    return;
+                }
+                closed = true;
                 WritableHeaders<?> writable = WritableHeaders.create();
 
                 // write the expected gRPC headers for content type and status
@@ -233,16 +401,23 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
         return null;
     }
 
-    private static final class BufferDataInputStream extends InputStream {
+    /**
+     * Input stream over the next {@code length} bytes of a buffer.
+     * Implements {@link io.grpc.KnownLength}, so the marshaller can read the message at once instead of buffering it.
+     */
+    private static final class BufferDataInputStream extends InputStream implements KnownLength {
         private final BufferData data;
+        private int remaining;
 
-        private BufferDataInputStream(BufferData data) {
+        private BufferDataInputStream(BufferData data, int length) {
             this.data = data;
+            this.remaining = length;
         }
 
         @Override
         public int read() throws IOException {
-            if (data.available() > 0) {
+            if (remaining > 0) {
+                remaining--;
                 return data.read();
             } else {
                 return -1;
@@ -251,16 +426,96 @@ class GrpcProtocolHandler<REQ, RES> implements Http2SubProtocolSelector.SubProto
 
         @Override
         public int read(byte[] b, int off, int len) throws IOException {
-            if (data.available() > 0) {
-                return data.read(b, off, len);
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining > 0) {
+                int read = data.read(b, off, Math.min(len, remaining));
+                remaining -= read;
+                return read;
             } else {
                 return -1;
             }
         }
 
+        @Override
+        public int available() {
+            return remaining;
+        }
+
         @Override
         public void close() throws IOException {
-            data.skip(data.available());
+            // always consume the whole message, even if the marshaller did not read it all
+            data.skip(remaining);
+            remaining = 0;
+        }
+    }
+
+    /**
+     * Input stream that fails once more than {@code limit} bytes are read, used to limit decompressed messages.
+     */
+    private static final class LimitedInputStream extends InputStream {
+        private final InputStream delegate;
+        private final int limit;
+        private long read;
+        private boolean exceeded;
+
+        private LimitedInputStream(InputStream delegate, int limit) {
+            this.delegate = delegate;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        boolean exceeded() {
+            return exceeded;
+        }
+
+        private void count(int count) throws IOException {
+            read += count;
+            if (read > limit) {
+                exceeded = true;
+                throw new IOException("Decompressed message is larger than " + limit + " bytes");
+            }
+        }
+    }
+
+    private static final class BufferDataOutputStream extends OutputStream {
+        private final BufferData data;
+
+        private BufferDataOutputStream(BufferData data) {
+            this.data = data;
+        }
+
+        @Override
+        public void write(int b) {
+            data.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            data.write(b, off, len);
         }
     }
 }
@@ -47,6 +47,6 @@ public class GrpcProtocolProvider implements Http2SubProtocolProvider<GrpcConfig
 
     @Override
     public Http2SubProtocolSelector create(GrpcConfig config, ProtocolConfigs configs) {
-        return GrpcProtocolSelector.create();
+        return GrpcProtocolSelector.create(config);
     }
 }
@@ -34,7 +34,10 @@ import io.helidon.webserver.http2.spi.SubProtocolResult;
  * Sub-protocol selector for HTTP/2.
  */
 public class GrpcProtocolSelector implements Http2SubProtocolSelector {
-    private GrpcProtocolSelector() {
+    private final GrpcConfig config;
+
+    private GrpcProtocolSelector(GrpcConfig config) {
+        this.config = config;
     }
 
     /**
@@ -43,7 +46,17 @@ public class GrpcProtocolSelector implements Http2SubProtocolSelector {
      * @return a new default grpc protocol selector for HTTP/2
      */
     public static GrpcProtocolSelector create() {
-        return new GrpcProtocolSelector();
+        return create(GrpcConfig.create());
+    }
+
+    /**
+     * Create a new grpc protocol selector.
+     *
+     * @param config grpc protocol configuration
+     * @return a new grpc protocol selector for HTTP/2
+     */
+    public static GrpcProtocolSelector create(GrpcConfig config) {
+        return new GrpcProtocolSelector(config);
     }
 
     @Override
@@ -85,6 +98,7 @@ public class GrpcProtocolSelector implements Http2SubProtocolSelector {
                                                                      clientSettings,
                                                                      flowControl,
                                                                      currentStreamState,
+                                                                     config,
                                                                      route));
             }
         }
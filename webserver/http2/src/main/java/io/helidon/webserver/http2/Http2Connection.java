@@ -537,7 +537,7 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
             stream.headers(upgradeHeaders, !hasEntity);
             upgradeHeaders = null;
             ctx.executor()
-                    .submit(new StreamRunnable(streams, stream, Thread.currentThread()));
+                    .submit(new StreamRunnable(streams, connectionWriter, stream, Thread.currentThread()));
         }
     }
 
@@ -585,7 +585,7 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
         // 5.1 - In HALF-CLOSED state we need to wait for either RST-STREAM or DATA with endStream flag
         // even when handler has already finished
         if ((REMOVABLE_STREAMS.contains(stream.stream.streamState())) && endOfStream) {
-            streams.remove(streamId);
+            removeStream(streamId);
         }
 
         state = State.READ_FRAME;
@@ -654,7 +654,7 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
         this.lastRequestTimestamp = DateTime.timestamp();
         // we now have all information needed to execute
         ctx.executor()
-                .submit(new StreamRunnable(streams, stream, Thread.currentThread()));
+                .submit(new StreamRunnable(streams, connectionWriter, stream, Thread.currentThread()));
     }
 
     private void pingFrame() {
@@ -758,7 +758,7 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
             }
             throw e;
         } finally {
-            streams.remove(streamId);
+            removeStream(streamId);
         }
     }
 
@@ -767,6 +767,12 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
         state = State.READ_FRAME;
     }
 
+    // every stream termination goes through here, so the writer does not keep state of closed streams
+    private void removeStream(int streamId) {
+        streams.remove(streamId);
+        connectionWriter.streamClosed(streamId);
+    }
+
     private StreamContext stream(int streamId) {
         if (streamId % 2 == 0) {
             // client side must send odd identifiers
@@ -858,6 +864,7 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
     }
 
     private record StreamRunnable(Http2ConnectionStreams streams,
+                                  Http2ConnectionWriter connectionWriter,
                                   Http2ServerStream stream,
                                   Thread handlerThread) implements Runnable {
 
@@ -878,6 +885,7 @@ public class Http2Connection implements ServerConnection, InterruptableTask<Void
                 // 5.1 - In HALF-CLOSED state we need to wait for either RST-STREAM or DATA with endStream flag
                 if (stream.streamState() == Http2StreamState.CLOSED) {
                     streams.remove(stream.streamId());
+                    connectionWriter.streamClosed(stream.streamId());
                 }
             }
         }
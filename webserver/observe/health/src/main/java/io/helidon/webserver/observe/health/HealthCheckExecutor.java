@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.observe.health;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.helidon.health.HealthCheck;
+import io.helidon.health.HealthCheckResponse;
+import io.helidon.http.HtmlEncoder;
+import io.helidon.metrics.api.Meter;
+import io.helidon.metrics.api.Metrics;
+import io.helidon.metrics.api.Tag;
+import io.helidon.metrics.api.Timer;
+
+/**
+ * Executes health checks for all health endpoints of a single observer.
+ * Checks are invoked concurrently on virtual threads, each check is bounded by the configured timeout,
+ * and successful responses are cached for the configured time to live.
+ * A check that is still running (for example after it timed out and ignored the interrupt) is not invoked again,
+ * subsequent requests wait for the invocation in progress.
+ * An invocation is interrupted only once the timeout passed since it started, not when a request that joined it
+ * gives up, and a check failing because of that interrupt is reported as timed out.
+ * Duration of each invocation is recorded in the {@value #TIMER_NAME} timer, tagged by the check name.
+ */
+final class HealthCheckExecutor {
+    static final String TIMER_NAME = "health.check.duration";
+
+    private static final System.Logger LOGGER = System.getLogger(HealthCheckExecutor.class.getName());
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                                                                                        .name("health-check-", 0)
+                                                                                        .factory());
+    private final Map<HealthCheck, CachedResponse> cache = new ConcurrentHashMap<>();
+    private final Map<HealthCheck, Invocation> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final long timeoutNanos;
+    private final long cacheTtlNanos;
+
+    HealthCheckExecutor(Duration timeout, Duration cacheTtl) {
+        this.timeout = timeout;
+        this.timeoutNanos = timeout.toNanos();
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    /**
+     * Call all the health checks and wait for their responses, at most for the configured timeout.
+     *
+     * @param checks health checks to call
+     * @return responses in the same order as the checks
+     */
+    List<HealthCheckResponse> call(List<HealthCheck> checks) {
+        long now = System.nanoTime();
+        long deadline = now + timeoutNanos;
+
+        // submit all checks first, so the slowest one bounds the whole request
+        HealthCheckResponse[] responses = new HealthCheckResponse[checks.size()];
+        List<Invocation> invocations = new ArrayList<>(checks.size());
+        for (int i = 0; i < responses.length; i++) {
+            HealthCheck check = checks.get(i);
+            CachedResponse cached = cache.get(check);
+            if (cached != null && now - cached.time() < cacheTtlNanos) {
+                responses[i] = cached.response();
+                invocations.add(null);
+            } else {
+                // join an invocation in progress, so a check that ignores interrupts is not piled up
+                invocations.add(inFlight.computeIfAbsent(check, it -> start(it, now)));
+            }
+        }
+
+        for (int i = 0; i < responses.length; i++) {
+            Invocation invocation = invocations.get(i);
+            if (invocation != null) {
+                responses[i] = await(checks.get(i), invocation, deadline);
+            }
+        }
+        return List.of(responses);
+    }
+
+    /**
+     * Call a single health check and wait for its response, at most for the configured timeout.
+     *
+     * @param check health check to call
+     * @return response of the check
+     */
+    HealthCheckResponse call(HealthCheck check) {
+        return call(List.of(check)).get(0);
+    }
+
+    void close() {
+        executor.shutdownNow();
+        cache.clear();
+        inFlight.clear();
+    }
+
+    private Invocation start(HealthCheck check, long now) {
+        // called from computeIfAbsent, the invocation cannot remove itself from in flight before it is added
+        // the invocation times out together with the request that started it
+        Invocation invocation = new Invocation(check, now);
+        executor.execute(invocation);
+        return invocation;
+    }
+
+    private HealthCheckResponse await(HealthCheck check, Invocation invocation, long deadline) {
+        try {
+            return invocation.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // other requests may still wait for this invocation, it is only interrupted once it took too long itself
+            invocation.interruptIfTimedOut();
+            LOGGER.log(System.Logger.Level.WARNING, "Health check " + check.name() + " timed out after " + timeout);
+            return timedOut();
+        } catch (ExecutionException e) {
+            return error(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(e);
+        }
+    }
+
+    private HealthCheckResponse invoke(Invocation invocation) {
+        HealthCheck check = invocation.check;
+        long start = System.nanoTime();
+        HealthCheckResponse response;
+        try {
+            response = check.call();
+        } catch (Exception e) {
+            if (invocation.interrupted) {
+                // failed because we interrupted it after the timeout, not an unexpected failure
+                return timedOut();
+            }
+            response = error(e);
+        } finally {
+            timer(check.name()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (cacheTtlNanos > 0 && response.status() != HealthCheckResponse.Status.ERROR && !invocation.interrupted) {
+            cache.put(check, new CachedResponse(response, start));
+        }
+        return response;
+    }
+
+    private Timer timer(String name) {
+        return timers.computeIfAbsent(name, it -> Metrics.globalRegistry()
+                .getOrCreate(Timer.builder(TIMER_NAME)
+                                     .scope(Meter.Scope.VENDOR)
+                                     .description("Duration of health check invocations")
+                                     .tags(List.of(Tag.create("name", it)))));
+    }
+
+    private HealthCheckResponse timedOut() {
+        return HealthCheckResponse.builder()
+                .status(HealthCheckResponse.Status.DOWN)
+                .detail("reason", "Timed out after " + timeout)
+                .build();
+    }
+
+    private static HealthCheckResponse error(Throwable e) {
+        LOGGER.log(System.Logger.Level.ERROR, "Unexpected failure of health check", e);
+        return HealthCheckResponse.builder()
+                .status(HealthCheckResponse.Status.ERROR)
+                .detail("error", e.getClass().getName())
+                .detail("message", HtmlEncoder.encode(e.getMessage()))
+                .build();
+    }
+
+    private final class Invocation implements Runnable {
+        private final CompletableFuture<HealthCheckResponse> result = new CompletableFuture<>();
+        private final HealthCheck check;
+        private final long start;
+        private volatile Thread thread;
+        private volatile boolean interrupted;
+
+        private Invocation(HealthCheck check, long start) {
+            this.check = check;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            try {
+                result.complete(invoke(this));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                thread = null;
+                inFlight.remove(check, this);
+            }
+        }
+
+        private void interruptIfTimedOut() {
+            if (System.nanoTime() - start < timeoutNanos) {
+                return;
+            }
+            Thread running = thread;
+            if (running != null) {
+                interrupted = true;
+                running.interrupt();
+            }
+        }
+    }
+
+    private record CachedResponse(HealthCheckResponse response, long time) {
+    }
+}
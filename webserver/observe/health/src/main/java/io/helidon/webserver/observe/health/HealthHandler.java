@@ -17,12 +17,10 @@
 package io.helidon.webserver.observe.health;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
 import io.helidon.health.HealthCheck;
 import io.helidon.health.HealthCheckResponse;
-import io.helidon.http.HtmlEncoder;
 import io.helidon.http.Status;
 import io.helidon.http.media.EntityWriter;
 import io.helidon.http.media.jsonp.JsonpSupport;
@@ -35,40 +33,31 @@ import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
 
 class HealthHandler implements Handler {
-    private static final System.Logger LOGGER = System.getLogger(HealthHandler.class.getName());
-
     private final EntityWriter<JsonObject> entityWriter;
+    private final HealthCheckExecutor executor;
     private final boolean details;
-    private final Collection<HealthCheck> checks;
+    private final List<HealthCheck> checks;
 
     HealthHandler(EntityWriter<JsonObject> entityWriter,
+                  HealthCheckExecutor executor,
                   boolean details,
                   List<HealthCheck> checks) {
         this.entityWriter = entityWriter;
+        this.executor = executor;
         this.details = details;
         this.checks = checks;
     }
 
     @Override
     public void handle(ServerRequest req, ServerResponse res) {
-        List<NamedResponse> responses = new ArrayList<>();
+        List<HealthCheckResponse> results = executor.call(checks);
+        List<NamedResponse> responses = new ArrayList<>(results.size());
         HealthCheckResponse.Status status = HealthCheckResponse.Status.UP;
 
-        for (HealthCheck check : checks) {
-            HealthCheckResponse response;
-
-            try {
-                response = check.call();
-            } catch (Exception e) {
-                response = HealthCheckResponse.builder()
-                        .status(HealthCheckResponse.Status.ERROR)
-                        .detail("error", e.getClass().getName())
-                        .detail("message", HtmlEncoder.encode(e.getMessage()))
-                        .build();
-                LOGGER.log(System.Logger.Level.ERROR, "Unexpected failure of health check", e);
-            }
+        for (int i = 0; i < results.size(); i++) {
+            HealthCheckResponse response = results.get(i);
             // we may have more checks with the same name (such as in MP Health)
-            responses.add(new NamedResponse(check.name(), response));
+            responses.add(new NamedResponse(checks.get(i).name(), response));
 
             if (response.status() == HealthCheckResponse.Status.ERROR) {
                 status = HealthCheckResponse.Status.ERROR;
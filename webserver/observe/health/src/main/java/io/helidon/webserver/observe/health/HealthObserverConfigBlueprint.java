@@ -16,6 +16,7 @@
 
 package io.helidon.webserver.observe.health;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,6 +61,29 @@ interface HealthObserverConfigBlueprint extends ObserverConfigBase, Prototype.Fa
     @Option.DefaultBoolean(false)
     boolean details();
 
+    /**
+     * Maximal time to wait for health checks of a single request.
+     * Health checks are invoked concurrently, a check that does not complete in time
+     * reports {@link io.helidon.health.HealthCheckResponse.Status#DOWN} with the reason in its details.
+     *
+     * @return health check timeout
+     */
+    @Option.Configured
+    @Option.Default("PT10S")
+    Duration timeout();
+
+    /**
+     * How long to reuse the response of a health check before calling it again.
+     * Only responses that are not {@link io.helidon.health.HealthCheckResponse.Status#ERROR} are cached,
+     * timed out checks are always called again.
+     * Defaults to zero, which disables caching.
+     *
+     * @return time to live of cached health check responses
+     */
+    @Option.Configured
+    @Option.Default("PT0S")
+    Duration cacheTtl();
+
     /**
      * Health checks with implicit types.
      *
@@ -38,6 +38,7 @@ import static io.helidon.health.HealthCheckType.STARTUP;
  */
 class HealthService implements HttpService {
     private final boolean details;
+    private final HealthCheckExecutor executor;
     private final List<HealthCheck> all;
     private final List<HealthCheck> ready;
     private final List<HealthCheck> live;
@@ -45,6 +46,7 @@ class HealthService implements HttpService {
 
     HealthService(HealthObserverConfig config, List<HealthCheck> healthChecks) {
         this.details = config.details();
+        this.executor = new HealthCheckExecutor(config.timeout(), config.cacheTtl());
 
         this.all = List.copyOf(healthChecks);
         this.ready = healthChecks.stream()
@@ -62,22 +64,33 @@ class HealthService implements HttpService {
     public void routing(HttpRules rules) {
         EntityWriter<JsonObject> entityWriter = JsonpSupport.serverResponseWriter();
 
-        rules.get("/", new HealthHandler(entityWriter, details, all))
-                .get("/" + READINESS.defaultEndpoint(), new HealthHandler(entityWriter, details, ready))
-                .get("/" + LIVENESS.defaultEndpoint(), new HealthHandler(entityWriter, details, live))
-                .get("/" + STARTUP.defaultEndpoint(), new HealthHandler(entityWriter, details, start))
-                .get("/" + READINESS.defaultEndpoint() + "/{name}", new SingleCheckHandler(entityWriter, details, ready))
-                .get("/" + LIVENESS.defaultEndpoint() + "/{name}", new SingleCheckHandler(entityWriter, details, live))
-                .get("/" + STARTUP.defaultEndpoint() + "/{name}", new SingleCheckHandler(entityWriter, details, start))
-                .get("/check/{name}", new SingleCheckHandler(entityWriter, details, all))
-                .head("/", new HealthHandler(entityWriter, false, all))
-                .head("/" + READINESS.defaultEndpoint(), new HealthHandler(entityWriter, false, ready))
-                .head("/" + LIVENESS.defaultEndpoint(), new HealthHandler(entityWriter, false, live))
-                .head("/" + STARTUP.defaultEndpoint(), new HealthHandler(entityWriter, false, start))
-                .head("/" + READINESS.defaultEndpoint() + "/{name}", new SingleCheckHandler(entityWriter, false, ready))
-                .head("/" + LIVENESS.defaultEndpoint() + "/{name}", new SingleCheckHandler(entityWriter, false, live))
-                .head("/" + STARTUP.defaultEndpoint() + "/{name}", new SingleCheckHandler(entityWriter, false, start))
-                .head("/check/{name}", new SingleCheckHandler(entityWriter, false, all));
+        rules.get("/", new HealthHandler(entityWriter, executor, details, all))
+                .get("/" + READINESS.defaultEndpoint(), new HealthHandler(entityWriter, executor, details, ready))
+                .get("/" + LIVENESS.defaultEndpoint(), new HealthHandler(entityWriter, executor, details, live))
+                .get("/" + STARTUP.defaultEndpoint(), new HealthHandler(entityWriter, executor, details, start))
+                .get("/" + READINESS.defaultEndpoint() + "/{name}",
+                     new SingleCheckHandler(entityWriter, executor, details, ready))
+                .get("/" + LIVENESS.defaultEndpoint() + "/{name}",
+                     new SingleCheckHandler(entityWriter, executor, details, live))
+                .get("/" + STARTUP.defaultEndpoint() + "/{name}",
+                     new SingleCheckHandler(entityWriter, executor, details, start))
+                .get("/check/{name}", new SingleCheckHandler(entityWriter, executor, details, all))
+                .head("/", new HealthHandler(entityWriter, executor, false, all))
+                .head("/" + READINESS.defaultEndpoint(), new HealthHandler(entityWriter, executor, false, ready))
+                .head("/" + LIVENESS.defaultEndpoint(), new HealthHandler(entityWriter, executor, false, live))
+                .head("/" + STARTUP.defaultEndpoint(), new HealthHandler(entityWriter, executor, false, start))
+                .head("/" + READINESS.defaultEndpoint() + "/{name}",
+                      new SingleCheckHandler(entityWriter, executor, false, ready))
+                .head("/" + LIVENESS.defaultEndpoint() + "/{name}",
+                      new SingleCheckHandler(entityWriter, executor, false, live))
+                .head("/" + STARTUP.defaultEndpoint() + "/{name}",
+                      new SingleCheckHandler(entityWriter, executor, false, start))
+                .head("/check/{name}", new SingleCheckHandler(entityWriter, executor, false, all));
 
     }
+
+    @Override
+    public void afterStop() {
+        executor.close();
+    }
 }
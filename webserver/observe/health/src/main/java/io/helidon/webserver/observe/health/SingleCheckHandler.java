@@ -24,7 +24,6 @@ import java.util.Map;
 
 import io.helidon.health.HealthCheck;
 import io.helidon.health.HealthCheckResponse;
-import io.helidon.http.HtmlEncoder;
 import io.helidon.http.NotFoundException;
 import io.helidon.http.Status;
 import io.helidon.http.media.EntityWriter;
@@ -39,12 +38,17 @@ class SingleCheckHandler implements Handler {
     private static final System.Logger LOGGER = System.getLogger(SingleCheckHandler.class.getName());
 
     private final EntityWriter<JsonObject> entityWriter;
+    private final HealthCheckExecutor executor;
     private final boolean details;
     private final List<HealthCheck> allChecks;
     private final Map<String, HealthCheck> checks;
 
-    SingleCheckHandler(EntityWriter<JsonObject> entityWriter, boolean details, List<HealthCheck> checks) {
+    SingleCheckHandler(EntityWriter<JsonObject> entityWriter,
+                       HealthCheckExecutor executor,
+                       boolean details,
+                       List<HealthCheck> checks) {
         this.entityWriter = entityWriter;
+        this.executor = executor;
         this.details = details;
         this.allChecks = checks;
         this.checks = new HashMap<>();
@@ -63,18 +67,7 @@ class SingleCheckHandler implements Handler {
             throw new NotFoundException(name);
         }
 
-        HealthCheckResponse response;
-
-        try {
-            response = check.call();
-        } catch (Exception e) {
-            response = HealthCheckResponse.builder()
-                    .status(HealthCheckResponse.Status.ERROR)
-                    .detail("error", e.getClass().getName())
-                    .detail("message", HtmlEncoder.encode(e.getMessage()))
-                    .build();
-            LOGGER.log(System.Logger.Level.ERROR, "Unexpected failure of health check", e);
-        }
+        HealthCheckResponse response = executor.call(check);
 
         Status responseStatus = switch (response.status()) {
             case UP -> details ? Status.OK_200 : Status.NO_CONTENT_204;
@@ -26,6 +26,7 @@ import io.helidon.common.features.api.HelidonFlavor;
 module io.helidon.webserver.observe.health {
 
     requires io.helidon.http.media.jsonp;
+    requires io.helidon.metrics.api;
     requires io.helidon.webserver;
     requires java.management;
 
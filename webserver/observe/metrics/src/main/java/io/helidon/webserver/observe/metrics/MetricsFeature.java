@@ -15,6 +15,9 @@
  */
 package io.helidon.webserver.observe.metrics;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
@@ -112,6 +115,18 @@ class MetricsFeature {
         return formatter.format();
     }
 
+    Optional<MeterRegistryFormatter.StreamingOutput> outputStreaming(MediaType mediaType,
+                                                                     Iterable<String> scopeSelection,
+                                                                     Iterable<String> nameSelection) {
+        MeterRegistryFormatter formatter = chooseFormatter(meterRegistry,
+                                                           mediaType,
+                                                           SystemTagsManager.instance().scopeTagName(),
+                                                           scopeSelection,
+                                                           nameSelection);
+
+        return formatter.formatStreaming();
+    }
+
     Optional<?> outputMetadata(MediaType mediaType,
                        Iterable<String> scopeSelection,
                        Iterable<String> nameSelection) {
@@ -186,11 +201,35 @@ class MetricsFeature {
         if (mediaType == null) {
             res.status(Status.NOT_ACCEPTABLE_406);
             res.send();
+            return;
         }
 
-        getOrOptionsMatching(mediaType, res, () -> output(mediaType,
-                                                          scopeSelection,
-                                                          nameSelection));
+        if (mediaType.equals(MediaTypes.APPLICATION_JSON)) {
+            getOrOptionsMatching(mediaType, res, () -> output(mediaType,
+                                                              scopeSelection,
+                                                              nameSelection));
+        } else {
+            // text formats are written directly to the response, without creating the whole output in memory
+            streamMatching(mediaType, res, outputStreaming(mediaType, scopeSelection, nameSelection));
+        }
+    }
+
+    private void streamMatching(MediaType mediaType,
+                                ServerResponse res,
+                                Optional<MeterRegistryFormatter.StreamingOutput> output) {
+        if (output.isEmpty()) {
+            res.status(NOT_FOUND_404);
+            res.send();
+            return;
+        }
+
+        res.status(OK_200)
+                .headers().contentType(mediaType);
+        try (OutputStream outputStream = res.outputStream()) {
+            output.get().write(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write metrics output", e);
+        }
     }
 
     private void getOrOptionsMatching(MediaType mediaType,
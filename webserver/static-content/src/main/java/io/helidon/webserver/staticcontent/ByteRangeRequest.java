@@ -54,10 +54,12 @@ record ByteRangeRequest(long fileLength, long offset, long length) {
             if (secondGroup != null) {
                 long second = Long.parseLong(secondGroup);
                 if (firstGroup == null) {
-                    from = fileLength - second;
+                    // suffix longer than the file means the whole file
+                    from = Math.max(0, fileLength - second);
                     last = fileLength - 1;
                 } else {
-                    last = second;
+                    // last position beyond the end of file means until the end of file
+                    last = Math.min(second, fileLength - 1);
                 }
             }
             parts.add(ByteRangeRequest.create(req, res, from, last, fileLength));
@@ -73,14 +75,23 @@ record ByteRangeRequest(long fileLength, long offset, long length) {
         // status: 206 Partial Content
         // Content-Range: bytes 0-1023/146515
         // Content-Length: 1024
-        long last = (offset + length) - 1;
         response.header(HeaderValues.create(HeaderNames.CONTENT_RANGE, true,
                                             false,
-                                            "bytes " + offset + "-" + last + "/" + fileLength));
+                                            contentRange()));
         response.contentLength(length);
         response.status(Status.PARTIAL_CONTENT_206);
     }
 
+    /**
+     * Value of the {@code Content-Range} header for this range, such as {@code bytes 0-1023/146515}.
+     *
+     * @return content range
+     */
+    String contentRange() {
+        long last = (offset + length) - 1;
+        return "bytes " + offset + "-" + last + "/" + fileLength;
+    }
+
     private static ByteRangeRequest create(ServerRequest req, ServerResponse res, long offset, long last, long fileLength) {
         if (offset >= fileLength || last < offset) {
             res.header(HeaderNames.CONTENT_RANGE, "*/" + fileLength);
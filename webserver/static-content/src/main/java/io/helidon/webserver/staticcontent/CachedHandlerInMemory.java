@@ -16,8 +16,9 @@
 
 package io.helidon.webserver.staticcontent;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
 
@@ -39,25 +40,46 @@ import static io.helidon.webserver.staticcontent.StaticContentHandler.processMod
 record CachedHandlerInMemory(MediaType mediaType,
                              Instant lastModified,
                              BiConsumer<ServerResponseHeaders, Instant> setLastModifiedHeader,
-                             byte[] bytes,
+                             ByteBuffer content,
                              int contentLength,
-                             Header contentLengthHeader) implements CachedHandler {
+                             Header contentLengthHeader,
+                             CompressedVariants compressedVariants) implements CachedHandler {
 
     @Override
     public boolean handle(LruCache<String, CachedHandler> cache,
                           Method method,
                           ServerRequest request,
                           ServerResponse response,
-                          String requestedResource) {
+                          String requestedResource) throws IOException {
+        // ranges are always served from the identity representation
+        boolean compressible = content.hasArray() && compressedVariants.compressible(mediaType, bytes());
+        boolean gzip = compressible
+                && !request.headers().contains(HeaderNames.RANGE)
+                && CompressedVariants.accepts(request.headers(), CompressedVariants.GZIP);
+        if (compressible) {
+            response.headers().set(CompressedVariants.VARY_ACCEPT_ENCODING);
+        }
+
         // etag etc.
         if (lastModified != null) {
-            processEtag(String.valueOf(lastModified.toEpochMilli()), request.headers(), response.headers());
+            // each representation must have a different entity tag
+            String etag = String.valueOf(lastModified.toEpochMilli());
+            processEtag(gzip ? etag + "-" + CompressedVariants.GZIP : etag, request.headers(), response.headers());
             processModifyHeaders(lastModified, request.headers(), response.headers(), setLastModifiedHeader);
         }
 
         response.headers().contentType(mediaType);
 
-        if (method == Method.GET) {
+        if (gzip) {
+            byte[] compressed = compressedVariants.gzip(requestedResource, bytes());
+            response.headers().set(HeaderNames.CONTENT_ENCODING, CompressedVariants.GZIP);
+            response.headers().contentLength(compressed.length);
+            if (method == Method.GET) {
+                response.send(compressed);
+            } else {
+                response.send();
+            }
+        } else if (method == Method.GET) {
             send(request, response);
         } else {
             response.headers().set(contentLengthHeader());
@@ -67,6 +89,15 @@ record CachedHandlerInMemory(MediaType mediaType,
         return true;
     }
 
+    /**
+     * Bytes of the cached content.
+     *
+     * @return cached bytes, or {@code null} if the content is not cached on heap (such as a memory mapped file)
+     */
+    byte[] bytes() {
+        return content.hasArray() ? content.array() : null;
+    }
+
     private void send(ServerRequest request, ServerResponse response) {
         ServerRequestHeaders headers = request.headers();
 
@@ -89,10 +120,11 @@ record CachedHandlerInMemory(MediaType mediaType,
 
                 range.setContentRange(response);
 
-                // only send a part of the file
-                response.send(Arrays.copyOfRange(bytes(), (int) range.offset(), (int) range.length()));
+                // only send a part of the content, as a slice of the cached buffer
+                response.sendBuffers(List.of(content.slice((int) range.offset(), (int) range.length())));
+            } else if (MultipartByteRanges.acceptable(ranges)) {
+                MultipartByteRanges.send(response, ranges, content);
             } else {
-                // not supported, send full
                 send(response);
             }
         } else {
@@ -102,6 +134,10 @@ record CachedHandlerInMemory(MediaType mediaType,
 
     private void send(ServerResponse response) {
         response.headers().set(contentLengthHeader());
-        response.send(bytes());
+        if (content.hasArray()) {
+            response.send(bytes());
+        } else {
+            response.sendBuffers(List.of(content.slice(0, (int) contentLength())));
+        }
     }
 }
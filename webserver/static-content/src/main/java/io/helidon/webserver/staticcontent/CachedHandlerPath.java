@@ -20,12 +20,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 
 import io.helidon.common.configurable.LruCache;
 import io.helidon.common.media.type.MediaType;
 import io.helidon.http.ForbiddenException;
+import io.helidon.http.HeaderNames;
 import io.helidon.http.Method;
 import io.helidon.http.ServerResponseHeaders;
 import io.helidon.webserver.http.ServerRequest;
@@ -37,7 +39,8 @@ import static io.helidon.webserver.staticcontent.StaticContentHandler.processMod
 record CachedHandlerPath(Path path,
                          MediaType mediaType,
                          IoFunction<Path, Optional<Instant>> lastModified,
-                         BiConsumer<ServerResponseHeaders, Instant> setLastModifiedHeader) implements CachedHandler {
+                         BiConsumer<ServerResponseHeaders, Instant> setLastModifiedHeader,
+                         List<CompressedVariants.Precompressed> precompressed) implements CachedHandler {
     private static final System.Logger LOGGER = System.getLogger(CachedHandlerPath.class.getName());
 
     @Override
@@ -61,18 +64,39 @@ record CachedHandlerPath(Path path,
 
         Instant lastModified = lastModified().apply(path).orElse(null);
 
+        // ranges are always served from the identity representation
+        Optional<CompressedVariants.Precompressed> variant = request.headers().contains(HeaderNames.RANGE)
+                ? Optional.empty()
+                : CompressedVariants.select(request.headers(), precompressed);
+        if (variant.isPresent() && !Files.isRegularFile(variant.get().path())) {
+            // variant was removed, forget the cached variants and send the identity representation
+            cache.remove(requestedResource);
+            variant = Optional.empty();
+        }
+        if (!precompressed.isEmpty()) {
+            response.headers().set(CompressedVariants.VARY_ACCEPT_ENCODING);
+        }
+
         // etag etc.
         if (lastModified != null) {
-            processEtag(String.valueOf(lastModified.toEpochMilli()), request.headers(), response.headers());
+            // each representation must have a different entity tag
+            String etag = String.valueOf(lastModified.toEpochMilli());
+            processEtag(variant.map(it -> etag + "-" + it.encoding()).orElse(etag), request.headers(), response.headers());
             processModifyHeaders(lastModified, request.headers(), response.headers(), setLastModifiedHeader());
         }
 
         response.headers().contentType(mediaType);
 
+        Path toSend = path;
+        if (variant.isPresent()) {
+            toSend = variant.get().path();
+            response.headers().set(HeaderNames.CONTENT_ENCODING, variant.get().encoding());
+        }
+
         if (method == Method.GET) {
-            FileBasedContentHandler.send(request, response, path);
+            FileBasedContentHandler.send(request, response, toSend);
         } else {
-            FileBasedContentHandler.processContentLength(path, response.headers());
+            FileBasedContentHandler.processContentLength(toSend, response.headers());
             response.send();
         }
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import io.helidon.common.configurable.LruCache;
+import io.helidon.common.media.type.MediaType;
+import io.helidon.http.Header;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.HeaderValues;
+import io.helidon.http.ServerRequestHeaders;
+
+/**
+ * Compressed variants of static resources.
+ * <ul>
+ *     <li>Precompressed files - a sibling file with {@code .br} or {@code .gz} suffix is served instead of the
+ *     requested file, if the client accepts the encoding</li>
+ *     <li>Resources cached in memory are compressed using gzip on first request that accepts it, and the compressed
+ *     bytes are kept in a cache bounded by the total number of bytes</li>
+ * </ul>
+ */
+final class CompressedVariants {
+    static final String GZIP = "gzip";
+    static final String BROTLI = "br";
+    static final Header VARY_ACCEPT_ENCODING = HeaderValues.createCached(HeaderNames.VARY, "Accept-Encoding");
+
+    // resources smaller than this are not worth compressing
+    private static final int MIN_COMPRESS_SIZE = 256;
+    private static final List<Encoding> PRECOMPRESSED = List.of(new Encoding(BROTLI, ".br"),
+                                                                new Encoding(GZIP, ".gz"));
+
+    private final boolean precompressed;
+    private final LruCache<String, byte[]> cache;
+
+    private CompressedVariants(boolean precompressed, LruCache<String, byte[]> cache) {
+        this.precompressed = precompressed;
+        this.cache = cache;
+    }
+
+    static CompressedVariants create(StaticContentService.Builder<?> builder) {
+        int capacity = builder.compressedVariantsCacheCapacity();
+        LruCache<String, byte[]> cache = null;
+        if (capacity > 0) {
+            cache = LruCache.<String, byte[]>builder()
+                    .capacity(capacity)
+                    .weigher((key, value) -> value.length)
+                    .build();
+        }
+        return new CompressedVariants(builder.precompressedVariants(), cache);
+    }
+
+    /**
+     * Whether the client accepts the content encoding, as defined by the {@code Accept-Encoding} header.
+     *
+     * @param headers  request headers
+     * @param encoding content encoding
+     * @return whether the encoding is accepted with a non-zero quality
+     */
+    static boolean accepts(ServerRequestHeaders headers, String encoding) {
+        if (!headers.contains(HeaderNames.ACCEPT_ENCODING)) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String value : headers.get(HeaderNames.ACCEPT_ENCODING).allValues(true)) {
+            int paramIndex = value.indexOf(';');
+            String name = (paramIndex == -1 ? value : value.substring(0, paramIndex)).trim();
+            boolean accepted = paramIndex == -1 || !zeroQuality(value.substring(paramIndex + 1));
+            if (name.equalsIgnoreCase(encoding)) {
+                // explicit entry wins over wildcard
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Select the preferred precompressed variant accepted by the client.
+     *
+     * @param headers  request headers
+     * @param variants precompressed variants of the requested file, as found by {@link #precompressed(java.nio.file.Path)}
+     * @return precompressed variant, or empty if none is accepted
+     */
+    static Optional<Precompressed> select(ServerRequestHeaders headers, List<Precompressed> variants) {
+        for (Precompressed variant : variants) {
+            if (accepts(headers, variant.encoding())) {
+                return Optional.of(variant);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find precompressed siblings of the file. The file system is probed once, when the handler of the file is cached.
+     *
+     * @param path requested file
+     * @return precompressed variants in order of preference, empty if disabled or none exists
+     */
+    List<Precompressed> precompressed(Path path) {
+        if (!precompressed) {
+            return List.of();
+        }
+        Path fileName = path.getFileName();
+        if (fileName == null) {
+            return List.of();
+        }
+        List<Precompressed> found = new ArrayList<>(PRECOMPRESSED.size());
+        for (Encoding encoding : PRECOMPRESSED) {
+            Path sibling = path.resolveSibling(fileName + encoding.suffix());
+            if (Files.isRegularFile(sibling) && Files.isReadable(sibling)) {
+                found.add(new Precompressed(encoding.name(), sibling));
+            }
+        }
+        return List.copyOf(found);
+    }
+
+    /**
+     * Whether the resource cached in memory can be compressed on the fly.
+     *
+     * @param mediaType media type of the resource
+     * @param bytes     bytes of the resource
+     * @return whether compressed variants are enabled and the resource is worth compressing
+     */
+    boolean compressible(MediaType mediaType, byte[] bytes) {
+        return cache != null && bytes.length >= MIN_COMPRESS_SIZE && compressible(mediaType);
+    }
+
+    /**
+     * Gzip compressed variant of a resource cached in memory, compressed on first use.
+     *
+     * @param resource resource identifier
+     * @param bytes    uncompressed bytes of the resource
+     * @return compressed bytes
+     */
+    byte[] gzip(String resource, byte[] bytes) {
+        return cache.computeValue(resource + "|" + GZIP, () -> Optional.of(gzip(bytes)))
+                .orElseThrow();
+    }
+
+    StaticContentService.CompressedVariantsStatistics statistics() {
+        if (cache == null) {
+            return new StaticContentService.CompressedVariantsStatistics(0, 0, 0, 0);
+        }
+        LruCache.Statistics statistics = cache.statistics();
+        return new StaticContentService.CompressedVariantsStatistics(cache.size(),
+                                                                     statistics.hitCount(),
+                                                                     statistics.missCount(),
+                                                                     statistics.evictionCount());
+    }
+
+    void clear() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static boolean compressible(MediaType mediaType) {
+        String subtype = mediaType.subtype();
+        return switch (mediaType.type()) {
+        case "text" -> true;
+        case "application" -> subtype.equals("json")
+                || subtype.equals("javascript")
+                || subtype.equals("xml")
+                || subtype.endsWith("+json")
+                || subtype.endsWith("+xml");
+        case "image" -> subtype.equals("svg+xml");
+        default -> false;
+        };
+    }
+
+    private static boolean zeroQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(trimmed.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(baos)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * A precompressed sibling of a file.
+     *
+     * @param encoding content encoding of the file
+     * @param path     path of the compressed file
+     */
+    record Precompressed(String encoding, Path path) {
+    }
+
+    private record Encoding(String name, String suffix) {
+    }
+}
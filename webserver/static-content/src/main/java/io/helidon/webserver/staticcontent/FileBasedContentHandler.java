@@ -17,15 +17,12 @@
 package io.helidon.webserver.staticcontent;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.SeekableByteChannel;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +69,28 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
         }
     }
 
+    /**
+     * Read content of a file to be cached in memory.
+     *
+     * @param path         path of the file
+     * @param memoryMapped whether to map the file into memory, or to read it into a byte array
+     * @return content of the file
+     * @throws IOException in case the file cannot be read, or is too big to be mapped
+     */
+    static ByteBuffer readContent(Path path, boolean memoryMapped) throws IOException {
+        if (!memoryMapped) {
+            return ByteBuffer.wrap(Files.readAllBytes(path));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + path + " is too big to be cached in memory, size: " + size);
+            }
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
     static void send(ServerRequest request, ServerResponse response, Path path) throws IOException {
         ServerRequestHeaders headers = request.headers();
         if (headers.contains(HeaderNames.RANGE)) {
@@ -86,35 +105,16 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
                 range.setContentRange(response);
 
                 // only send a part of the file
-                try (OutputStream out = response.outputStream(); SeekableByteChannel channel = Files.newByteChannel(path)) {
-                    WritableByteChannel outChannel = Channels.newChannel(out);
-                    channel.position(range.offset());
-                    long toRead = range.length();
-                    ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(toRead, 1000));
-                    while (toRead != 0) {
-                        int read = channel.read(buffer);
-                        int toWrite = (int) Math.min(toRead, read);
-                        buffer.flip();
-                        buffer.limit(toWrite);
-                        outChannel.write(buffer);
-                        buffer.flip();
-                        toRead -= toWrite;
-                    }
-                }
+                response.send(path, range.offset(), range.length());
+            } else if (MultipartByteRanges.acceptable(ranges)) {
+                MultipartByteRanges.send(response, ranges, RangeWriter.create(path));
             } else {
-                // multipart response not yet supported, send all
-                processContentLength(path, response.headers());
-                // send the full file
-                try (InputStream in = Files.newInputStream(path); OutputStream out = response.outputStream()) {
-                    in.transferTo(out);
-                }
+                // too many or overlapping ranges, send all
+                response.send(path, 0, contentLength);
             }
         } else {
-            processContentLength(path, response.headers());
             // send the full file
-            try (InputStream in = Files.newInputStream(path); OutputStream out = response.outputStream()) {
-                in.transferTo(out);
-            }
+            response.send(path, 0, contentLength(path));
         }
     }
 
@@ -135,7 +135,8 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
         return Optional.of(new CachedHandlerPath(path,
                                                  detectType(fileName(path)),
                                                  FileBasedContentHandler::lastModified,
-                                                 ServerResponseHeaders::lastModified));
+                                                 ServerResponseHeaders::lastModified,
+                                                 compressedVariants().precompressed(path)));
     }
 
     MediaType detectType(String fileName) {
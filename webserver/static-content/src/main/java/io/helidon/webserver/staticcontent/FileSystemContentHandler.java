@@ -18,6 +18,7 @@ package io.helidon.webserver.staticcontent;
 
 import java.io.IOException;
 import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
@@ -39,12 +40,14 @@ class FileSystemContentHandler extends FileBasedContentHandler {
     private final AtomicBoolean populatedInMemoryCache = new AtomicBoolean();
     private final Path root;
     private final Set<String> cacheInMemory;
+    private final boolean memoryMapped;
 
     FileSystemContentHandler(StaticContentService.FileSystemBuilder builder) {
         super(builder);
 
         this.root = builder.root().toAbsolutePath().normalize();
         this.cacheInMemory = new HashSet<>(builder.cacheInMemory());
+        this.memoryMapped = builder.memoryMapped();
     }
 
     @Override
@@ -148,7 +151,8 @@ class FileSystemContentHandler extends FileBasedContentHandler {
         CachedHandler handler = new CachedHandlerPath(path,
                                                       detectType(fileName(path)),
                                                       FileBasedContentHandler::lastModified,
-                                                      ServerResponseHeaders::lastModified);
+                                                      ServerResponseHeaders::lastModified,
+                                                      compressedVariants().precompressed(path));
         cacheHandler(requestedResource, handler);
         return handler.handle(handlerCache(), method, req, res, requestedResource);
     }
@@ -193,8 +197,8 @@ class FileSystemContentHandler extends FileBasedContentHandler {
     }
 
     private void addToInMemoryCache(String resource, Path path) throws IOException {
-        byte[] fileBytes = Files.readAllBytes(path);
-        cacheInMemory(resource, detectType(fileName(path)), fileBytes, lastModified(path));
+        ByteBuffer content = readContent(path, memoryMapped);
+        cacheInMemory(resource, detectType(fileName(path)), content, lastModified(path));
     }
 
     private Path requestedPath(String requestedPath) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.helidon.http.HeaderNames;
+import io.helidon.http.Status;
+import io.helidon.webserver.http.ServerResponse;
+
+/**
+ * Response with multiple ranges of a resource, sent as {@code multipart/byteranges} (RFC 9110, section 14.6).
+ */
+final class MultipartByteRanges {
+    // requests with more ranges are served the full resource, to prevent abuse with many tiny ranges
+    private static final int MAX_RANGES = 64;
+
+    private MultipartByteRanges() {
+    }
+
+    /**
+     * Whether the ranges should be served as a multipart response.
+     * Too many ranges, or ranges that overlap so much that the response would be bigger than the resource,
+     * are served the full resource instead.
+     *
+     * @param ranges requested ranges
+     * @return whether to send a multipart response
+     */
+    static boolean acceptable(List<ByteRangeRequest> ranges) {
+        if (ranges.size() > MAX_RANGES) {
+            return false;
+        }
+        long total = 0;
+        for (ByteRangeRequest range : ranges) {
+            total += range.length();
+        }
+        return total <= ranges.get(0).fileLength();
+    }
+
+    /**
+     * Send the ranges as a {@code multipart/byteranges} response.
+     * The content type of each part is the content type configured on the response (if any).
+     *
+     * @param response response to send
+     * @param ranges   ranges to send, in the order requested by the client
+     * @param writer   writer of the resource content
+     * @throws IOException in case the content cannot be written
+     */
+    static void send(ServerResponse response, List<ByteRangeRequest> ranges, RangeWriter writer) throws IOException {
+        Parts parts = prepare(response, ranges);
+
+        try (OutputStream out = response.outputStream()) {
+            for (int i = 0; i < ranges.size(); i++) {
+                ByteRangeRequest range = ranges.get(i);
+                out.write(parts.headers().get(i));
+                writer.write(out, range.offset(), range.length());
+            }
+            out.write(parts.end());
+        }
+    }
+
+    /**
+     * Send the ranges of an in-memory resource as a {@code multipart/byteranges} response.
+     * The ranges are sent as slices of the content, without copying it.
+     *
+     * @param response response to send
+     * @param ranges   ranges to send, in the order requested by the client
+     * @param content  resource content, position and limit are ignored and not modified
+     */
+    static void send(ServerResponse response, List<ByteRangeRequest> ranges, ByteBuffer content) {
+        Parts parts = prepare(response, ranges);
+
+        List<ByteBuffer> buffers = new ArrayList<>(ranges.size() * 2 + 1);
+        for (int i = 0; i < ranges.size(); i++) {
+            ByteRangeRequest range = ranges.get(i);
+            buffers.add(ByteBuffer.wrap(parts.headers().get(i)));
+            buffers.add(content.slice((int) range.offset(), (int) range.length()));
+        }
+        buffers.add(ByteBuffer.wrap(parts.end()));
+        response.sendBuffers(buffers);
+    }
+
+    private static Parts prepare(ServerResponse response, List<ByteRangeRequest> ranges) {
+        String boundary = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+        Optional<String> contentType = response.headers().first(HeaderNames.CONTENT_TYPE);
+
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            ByteRangeRequest range = ranges.get(i);
+            StringBuilder part = new StringBuilder();
+            if (i != 0) {
+                // each part ends with a new line before the next boundary
+                part.append("\r\n");
+            }
+            part.append("--").append(boundary).append("\r\n");
+            contentType.ifPresent(it -> part.append("Content-Type: ").append(it).append("\r\n"));
+            part.append("Content-Range: ").append(range.contentRange()).append("\r\n\r\n");
+            byte[] bytes = part.toString().getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(bytes);
+            contentLength += bytes.length + range.length();
+        }
+        byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += end.length;
+
+        response.status(Status.PARTIAL_CONTENT_206);
+        response.headers().set(HeaderNames.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        response.contentLength(contentLength);
+        return new Parts(partHeaders, end);
+    }
+
+    private record Parts(List<byte[]> headers, byte[] end) {
+    }
+}
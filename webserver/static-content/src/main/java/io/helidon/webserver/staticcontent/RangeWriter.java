@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a region of a static resource to an output stream.
+ * In-memory resources are sent as buffer slices using {@link io.helidon.webserver.http.ServerResponse#sendBuffers(java.util.List)}.
+ */
+@FunctionalInterface
+interface RangeWriter {
+    /**
+     * Write a region of the resource.
+     *
+     * @param out    output stream to write to
+     * @param offset offset of the first byte
+     * @param length number of bytes to write
+     * @throws IOException in case the resource cannot be read, or the data cannot be written
+     */
+    void write(OutputStream out, long offset, long length) throws IOException;
+
+    /**
+     * Writer of a file. Each call opens the file and transfers the region using a file channel.
+     *
+     * @param path path of the file
+     * @return a new writer
+     */
+    static RangeWriter create(Path path) {
+        return (out, offset, length) -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                WritableByteChannel outChannel = Channels.newChannel(out);
+                long position = offset;
+                long end = offset + length;
+                while (position < end) {
+                    long transferred = channel.transferTo(position, end - position, outChannel);
+                    if (transferred <= 0) {
+                        throw new IOException("File " + path + " is shorter than expected");
+                    }
+                    position += transferred;
+                }
+            }
+        };
+    }
+}
@@ -17,7 +17,7 @@
 package io.helidon.webserver.staticcontent;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Optional;
 
@@ -31,12 +31,14 @@ class SingleFileContentHandler extends FileBasedContentHandler {
 
     private final boolean cacheInMemory;
     private final Path path;
+    private final boolean memoryMapped;
 
     SingleFileContentHandler(FileSystemBuilder builder) {
         super(builder);
 
         this.cacheInMemory = builder.cacheInMemory().contains(".") || builder.cacheInMemory().contains("/");
         this.path = builder.root().toAbsolutePath().normalize();
+        this.memoryMapped = builder.memoryMapped();
     }
 
     @Override
@@ -44,8 +46,8 @@ class SingleFileContentHandler extends FileBasedContentHandler {
         try {
             if (cacheInMemory) {
                 // directly cache in memory
-                byte[] fileBytes = Files.readAllBytes(path);
-                cacheInMemory(".", detectType(fileName(path)), fileBytes, lastModified(path));
+                ByteBuffer content = readContent(path, memoryMapped);
+                cacheInMemory(".", detectType(fileName(path)), content, lastModified(path));
             } else {
                 // cache a handler that loads it from file system
                 cacheFileHandler();
@@ -81,7 +83,8 @@ class SingleFileContentHandler extends FileBasedContentHandler {
         CachedHandler handler = new CachedHandlerPath(path,
                                                       detectType(fileName(path)),
                                                       FileBasedContentHandler::lastModified,
-                                                      ServerResponseHeaders::lastModified);
+                                                      ServerResponseHeaders::lastModified,
+                                                      compressedVariants().precompressed(path));
         cacheHandler(".", handler);
 
         return handler;
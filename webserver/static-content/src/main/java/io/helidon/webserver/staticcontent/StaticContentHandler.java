@@ -19,6 +19,7 @@ package io.helidon.webserver.staticcontent;
 import java.io.IOException;
 import java.lang.System.Logger.Level;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -60,11 +61,13 @@ abstract class StaticContentHandler implements StaticContentService {
     private final String welcomeFilename;
     private final Function<String, String> resolvePathFunction;
     private final AtomicInteger webServerCounter = new AtomicInteger();
+    private final CompressedVariants compressedVariants;
 
     StaticContentHandler(StaticContentService.Builder<?> builder) {
         this.welcomeFilename = builder.welcomeFileName();
         this.resolvePathFunction = builder.resolvePathFunction();
         this.handlerCache = builder.handlerCache();
+        this.compressedVariants = CompressedVariants.create(builder);
     }
 
     /**
@@ -182,6 +185,11 @@ abstract class StaticContentHandler implements StaticContentService {
         }
     }
 
+    @Override
+    public CompressedVariantsStatistics compressedVariantsStatistics() {
+        return compressedVariants.statistics();
+    }
+
     @Override
     public void routing(HttpRules rules) {
         rules.route(Method.predicate(Method.GET, Method.HEAD),
@@ -195,6 +203,7 @@ abstract class StaticContentHandler implements StaticContentService {
     void releaseCache() {
         handlerCache.clear();
         inMemoryCache.clear();
+        compressedVariants.clear();
     }
 
     /**
@@ -301,6 +310,10 @@ abstract class StaticContentHandler implements StaticContentService {
         return handlerCache;
     }
 
+    CompressedVariants compressedVariants() {
+        return compressedVariants;
+    }
+
     private static String unquoteETag(String etag) {
         if (etag == null || etag.isEmpty()) {
             return etag;
@@ -315,7 +328,11 @@ abstract class StaticContentHandler implements StaticContentService {
     }
 
     void cacheInMemory(String resource, MediaType contentType, byte[] bytes, Optional<Instant> lastModified) {
-        int contentLength = bytes.length;
+        cacheInMemory(resource, contentType, ByteBuffer.wrap(bytes), lastModified);
+    }
+
+    void cacheInMemory(String resource, MediaType contentType, ByteBuffer content, Optional<Instant> lastModified) {
+        int contentLength = content.capacity();
         Header contentLengthHeader = HeaderValues.create(HeaderNames.CONTENT_LENGTH, contentLength);
 
         CachedHandlerInMemory inMemoryResource;
@@ -323,9 +340,10 @@ abstract class StaticContentHandler implements StaticContentService {
             inMemoryResource = new CachedHandlerInMemory(contentType,
                                                          null,
                                                          null,
-                                                         bytes,
+                                                         content,
                                                          contentLength,
-                                                         contentLengthHeader);
+                                                         contentLengthHeader,
+                                                         compressedVariants);
         } else {
             // we can cache this, as this is a jar record
             Header lastModifiedHeader = HeaderValues.create(HeaderNames.LAST_MODIFIED,
@@ -336,9 +354,10 @@ abstract class StaticContentHandler implements StaticContentService {
             inMemoryResource = new CachedHandlerInMemory(contentType,
                                                          lastModified.get(),
                                                          (headers, instant) -> headers.set(lastModifiedHeader),
-                                                         bytes,
+                                                         content,
                                                          contentLength,
-                                                         contentLengthHeader);
+                                                         contentLengthHeader,
+                                                         compressedVariants);
         }
 
         cacheInMemory(resource, inMemoryResource);
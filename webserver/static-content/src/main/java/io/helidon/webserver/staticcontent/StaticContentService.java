@@ -125,6 +125,36 @@ public interface StaticContentService extends HttpService {
         return builder(root).build();
     }
 
+    /**
+     * Statistics of the cache of compressed variants of resources cached in memory.
+     *
+     * @return statistics of the cache, all values are zero if the cache is not enabled
+     * @see Builder#compressedVariantsCacheCapacity(int)
+     */
+    default CompressedVariantsStatistics compressedVariantsStatistics() {
+        return new CompressedVariantsStatistics(0, 0, 0, 0);
+    }
+
+    /**
+     * Statistics of the cache of compressed variants.
+     *
+     * @param size          number of cached variants
+     * @param hitCount      number of requests served from the cache
+     * @param missCount     number of requests that compressed the resource
+     * @param evictionCount number of variants removed from the cache to stay within its capacity
+     */
+    record CompressedVariantsStatistics(int size, long hitCount, long missCount, long evictionCount) {
+        /**
+         * Ratio of requests served from the cache.
+         *
+         * @return hit ratio between {@code 0} and {@code 1}, {@code 1} if there were no requests
+         */
+        public double hitRatio() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+
     /**
      * Fluent builder of the StaticContent detailed parameters.
      *
@@ -135,7 +165,8 @@ public interface StaticContentService extends HttpService {
         private Function<String, String> resolvePathFunction = Function.identity();
         private Set<String> cacheInMemory = new HashSet<>();
         private LruCache<String, CachedHandler> handlerCache;
-
+        private boolean precompressedVariants;
+        private int compressedVariantsCacheCapacity;
 
         /**
          * Default constructor.
@@ -211,6 +242,38 @@ public interface StaticContentService extends HttpService {
             return identity();
         }
 
+        /**
+         * Serve precompressed files. When enabled and a client accepts {@code br} or {@code gzip} content encoding,
+         * a sibling file with {@code .br} or {@code .gz} suffix (such as {@code app.js.br} for {@code app.js})
+         * is sent instead of the requested file, with the matching {@code Content-Encoding}.
+         * Only applies to resources served from a file system path.
+         * Defaults to {@code false}.
+         *
+         * @param precompressedVariants whether to serve precompressed files
+         * @return updated builder
+         */
+        public B precompressedVariants(boolean precompressedVariants) {
+            this.precompressedVariants = precompressedVariants;
+            return identity();
+        }
+
+        /**
+         * Configure capacity of cache of gzip compressed variants of resources cached in memory
+         * (see {@link #addCacheInMemory(String)}). Textual resources are compressed on first request that accepts
+         * {@code gzip} content encoding, and the compressed bytes are cached, so the same content is not compressed
+         * again on every request.
+         * Defaults to {@code 0}, which disables the cache.
+         *
+         * @param maxBytes maximal number of bytes of compressed variants kept in the cache
+         * @return updated builder
+         */
+        public B compressedVariantsCacheCapacity(int maxBytes) {
+            if (maxBytes < 0) {
+                throw new IllegalArgumentException("Compressed variants cache capacity must not be negative");
+            }
+            this.compressedVariantsCacheCapacity = maxBytes;
+            return identity();
+        }
 
         /**
          * Build the actual instance.
@@ -235,6 +298,14 @@ public interface StaticContentService extends HttpService {
         LruCache<String, CachedHandler> handlerCache() {
             return handlerCache == null ? LruCache.create() : handlerCache;
         }
+
+        boolean precompressedVariants() {
+            return precompressedVariants;
+        }
+
+        int compressedVariantsCacheCapacity() {
+            return compressedVariantsCacheCapacity;
+        }
     }
 
     /**
@@ -356,6 +427,7 @@ public interface StaticContentService extends HttpService {
      */
     class FileSystemBuilder extends FileBasedBuilder<FileSystemBuilder> {
         private Path root;
+        private boolean memoryMapped;
 
         /**
          * A new instance with no path defined.
@@ -375,6 +447,22 @@ public interface StaticContentService extends HttpService {
             }
         }
 
+        /**
+         * Use memory mapped files for resources cached in memory (see {@link #addCacheInMemory(String)}).
+         * Content of memory mapped files is not stored on heap and is shared with the operating system file cache,
+         * and ranges of the content are sent directly from the mapped buffer. This is useful for large files,
+         * such as media served with range requests.
+         * Each file must be smaller than 2 GB.
+         * Defaults to {@code false}, which reads the files into a byte array.
+         *
+         * @param memoryMapped whether to memory map files cached in memory
+         * @return updated builder
+         */
+        public FileSystemBuilder memoryMapped(boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
+        }
+
         FileSystemBuilder root(Path root) {
             Objects.requireNonNull(root, "Attribute root is null!");
             this.root = root.toAbsolutePath().normalize();
@@ -390,5 +478,9 @@ public interface StaticContentService extends HttpService {
         Path root() {
             return root;
         }
+
+        boolean memoryMapped() {
+            return memoryMapped;
+        }
     }
 }
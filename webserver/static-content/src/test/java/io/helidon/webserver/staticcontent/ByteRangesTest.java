@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.helidon.common.testing.http.junit5.HttpHeaderMatcher;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.Status;
+import io.helidon.webclient.http1.Http1ClientResponse;
+import io.helidon.webserver.http.HttpRouting;
+import io.helidon.webserver.testing.junit5.DirectClient;
+import io.helidon.webserver.testing.junit5.RoutingTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RoutingTest
+class ByteRangesTest {
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @TempDir
+    static Path tempDir;
+
+    private final DirectClient testClient;
+
+    ByteRangesTest(DirectClient testClient) {
+        this.testClient = testClient;
+    }
+
+    @SetUpRoute
+    static void setupRouting(HttpRouting.Builder builder) throws Exception {
+        Files.writeString(tempDir.resolve("resource.txt"), CONTENT);
+
+        builder.register("/path", StaticContentService.builder(tempDir))
+                .register("/memory", StaticContentService.builder(tempDir)
+                        .addCacheInMemory("resource.txt"))
+                .register("/mapped", StaticContentService.builder(tempDir)
+                        .memoryMapped(true)
+                        .addCacheInMemory("resource.txt"));
+    }
+
+    @Test
+    void testSingleRangePath() {
+        testSingleRange("/path");
+    }
+
+    @Test
+    void testSingleRangeMemory() {
+        testSingleRange("/memory");
+    }
+
+    @Test
+    void testSingleRangeMapped() {
+        testSingleRange("/mapped");
+    }
+
+    @Test
+    void testMultipleRangesPath() {
+        testMultipleRanges("/path");
+    }
+
+    @Test
+    void testMultipleRangesMemory() {
+        testMultipleRanges("/memory");
+    }
+
+    @Test
+    void testMultipleRangesMapped() {
+        testMultipleRanges("/mapped");
+    }
+
+    @Test
+    void testOverlappingRangesSendFullContent() {
+        try (Http1ClientResponse response = testClient.get("/path/resource.txt")
+                .header(HeaderNames.RANGE, "bytes=0-30, 5-35")
+                .request()) {
+
+            assertThat(response.status(), is(Status.OK_200));
+            assertThat(response.as(String.class), is(CONTENT));
+        }
+    }
+
+    private void testSingleRange(String prefix) {
+        try (Http1ClientResponse response = testClient.get(prefix + "/resource.txt")
+                .header(HeaderNames.RANGE, "bytes=10-15")
+                .request()) {
+
+            assertThat(response.status(), is(Status.PARTIAL_CONTENT_206));
+            assertThat(response.headers(), HttpHeaderMatcher.hasHeader(HeaderNames.CONTENT_RANGE, "bytes 10-15/36"));
+            assertThat(response.as(String.class), is("abcdef"));
+        }
+    }
+
+    private void testMultipleRanges(String prefix) {
+        try (Http1ClientResponse response = testClient.get(prefix + "/resource.txt")
+                .header(HeaderNames.RANGE, "bytes=0-1, -2")
+                .request()) {
+
+            assertThat(response.status(), is(Status.PARTIAL_CONTENT_206));
+            String contentType = response.headers().get(HeaderNames.CONTENT_TYPE).get();
+            assertThat(contentType, startsWith("multipart/byteranges; boundary="));
+            String boundary = contentType.substring(contentType.indexOf('=') + 1);
+
+            String entity = response.as(String.class);
+            assertThat(entity, is("--" + boundary + "\r\n"
+                                          + "Content-Type: text/plain\r\n"
+                                          + "Content-Range: bytes 0-1/36\r\n"
+                                          + "\r\n"
+                                          + "01\r\n"
+                                          + "--" + boundary + "\r\n"
+                                          + "Content-Type: text/plain\r\n"
+                                          + "Content-Range: bytes 34-35/36\r\n"
+                                          + "\r\n"
+                                          + "yz\r\n"
+                                          + "--" + boundary + "--\r\n"));
+            assertThat(response.headers().contentLength().getAsLong(), is((long) entity.length()));
+        }
+    }
+}
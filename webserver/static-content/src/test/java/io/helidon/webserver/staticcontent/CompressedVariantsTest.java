@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.staticcontent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import io.helidon.common.media.type.MediaTypes;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.ServerRequestHeaders;
+import io.helidon.http.WritableHeaders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class CompressedVariantsTest {
+    private static final byte[] CONTENT = "function hello() { return 'Hello World'; }\n".repeat(20)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAccepts() {
+        assertThat(CompressedVariants.accepts(headers("gzip"), "gzip"), is(true));
+        assertThat(CompressedVariants.accepts(headers("br, gzip;q=0.8"), "gzip"), is(true));
+        assertThat(CompressedVariants.accepts(headers("br;q=1.0, gzip;q=0"), "gzip"), is(false));
+        assertThat(CompressedVariants.accepts(headers("*"), "br"), is(true));
+        assertThat(CompressedVariants.accepts(headers("*;q=0.5, br;q=0"), "br"), is(false));
+        assertThat(CompressedVariants.accepts(headers("deflate"), "gzip"), is(false));
+        assertThat(CompressedVariants.accepts(ServerRequestHeaders.create(), "gzip"), is(false));
+    }
+
+    @Test
+    void testPrecompressed() throws IOException {
+        Path file = tempDir.resolve("app.js");
+        Files.write(file, CONTENT);
+        Files.writeString(tempDir.resolve("app.js.gz"), "gzip");
+        Files.writeString(tempDir.resolve("app.js.br"), "brotli");
+
+        CompressedVariants variants = CompressedVariants.create(StaticContentService.builder(tempDir)
+                                                                        .precompressedVariants(true));
+
+        List<CompressedVariants.Precompressed> precompressed = variants.precompressed(file);
+        assertThat(precompressed, is(List.of(new CompressedVariants.Precompressed("br", tempDir.resolve("app.js.br")),
+                                             new CompressedVariants.Precompressed("gzip", tempDir.resolve("app.js.gz")))));
+        assertThat(CompressedVariants.select(headers("gzip, br"), precompressed),
+                   is(Optional.of(new CompressedVariants.Precompressed("br", tempDir.resolve("app.js.br")))));
+        assertThat(CompressedVariants.select(headers("gzip"), precompressed),
+                   is(Optional.of(new CompressedVariants.Precompressed("gzip", tempDir.resolve("app.js.gz")))));
+        assertThat(CompressedVariants.select(headers("deflate"), precompressed), is(Optional.empty()));
+    }
+
+    @Test
+    void testPrecompressedDisabled() throws IOException {
+        Path file = tempDir.resolve("app.js");
+        Files.write(file, CONTENT);
+        Files.writeString(tempDir.resolve("app.js.gz"), "gzip");
+
+        CompressedVariants variants = CompressedVariants.create(StaticContentService.builder(tempDir));
+
+        assertThat(variants.precompressed(file), is(List.of()));
+    }
+
+    @Test
+    void testGzipCache() throws IOException {
+        CompressedVariants variants = CompressedVariants.create(StaticContentService.builder(tempDir)
+                                                                        .compressedVariantsCacheCapacity(100_000));
+
+        assertThat(variants.compressible(MediaTypes.APPLICATION_JAVASCRIPT, CONTENT), is(true));
+        assertThat(variants.compressible(MediaTypes.APPLICATION_OCTET_STREAM, CONTENT), is(false));
+
+        byte[] first = variants.gzip("app.js", CONTENT);
+        byte[] second = variants.gzip("app.js", CONTENT);
+
+        assertThat(second, sameInstance(first));
+        assertThat(first.length < CONTENT.length, is(true));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            assertThat(in.readAllBytes(), is(CONTENT));
+        }
+
+        StaticContentService.CompressedVariantsStatistics statistics = variants.statistics();
+        assertThat(statistics.size(), is(1));
+        assertThat(statistics.missCount(), is(1L));
+        assertThat(statistics.hitCount(), is(1L));
+    }
+
+    @Test
+    void testGzipCacheDisabled() {
+        CompressedVariants variants = CompressedVariants.create(StaticContentService.builder(tempDir));
+
+        assertThat(variants.compressible(MediaTypes.APPLICATION_JAVASCRIPT, CONTENT), is(false));
+        assertThat(variants.statistics().size(), is(0));
+        assertThat(variants.statistics().hitRatio(), is(1.0));
+    }
+
+    private static ServerRequestHeaders headers(String acceptEncoding) {
+        WritableHeaders<?> headers = WritableHeaders.create();
+        headers.set(HeaderNames.ACCEPT_ENCODING, acceptEncoding);
+        return ServerRequestHeaders.create(headers);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.tests.grpc;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.helidon.webserver.Router;
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.WebServerConfig;
+import io.helidon.webserver.grpc.GrpcConfig;
+import io.helidon.webserver.grpc.GrpcRouting;
+import io.helidon.webserver.grpc.strings.StringServiceGrpc;
+import io.helidon.webserver.grpc.strings.Strings.StringMessage;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+import io.helidon.webserver.testing.junit5.SetUpServer;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.Codec;
+import io.grpc.Compressor;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ServerTest
+class CompressionGrpcServiceTest {
+    private static final Metadata.Key<String> GRPC_ENCODING = Metadata.Key.of("grpc-encoding",
+                                                                              Metadata.ASCII_STRING_MARSHALLER);
+    private static final String TEXT = "lower case original ".repeat(500);
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024;
+
+    private final AtomicReference<String> responseEncoding = new AtomicReference<>();
+    private final int port;
+    private ManagedChannel channel;
+
+    CompressionGrpcServiceTest(WebServer server) {
+        this.port = server.port();
+    }
+
+    @SetUpServer
+    static void server(WebServerConfig.Builder builder) {
+        builder.addProtocol(GrpcConfig.builder()
+                                    .compression("gzip")
+                                    .compressionThreshold(0)
+                                    .maxInboundMessageSize(MAX_MESSAGE_SIZE)
+                                    .build());
+    }
+
+    @SetUpRoute
+    static void routing(Router.RouterBuilder<?> router) {
+        router.addRouting(GrpcRouting.builder().service(new StringService()));
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        channel.shutdown();
+        channel.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCompressedRequestAndResponse() {
+        StringServiceGrpc.StringServiceBlockingStub stub = stub(ManagedChannelBuilder.forAddress("localhost", port)
+                                                                        .usePlaintext())
+                .withCompression("gzip");
+
+        StringMessage response = stub.upper(StringMessage.newBuilder().setText(TEXT).build());
+
+        assertThat(response.getText(), is(TEXT.toUpperCase(Locale.ROOT)));
+        assertThat(responseEncoding.get(), is("gzip"));
+    }
+
+    @Test
+    void testCompressedServerStream() {
+        StringServiceGrpc.StringServiceBlockingStub stub = stub(ManagedChannelBuilder.forAddress("localhost", port)
+                                                                        .usePlaintext());
+
+        Iterator<StringMessage> responses = stub.split(StringMessage.newBuilder().setText("A B C D").build());
+        List<String> texts = List.of(responses.next().getText(),
+                                     responses.next().getText(),
+                                     responses.next().getText(),
+                                     responses.next().getText());
+
+        assertThat(texts, is(List.of("A", "B", "C", "D")));
+        assertThat(responses.hasNext(), is(false));
+        assertThat(responseEncoding.get(), is("gzip"));
+    }
+
+    @Test
+    void testNotCompressedWhenNotAccepted() {
+        // client that advertises no encodings in grpc-accept-encoding
+        StringServiceGrpc.StringServiceBlockingStub stub = stub(ManagedChannelBuilder.forAddress("localhost", port)
+                                                                        .decompressorRegistry(
+                                                                                DecompressorRegistry.emptyInstance()
+                                                                                        .with(Codec.Identity.NONE, false))
+                                                                        .usePlaintext());
+
+        StringMessage response = stub.upper(StringMessage.newBuilder().setText(TEXT).build());
+
+        assertThat(response.getText(), is(TEXT.toUpperCase(Locale.ROOT)));
+        assertThat(responseEncoding.get(), is("identity"));
+    }
+
+    @Test
+    void testCompressedMessageWithIdentityEncoding() {
+        // message is flagged as compressed, yet the request declares grpc-encoding identity
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                                                () -> invalidEncodingStub("identity")
+                                                        .upper(StringMessage.newBuilder().setText(TEXT).build()));
+
+        assertThat(e.getStatus().getCode(), is(Status.Code.INTERNAL));
+    }
+
+    @Test
+    void testInvalidCompressedMessage() {
+        // message is not valid gzip data
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                                                () -> invalidEncodingStub("gzip")
+                                                        .upper(StringMessage.newBuilder().setText(TEXT).build()));
+
+        assertThat(e.getStatus().getCode(), is(Status.Code.INTERNAL));
+    }
+
+    @Test
+    void testDecompressedMessageTooLarge() {
+        // compresses to a few kilobytes, well below the limit, but is much larger once decompressed
+        String text = "a".repeat(MAX_MESSAGE_SIZE * 16);
+        StringServiceGrpc.StringServiceBlockingStub stub = stub(ManagedChannelBuilder.forAddress("localhost", port)
+                                                                        .usePlaintext())
+                .withCompression("gzip");
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                                                () -> stub.upper(StringMessage.newBuilder().setText(text).build()));
+
+        assertThat(e.getStatus().getCode(), is(Status.Code.RESOURCE_EXHAUSTED));
+    }
+
+    @Test
+    void testUnknownEncoding() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                                                () -> invalidEncodingStub("snappy")
+                                                        .upper(StringMessage.newBuilder().setText(TEXT).build()));
+
+        assertThat(e.getStatus().getCode(), is(Status.Code.UNIMPLEMENTED));
+    }
+
+    private StringServiceGrpc.StringServiceBlockingStub invalidEncodingStub(String encoding) {
+        CompressorRegistry compressors = CompressorRegistry.newEmptyInstance();
+        compressors.register(new PassThroughCompressor(encoding));
+        return stub(ManagedChannelBuilder.forAddress("localhost", port)
+                            .compressorRegistry(compressors)
+                            .usePlaintext())
+                .withCompression(encoding);
+    }
+
+    private StringServiceGrpc.StringServiceBlockingStub stub(ManagedChannelBuilder<?> builder) {
+        channel = builder.build();
+        return StringServiceGrpc.newBlockingStub(ClientInterceptors.intercept(channel, new EncodingInterceptor()));
+    }
+
+    /**
+     * Sends the message unchanged, but flagged as compressed with the given encoding.
+     */
+    private record PassThroughCompressor(String encoding) implements Compressor {
+        @Override
+        public String getMessageEncoding() {
+            return encoding;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream os) {
+            return os;
+        }
+    }
+
+    private class EncodingInterceptor implements ClientInterceptor {
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                                   CallOptions callOptions,
+                                                                   Channel next) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                        @Override
+                        public void onHeaders(Metadata headers) {
+                            responseEncoding.set(headers.get(GRPC_ENCODING));
+                            super.onHeaders(headers);
+                        }
+                    }, headers);
+                }
+            };
+        }
+    }
+}
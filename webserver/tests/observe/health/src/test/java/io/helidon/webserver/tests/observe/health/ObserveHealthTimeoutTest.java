@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.tests.observe.health;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.health.HealthCheck;
+import io.helidon.health.HealthCheckResponse;
+import io.helidon.health.HealthCheckType;
+import io.helidon.http.Status;
+import io.helidon.metrics.api.Meter;
+import io.helidon.metrics.api.Metrics;
+import io.helidon.metrics.api.Tag;
+import io.helidon.metrics.api.Timer;
+import io.helidon.webclient.http1.Http1Client;
+import io.helidon.webclient.http1.Http1ClientResponse;
+import io.helidon.webserver.WebServerConfig;
+import io.helidon.webserver.observe.ObserveFeature;
+import io.helidon.webserver.observe.health.HealthObserver;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpServer;
+
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ServerTest
+class ObserveHealthTimeoutTest {
+    private static final CountDownLatch BLOCKED = new CountDownLatch(1);
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    private static final CountDownLatch STUBBORN = new CountDownLatch(1);
+    private static final AtomicInteger STUBBORN_CALLS = new AtomicInteger();
+    private static final CountDownLatch CONCURRENT = new CountDownLatch(2);
+    private static final CountDownLatch SLOW_STARTED = new CountDownLatch(1);
+    private static final AtomicInteger SLOW_CALLS = new AtomicInteger();
+
+    private final Http1Client httpClient;
+
+    ObserveHealthTimeoutTest(Http1Client httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @SetUpServer
+    static void server(WebServerConfig.Builder builder) {
+        builder.featuresDiscoverServices(false)
+                .addFeature(ObserveFeature.just(HealthObserver.builder()
+                                                        .addCheck(new BlockedCheck())
+                                                        .addCheck(new CountingCheck())
+                                                        .addCheck(new StubbornCheck())
+                                                        .addCheck(new SlowCheck())
+                                                        .addCheck(new ConcurrentCheck("concurrent-1"))
+                                                        .addCheck(new ConcurrentCheck("concurrent-2"))
+                                                        .details(true)
+                                                        .timeout(Duration.ofMillis(200))
+                                                        .cacheTtl(Duration.ofMinutes(1))
+                                                        .build()));
+    }
+
+    @AfterAll
+    static void unblock() {
+        BLOCKED.countDown();
+        STUBBORN.countDown();
+    }
+
+    @Test
+    void testTimedOutCheckDown() {
+        try (Http1ClientResponse response = httpClient.get("/observe/health/check/blocked")
+                .request()) {
+
+            assertThat(response.status(), is(Status.SERVICE_UNAVAILABLE_503));
+            JsonObject json = response.as(JsonObject.class);
+            assertThat(json.getString("status"), is("DOWN"));
+            assertThat(json.getJsonObject("data").getString("reason"), is("Timed out after PT0.2S"));
+        }
+    }
+
+    @Test
+    void testCachedResponse() {
+        for (int i = 0; i < 3; i++) {
+            try (Http1ClientResponse response = httpClient.get("/observe/health/check/counting")
+                    .request()) {
+
+                assertThat(response.status(), is(Status.OK_200));
+                JsonObject json = response.as(JsonObject.class);
+                assertThat(json.getJsonObject("data").getInt("calls"), is(1));
+            }
+        }
+        assertThat(CALLS.get(), is(1));
+
+        Timer timer = Metrics.globalRegistry()
+                .getOrCreate(Timer.builder("health.check.duration")
+                                     .scope(Meter.Scope.VENDOR)
+                                     .tags(List.of(Tag.create("name", "counting"))));
+        assertThat(timer.count(), is(1L));
+    }
+
+    @Test
+    void testTimedOutCheckNotInvokedAgain() {
+        for (int i = 0; i < 2; i++) {
+            try (Http1ClientResponse response = httpClient.get("/observe/health/check/stubborn")
+                    .request()) {
+
+                assertThat(response.status(), is(Status.SERVICE_UNAVAILABLE_503));
+            }
+        }
+        // the first invocation ignores the interrupt and is still running, the second request waits for it
+        assertThat(STUBBORN_CALLS.get(), is(1));
+    }
+
+    @Test
+    void testOverlappingRequestsTimedOut() throws Exception {
+        CompletableFuture<JsonObject> first = CompletableFuture.supplyAsync(this::slowCheck);
+        assertThat(SLOW_STARTED.await(5, TimeUnit.SECONDS), is(true));
+        // joins the invocation of the first request, which is interrupted once the first request times out
+        JsonObject second = slowCheck();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getJsonObject("data").getString("reason"), is("Timed out after PT0.2S"));
+        assertThat(second.getJsonObject("data").getString("reason"), is("Timed out after PT0.2S"));
+        assertThat(SLOW_CALLS.get(), is(1));
+    }
+
+    @Test
+    void testChecksRunConcurrently() {
+        // each readiness check waits for the other one, so they only succeed within the timeout when run concurrently
+        try (Http1ClientResponse response = httpClient.get("/observe/health/ready")
+                .request()) {
+
+            assertThat(response.status(), is(Status.OK_200));
+            JsonObject json = response.as(JsonObject.class);
+            assertThat(json.getString("status"), is("UP"));
+        }
+    }
+
+    private JsonObject slowCheck() {
+        try (Http1ClientResponse response = httpClient.get("/observe/health/check/slow")
+                .request()) {
+
+            // interrupted check is down, not an error
+            assertThat(response.status(), is(Status.SERVICE_UNAVAILABLE_503));
+            JsonObject json = response.as(JsonObject.class);
+            assertThat(json.getString("status"), is("DOWN"));
+            return json;
+        }
+    }
+
+    private static class BlockedCheck implements HealthCheck {
+        @Override
+        public String name() {
+            return "blocked";
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            try {
+                BLOCKED.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return HealthCheckResponse.builder()
+                    .build();
+        }
+    }
+
+    private static class StubbornCheck implements HealthCheck {
+        @Override
+        public String name() {
+            return "stubborn";
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            STUBBORN_CALLS.incrementAndGet();
+            while (true) {
+                try {
+                    STUBBORN.await();
+                    break;
+                } catch (InterruptedException ignored) {
+                    // keeps running after the timeout
+                }
+            }
+            return HealthCheckResponse.builder()
+                    .build();
+        }
+    }
+
+    private static class SlowCheck implements HealthCheck {
+        @Override
+        public String name() {
+            return "slow";
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            SLOW_CALLS.incrementAndGet();
+            SLOW_STARTED.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                // fails when interrupted
+                throw new IllegalStateException("Interrupted", e);
+            }
+            return HealthCheckResponse.builder()
+                    .build();
+        }
+    }
+
+    private static class ConcurrentCheck implements HealthCheck {
+        private final String name;
+
+        private ConcurrentCheck(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public HealthCheckType type() {
+            return HealthCheckType.READINESS;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            CONCURRENT.countDown();
+            boolean concurrent;
+            try {
+                concurrent = CONCURRENT.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                concurrent = false;
+            }
+            return HealthCheckResponse.builder()
+                    .status(concurrent)
+                    .build();
+        }
+    }
+
+    private static class CountingCheck implements HealthCheck {
+        @Override
+        public String name() {
+            return "counting";
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            return HealthCheckResponse.builder()
+                    .detail("calls", CALLS.incrementAndGet())
+                    .build();
+        }
+    }
+}
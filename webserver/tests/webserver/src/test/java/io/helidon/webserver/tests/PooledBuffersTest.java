@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.tests;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.helidon.common.buffers.PooledBufferAllocator;
+import io.helidon.http.Status;
+import io.helidon.webclient.api.HttpClientResponse;
+import io.helidon.webclient.http1.Http1Client;
+import io.helidon.webserver.WebServerConfig;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.http1.Http1Config;
+import io.helidon.webserver.http1.Http1ConnectionSelector;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+import io.helidon.webserver.testing.junit5.SetUpServer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Responses written using pooled buffers must release all of them.
+ */
+@ServerTest
+class PooledBuffersTest {
+    private static final PooledBufferAllocator ALLOCATOR = PooledBufferAllocator.create();
+    private static final String CHUNK = "Hello World!".repeat(100);
+
+    private final Http1Client client;
+
+    PooledBuffersTest(Http1Client client) {
+        this.client = client;
+    }
+
+    @SetUpServer
+    static void server(WebServerConfig.Builder server) {
+        server.addConnectionSelector(Http1ConnectionSelector.builder()
+                                             .config(Http1Config.builder()
+                                                             .bufferAllocator(ALLOCATOR)
+                                                             .build())
+                                             .build());
+    }
+
+    @SetUpRoute
+    static void routing(HttpRules rules) {
+        rules.get("/send", (req, res) -> res.send(CHUNK))
+                .get("/chunked", (req, res) -> {
+                    try (OutputStream out = res.outputStream()) {
+                        for (int i = 0; i < 10; i++) {
+                            out.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+                            out.flush();
+                        }
+                    }
+                })
+                .get("/buffers", (req, res) -> {
+                    // the last buffer is too large to be coalesced with the headers
+                    byte[] large = CHUNK.repeat(10).getBytes(StandardCharsets.UTF_8);
+                    res.sendBuffers(List.of(ByteBuffer.wrap(CHUNK.getBytes(StandardCharsets.UTF_8)),
+                                            ByteBuffer.wrap(large)));
+                })
+                .get("/file", (req, res) -> {
+                    // larger than a single file chunk
+                    Path file = Files.createTempFile("pooled-buffers", ".txt");
+                    try {
+                        Files.writeString(file, CHUNK.repeat(100));
+                        res.send(file, 0, Files.size(file));
+                    } finally {
+                        Files.delete(file);
+                    }
+                })
+                .get("/length", (req, res) -> {
+                    res.contentLength(10L * CHUNK.length());
+                    try (OutputStream out = res.outputStream()) {
+                        for (int i = 0; i < 10; i++) {
+                            out.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+                            out.flush();
+                        }
+                    }
+                });
+    }
+
+    @Test
+    void testAllReleased() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            assertThat(request("/send"), is(CHUNK));
+            assertThat(request("/chunked"), is(CHUNK.repeat(10)));
+            assertThat(request("/length"), is(CHUNK.repeat(10)));
+            assertThat(request("/buffers"), is(CHUNK.repeat(11)));
+            assertThat(request("/file"), is(CHUNK.repeat(100)));
+        }
+
+        PooledBufferAllocator.Statistics statistics = ALLOCATOR.statistics();
+        assertThat(statistics.allocated() > 0, is(true));
+        assertThat(statistics.reused() > 0, is(true));
+
+        // buffers may still be in the write queue for a moment after the response is received
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ALLOCATOR.statistics().outstanding() != 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Buffers were not released: " + ALLOCATOR.statistics());
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private String request(String path) {
+        try (HttpClientResponse response = client.get(path).request()) {
+            assertThat(response.status(), is(Status.OK_200));
+            return response.as(String.class);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+import io.helidon.http.Status;
+import io.helidon.webclient.http1.Http1Client;
+import io.helidon.webclient.http1.Http1ClientResponse;
+import io.helidon.webserver.http.HttpRouting;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.http.Method.GET;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ServerTest
+class SendFileTest {
+    // larger than a single write chunk
+    private static final byte[] CONTENT = content(200 * 1024);
+    private static final Path FILE = createFile();
+
+    private final Http1Client client;
+
+    SendFileTest(Http1Client client) {
+        this.client = client;
+    }
+
+    @SetUpRoute
+    static void routing(HttpRouting.Builder router) {
+        router.route(GET, "/file", (req, res) -> res.send(FILE, 0, CONTENT.length))
+                .route(GET, "/region", (req, res) -> res.send(FILE, 1000, 100_000))
+                .route(GET, "/empty", (req, res) -> res.send(FILE, 10, 0))
+                .route(GET, "/outside", (req, res) -> res.send(FILE, 1000, CONTENT.length));
+    }
+
+    @Test
+    void testWholeFile() {
+        try (Http1ClientResponse response = client.get("/file").request()) {
+            assertThat(response.status(), is(Status.OK_200));
+            assertThat(response.headers().contentLength(), is(OptionalLong.of(CONTENT.length)));
+            assertThat(response.entity().as(byte[].class), is(CONTENT));
+        }
+    }
+
+    @Test
+    void testRegion() {
+        try (Http1ClientResponse response = client.get("/region").request()) {
+            assertThat(response.status(), is(Status.OK_200));
+            assertThat(response.headers().contentLength(), is(OptionalLong.of(100_000)));
+            assertThat(response.entity().as(byte[].class), is(Arrays.copyOfRange(CONTENT, 1000, 101_000)));
+        }
+    }
+
+    @Test
+    void testEmptyRegion() {
+        try (Http1ClientResponse response = client.get("/empty").request()) {
+            assertThat(response.status(), is(Status.OK_200));
+            assertThat(response.headers().contentLength(), is(OptionalLong.of(0)));
+        }
+        // connection must still be usable
+        testRegion();
+    }
+
+    @Test
+    void testRegionOutsideOfFile() {
+        try (Http1ClientResponse response = client.get("/outside").request()) {
+            assertThat(response.status(), is(Status.INTERNAL_SERVER_ERROR_500));
+        }
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static Path createFile() {
+        try {
+            Path file = Files.createTempFile("send-file-test", ".bin");
+            file.toFile().deleteOnExit();
+            return Files.write(file, CONTENT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
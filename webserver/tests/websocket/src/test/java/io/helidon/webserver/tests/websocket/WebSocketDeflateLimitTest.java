@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.tests.websocket;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+import io.helidon.webserver.Router;
+import io.helidon.webserver.WebServerConfig;
+import io.helidon.webserver.http1.Http1Config;
+import io.helidon.webserver.http1.Http1ConnectionSelector;
+import io.helidon.webserver.testing.junit5.ServerTest;
+import io.helidon.webserver.testing.junit5.SetUpRoute;
+import io.helidon.webserver.testing.junit5.SetUpServer;
+import io.helidon.webserver.websocket.WsConfig;
+import io.helidon.webserver.websocket.WsRouting;
+import io.helidon.webserver.websocket.WsUpgrader;
+import io.helidon.websocket.WsCloseCodes;
+import io.helidon.websocket.WsListener;
+import io.helidon.websocket.WsSession;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+@ServerTest
+class WebSocketDeflateLimitTest {
+    private static final int MAX_FRAME_LENGTH = 1024;
+
+    private final int port;
+
+    WebSocketDeflateLimitTest(URI uri) {
+        this.port = uri.getPort();
+    }
+
+    @SetUpServer
+    static void updateServer(WebServerConfig.Builder builder) {
+        builder.addConnectionSelector(Http1ConnectionSelector.builder()
+                                              .config(Http1Config.create())
+                                              .addUpgrader(WsUpgrader.create(WsConfig.builder()
+                                                                                     .permessageDeflate(true)
+                                                                                     .maxDecompressedFrameLength(MAX_FRAME_LENGTH)
+                                                                                     .build()))
+                                              .build());
+    }
+
+    @SetUpRoute
+    static void routing(Router.RouterBuilder<?> router) {
+        router.addRouting(WsRouting.builder()
+                                  .endpoint("/echo", () -> new WsListener() {
+                                      @Override
+                                      public void onMessage(WsSession session, String text, boolean last) {
+                                          session.send(text, last);
+                                      }
+                                  }));
+    }
+
+    @Test
+    void testDecompressedFrameTooBig() throws IOException {
+        // a megabyte of zeros compresses to about a kilobyte
+        byte[] compressed = deflate(new byte[1024 * 1024]);
+        assertThat(compressed.length, lessThan(65536));
+
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            upgrade(out, in);
+
+            // FIN, RSV1 (compressed), binary; masked with a zero key, so the payload is sent as is
+            out.write(new byte[] {(byte) 0xC2, (byte) (0x80 | 126),
+                    (byte) (compressed.length >> 8), (byte) compressed.length,
+                    0, 0, 0, 0});
+            out.write(compressed);
+            out.flush();
+
+            // close frame with status code
+            assertThat(in.readUnsignedByte(), is(0x88));
+            int length = in.readUnsignedByte();
+            assertThat(length > 1, is(true));
+            assertThat(in.readUnsignedShort(), is(WsCloseCodes.TOO_BIG));
+        }
+    }
+
+    @Test
+    void testUncompressedFrameNotLimited() throws IOException {
+        byte[] text = "a".repeat(2 * MAX_FRAME_LENGTH).getBytes(StandardCharsets.UTF_8);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            upgrade(out, in);
+
+            // FIN, text, not compressed; masked with a zero key, so the payload is sent as is
+            out.write(new byte[] {(byte) 0x81, (byte) (0x80 | 126),
+                    (byte) (text.length >> 8), (byte) text.length,
+                    0, 0, 0, 0});
+            out.write(text);
+            out.flush();
+
+            // echoed text frame, compressed by the server (RSV1)
+            assertThat(in.readUnsignedByte(), is(0xC1));
+        }
+    }
+
+    private void upgrade(OutputStream out, InputStream in) throws IOException {
+        out.write(("GET /echo HTTP/1.1\r\n"
+                           + "Host: localhost:" + port + "\r\n"
+                           + "Upgrade: websocket\r\n"
+                           + "Connection: Upgrade\r\n"
+                           + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+                           + "Sec-WebSocket-Version: 13\r\n"
+                           + "Sec-WebSocket-Extensions: permessage-deflate\r\n"
+                           + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        String response = readHeaders(in);
+        assertThat(response, containsString("101"));
+        assertThat(response.toLowerCase(Locale.ROOT), containsString("sec-websocket-extensions: permessage-deflate"));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        byte[] buffer = new byte[65536];
+        int length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+        deflater.end();
+        // the empty block that ends the flush is not sent at the end of a message
+        return Arrays.copyOf(buffer, length - 4);
+    }
+
+    private static String readHeaders(InputStream in) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        while (!headers.toString().endsWith("\r\n\r\n")) {
+            int b = in.read();
+            if (b == -1) {
+                break;
+            }
+            headers.append((char) b);
+        }
+        return headers.toString();
+    }
+}
@@ -17,11 +17,34 @@
 package io.helidon.webserver.http;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 import io.helidon.http.HttpPrologue;
+import io.helidon.http.Method;
+import io.helidon.http.PathMatcher;
 import io.helidon.http.PathMatchers;
 
 abstract class HttpRouteBase implements HttpRoute {
+    private static final PathMatcher ANY_PATH = PathMatchers.any();
+
+    /**
+     * Path matcher of this route, used to index routes.
+     *
+     * @return path matcher, defaults to a matcher matching any path
+     */
+    PathMatcher pathMatcher() {
+        return ANY_PATH;
+    }
+
+    /**
+     * Method predicate of this route, used to index routes.
+     *
+     * @return method predicate, defaults to a predicate accepting any method
+     */
+    Predicate<Method> methodPredicate() {
+        return Method.predicate();
+    }
+
     PathMatchers.PrefixMatchResult acceptsPrefix(HttpPrologue prologue) {
         throw new IllegalStateException("This is not a list route");
     }
@@ -30,6 +53,16 @@ abstract class HttpRouteBase implements HttpRoute {
         throw new IllegalStateException("This is not a list route");
     }
 
+    /**
+     * Routes of a list route that may accept the provided prologue.
+     *
+     * @param prologue prologue with path relative to this route
+     * @return candidate routes in order of registration
+     */
+    List<HttpRouteBase> routes(HttpPrologue prologue) {
+        return routes();
+    }
+
     boolean isList() {
         return false;
     }
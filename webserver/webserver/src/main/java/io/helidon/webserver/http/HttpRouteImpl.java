@@ -48,6 +48,16 @@ class HttpRouteImpl extends HttpRouteBase implements HttpRoute {
         return handler;
     }
 
+    @Override
+    PathMatcher pathMatcher() {
+        return pathMatcher;
+    }
+
+    @Override
+    Predicate<Method> methodPredicate() {
+        return methodPredicate;
+    }
+
     @Override
     public void beforeStart() {
         handler.beforeStart();
@@ -57,7 +57,8 @@ public final class HttpRouting implements Routing, Prototype.Api {
     private HttpRouting(RealBuilder builder) {
         ErrorHandlers errorHandlers = ErrorHandlers.create(builder.errorHandlers);
         this.filters = Filters.create(errorHandlers, List.copyOf(builder.filters));
-        this.rootRoute = builder.rootRules.build();
+        ServiceRoute rootRoute = builder.rootRules.build();
+        this.rootRoute = builder.compileRoutes ? rootRoute.compile() : rootRoute;
         this.features = List.copyOf(builder.features);
         this.maxReRouteCount = builder.maxReRouteCount;
         this.security = builder.security;
@@ -500,6 +501,20 @@ public final class HttpRouting implements Routing, Prototype.Api {
          */
         Builder security(HttpSecurity security);
 
+        /**
+         * Whether to compile routes into an index when this routing is built.
+         * Compiled routing places routes with exact, prefix and parameter path patterns into a trie of path segments
+         * indexed by HTTP method, so only routes that may accept a request path are checked, instead of checking
+         * each route in order. Routes with regular expressions and custom matchers are checked for each request.
+         * The order of registration still decides which route handles a request.
+         * <p>
+         * Defaults to {@code false}.
+         *
+         * @param compileRoutes whether to compile routes
+         * @return updated builder
+         */
+        Builder compileRoutes(boolean compileRoutes);
+
         /**
          * Create a copy of this builder that has the same routes, but is not backed by the same lists/maps.
          * Modifications to the routes of the copy will not modify routes of this builder.
@@ -515,15 +530,21 @@ public final class HttpRouting implements Routing, Prototype.Api {
         private final HttpRoutingFeature mainRouting = new HttpRoutingFeature();
         private HttpSecurity security = HttpSecurity.create();
         private int maxReRouteCount = 10;
+        private boolean compileRoutes;
 
         private BuilderImpl() {
         }
 
-        private BuilderImpl(List<HttpFeature> features, HttpRoutingFeature mainRouting, HttpSecurity security, int maxReroute) {
+        private BuilderImpl(List<HttpFeature> features,
+                            HttpRoutingFeature mainRouting,
+                            HttpSecurity security,
+                            int maxReroute,
+                            boolean compileRoutes) {
             this.features.addAll(features);
             this.mainRouting.copyFrom(mainRouting);
             this.security = security;
             this.maxReRouteCount = maxReroute;
+            this.compileRoutes = compileRoutes;
         }
 
         @Override
@@ -534,7 +555,8 @@ public final class HttpRouting implements Routing, Prototype.Api {
 
             RealBuilder realBuilder = new RealBuilder(features,
                                                       security,
-                                                      maxReRouteCount);
+                                                      maxReRouteCount,
+                                                      compileRoutes);
 
             // now we need to do the final setup in the correct order
             for (HttpFeature feature : features) {
@@ -596,9 +618,15 @@ public final class HttpRouting implements Routing, Prototype.Api {
             return this;
         }
 
+        @Override
+        public Builder compileRoutes(boolean compileRoutes) {
+            this.compileRoutes = compileRoutes;
+            return this;
+        }
+
         @Override
         public Builder copy() {
-            return new BuilderImpl(features, mainRouting, security, maxReRouteCount);
+            return new BuilderImpl(features, mainRouting, security, maxReRouteCount, compileRoutes);
         }
     }
 
@@ -717,15 +745,18 @@ public final class HttpRouting implements Routing, Prototype.Api {
 
         private HttpSecurity security;
         private int maxReRouteCount;
+        private boolean compileRoutes;
 
         private RealBuilder(List<HttpFeature> features,
                             HttpSecurity security,
-                            int maxReRouteCount) {
+                            int maxReRouteCount,
+                            boolean compileRoutes) {
 
             // we need a new instance, as features may add additional features
             this.features = new ArrayList<>(features);
             this.security = security;
             this.maxReRouteCount = maxReRouteCount;
+            this.compileRoutes = compileRoutes;
         }
 
         @Override
@@ -783,6 +814,12 @@ public final class HttpRouting implements Routing, Prototype.Api {
             return this;
         }
 
+        @Override
+        public Builder compileRoutes(boolean compileRoutes) {
+            this.compileRoutes = compileRoutes;
+            return this;
+        }
+
         @Override
         public Builder copy() {
             throw new UnsupportedOperationException("This builder should only be used internally by Helidon and never copied");
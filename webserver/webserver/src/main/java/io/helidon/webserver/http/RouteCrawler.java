@@ -39,9 +39,9 @@ class RouteCrawler {
     private CrawlerItem next;
     private RouteCrawler subCrawler;
 
-    RouteCrawler(ConnectionContext ctx, RoutingRequest request, List<HttpRouteBase> rootRoute) {
+    RouteCrawler(ConnectionContext ctx, RoutingRequest request, HttpRouteBase rootRoute) {
         this.ctx = ctx;
-        this.routeIterator = rootRoute.iterator();
+        this.routeIterator = rootRoute.routes(request.prologue()).iterator();
         this.matchingPath = request.prologue().uriPath();
         this.prologue = request.prologue();
         this.request = request;
@@ -50,11 +50,10 @@ class RouteCrawler {
 
     RouteCrawler(ConnectionContext ctx,
                  RoutingRequest request,
-                 List<HttpRouteBase> rootRoute,
+                 HttpRouteBase listRoute,
                  RoutedPath parent,
                  UriPath child) {
         this.ctx = ctx;
-        this.routeIterator = rootRoute.iterator();
         this.matchingPath = child;
         this.request = request;
         this.parent = parent;
@@ -67,6 +66,7 @@ class RouteCrawler {
                                             child,
                                             prologue.query(),
                                             prologue.fragment());
+        this.routeIterator = listRoute.routes(this.prologue).iterator();
     }
 
     boolean hasNext() {
@@ -94,7 +94,7 @@ class RouteCrawler {
                 if (accepts.accepted()) {
                     subCrawler = new RouteCrawler(ctx,
                                                   request,
-                                                  nextRoute.routes(),
+                                                  nextRoute,
                                                   accepts.matchedPath(),
                                                   accepts.unmatchedPath());
                     if (subCrawler.hasNext()) {
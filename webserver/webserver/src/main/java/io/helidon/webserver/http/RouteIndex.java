@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.http;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import io.helidon.http.HttpPrologue;
+import io.helidon.http.Method;
+import io.helidon.http.MethodPredicate;
+
+/**
+ * Compiled index of a list of routes.
+ * <p>
+ * Routes are placed into a trie of path segments based on the {@link io.helidon.http.PathMatcher#literalPrefix()} of their
+ * path matcher, and each node of the trie keeps its candidate routes per {@link io.helidon.http.Method}.
+ * The index only narrows down the list of routes that may accept a request; each candidate is still asked to match
+ * the request, and candidates are always returned in the order of registration, so the route that would win in
+ * a linear scan still wins.
+ * Routes with matchers that do not provide a literal prefix (regular expressions, custom matchers) are candidates
+ * for any path.
+ */
+final class RouteIndex {
+    private final Node root;
+
+    private RouteIndex(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Create an index of the provided routes.
+     *
+     * @param routes routes in order of registration
+     * @return a new route index
+     */
+    static RouteIndex create(List<HttpRouteBase> routes) {
+        Node root = new Node();
+        Set<Method> knownMethods = new LinkedHashSet<>();
+
+        for (int i = 0; i < routes.size(); i++) {
+            HttpRouteBase route = routes.get(i);
+            Set<Method> methods = acceptedMethods(route.methodPredicate());
+            knownMethods.addAll(methods);
+
+            Node node = root;
+            String literal = route.pathMatcher().literalPrefix();
+            if (!literal.isEmpty()) {
+                // literal always starts with a slash, each segment is a child node
+                int segmentStart = 1;
+                while (segmentStart <= literal.length()) {
+                    int segmentEnd = literal.indexOf('/', segmentStart);
+                    if (segmentEnd == -1) {
+                        segmentEnd = literal.length();
+                    }
+                    node = node.children.computeIfAbsent(literal.substring(segmentStart, segmentEnd), it -> new Node());
+                    segmentStart = segmentEnd + 1;
+                }
+            }
+            node.routes.add(new IndexedRoute(i, route, methods));
+        }
+
+        root.compile(List.of(), knownMethods);
+        return new RouteIndex(root);
+    }
+
+    /**
+     * Routes that may accept the provided prologue, in order of registration.
+     *
+     * @param prologue prologue of the request (with path relative to the parent route, if any)
+     * @return candidate routes
+     */
+    List<HttpRouteBase> candidates(HttpPrologue prologue) {
+        String path = prologue.uriPath().path();
+        Node node = root;
+
+        if (!path.isEmpty() && path.charAt(0) == '/') {
+            int segmentStart = 1;
+            while (segmentStart <= path.length() && !node.children.isEmpty()) {
+                int segmentEnd = path.indexOf('/', segmentStart);
+                if (segmentEnd == -1) {
+                    segmentEnd = path.length();
+                }
+                Node child = node.children.get(path.substring(segmentStart, segmentEnd));
+                if (child == null) {
+                    break;
+                }
+                node = child;
+                segmentStart = segmentEnd + 1;
+            }
+        }
+
+        return node.candidates(prologue.method());
+    }
+
+    private static Set<Method> acceptedMethods(Predicate<Method> predicate) {
+        if (predicate instanceof MethodPredicate mp) {
+            // empty set means any method
+            return mp.acceptedMethods();
+        }
+        return Set.of();
+    }
+
+    private record IndexedRoute(int index, HttpRouteBase route, Set<Method> methods) {
+        boolean accepts(Method method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<IndexedRoute> routes = new ArrayList<>();
+
+        private Map<Method, List<HttpRouteBase>> byMethod;
+        // routes that accept any method, used for methods not known when the index was compiled
+        private List<HttpRouteBase> anyMethod;
+
+        List<HttpRouteBase> candidates(Method method) {
+            List<HttpRouteBase> result = byMethod.get(method);
+            return result == null ? anyMethod : result;
+        }
+
+        // each node contains all routes of its parents, as the path of a request that reaches it must have matched them
+        private void compile(List<IndexedRoute> parentRoutes, Set<Method> knownMethods) {
+            List<IndexedRoute> all = new ArrayList<>(parentRoutes.size() + routes.size());
+            all.addAll(parentRoutes);
+            all.addAll(routes);
+            all.sort((first, second) -> Integer.compare(first.index(), second.index()));
+
+            this.byMethod = new HashMap<>();
+            for (Method method : knownMethods) {
+                byMethod.put(method, all.stream()
+                        .filter(it -> it.accepts(method))
+                        .map(IndexedRoute::route)
+                        .toList());
+            }
+            this.anyMethod = all.stream()
+                    .filter(it -> it.methods().isEmpty())
+                    .map(IndexedRoute::route)
+                    .toList();
+
+            for (Node child : children.values()) {
+                child.compile(all, knownMethods);
+            }
+        }
+    }
+}
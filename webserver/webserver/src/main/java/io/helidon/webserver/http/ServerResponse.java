@@ -16,7 +16,16 @@
 
 package io.helidon.webserver.http;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
 
@@ -125,6 +134,70 @@ public interface ServerResponse {
         send(entity.orElseThrow(() -> new NotFoundException("")));
     }
 
+    /**
+     * Send a region of a file as the entity of this response.
+     * The {@code Content-Length} header is set to the length of the region, other headers (such as
+     * {@code Content-Type} or {@code Content-Range}) must be configured before calling this method.
+     * <p>
+     * Implementations may write the file content directly to the connection, bypassing the buffering
+     * of {@link #outputStream()}, if the response does not use content encoding or stream filters.
+     *
+     * @param file   file to send
+     * @param offset offset of the first byte to send
+     * @param length number of bytes to send
+     * @throws java.io.UncheckedIOException in case the file cannot be read
+     */
+    default void send(Path file, long offset, long length) {
+        contentLength(length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                OutputStream out = outputStream()) {
+            WritableByteChannel outChannel = Channels.newChannel(out);
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, outChannel);
+                if (transferred <= 0) {
+                    throw new IOException("File " + file + " is shorter than requested, cannot send bytes from " + position);
+                }
+                position += transferred;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Send the remaining bytes of the provided buffers, in order, as the entity of this response.
+     * The {@code Content-Length} header is set to the total number of remaining bytes, other headers
+     * must be configured before calling this method.
+     * <p>
+     * Implementations may write the buffers directly to the connection without copying them, if the response
+     * does not use content encoding or stream filters. Position and limit of the buffers are not modified,
+     * the content of the buffers must not be modified after this method is called.
+     * <p>
+     * Unlike {@link #send(Object)}, the buffers are never processed by media support.
+     *
+     * @param buffers buffers to send, such as slices of a memory mapped file
+     */
+    default void sendBuffers(List<ByteBuffer> buffers) {
+        long length = 0;
+        for (ByteBuffer buffer : buffers) {
+            length += buffer.remaining();
+        }
+        contentLength(length);
+        try (OutputStream out = outputStream()) {
+            WritableByteChannel outChannel = Channels.newChannel(out);
+            for (ByteBuffer buffer : buffers) {
+                ByteBuffer toWrite = buffer.duplicate();
+                while (toWrite.hasRemaining()) {
+                    outChannel.write(toWrite);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Whether this response has been sent.
      *
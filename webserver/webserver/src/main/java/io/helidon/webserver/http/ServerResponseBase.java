@@ -204,7 +204,7 @@ public abstract class ServerResponseBase<T extends ServerResponseBase<T>> implem
      */
     protected byte[] entityBytes(byte[] configuredEntity) {
         byte[] entity = configuredEntity;
-        if (contentEncodingContext.contentEncodingEnabled()) {
+        if (encodeEntity()) {
             ContentEncoder encoder = contentEncodingContext.encoder(requestHeaders);
             // we want to preserve optimization here, let's create a new byte array
             ByteArrayOutputStream baos = new ByteArrayOutputStream(entity.length);
@@ -228,7 +228,7 @@ public abstract class ServerResponseBase<T extends ServerResponseBase<T>> implem
      * @return output stream to write plain data to
      */
     protected OutputStream contentEncode(OutputStream outputStream) {
-        if (contentEncodingContext.contentEncodingEnabled()) {
+        if (encodeEntity()) {
             ContentEncoder encoder = contentEncodingContext.encoder(requestHeaders);
             encoder.headers(headers());
 
@@ -237,6 +237,16 @@ public abstract class ServerResponseBase<T extends ServerResponseBase<T>> implem
         return outputStream;
     }
 
+    /**
+     * Whether the entity of this response would be sent as is, i.e. no content encoding
+     * is requested by the client, or content encoding is disabled.
+     *
+     * @return {@code true} if the entity would not be encoded
+     */
+    protected boolean identityContentEncoding() {
+        return !encodeEntity() || contentEncodingContext.encoder(requestHeaders) == ContentEncoder.NO_OP;
+    }
+
     /**
      * Execute after send runnables.
      */
@@ -246,6 +256,11 @@ public abstract class ServerResponseBase<T extends ServerResponseBase<T>> implem
         }
     }
 
+    private boolean encodeEntity() {
+        // an entity with content encoding set by the handler (such as precompressed static content) is already encoded
+        return contentEncodingContext.contentEncodingEnabled() && !headers().contains(HeaderNames.CONTENT_ENCODING);
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     private void doSend(Object entity) {
         GenericType type;
@@ -16,6 +16,7 @@
 
 package io.helidon.webserver.http;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -30,15 +31,25 @@ class ServiceRoute extends HttpRouteBase implements HttpRoute {
     private final Predicate<Method> methodPredicate;
     private final PathMatcher pathMatcher;
     private final List<HttpRouteBase> routes;
+    private final RouteIndex index;
 
     ServiceRoute(HttpService theService,
                  Predicate<Method> methodPredicate,
                  PathMatcher pathMatcher,
                  List<HttpRouteBase> routes) {
+        this(theService, methodPredicate, pathMatcher, routes, null);
+    }
+
+    private ServiceRoute(HttpService theService,
+                         Predicate<Method> methodPredicate,
+                         PathMatcher pathMatcher,
+                         List<HttpRouteBase> routes,
+                         RouteIndex index) {
         this.theService = theService;
         this.methodPredicate = methodPredicate;
         this.pathMatcher = pathMatcher;
         this.routes = routes;
+        this.index = index;
     }
 
     @Override
@@ -77,17 +88,58 @@ class ServiceRoute extends HttpRouteBase implements HttpRoute {
         return pathMatcher.prefixMatch(prologue.uriPath());
     }
 
+    @Override
+    PathMatcher pathMatcher() {
+        return pathMatcher;
+    }
+
+    @Override
+    Predicate<Method> methodPredicate() {
+        return methodPredicate;
+    }
+
     @Override
     List<HttpRouteBase> routes() {
         return routes;
     }
 
+    @Override
+    List<HttpRouteBase> routes(HttpPrologue prologue) {
+        if (index == null) {
+            return routes;
+        }
+        return index.candidates(prologue);
+    }
+
     @Override
     boolean isList() {
         return true;
     }
 
     RouteCrawler crawler(ConnectionContext ctx, RoutingRequest request) {
-        return new RouteCrawler(ctx, request, routes);
+        return new RouteCrawler(ctx, request, this);
+    }
+
+    /**
+     * Create a copy of this route (and of all nested service routes) that uses a compiled {@link RouteIndex}
+     * to find candidate routes, instead of checking each route in order.
+     *
+     * @return compiled service route
+     */
+    ServiceRoute compile() {
+        List<HttpRouteBase> compiledRoutes = new ArrayList<>(routes.size());
+        for (HttpRouteBase route : routes) {
+            if (route instanceof ServiceRoute serviceRoute) {
+                compiledRoutes.add(serviceRoute.compile());
+            } else {
+                compiledRoutes.add(route);
+            }
+        }
+        compiledRoutes = List.copyOf(compiledRoutes);
+        return new ServiceRoute(theService,
+                                methodPredicate,
+                                pathMatcher,
+                                compiledRoutes,
+                                RouteIndex.create(compiledRoutes));
     }
 }
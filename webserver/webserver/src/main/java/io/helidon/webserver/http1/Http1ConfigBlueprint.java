@@ -20,6 +20,7 @@ import java.util.List;
 
 import io.helidon.builder.api.Option;
 import io.helidon.builder.api.Prototype;
+import io.helidon.common.buffers.BufferAllocator;
 import io.helidon.config.metadata.Configured;
 import io.helidon.config.metadata.ConfiguredOption;
 import io.helidon.http.RequestedUriDiscoveryContext;
@@ -128,6 +129,17 @@ interface Http1ConfigBlueprint extends ProtocolConfig {
     @ConfiguredOption
     RequestedUriDiscoveryContext requestedUriDiscovery();
 
+    /**
+     * Allocator of buffers used to write responses.
+     * Buffers are released once written to the socket, so a pooled allocator
+     * ({@link io.helidon.common.buffers.BufferAllocator#pooled()}) reuses them for subsequent responses.
+     * Defaults to {@link io.helidon.common.buffers.BufferAllocator#unpooled()}.
+     *
+     * @return buffer allocator
+     */
+    @Option.DefaultCode("@io.helidon.common.buffers.BufferAllocator@.unpooled()")
+    BufferAllocator bufferAllocator();
+
     /**
      * Connection send event listeners for HTTP/1.1.
      *
@@ -327,7 +327,8 @@ public class Http1Connection implements ServerConnection, InterruptableTask<Void
                                                                    request,
                                                                    !request.headers()
                                                                            .contains(HeaderValues.CONNECTION_CLOSE),
-                                                                   http1Config.validateResponseHeaders());
+                                                                   http1Config.validateResponseHeaders(),
+                                                                   http1Config.bufferAllocator());
 
             routing.route(ctx, request, response);
             // we have handled a request without request entity
@@ -391,7 +392,8 @@ public class Http1Connection implements ServerConnection, InterruptableTask<Void
                                                                request,
                                                                !request.headers()
                                                                        .contains(HeaderValues.CONNECTION_CLOSE),
-                                                               http1Config.validateResponseHeaders());
+                                                               http1Config.validateResponseHeaders(),
+                                                               http1Config.bufferAllocator());
 
         routing.route(ctx, request, response);
 
@@ -18,9 +18,15 @@ package io.helidon.webserver.http1;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Objects;
 import java.util.ServiceLoader;
@@ -29,6 +35,7 @@ import java.util.function.UnaryOperator;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.HelidonServiceLoader;
+import io.helidon.common.buffers.BufferAllocator;
 import io.helidon.common.buffers.BufferData;
 import io.helidon.common.buffers.DataWriter;
 import io.helidon.common.media.type.MediaType;
@@ -63,6 +70,10 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
     private static final List<SinkProvider> SINK_PROVIDERS
             = HelidonServiceLoader.builder(ServiceLoader.load(SinkProvider.class)).build().asList();
     private static final WritableHeaders<?> EMPTY_HEADERS = WritableHeaders.create();
+    // size of a single write when sending a file
+    private static final int FILE_CHUNK_SIZE = 64 * 1024;
+    // buffers up to this size are written together with the response headers
+    private static final int COALESCE_SIZE = 8 * 1024;
 
     private final ConnectionContext ctx;
     private final Http1ConnectionListener sendListener;
@@ -71,6 +82,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
     private final ServerResponseHeaders headers;
     private final ServerResponseTrailers trailers;
     private final boolean keepAlive;
+    private final BufferAllocator allocator;
 
     private boolean streamingEntity;
     private boolean isSent;
@@ -86,7 +98,8 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
                         DataWriter dataWriter,
                         Http1ServerRequest request,
                         boolean keepAlive,
-                        boolean validateHeaders) {
+                        boolean validateHeaders,
+                        BufferAllocator allocator) {
         super(ctx, request);
 
         this.ctx = ctx;
@@ -97,6 +110,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
         this.trailers = ServerResponseTrailers.create();
         this.keepAlive = keepAlive;
         this.validateHeaders = validateHeaders;
+        this.allocator = allocator;
     }
 
     static void nonEntityBytes(ServerResponseHeaders headers,
@@ -164,6 +178,154 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
         }
     }
 
+    @Override
+    public void send(Path file, long offset, long length) {
+        if (outputStreamFilter != null
+                || headers.contains(HeaderNames.TRAILER)
+                || headers.contains(HeaderValues.TRANSFER_ENCODING_CHUNKED)
+                || !identityContentEncoding()) {
+            super.send(file, offset, length);
+            return;
+        }
+        if (isSent) {
+            throw new IllegalStateException("Response already sent");
+        }
+        if (streamingEntity) {
+            throw new IllegalStateException("When output stream is used, response is completed by closing the output stream"
+                                                    + ", do not call send().");
+        }
+
+        // open the file before writing headers, so a failure can still be reported with a proper status
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = offset + length;
+            if (offset < 0 || length < 0 || end > channel.size()) {
+                throw new IllegalArgumentException("Requested region " + offset + "-" + end + " is outside of file " + file
+                                                           + " of size " + channel.size());
+            }
+
+            headers.contentLength(length);
+            Status usedStatus = status();
+            sendListener.status(ctx, usedStatus);
+            sendListener.headers(ctx, headers);
+
+            BufferData head = allocator.growing(256);
+            nonEntityBytes(headers, usedStatus, head, keepAlive, validateHeaders);
+            bytesWritten = head.available() + length;
+            isSent = true;
+            request.reset();
+
+            try {
+                channel.position(offset);
+                InputStream in = Channels.newInputStream(channel);
+                long position = offset;
+                while (position < end) {
+                    // pooled buffer, released by the data writer once written (possibly asynchronously)
+                    int chunkLength = (int) Math.min(FILE_CHUNK_SIZE, end - position);
+                    BufferData data = allocator.allocate(chunkLength);
+                    try {
+                        while (data.available() < chunkLength) {
+                            if (data.readFrom(in) < 0) {
+                                throw new IOException("File " + file + " was truncated while being sent");
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        data.release();
+                        throw e;
+                    }
+                    position += chunkLength;
+
+                    if (head != null) {
+                        // headers are sent together with the first chunk
+                        data = BufferData.create(head, data);
+                        head = null;
+                    }
+                    sendListener.data(ctx, data);
+                    dataWriter.write(data);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (head != null) {
+                    // failed before the first chunk was written
+                    head.release();
+                }
+                throw e;
+            }
+            if (head != null) {
+                // empty region
+                sendListener.data(ctx, head);
+                dataWriter.write(head);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        afterSend();
+    }
+
+    @Override
+    public void sendBuffers(List<ByteBuffer> buffers) {
+        if (outputStreamFilter != null
+                || headers.contains(HeaderNames.TRAILER)
+                || headers.contains(HeaderValues.TRANSFER_ENCODING_CHUNKED)
+                || !identityContentEncoding()) {
+            super.sendBuffers(buffers);
+            return;
+        }
+        if (isSent) {
+            throw new IllegalStateException("Response already sent");
+        }
+        if (streamingEntity) {
+            throw new IllegalStateException("When output stream is used, response is completed by closing the output stream"
+                                                    + ", do not call send().");
+        }
+
+        long length = 0;
+        for (ByteBuffer buffer : buffers) {
+            length += buffer.remaining();
+        }
+
+        headers.contentLength(length);
+        Status usedStatus = status();
+        sendListener.status(ctx, usedStatus);
+        sendListener.headers(ctx, headers);
+
+        BufferData pending = allocator.growing(256);
+        nonEntityBytes(headers, usedStatus, pending, keepAlive, validateHeaders);
+        bytesWritten = pending.available() + length;
+        isSent = true;
+        request.reset();
+
+        for (ByteBuffer buffer : buffers) {
+            ByteBuffer slice = buffer.slice();
+            if (!slice.hasRemaining()) {
+                continue;
+            }
+            int pendingLength = pending == null ? 0 : pending.available();
+            if (pendingLength + slice.remaining() <= COALESCE_SIZE) {
+                // small buffers are copied after the headers, so a small response is a single write
+                if (pending == null) {
+                    // only allocated when needed, an empty buffer would never be written and released
+                    pending = allocator.growing(slice.remaining());
+                }
+                pending.write(BufferData.createReadOnly(slice));
+                continue;
+            }
+            if (pending != null) {
+                writeData(pending);
+                pending = null;
+            }
+            // the buffer content is not copied, the data writer reads directly from the buffer
+            for (int position = 0; position < slice.limit(); position += FILE_CHUNK_SIZE) {
+                int chunkLength = Math.min(FILE_CHUNK_SIZE, slice.limit() - position);
+                writeData(BufferData.createReadOnly(slice.slice(position, chunkLength)));
+            }
+        }
+        if (pending != null) {
+            writeData(pending);
+        }
+
+        afterSend();
+    }
+
     @Override
     public boolean isSent() {
         return isSent;
@@ -193,7 +355,8 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
                                                      sendListener,
                                                      request,
                                                      keepAlive,
-                                                     validateHeaders);
+                                                     validateHeaders,
+                                                     allocator);
 
         int writeBufferSize = ctx.listenerContext().config().writeBufferSize();
         outputStream = new ClosingBufferedOutputStream(bos, writeBufferSize);
@@ -292,6 +455,11 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
         }
     }
 
+    private void writeData(BufferData data) {
+        sendListener.data(ctx, data);
+        dataWriter.write(data);
+    }
+
     private void handleSinkData(Object data, MediaType mediaType) {
         if (outputStream == null) {
             outputStream();
@@ -355,7 +523,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
         sendListener.headers(ctx, headers);
 
         // give some space for code and headers + entity
-        BufferData responseBuffer = BufferData.growing(256 + bytes.length);
+        BufferData responseBuffer = allocator.growing(256 + bytes.length);
 
         nonEntityBytes(headers, usedStatus, responseBuffer, keepAlive, validateHeaders);
         if (forcedChunkedEncoding) {
@@ -387,6 +555,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
         private final Http1ServerRequest request;
         private final boolean keepAlive;
         private final Supplier<String> streamResult;
+        private final BufferAllocator allocator;
         private boolean forcedChunked;
 
         private BufferData firstBuffer;
@@ -409,7 +578,8 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
                                      Http1ConnectionListener sendListener,
                                      Http1ServerRequest request,
                                      boolean keepAlive,
-                                     boolean validateHeaders) {
+                                     boolean validateHeaders,
+                                     BufferAllocator allocator) {
             this.headers = headers;
             this.trailers = trailers;
             this.status = status;
@@ -422,6 +592,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
             this.request = request;
             this.keepAlive = keepAlive;
             this.validateHeaders = validateHeaders;
+            this.allocator = allocator;
         }
 
         void checkResponseHeaders(){
@@ -504,7 +675,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
             if (sendTrailers) {
                     // not optimized, trailers enabled: we need to write trailers
                     trailers.set(STREAM_RESULT_NAME, streamResult.get());
-                    BufferData buffer = BufferData.growing(128);
+                    BufferData buffer = allocator.growing(128);
                     writeHeaders(trailers, buffer, this.validateHeaders);
                     buffer.write('\r');        // "\r\n" - empty line after headers
                     buffer.write('\n');
@@ -559,7 +730,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
                     sendListener.status(ctx, usedStatus);
                     sendListener.headers(ctx, headers);
                     // write headers and payload part in one buffer to avoid TCP/ACK delay problems
-                    BufferData growing = BufferData.growing(256 + buffer.available());
+                    BufferData growing = allocator.growing(256 + buffer.available());
                     nonEntityBytes(headers, usedStatus, growing, keepAlive, validateHeaders);
                     // check not exceeding content-length
                     bytesWritten += buffer.available();
@@ -614,7 +785,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
             Status usedStatus = status.get();
             sendListener.status(ctx, usedStatus);
             sendListener.headers(ctx, headers);
-            BufferData bufferData = BufferData.growing(contentLength + 256);
+            BufferData bufferData = allocator.growing(contentLength + 256);
             nonEntityBytes(headers, usedStatus, bufferData, keepAlive, validateHeaders);
 
             if (firstBuffer != null) {
@@ -647,7 +818,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
             Status usedStatus = status.get();
             sendListener.status(ctx, usedStatus);
             sendListener.headers(ctx, headers);
-            BufferData bufferData = BufferData.growing(256);
+            BufferData bufferData = allocator.growing(256);
             nonEntityBytes(headers, usedStatus, bufferData, keepAlive, validateHeaders);
             sendListener.data(ctx, bufferData);
             responseBytesTotal += bufferData.available();
@@ -658,7 +829,7 @@ class Http1ServerResponse extends ServerResponseBase<Http1ServerResponse> {
             int available = buffer.available();
             byte[] hex = Integer.toHexString(available).getBytes(StandardCharsets.US_ASCII);
 
-            BufferData toWrite = BufferData.create(available + hex.length + 4); // \r\n after size, another after chunk
+            BufferData toWrite = allocator.allocate(available + hex.length + 4); // \r\n after size, another after chunk
             toWrite.write(hex);
             toWrite.write('\r');
             toWrite.write('\n');
@@ -157,6 +157,11 @@ class HttpRoutingTest {
             return null;
         }
 
+        @Override
+        public HttpRouting.Builder compileRoutes(boolean compileRoutes) {
+            return null;
+        }
+
         @Override
         public HttpRouting build() {
             return null;
@@ -69,6 +69,20 @@ class PathMatchersTest {
         patternTest(true, pathVarPattern, "a", Map.of("var1", "a"));
     }
 
+    @Test
+    void testLiteralPrefix() {
+        assertThat(PathMatchers.create("/").literalPrefix(), is(""));
+        assertThat(PathMatchers.create("/greet").literalPrefix(), is("/greet"));
+        assertThat(PathMatchers.create("/greet/").literalPrefix(), is("/greet"));
+        assertThat(PathMatchers.create("/greet/*").literalPrefix(), is("/greet"));
+        assertThat(PathMatchers.prefix("/gre").literalPrefix(), is(""));
+        assertThat(PathMatchers.create("/greet/{name}").literalPrefix(), is("/greet"));
+        assertThat(PathMatchers.create("/greet{name}").literalPrefix(), is(""));
+        assertThat(PathMatchers.create("/a/b[/c]").literalPrefix(), is("/a"));
+        assertThat(PathMatchers.create("/a%20b").literalPrefix(), is(""));
+        assertThat(PathMatchers.any().literalPrefix(), is(""));
+    }
+
     @Test
     void testSlashesAtBeginning() {
         assertThat("/", pathMatcherMatches("/"));
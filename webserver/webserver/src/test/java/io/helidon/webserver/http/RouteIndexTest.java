@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver.http;
+
+import java.util.List;
+
+import io.helidon.http.HttpPrologue;
+import io.helidon.http.Method;
+import io.helidon.http.PathMatchers;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class RouteIndexTest {
+    private static final ServiceRoute ROUTE;
+    private static final ServiceRoute COMPILED;
+
+    static {
+        ServiceRules rules = new ServiceRules();
+        rules.route(route(Method.GET, "/greet"))
+                .route(route(Method.GET, "/greet/{name}"))
+                .route(route(Method.PUT, "/greet/{name}"))
+                .route(route(Method.GET, "/greet/*"))
+                .route(HttpRoute.builder()
+                               .methods(Method.GET)
+                               .path(PathMatchers.pattern("/gr[e]et/{name}"))
+                               .handler(RouteIndexTest::handle)
+                               .build())
+                .route(route(Method.POST, "/users"))
+                .route(route(Method.GET, "/users/{id}/orders"))
+                .route(route(Method.GET, "/users/me"))
+                .route(HttpRoute.builder()
+                               .handler(RouteIndexTest::handle)
+                               .build())
+                .register("/nested", subRules -> subRules.route(route(Method.GET, "/path")))
+                .register(subRules -> subRules.route(route(Method.GET, "/users/me")));
+        ROUTE = rules.build();
+        COMPILED = ROUTE.compile();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET,/greet",
+            "GET,/greet/",
+            "GET,/greet/jack",
+            "PUT,/greet/jack",
+            "GET,/greet/jack/other",
+            "GET,/greeting",
+            "POST,/users",
+            "GET,/users",
+            "GET,/users/me",
+            "GET,/users/42/orders",
+            "DELETE,/users/42",
+            "GET,/nested/path",
+            "GET,/unknown",
+            "GET,/",
+            "PATCH,/greet/jack"
+    })
+    void testSameRoutesAsLinearScan(String method, String path) {
+        HttpPrologue prologue = HttpPrologue.create("HTTP/1.1", "HTTP", "1.1", Method.create(method), path, false);
+
+        List<HttpRouteBase> expected = accepted(ROUTE.routes(), prologue);
+        List<HttpRouteBase> candidates = COMPILED.routes(prologue);
+
+        assertThat(candidates.size(), lessThanOrEqualTo(COMPILED.routes().size()));
+        assertThat(accepted(candidates, prologue).toString(), is(expected.toString()));
+    }
+
+    private static List<HttpRouteBase> accepted(List<HttpRouteBase> routes, HttpPrologue prologue) {
+        return routes.stream()
+                .filter(it -> it.isList() ? it.acceptsPrefix(prologue).accepted() : it.accepts(prologue).accepted())
+                .toList();
+    }
+
+    private static HttpRoute route(Method method, String path) {
+        return HttpRoute.builder()
+                .methods(method)
+                .path(path)
+                .handler(RouteIndexTest::handle)
+                .build();
+    }
+
+    private static void handle(ServerRequest req, ServerResponse res) {
+        res.send(req.path().path());
+    }
+}
@@ -39,6 +39,53 @@ interface WsConfigBlueprint extends ProtocolConfig {
     @Option.Singular
     Set<String> origins();
 
+    /**
+     * Whether to negotiate the {@code permessage-deflate} extension (RFC 7692) with clients that offer it.
+     * Compression saves bandwidth for repetitive messages (such as JSON), at the cost of CPU and a compression
+     * context of each connection.
+     *
+     * @return whether permessage-deflate is enabled
+     */
+    @ConfiguredOption("false")
+    boolean permessageDeflate();
+
+    /**
+     * Whether the server resets its compression context after each message ({@code server_no_context_takeover}).
+     * Messages compress worse, as repetitions across messages are not used.
+     *
+     * @return whether the server compresses each message separately
+     */
+    @ConfiguredOption("false")
+    boolean serverNoContextTakeover();
+
+    /**
+     * Whether to require clients to reset their compression context after each message
+     * ({@code client_no_context_takeover}).
+     *
+     * @return whether clients must compress each message separately
+     */
+    @ConfiguredOption("false")
+    boolean clientNoContextTakeover();
+
+    /**
+     * Messages with first frame smaller than this number of bytes are sent uncompressed, as compressing them
+     * does not save enough to be worth it.
+     *
+     * @return minimal size of a message to compress
+     */
+    @ConfiguredOption("64")
+    int compressionThreshold();
+
+    /**
+     * Maximal length of a frame payload received from a client, after decompression.
+     * Only applies to compressed frames when {@code permessage-deflate} is used, uncompressed frames are not limited.
+     * The connection is closed with {@link io.helidon.websocket.WsCloseCodes#TOO_BIG} if a frame is longer.
+     *
+     * @return maximal length of a decompressed frame payload in bytes
+     */
+    @ConfiguredOption("1048576")
+    int maxDecompressedFrameLength();
+
     /**
      * Protocol configuration type.
      *
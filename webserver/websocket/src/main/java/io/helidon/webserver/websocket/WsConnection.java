@@ -22,6 +22,7 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
 
 import io.helidon.common.buffers.BufferData;
 import io.helidon.common.buffers.DataReader;
@@ -37,6 +38,7 @@ import io.helidon.websocket.WsCloseCodes;
 import io.helidon.websocket.WsCloseException;
 import io.helidon.websocket.WsListener;
 import io.helidon.websocket.WsOpCode;
+import io.helidon.websocket.WsPerMessageDeflate;
 import io.helidon.websocket.WsSession;
 
 /**
@@ -50,13 +52,19 @@ public class WsConnection implements ServerConnection, WsSession {
     private final Headers upgradeHeaders;
     private final String wsKey;
     private final WsListener listener;
+    private final WsPerMessageDeflate deflate;
+    private final int maxDecompressedFrameLength;
+    private final ReentrantLock sendLock = new ReentrantLock();
 
     private final BufferData sendBuffer = BufferData.growing(1024);
     private final DataReader dataReader;
 
     private ContinuationType recvContinuation = ContinuationType.NONE;
     private boolean sendContinuation;
+    private boolean recvCompressed;
+    private boolean sendCompressed;
     private boolean closeSent;
+    private boolean deflateClosed;
 
     private volatile Thread myThread;
     private volatile boolean canRun = true;
@@ -67,12 +75,16 @@ public class WsConnection implements ServerConnection, WsSession {
                          HttpPrologue prologue,
                          Headers upgradeHeaders,
                          String wsKey,
-                         WsRoute wsRoute) {
+                         WsRoute wsRoute,
+                         WsPerMessageDeflate deflate,
+                         int maxDecompressedFrameLength) {
         this.ctx = ctx;
         this.prologue = prologue;
         this.upgradeHeaders = upgradeHeaders;
         this.wsKey = wsKey;
         this.listener = wsRoute.listener();
+        this.deflate = deflate;
+        this.maxDecompressedFrameLength = maxDecompressedFrameLength;
         this.dataReader = ctx.dataReader();
         this.lastRequestTimestamp = DateTime.timestamp();
     }
@@ -92,7 +104,29 @@ public class WsConnection implements ServerConnection, WsSession {
                                       Headers upgradeHeaders,
                                       String wsKey,
                                       WsRoute wsRoute) {
-        return new WsConnection(ctx, prologue, upgradeHeaders, wsKey, wsRoute);
+        return new WsConnection(ctx, prologue, upgradeHeaders, wsKey, wsRoute, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a new connection with {@code permessage-deflate} extension negotiated during upgrade.
+     *
+     * @param ctx                        server connection context
+     * @param prologue                   prologue of this request
+     * @param upgradeHeaders             headers for
+     * @param wsKey                      ws key
+     * @param wsRoute                    route to use
+     * @param deflate                    negotiated permessage-deflate extension, {@code null} if not negotiated
+     * @param maxDecompressedFrameLength maximal length of a decompressed frame payload
+     * @return a new connection
+     */
+    public static WsConnection create(ConnectionContext ctx,
+                                      HttpPrologue prologue,
+                                      Headers upgradeHeaders,
+                                      String wsKey,
+                                      WsRoute wsRoute,
+                                      WsPerMessageDeflate deflate,
+                                      int maxDecompressedFrameLength) {
+        return new WsConnection(ctx, prologue, upgradeHeaders, wsKey, wsRoute, deflate, maxDecompressedFrameLength);
     }
 
     @Override
@@ -115,6 +149,10 @@ public class WsConnection implements ServerConnection, WsSession {
                         lastRequestTimestamp = DateTime.timestamp();
                     } catch (CloseConnectionException e) {
                         throw e;
+                    } catch (WsCloseException e) {
+                        listener.onError(this, e);
+                        this.close(e.closeCode(), e.getMessage());
+                        return;
                     } catch (Exception e) {
                         listener.onError(this, e);
                         this.close(WsCloseCodes.UNEXPECTED_CONDITION, e.getMessage());
@@ -124,6 +162,16 @@ public class WsConnection implements ServerConnection, WsSession {
                 this.close(WsCloseCodes.NORMAL_CLOSE, "Idle timeout");
             } finally {
                 requestSemaphore.release();
+                if (deflate != null) {
+                    // a concurrent send must not use the compressor once it is released
+                    sendLock.lock();
+                    try {
+                        deflateClosed = true;
+                        deflate.close();
+                    } finally {
+                        sendLock.unlock();
+                    }
+                }
             }
         } else {
             listener.onClose(this, WsCloseCodes.TRY_AGAIN_LATER, "Too Many Concurrent Requests");
@@ -132,12 +180,12 @@ public class WsConnection implements ServerConnection, WsSession {
 
     @Override
     public WsSession send(String text, boolean last) {
-        return send(ServerWsFrame.data(text, last));
+        return sendData(ServerWsFrame.data(text, last));
     }
 
     @Override
     public WsSession send(BufferData bufferData, boolean last) {
-        return send(ServerWsFrame.data(bufferData, last));
+        return sendData(ServerWsFrame.data(bufferData, last));
     }
 
     @Override
@@ -152,13 +200,18 @@ public class WsConnection implements ServerConnection, WsSession {
 
     @Override
     public WsSession close(int code, String reason) {
-        closeSent = true;
         byte[] reasonBytes = reason.getBytes(StandardCharsets.UTF_8);
         BufferData bufferData = BufferData.create(2 + reasonBytes.length);
         bufferData.writeInt16(code);
         bufferData.write(reasonBytes);
 
-        return send(ServerWsFrame.control(WsOpCode.CLOSE, bufferData));
+        sendLock.lock();
+        try {
+            closeSent = true;
+            return send(ServerWsFrame.control(WsOpCode.CLOSE, bufferData));
+        } finally {
+            sendLock.unlock();
+        }
     }
 
     @Override
@@ -195,7 +248,7 @@ public class WsConnection implements ServerConnection, WsSession {
     }
 
     private boolean processFrame(ClientWsFrame frame) {
-        BufferData payload = frame.payloadData();
+        BufferData payload = payload(frame);
         switch (frame.opCode()) {
         case CONTINUATION -> {
             boolean finalFrame = frame.fin();
@@ -241,6 +294,55 @@ public class WsConnection implements ServerConnection, WsSession {
         return true;
     }
 
+    private BufferData payload(ClientWsFrame frame) {
+        WsOpCode opCode = frame.opCode();
+        if (frame.compressed() && (deflate == null || !frame.isPayload())) {
+            // RSV1 is only valid on the first frame of a message, and only with permessage-deflate
+            close(WsCloseCodes.PROTOCOL_ERROR, "Unexpected RSV1 bit");
+            throw new CloseConnectionException("WebSocket unexpected RSV1 bit");
+        }
+        if (frame.isPayload()) {
+            recvCompressed = frame.compressed();
+        } else if (opCode != WsOpCode.CONTINUATION) {
+            // control frames are never compressed
+            return frame.payloadData();
+        }
+        if (recvCompressed) {
+            return deflate.decompress(frame.payloadData(), frame.fin(), maxDecompressedFrameLength);
+        }
+        return frame.payloadData();
+    }
+
+    private WsSession sendData(ServerWsFrame frame) {
+        sendLock.lock();
+        try {
+            if (deflateClosed) {
+                throw new IllegalStateException("WebSocket connection is closed");
+            }
+            return send(compress(frame));
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private ServerWsFrame compress(ServerWsFrame frame) {
+        if (deflate == null) {
+            return frame;
+        }
+        boolean first = !sendContinuation;
+        if (first) {
+            // decision is made for the whole message
+            sendCompressed = deflate.compress(frame.payloadLength());
+        }
+        if (!sendCompressed) {
+            return frame;
+        }
+        ServerWsFrame compressed = ServerWsFrame.data(deflate.compress(frame.payloadData(), frame.fin()), frame.fin());
+        compressed.opCode(frame.opCode());
+        compressed.compressed(first);
+        return compressed;
+    }
+
     private ClientWsFrame readFrame() {
         try {
             // TODO check may payload size, danger of oom
@@ -271,17 +373,14 @@ public class WsConnection implements ServerConnection, WsSession {
             ctx.log(LOGGER, Level.TRACE, "ws server frame send %s", frame);
         }
 
-        sendBuffer.clear();
-        int opCodeFull = frame.fin() ? 0b10000000 : 0;
-        opCodeFull |= usedCode.code();
-        sendBuffer.write(opCodeFull);
-
-        if (frame.payloadLength() < 126) {
-            sendBuffer.write((int) frame.payloadLength());
-            // TODO finish other options (payload longer than 126 bytes)
+        sendLock.lock();
+        try {
+            sendBuffer.clear();
+            frame.writeTo(sendBuffer);
+            ctx.dataWriter().writeNow(sendBuffer);
+        } finally {
+            sendLock.unlock();
         }
-        sendBuffer.write(frame.payloadData());
-        ctx.dataWriter().writeNow(sendBuffer);
         return this;
     }
 
@@ -38,6 +38,7 @@ import io.helidon.http.WritableHeaders;
 import io.helidon.webserver.ConnectionContext;
 import io.helidon.webserver.http1.spi.Http1Upgrader;
 import io.helidon.webserver.spi.ServerConnection;
+import io.helidon.websocket.WsPerMessageDeflate;
 import io.helidon.websocket.WsUpgradeException;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
@@ -98,10 +99,12 @@ public class WsUpgrader implements Http1Upgrader {
     private static final byte[] HEADERS_SEPARATOR = "\r\n".getBytes(US_ASCII);
     private final Set<String> origins;
     private final boolean anyOrigin;
+    private final WsConfig wsConfig;
 
     protected WsUpgrader(WsConfig wsConfig) {
         this.origins = wsConfig.origins();
         this.anyOrigin = this.origins.isEmpty();
+        this.wsConfig = wsConfig;
     }
 
     /**
@@ -174,12 +177,19 @@ public class WsUpgrader implements Http1Upgrader {
             return null;
         }
 
+        Optional<WsPerMessageDeflate> deflate = negotiateDeflate(headers, upgradeHeaders);
+
         // write switch protocol response including headers from listener
         DataWriter dataWriter = ctx.dataWriter();
         String switchingProtocols = SWITCHING_PROTOCOL_PREFIX + hash(ctx, wsKey);
         dataWriter.write(BufferData.create(switchingProtocols.getBytes(US_ASCII)));
         BufferData separator = BufferData.create(HEADERS_SEPARATOR);
         dataWriter.write(separator);
+        deflate.ifPresent(it -> {
+            BufferData headerData = BufferData.growing(64);
+            HeaderValues.create(EXTENSIONS, it.extensionHeader()).writeHttp1Header(headerData);
+            dataWriter.write(headerData);
+        });
         upgradeHeaders.ifPresent(hs -> {
             BufferData headerData = BufferData.growing(128);
             hs.forEach(h -> h.writeHttp1Header(headerData));
@@ -191,7 +201,27 @@ public class WsUpgrader implements Http1Upgrader {
             LOGGER.log(Level.TRACE, "Upgraded to websocket version " + version);
         }
 
-        return WsConnection.create(ctx, prologue, upgradeHeaders.orElse(EMPTY_HEADERS), wsKey, route);
+        return WsConnection.create(ctx,
+                                   prologue,
+                                   upgradeHeaders.orElse(EMPTY_HEADERS),
+                                   wsKey,
+                                   route,
+                                   deflate.orElse(null),
+                                   wsConfig.maxDecompressedFrameLength());
+    }
+
+    private Optional<WsPerMessageDeflate> negotiateDeflate(Headers requestHeaders, Optional<Headers> upgradeHeaders) {
+        if (!wsConfig.permessageDeflate() || !requestHeaders.contains(EXTENSIONS)) {
+            return Optional.empty();
+        }
+        if (upgradeHeaders.map(it -> it.contains(EXTENSIONS)).orElse(false)) {
+            // listener negotiated extensions itself
+            return Optional.empty();
+        }
+        return WsPerMessageDeflate.server(requestHeaders.get(EXTENSIONS).allValues(),
+                                          wsConfig.serverNoContextTakeover(),
+                                          wsConfig.clientNoContextTakeover(),
+                                          wsConfig.compressionThreshold());
     }
 
     protected boolean anyOrigin() {
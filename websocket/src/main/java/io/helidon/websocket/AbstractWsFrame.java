@@ -27,17 +27,20 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
     private final boolean isPayload;
 
     private volatile WsOpCode opCode;
+    private volatile boolean compressed;
 
     protected AbstractWsFrame(LazyValue<BufferData> unmaskedData,
                               long payloadLength,
                               boolean fin,
                               boolean isPayload,
-                              WsOpCode opCode) {
+                              WsOpCode opCode,
+                              boolean compressed) {
         this.unmaskedData = unmaskedData;
         this.payloadLength = payloadLength;
         this.fin = fin;
         this.opCode = opCode;
         this.isPayload = isPayload;
+        this.compressed = compressed;
     }
 
     @Override
@@ -65,6 +68,11 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
         return isPayload;
     }
 
+    @Override
+    public boolean compressed() {
+        return compressed;
+    }
+
     /**
      * Configure the operation code of this frame.
      *
@@ -74,6 +82,15 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
         this.opCode = opCode;
     }
 
+    /**
+     * Configure whether this frame starts a compressed message (sets the {@code RSV1} bit).
+     *
+     * @param compressed whether the payload of this message is compressed
+     */
+    public void compressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
     @Override
     public String toString() {
         return opCode + (fin ? " (last): \n" : ": \n") + unmaskedData.get().debugDataHex();
@@ -82,7 +99,9 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
     protected static FrameHeader readFrameHeader(DataReader reader, int maxFrameLength) {
         int opCodeByte = reader.read();
         boolean fin = (opCodeByte & 0b10000000) != 0;
-        int extensionFlags = opCodeByte & 0b01110000;
+        // RSV1 is used by permessage-deflate, connection validates it was negotiated
+        boolean compressed = (opCodeByte & 0b01000000) != 0;
+        int extensionFlags = opCodeByte & 0b00110000;
         if (extensionFlags != 0) {
             throw new WsCloseException("Extension flags defined where none should be", WsCloseCodes.PROTOCOL_ERROR);
         }
@@ -97,7 +116,7 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
         if (length < 126) {
             frameLength = length;
         } else if (length == 126) {
-            frameLength = reader.readBuffer(2).readInt16();
+            frameLength = reader.readBuffer(2).readInt16() & 0xFFFF;
         } else {
             frameLength = reader.readBuffer(8).readLong();
         }
@@ -109,7 +128,35 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
             throw new WsCloseException("Payload too large", WsCloseCodes.TOO_BIG);
         }
 
-        return new FrameHeader(opCode, fin, masked, length);
+        return new FrameHeader(opCode, fin, compressed, masked, (int) frameLength);
+    }
+
+    /**
+     * Write frame header (all bytes up to the masking key).
+     *
+     * @param buffer buffer to write to
+     * @param masked whether the payload is masked
+     * @param length payload length
+     */
+    protected void writeHeader(BufferData buffer, boolean masked, long length) {
+        int opCodeFull = fin ? 0b10000000 : 0;
+        if (compressed) {
+            opCodeFull |= 0b01000000;
+        }
+        opCodeFull |= opCode.code();
+        buffer.write(opCodeFull);
+
+        int maskBit = masked ? 0b10000000 : 0;
+        if (length < 126) {
+            buffer.write(maskBit | (int) length);
+        } else if (length <= 0xFFFF) {
+            buffer.write(maskBit | 126);
+            buffer.writeInt16((int) length);
+        } else {
+            buffer.write(maskBit | 127);
+            buffer.writeInt32((int) (length >>> 32));
+            buffer.writeInt32((int) length);
+        }
     }
 
     protected static BufferData readPayload(DataReader reader, FrameHeader header) {
@@ -123,6 +170,7 @@ abstract sealed class AbstractWsFrame implements WsFrame permits ServerWsFrame,
 
     protected record FrameHeader(WsOpCode opCode,
                                  boolean fin,
+                                 boolean compressed,
                                  boolean masked,
                                  int length) {
     }
@@ -16,6 +16,9 @@
 
 package io.helidon.websocket;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Random;
@@ -31,26 +34,31 @@ import io.helidon.common.socket.SocketContext;
 public final class ClientWsFrame extends AbstractWsFrame {
     private static final System.Logger LOGGER = System.getLogger(ClientWsFrame.class.getName());
     private static final LazyValue<Random> RANDOM = LazyValue.create(SecureRandom::new);
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
 
     private final LazyValue<BufferData> masked;
     private final int[] mask;
 
     private ClientWsFrame(WsOpCode opCode,
                           long payloadLength,
-                          BufferData data,
+                          BufferData unmaskedData,
+                          LazyValue<BufferData> maskedData,
                           boolean fin,
                           int[] mask,
-                          boolean masked,
-                          boolean isPayload) {
-        super(unmaskedValue(masked, data, mask), payloadLength, fin, isPayload, opCode);
+                          boolean isPayload,
+                          boolean compressed) {
+        super(LazyValue.create(unmaskedData), payloadLength, fin, isPayload, opCode, compressed);
 
         this.mask = mask;
+        this.masked = maskedData;
+    }
 
-        if (masked) {
-            this.masked = LazyValue.create(data);
-        } else {
-            this.masked = LazyValue.create(() -> mask(data, mask));
-        }
+    private ClientWsFrame(WsOpCode opCode,
+                          BufferData data,
+                          boolean fin,
+                          boolean isPayload,
+                          int[] mask) {
+        this(opCode, data.available(), data, LazyValue.create(() -> maskedData(data, mask)), fin, mask, isPayload, false);
     }
 
     /**
@@ -64,12 +72,10 @@ public final class ClientWsFrame extends AbstractWsFrame {
     public static ClientWsFrame data(String text, boolean last) {
         BufferData bufferData = BufferData.create(text.getBytes(StandardCharsets.UTF_8));
         return new ClientWsFrame(WsOpCode.TEXT,
-                                 bufferData.available(),
                                  bufferData,
                                  last,
-                                 newMaskingKey(),
-                                 false,
-                                 true);
+                                 true,
+                                 newMaskingKey());
     }
 
     /**
@@ -82,12 +88,10 @@ public final class ClientWsFrame extends AbstractWsFrame {
      */
     public static ClientWsFrame data(BufferData bufferData, boolean last) {
         return new ClientWsFrame(WsOpCode.BINARY,
-                                 bufferData.available(),
                                  bufferData,
                                  last,
-                                 newMaskingKey(),
-                                 false,
-                                 true);
+                                 true,
+                                 newMaskingKey());
     }
 
     /**
@@ -100,12 +104,10 @@ public final class ClientWsFrame extends AbstractWsFrame {
      */
     public static ClientWsFrame control(WsOpCode opCode, BufferData bufferData) {
         return new ClientWsFrame(opCode,
-                                 bufferData.available(),
                                  bufferData,
                                  true,
-                                 newMaskingKey(),
                                  false,
-                                 false);
+                                 newMaskingKey());
     }
 
     /**
@@ -130,21 +132,26 @@ public final class ClientWsFrame extends AbstractWsFrame {
 
         // next 4 bytes - masking key
         int[] maskingKey = new int[4];
-        maskingKey[0] = dataReader.read();
-        maskingKey[1] = dataReader.read();
-        maskingKey[2] = dataReader.read();
-        maskingKey[3] = dataReader.read();
-
-        // next frameLength bytes - actual payload
-        BufferData payload = readPayload(dataReader, header);
+        maskingKey[0] = dataReader.read() & 0xFF;
+        maskingKey[1] = dataReader.read() & 0xFF;
+        maskingKey[2] = dataReader.read() & 0xFF;
+        maskingKey[3] = dataReader.read() & 0xFF;
+
+        // next frameLength bytes - actual payload, unmasked in place
+        byte[] payload = new byte[header.length()];
+        if (payload.length > 0) {
+            readPayload(dataReader, header).read(payload);
+        }
+        mask(payload, maskingKey);
 
         ClientWsFrame frame = new ClientWsFrame(header.opCode(),
                                                 header.length(),
-                                                payload,
+                                                BufferData.create(payload),
+                                                LazyValue.create(() -> BufferData.create(masked(payload, maskingKey))),
                                                 header.fin(),
                                                 maskingKey,
-                                                true,
-                                                isPayload(header));
+                                                isPayload(header),
+                                                header.compressed());
 
         if (LOGGER.isLoggable(System.Logger.Level.TRACE)) {
             ctx.log(LOGGER, System.Logger.Level.TRACE, "ws client frame recv %s", frame);
@@ -172,65 +179,61 @@ public final class ClientWsFrame extends AbstractWsFrame {
         return masked.get();
     }
 
-    private static LazyValue<BufferData> unmaskedValue(boolean masked, BufferData data, int[] mask) {
-        if (masked) {
-            return LazyValue.create(() -> unmask(data, mask));
-        } else {
-            return LazyValue.create(data);
-        }
+    /**
+     * Write this frame (header, masking key and masked payload) to a buffer, to be sent over the network.
+     *
+     * @param buffer buffer to write to
+     */
+    public void writeTo(BufferData buffer) {
+        BufferData maskedData = maskedData();
+        writeHeader(buffer, true, maskedData.available());
+        buffer.write(mask[0]);
+        buffer.write(mask[1]);
+        buffer.write(mask[2]);
+        buffer.write(mask[3]);
+        buffer.write(maskedData);
     }
 
-    private static int[] newMaskingKey() {
-        Random random = RANDOM.get();
+    private static BufferData maskedData(BufferData data, int[] masks) {
+        byte[] bytes = new byte[data.available()];
+        data.read(bytes);
+        mask(bytes, masks);
+        return BufferData.create(bytes);
+    }
 
-        int[] maskingKey = new int[4];
-        for (int i = 0; i < maskingKey.length; i++) {
-            maskingKey[i] = random.nextInt(256);
+    private static int[] newMaskingKey() {
+        int random = RANDOM.get().nextInt();
 
-        }
+        return new int[] {(random >>> 24) & 0xFF, (random >>> 16) & 0xFF, (random >>> 8) & 0xFF, random & 0xFF};
+    }
 
-        return maskingKey;
+    private static byte[] masked(byte[] data, int[] masks) {
+        byte[] result = data.clone();
+        mask(result, masks);
+        return result;
     }
 
-    private static BufferData unmask(BufferData data, int[] masks) {
-        int length = data.available();
-        BufferData unmasked = BufferData.create(length);
-
-        /*
-        Octet i of the transformed data ("transformed-octet-i") is the XOR of
-        octet i of the original data ("original-octet-i") with octet at index
-        i modulo 4 of the masking key ("masking-key-octet-j"):
-
-        j                   = i MOD 4
-        transformed-octet-i = original-octet-i XOR masking-key-octet-j
-         */
-        for (int i = 0; i < length; i++) {
-            int maskIndex = i % 4;
-            int mask = masks[maskIndex];
-            unmasked.write(data.read() ^ mask);
-        }
+    /*
+    Octet i of the transformed data ("transformed-octet-i") is the XOR of
+    octet i of the original data ("original-octet-i") with octet at index
+    i modulo 4 of the masking key ("masking-key-octet-j"):
 
-        return unmasked;
-    }
+    j                   = i MOD 4
+    transformed-octet-i = original-octet-i XOR masking-key-octet-j
 
-    private static BufferData mask(BufferData data, int[] masks) {
-        int length = data.available();
-        BufferData unmasked = BufferData.create(length);
-
-        /*
-        Octet i of the transformed data ("transformed-octet-i") is the XOR of
-        octet i of the original data ("original-octet-i") with octet at index
-        i modulo 4 of the masking key ("masking-key-octet-j"):
-
-        j                   = i MOD 4
-        transformed-octet-i = original-octet-i XOR masking-key-octet-j
-         */
-        for (int i = 0; i < length; i++) {
-            int maskIndex = i % 4;
-            int mask = masks[maskIndex];
-            unmasked.write(data.read() ^ mask);
+    Masking and unmasking is the same operation, done in place 8 bytes at a time.
+     */
+    private static void mask(byte[] data, int[] masks) {
+        int key = (masks[0] & 0xFF) << 24 | (masks[1] & 0xFF) << 16 | (masks[2] & 0xFF) << 8 | (masks[3] & 0xFF);
+        long longKey = ((long) key << 32) | (key & 0xFFFFFFFFL);
+
+        int length = data.length;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            LONG_VIEW.set(data, i, (long) LONG_VIEW.get(data, i) ^ longKey);
+        }
+        for (; i < length; i++) {
+            data[i] ^= (byte) masks[i & 3];
         }
-
-        return unmasked;
     }
 }
@@ -30,7 +30,11 @@ public final class ServerWsFrame extends AbstractWsFrame {
     private static final System.Logger LOGGER = System.getLogger(ServerWsFrame.class.getName());
 
     ServerWsFrame(WsOpCode opCode, BufferData data, boolean fin, boolean isPayload) {
-        super(LazyValue.create(data), data.available(), fin, isPayload, opCode);
+        this(opCode, data, fin, isPayload, false);
+    }
+
+    private ServerWsFrame(WsOpCode opCode, BufferData data, boolean fin, boolean isPayload, boolean compressed) {
+        super(LazyValue.create(data), data.available(), fin, isPayload, opCode, compressed);
     }
 
     /**
@@ -105,7 +109,8 @@ public final class ServerWsFrame extends AbstractWsFrame {
         ServerWsFrame frame = new ServerWsFrame(header.opCode(),
                                                 payload,
                                                 header.fin(),
-                                                isPayload(header));
+                                                isPayload(header),
+                                                header.compressed());
 
         if (LOGGER.isLoggable(System.Logger.Level.TRACE)) {
             ctx.log(LOGGER, System.Logger.Level.TRACE, "ws server frame recv %s", frame);
@@ -123,4 +128,16 @@ public final class ServerWsFrame extends AbstractWsFrame {
     public int[] maskingKey() {
         throw new IllegalStateException("Server WebSocket frames must not have masking key");
     }
+
+    /**
+     * Write this frame (header and payload) to a buffer, to be sent over the network.
+     * The payload is consumed.
+     *
+     * @param buffer buffer to write to
+     */
+    public void writeTo(BufferData buffer) {
+        BufferData payload = payloadData();
+        writeHeader(buffer, false, payload.available());
+        buffer.write(payload);
+    }
 }
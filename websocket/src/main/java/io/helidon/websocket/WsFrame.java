@@ -65,6 +65,16 @@ public interface WsFrame {
      */
     BufferData payloadData();
 
+    /**
+     * Whether the {@code RSV1} bit is set. With {@code permessage-deflate} extension negotiated, this marks
+     * the first frame of a compressed message.
+     *
+     * @return {@code true} if this frame starts a compressed message
+     */
+    default boolean compressed() {
+        return false;
+    }
+
     /**
      * Helper method to check whether this is a payload frame (text or binary),
      * or a control frame (such as ping, pong, close etc.).
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.websocket;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.helidon.common.buffers.BufferData;
+
+/**
+ * The {@code permessage-deflate} WebSocket extension (RFC 7692).
+ * An instance holds the compression and decompression context of a single connection, and must only be used
+ * by the thread that sends (compression) or receives (decompression) messages of that connection.
+ * <p>
+ * Only the maximal window size (15 bits) can be used by the compressor, so offers that limit the window of this side
+ * are declined. The window size of the other side is not limited.
+ */
+public final class WsPerMessageDeflate {
+    /**
+     * Name of the extension, as used in {@code Sec-WebSocket-Extensions} header.
+     */
+    public static final String EXTENSION_NAME = "permessage-deflate";
+
+    private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+    private static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+    private static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+    private static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+    private static final String MAX_WINDOW_BITS = "15";
+    private static final byte[] TAIL = {0, 0, (byte) 0xFF, (byte) 0xFF};
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final Inflater inflater = new Inflater(true);
+    private final boolean deflaterNoContextTakeover;
+    private final boolean inflaterNoContextTakeover;
+    private final int compressionThreshold;
+    private final String extensionHeader;
+
+    private WsPerMessageDeflate(boolean deflaterNoContextTakeover,
+                                boolean inflaterNoContextTakeover,
+                                int compressionThreshold,
+                                String extensionHeader) {
+        this.deflaterNoContextTakeover = deflaterNoContextTakeover;
+        this.inflaterNoContextTakeover = inflaterNoContextTakeover;
+        this.compressionThreshold = compressionThreshold;
+        this.extensionHeader = extensionHeader;
+    }
+
+    /**
+     * Accept the first acceptable offer of a client.
+     *
+     * @param offers                  values of the {@code Sec-WebSocket-Extensions} request header
+     * @param serverNoContextTakeover whether the server resets its compression context after each message, even
+     *                                if the client does not require it
+     * @param clientNoContextTakeover whether to require the client to reset its compression context after each message
+     * @param compressionThreshold    messages smaller than this number of bytes are sent uncompressed
+     * @return negotiated extension, or empty if the client did not offer an acceptable {@code permessage-deflate}
+     */
+    public static Optional<WsPerMessageDeflate> server(List<String> offers,
+                                                       boolean serverNoContextTakeover,
+                                                       boolean clientNoContextTakeover,
+                                                       int compressionThreshold) {
+        for (String offer : offers) {
+            for (String extension : offer.split(",")) {
+                Set<String> parameters = parameters(extension);
+                if (parameters == null) {
+                    continue;
+                }
+                // we cannot limit our compression window, the client window is not limited by us
+                if (!parameters.remove(SERVER_MAX_WINDOW_BITS + "=" + MAX_WINDOW_BITS)
+                        && parameters.stream().anyMatch(it -> it.startsWith(SERVER_MAX_WINDOW_BITS))) {
+                    continue;
+                }
+                parameters.removeIf(it -> it.startsWith(CLIENT_MAX_WINDOW_BITS));
+                boolean serverReset = parameters.remove(SERVER_NO_CONTEXT_TAKEOVER) || serverNoContextTakeover;
+                boolean clientReset = parameters.remove(CLIENT_NO_CONTEXT_TAKEOVER) || clientNoContextTakeover;
+                if (!parameters.isEmpty()) {
+                    // unknown parameter, decline this offer
+                    continue;
+                }
+                return Optional.of(new WsPerMessageDeflate(serverReset,
+                                                           clientReset,
+                                                           compressionThreshold,
+                                                           header(serverReset, clientReset)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Offer of a client, value of the {@code Sec-WebSocket-Extensions} request header.
+     *
+     * @param serverNoContextTakeover whether to require the server to reset its compression context after each message
+     * @param clientNoContextTakeover whether the client resets its compression context after each message
+     * @return extension offer
+     */
+    public static String offer(boolean serverNoContextTakeover, boolean clientNoContextTakeover) {
+        return header(serverNoContextTakeover, clientNoContextTakeover);
+    }
+
+    /**
+     * Process the response of a server to the client offer.
+     *
+     * @param responses               values of the {@code Sec-WebSocket-Extensions} response header
+     * @param clientNoContextTakeover whether the client resets its compression context after each message, even if
+     *                                the server does not require it
+     * @param compressionThreshold    messages smaller than this number of bytes are sent uncompressed
+     * @return negotiated extension, or empty if the server did not accept the offer
+     * @throws java.lang.IllegalArgumentException in case the response is not valid for the offer
+     */
+    public static Optional<WsPerMessageDeflate> client(List<String> responses,
+                                                       boolean clientNoContextTakeover,
+                                                       int compressionThreshold) {
+        WsPerMessageDeflate result = null;
+        for (String response : responses) {
+            for (String extension : response.split(",")) {
+                Set<String> parameters = parameters(extension);
+                if (parameters == null) {
+                    throw new IllegalArgumentException("Server accepted extension that was not offered: " + extension);
+                }
+                if (result != null) {
+                    throw new IllegalArgumentException("Server accepted " + EXTENSION_NAME + " more than once");
+                }
+                parameters.removeIf(it -> it.startsWith(SERVER_MAX_WINDOW_BITS));
+                if (!parameters.remove(CLIENT_MAX_WINDOW_BITS + "=" + MAX_WINDOW_BITS)
+                        && parameters.stream().anyMatch(it -> it.startsWith(CLIENT_MAX_WINDOW_BITS))) {
+                    throw new IllegalArgumentException("Server requires limited client window, which is not supported: "
+                                                               + extension);
+                }
+                boolean serverReset = parameters.remove(SERVER_NO_CONTEXT_TAKEOVER);
+                boolean clientReset = parameters.remove(CLIENT_NO_CONTEXT_TAKEOVER) || clientNoContextTakeover;
+                if (!parameters.isEmpty()) {
+                    throw new IllegalArgumentException("Unsupported " + EXTENSION_NAME + " parameters: " + parameters);
+                }
+                result = new WsPerMessageDeflate(clientReset, serverReset, compressionThreshold, response);
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Negotiated extension, value of the {@code Sec-WebSocket-Extensions} response header.
+     *
+     * @return negotiated extension
+     */
+    public String extensionHeader() {
+        return extensionHeader;
+    }
+
+    /**
+     * Whether to compress a message, based on the size of its first frame.
+     *
+     * @param length number of bytes of the first frame of the message
+     * @return whether to compress the message
+     */
+    public boolean compress(long length) {
+        return length >= compressionThreshold;
+    }
+
+    /**
+     * Compress payload of a frame.
+     *
+     * @param data payload to compress, fully consumed
+     * @param last whether this is the last frame of the message
+     * @return compressed payload
+     */
+    public BufferData compress(BufferData data, boolean last) {
+        byte[] input = new byte[data.available()];
+        data.read(input);
+        deflater.setInput(input);
+
+        byte[] output = new byte[input.length / 2 + 64];
+        int length = 0;
+        while (true) {
+            length += deflater.deflate(output, length, output.length - length, Deflater.SYNC_FLUSH);
+            if (length < output.length) {
+                break;
+            }
+            output = Arrays.copyOf(output, output.length * 2);
+        }
+
+        if (last) {
+            // the empty block that ends the flush is not sent at the end of a message
+            length -= TAIL.length;
+            if (deflaterNoContextTakeover) {
+                deflater.reset();
+            }
+        }
+        return BufferData.create(output, 0, length);
+    }
+
+    /**
+     * Decompress payload of a frame.
+     *
+     * @param data      payload to decompress, fully consumed
+     * @param last      whether this is the last frame of the message
+     * @param maxLength maximal number of bytes of the decompressed payload
+     * @return decompressed payload
+     * @throws io.helidon.websocket.WsCloseException in case the data is not valid, or the decompressed payload
+     *                                               is longer than {@code maxLength}
+     */
+    public BufferData decompress(BufferData data, boolean last, int maxLength) {
+        int available = data.available();
+        byte[] input = new byte[last ? available + TAIL.length : available];
+        data.read(input, 0, available);
+        if (last) {
+            System.arraycopy(TAIL, 0, input, available, TAIL.length);
+        }
+        inflater.setInput(input);
+
+        // one byte over the limit is enough to detect a payload that is too long
+        int limit = maxLength == Integer.MAX_VALUE ? maxLength : maxLength + 1;
+        byte[] output = new byte[Math.min(limit, Math.max(64, input.length * 4))];
+        int length = 0;
+        try {
+            while (true) {
+                if (length == output.length) {
+                    if (length == limit) {
+                        throw new WsCloseException("Decompressed frame is longer than " + maxLength + " bytes",
+                                                   WsCloseCodes.TOO_BIG);
+                    }
+                    output = Arrays.copyOf(output, (int) Math.min(limit, output.length * 2L));
+                }
+                int inflated = inflater.inflate(output, length, output.length - length);
+                length += inflated;
+                if (inflater.finished()) {
+                    // the other side ended the stream with a final block
+                    inflater.reset();
+                    break;
+                }
+                if (inflated == 0) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new WsCloseException("Invalid compressed data", WsCloseCodes.NOT_CONSISTENT);
+        }
+        if (length > maxLength) {
+            throw new WsCloseException("Decompressed frame is longer than " + maxLength + " bytes", WsCloseCodes.TOO_BIG);
+        }
+
+        if (last && inflaterNoContextTakeover) {
+            inflater.reset();
+        }
+        return BufferData.create(output, 0, length);
+    }
+
+    /**
+     * Release the native resources of compression contexts. This instance cannot be used afterward.
+     */
+    public void close() {
+        deflater.end();
+        inflater.end();
+    }
+
+    private static String header(boolean serverNoContextTakeover, boolean clientNoContextTakeover) {
+        String header = EXTENSION_NAME;
+        if (serverNoContextTakeover) {
+            header += "; " + SERVER_NO_CONTEXT_TAKEOVER;
+        }
+        if (clientNoContextTakeover) {
+            header += "; " + CLIENT_NO_CONTEXT_TAKEOVER;
+        }
+        return header;
+    }
+
+    // parameters of permessage-deflate extension (normalized to name[=value]), or null for other extensions
+    private static Set<String> parameters(String extension) {
+        String[] elements = extension.split(";");
+        if (!elements[0].trim().equalsIgnoreCase(EXTENSION_NAME)) {
+            return null;
+        }
+        Set<String> parameters = new HashSet<>();
+        for (int i = 1; i < elements.length; i++) {
+            String element = elements[i].trim();
+            int eq = element.indexOf('=');
+            if (eq != -1) {
+                String value = element.substring(eq + 1).trim();
+                if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                element = element.substring(0, eq).trim() + "=" + value;
+            }
+            if (!element.isEmpty()) {
+                parameters.add(element);
+            }
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.websocket;
+
+import java.nio.charset.StandardCharsets;
+
+import io.helidon.common.buffers.BufferData;
+import io.helidon.common.buffers.DataReader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ClientWsFrameTest {
+    @Test
+    void testMaskedRoundTrip() {
+        // lengths cover unaligned tails and all three payload length encodings
+        for (int length : new int[] {0, 1, 7, 8, 9, 125, 126, 65535, 65536, 100_003}) {
+            String text = "a1b2c3d4e5".repeat(length / 10 + 1).substring(0, length);
+            ClientWsFrame sent = ClientWsFrame.data(text, true);
+            int[] maskingKey = sent.maskingKey();
+
+            ClientWsFrame received = ClientWsFrame.read(null, reader(sent), Integer.MAX_VALUE);
+            BufferData payload = received.payloadData();
+
+            assertThat(received.opCode(), is(WsOpCode.TEXT));
+            assertThat(received.fin(), is(true));
+            assertThat(received.compressed(), is(false));
+            assertThat(received.payloadLength(), is((long) length));
+            assertThat(received.maskingKey(), is(maskingKey));
+            assertThat(payload.readString(payload.available(), StandardCharsets.UTF_8), is(text));
+        }
+    }
+
+    @Test
+    void testMaskingXorsKey() {
+        ClientWsFrame frame = ClientWsFrame.data(BufferData.create(new byte[10]), false);
+        int[] maskingKey = frame.maskingKey();
+
+        // masking zeros produces the key itself
+        BufferData masked = frame.maskedData();
+        for (int i = 0; i < 10; i++) {
+            assertThat(masked.read(), is(maskingKey[i % 4]));
+        }
+    }
+
+    @Test
+    void testCompressedFlag() {
+        ClientWsFrame frame = ClientWsFrame.data("compressed", false);
+        frame.compressed(true);
+
+        ClientWsFrame received = ClientWsFrame.read(null, reader(frame), Integer.MAX_VALUE);
+
+        assertThat(received.compressed(), is(true));
+        assertThat(received.fin(), is(false));
+    }
+
+    private static DataReader reader(ClientWsFrame frame) {
+        BufferData buffer = BufferData.growing(128);
+        frame.writeTo(buffer);
+        byte[] bytes = new byte[buffer.available()];
+        buffer.read(bytes);
+        boolean[] read = new boolean[1];
+        return new DataReader(() -> {
+            if (read[0]) {
+                return null;
+            }
+            read[0] = true;
+            return bytes;
+        });
+    }
+}
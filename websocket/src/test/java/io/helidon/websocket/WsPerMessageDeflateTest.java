@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import io.helidon.common.buffers.BufferData;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WsPerMessageDeflateTest {
+    private static final String MESSAGE = "{\"user\":\"helidon\",\"text\":\"Hello World\",\"room\":\"general\"}";
+
+    @Test
+    void testServerNegotiation() {
+        assertThat(header(WsPerMessageDeflate.server(List.of("permessage-deflate; client_max_window_bits"),
+                                                     false,
+                                                     false,
+                                                     0)),
+                   is(Optional.of("permessage-deflate")));
+        assertThat(header(WsPerMessageDeflate.server(List.of("permessage-deflate; server_no_context_takeover"),
+                                                     false,
+                                                     true,
+                                                     0)),
+                   is(Optional.of("permessage-deflate; server_no_context_takeover; client_no_context_takeover")));
+        // limited server window cannot be honored, second offer is used
+        assertThat(header(WsPerMessageDeflate.server(List.of("permessage-deflate; server_max_window_bits=10, "
+                                                                     + "permessage-deflate; server_max_window_bits=15"),
+                                                     false,
+                                                     false,
+                                                     0)),
+                   is(Optional.of("permessage-deflate")));
+        assertThat(header(WsPerMessageDeflate.server(List.of("permessage-deflate; unknown"), false, false, 0)),
+                   is(Optional.empty()));
+        assertThat(header(WsPerMessageDeflate.server(List.of("x-webkit-deflate-frame"), false, false, 0)),
+                   is(Optional.empty()));
+    }
+
+    @Test
+    void testClientNegotiation() {
+        assertThat(WsPerMessageDeflate.offer(true, false), is("permessage-deflate; server_no_context_takeover"));
+        assertThat(header(WsPerMessageDeflate.client(List.of("permessage-deflate; server_max_window_bits=10"), false, 0)),
+                   is(Optional.of("permessage-deflate; server_max_window_bits=10")));
+        assertThat(header(WsPerMessageDeflate.client(List.of(), false, 0)), is(Optional.empty()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> WsPerMessageDeflate.client(List.of("permessage-deflate; client_max_window_bits=9"), false, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> WsPerMessageDeflate.client(List.of("other-extension"), false, 0));
+    }
+
+    @Test
+    void testContextTakeover() {
+        WsPerMessageDeflate server = WsPerMessageDeflate.server(List.of("permessage-deflate"), false, false, 0)
+                .orElseThrow();
+        WsPerMessageDeflate client = WsPerMessageDeflate.client(List.of(server.extensionHeader()), false, 0)
+                .orElseThrow();
+
+        int firstLength = roundTrip(server, client, MESSAGE);
+        int secondLength = roundTrip(server, client, MESSAGE);
+        // the second message refers to the first one
+        assertThat(secondLength, lessThan(firstLength));
+        assertThat(roundTrip(client, server, MESSAGE.repeat(100)), lessThan(MESSAGE.length() * 2));
+    }
+
+    @Test
+    void testNoContextTakeover() {
+        WsPerMessageDeflate server = WsPerMessageDeflate.server(List.of("permessage-deflate"), true, true, 0)
+                .orElseThrow();
+        WsPerMessageDeflate client = WsPerMessageDeflate.client(List.of(server.extensionHeader()), false, 0)
+                .orElseThrow();
+
+        int firstLength = roundTrip(server, client, MESSAGE);
+        assertThat(roundTrip(server, client, MESSAGE), is(firstLength));
+        assertThat(roundTrip(client, server, MESSAGE), is(firstLength));
+        assertThat(roundTrip(client, server, MESSAGE), is(firstLength));
+    }
+
+    @Test
+    void testFragmentedMessage() {
+        WsPerMessageDeflate server = WsPerMessageDeflate.server(List.of("permessage-deflate"), false, false, 0)
+                .orElseThrow();
+        WsPerMessageDeflate client = WsPerMessageDeflate.client(List.of(server.extensionHeader()), false, 0)
+                .orElseThrow();
+
+        BufferData first = client.decompress(server.compress(data(MESSAGE), false), false, Integer.MAX_VALUE);
+        BufferData second = client.decompress(server.compress(data(MESSAGE), true), true, Integer.MAX_VALUE);
+
+        assertThat(string(first) + string(second), is(MESSAGE + MESSAGE));
+    }
+
+    @Test
+    void testDecompressTooBig() {
+        WsPerMessageDeflate server = WsPerMessageDeflate.server(List.of("permessage-deflate"), false, false, 0)
+                .orElseThrow();
+        WsPerMessageDeflate client = WsPerMessageDeflate.client(List.of(server.extensionHeader()), false, 0)
+                .orElseThrow();
+
+        // highly compressible payload over the limit
+        BufferData compressed = client.compress(BufferData.create(new byte[1024 * 1024]), true);
+        assertThat(compressed.available(), lessThan(4096));
+        WsCloseException e = assertThrows(WsCloseException.class, () -> server.decompress(compressed, true, 65536));
+        assertThat(e.closeCode(), is(WsCloseCodes.TOO_BIG));
+
+        // exactly at the limit is accepted
+        WsPerMessageDeflate receiver = WsPerMessageDeflate.server(List.of("permessage-deflate"), false, false, 0)
+                .orElseThrow();
+        WsPerMessageDeflate sender = WsPerMessageDeflate.client(List.of(receiver.extensionHeader()), false, 0)
+                .orElseThrow();
+        BufferData exact = sender.compress(BufferData.create(new byte[65536]), true);
+        assertThat(receiver.decompress(exact, true, 65536).available(), is(65536));
+    }
+
+    @Test
+    void testThreshold() {
+        WsPerMessageDeflate deflate = WsPerMessageDeflate.server(List.of("permessage-deflate"), false, false, 64)
+                .orElseThrow();
+
+        assertThat(deflate.compress(63), is(false));
+        assertThat(deflate.compress(64), is(true));
+    }
+
+    private static int roundTrip(WsPerMessageDeflate sender, WsPerMessageDeflate receiver, String message) {
+        BufferData compressed = sender.compress(data(message), true);
+        int length = compressed.available();
+        assertThat(string(receiver.decompress(compressed, true, Integer.MAX_VALUE)), is(message));
+        return length;
+    }
+
+    private static Optional<String> header(Optional<WsPerMessageDeflate> deflate) {
+        return deflate.map(WsPerMessageDeflate::extensionHeader);
+    }
+
+    private static BufferData data(String message) {
+        return BufferData.create(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String string(BufferData data) {
+        return data.readString(data.available(), StandardCharsets.UTF_8);
+    }
+}